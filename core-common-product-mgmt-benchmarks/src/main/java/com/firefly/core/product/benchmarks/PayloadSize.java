@@ -0,0 +1,30 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.benchmarks;
+
+/**
+ * Shape of the synthetic configuration payloads fed to the benchmarks.
+ */
+public enum PayloadSize {
+
+    /** Payloads shaped like the seeded demo lending products. */
+    REALISTIC,
+
+    /** Oversized payloads: long bracket ladders, many fees and extra attributes. */
+    STRESS
+}
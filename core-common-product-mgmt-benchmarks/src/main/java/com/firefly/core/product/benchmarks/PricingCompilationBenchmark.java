@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.product.core.pricing.CompiledPricing;
+import com.firefly.core.product.core.pricing.PricingCompiler;
+import com.firefly.core.product.core.pricing.PricingPayloadReader;
+import com.firefly.core.product.core.pricing.ProductTypeLabel;
+import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import com.firefly.core.product.interfaces.enums.ProductTypeEnum;
+import com.firefly.core.product.models.entities.Product;
+import com.firefly.core.product.models.entities.ProductConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot path of the pricing aggregation: compiling a product and its
+ * configuration rows into a {@link CompiledPricing}, and the two helpers it
+ * calls for every product, the configuration lookup and the product-type
+ * label derivation.
+ *
+ * <p>{@code REALISTIC} rows match the seeded LEASING_DEMO product;
+ * {@code STRESS} rows add hundreds of unrelated configuration rows, a long
+ * bracket ladder, many fees and a large marketing feature list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PricingCompilationBenchmark {
+
+    @Param({"REALISTIC", "STRESS"})
+    public PayloadSize size;
+
+    private PricingCompiler compiler;
+    private Product product;
+    private List<ProductConfiguration> configs;
+    private String[] productCodes;
+
+    @Setup
+    public void setUp() {
+        compiler = new PricingCompiler(new PricingPayloadReader(new ObjectMapper()));
+        product = SyntheticProducts.product(size);
+        configs = SyntheticProducts.configurations(size);
+        productCodes = new String[] {"LEASING_DEMO", "personal_loan_demo", "MORTGAGE", " ", null};
+    }
+
+    @Benchmark
+    public CompiledPricing compilePricing() {
+        return compiler.compile(product, configs);
+    }
+
+    @Benchmark
+    public void findConfig(Blackhole blackhole) {
+        blackhole.consume(PricingCompiler.findConfig(
+                configs, ProductConfigTypeEnum.LIMITS, PricingCompiler.CONFIG_KEY_AMOUNT_TERM));
+        blackhole.consume(PricingCompiler.findConfig(
+                configs, ProductConfigTypeEnum.PRICING, PricingCompiler.CONFIG_KEY_INTEREST_RATE_BRACKETS));
+        blackhole.consume(PricingCompiler.findConfig(
+                configs, ProductConfigTypeEnum.PRICING, PricingCompiler.CONFIG_KEY_FEES));
+    }
+
+    @Benchmark
+    public void deriveProductType(Blackhole blackhole) {
+        for (String productCode : productCodes) {
+            blackhole.consume(ProductTypeLabel.derive(productCode, ProductTypeEnum.FINANCIAL));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.product.core.pricing.PricingLimits;
+import com.firefly.core.product.core.pricing.PricingPayloadReader;
+import com.firefly.core.product.interfaces.dtos.InterestRateBracketDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the legacy {@code Map<String, Object>} decoding of the pricing
+ * payloads (a fresh {@link TypeReference} per call, values converted through
+ * {@code toString()}) against {@link PricingPayloadReader}.
+ *
+ * <p>{@code REALISTIC} payloads match the seeded demo products;
+ * {@code STRESS} payloads carry a large block of unrelated attributes in the
+ * LIMITS object and a long bracket ladder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PricingPayloadParsingBenchmark {
+
+    @Param({"REALISTIC", "STRESS"})
+    public PayloadSize size;
+
+    private ObjectMapper objectMapper;
+    private PricingPayloadReader reader;
+    private String limitsJson;
+    private String bracketsJson;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        reader = new PricingPayloadReader(objectMapper);
+        limitsJson = SyntheticPayloads.limits(size);
+        bracketsJson = SyntheticPayloads.interestRateBrackets(size);
+    }
+
+    @Benchmark
+    public PricingLimits limits_legacyMap() throws JsonProcessingException {
+        Map<String, Object> limits = objectMapper.readValue(
+                limitsJson, new TypeReference<Map<String, Object>>() {});
+        return new PricingLimits(
+                limits.get("currency") == null ? null : limits.get("currency").toString(),
+                legacyDecimal(limits.get("minAmount")),
+                legacyDecimal(limits.get("maxAmount")),
+                legacyInteger(limits.get("minTerm")),
+                legacyInteger(limits.get("maxTerm")));
+    }
+
+    @Benchmark
+    public PricingLimits limits_streamingReader() throws JsonProcessingException {
+        return reader.readLimits(limitsJson);
+    }
+
+    @Benchmark
+    public List<InterestRateBracketDTO> brackets_legacyTypeReference() throws JsonProcessingException {
+        return objectMapper.readValue(bracketsJson, new TypeReference<List<InterestRateBracketDTO>>() {});
+    }
+
+    @Benchmark
+    public List<InterestRateBracketDTO> brackets_prebuiltReader() throws JsonProcessingException {
+        return reader.readInterestRateBrackets(bracketsJson);
+    }
+
+    private static BigDecimal legacyDecimal(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal bd) {
+            return bd;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    private static Integer legacyInteger(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Integer i) {
+            return i;
+        }
+        if (value instanceof Number n) {
+            return n.intValue();
+        }
+        return Integer.valueOf(value.toString());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.product.core.mappers.ProductMapper;
+import com.firefly.core.product.core.mappers.ProductMapperImpl;
+import com.firefly.core.product.interfaces.dtos.ProductDTO;
+import com.firefly.core.product.models.entities.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductMapper} conversions, whose cost is dominated by the
+ * {@code marketing_features} JSON column: {@code toDto} decodes it into a
+ * string list and {@code toEntity} encodes it back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ProductMapperBenchmark {
+
+    @Param({"REALISTIC", "STRESS"})
+    public PayloadSize size;
+
+    private ProductMapper mapper;
+    private Product entity;
+    private ProductDTO dto;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        mapper = new ProductMapperImpl();
+        // The mapper is a Spring bean with a field-injected ObjectMapper.
+        Field field = ProductMapper.class.getDeclaredField("objectMapper");
+        field.setAccessible(true);
+        field.set(mapper, objectMapper);
+        entity = SyntheticProducts.product(size);
+        dto = SyntheticProducts.productDto(size, objectMapper);
+    }
+
+    @Benchmark
+    public ProductDTO toDto() {
+        return mapper.toDto(entity);
+    }
+
+    @Benchmark
+    public Product toEntity() {
+        return mapper.toEntity(dto);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.benchmarks;
+
+import java.util.Locale;
+
+/**
+ * Deterministic generators for the JSON stored in
+ * {@code product_configuration.config_value}. {@link PayloadSize#REALISTIC}
+ * reproduces the LEASING_DEMO rows seeded by V12.
+ */
+public final class SyntheticPayloads {
+
+    private static final int STRESS_BRACKETS = 500;
+    private static final int STRESS_FEES = 50;
+    private static final int STRESS_EXTRA_ATTRIBUTES = 200;
+    private static final int STRESS_FEATURES = 200;
+
+    private SyntheticPayloads() {
+    }
+
+    public static String limits(PayloadSize size) {
+        if (size == PayloadSize.REALISTIC) {
+            return "{\"currency\":\"EUR\",\"minAmount\":5000,\"maxAmount\":500000,\"minTerm\":12,\"maxTerm\":84}";
+        }
+        StringBuilder json = new StringBuilder("{\"currency\":\"EUR\",\"minAmount\":5000.00,");
+        for (int i = 0; i < STRESS_EXTRA_ATTRIBUTES; i++) {
+            json.append("\"attribute").append(i).append("\":{\"label\":\"value ").append(i)
+                    .append("\",\"weights\":[1,2,3,4.5]},");
+        }
+        return json.append("\"maxAmount\":500000.00,\"minTerm\":12,\"maxTerm\":84}").toString();
+    }
+
+    public static String interestRateBrackets(PayloadSize size) {
+        if (size == PayloadSize.REALISTIC) {
+            return "[{\"minAmount\":5000,\"maxAmount\":25000,\"tin\":6.90},"
+                    + "{\"minAmount\":25001,\"maxAmount\":100000,\"tin\":5.90},"
+                    + "{\"minAmount\":100001,\"maxAmount\":250000,\"tin\":5.50},"
+                    + "{\"minAmount\":250001,\"maxAmount\":500000,\"tin\":5.20}]";
+        }
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < STRESS_BRACKETS; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            long min = 1_000L * i + 1;
+            json.append("{\"minAmount\":").append(min)
+                    .append(",\"maxAmount\":").append(min + 999)
+                    .append(",\"tin\":").append(String.format(Locale.ROOT, "%.2f", 9.0 - i * 0.01))
+                    .append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    public static String fees(PayloadSize size) {
+        if (size == PayloadSize.REALISTIC) {
+            return "[{\"type\":\"OPENING_FEE\",\"percentage\":1.0,\"fixed\":0}]";
+        }
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < STRESS_FEES; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"type\":\"FEE_").append(i)
+                    .append("\",\"percentage\":0.").append(i % 10)
+                    .append(",\"fixed\":").append(i)
+                    .append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    public static String marketingFeatures(PayloadSize size) {
+        if (size == PayloadSize.REALISTIC) {
+            return "[\"Fixed monthly instalment\",\"No early repayment fee\","
+                    + "\"Maintenance included\",\"Online contract signature\"]";
+        }
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < STRESS_FEATURES; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("\"Feature ").append(i).append(": included for every term up to 84 months\"");
+        }
+        return json.append(']').toString();
+    }
+}
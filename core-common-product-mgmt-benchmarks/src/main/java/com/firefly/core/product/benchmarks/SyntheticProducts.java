@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.product.core.pricing.PricingCompiler;
+import com.firefly.core.product.interfaces.dtos.ProductDTO;
+import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import com.firefly.core.product.interfaces.enums.ProductStatusEnum;
+import com.firefly.core.product.interfaces.enums.ProductTypeEnum;
+import com.firefly.core.product.models.entities.Product;
+import com.firefly.core.product.models.entities.ProductConfiguration;
+import io.r2dbc.postgresql.codec.Json;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Entities and DTOs built around {@link SyntheticPayloads}. The
+ * {@code STRESS} configuration list puts a long run of unrelated CUSTOM rows
+ * in front of the pricing rows, so lookups by type and key have to scan it.
+ */
+public final class SyntheticProducts {
+
+    public static final UUID PRODUCT_ID = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    public static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private static final int STRESS_UNRELATED_ROWS = 300;
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private SyntheticProducts() {
+    }
+
+    public static Product product(PayloadSize size) {
+        Product product = new Product();
+        product.setProductId(PRODUCT_ID);
+        product.setTenantId(TENANT_ID);
+        product.setProductCode("LEASING_DEMO");
+        product.setProductName("Demo Leasing");
+        product.setProductDescription(
+                "Seeded leasing product used by the BOM demo for pricing aggregation and calculator flows");
+        product.setProductType(ProductTypeEnum.FINANCIAL);
+        product.setProductStatus(ProductStatusEnum.ACTIVE);
+        product.setMarketingFeatures(Json.of(SyntheticPayloads.marketingFeatures(size)));
+        product.setDateUpdated(UPDATED);
+        return product;
+    }
+
+    public static ProductDTO productDto(PayloadSize size, ObjectMapper objectMapper) {
+        try {
+            return ProductDTO.builder()
+                    .productId(PRODUCT_ID)
+                    .productCode("LEASING_DEMO")
+                    .productName("Demo Leasing")
+                    .productType(ProductTypeEnum.FINANCIAL)
+                    .productStatus(ProductStatusEnum.ACTIVE)
+                    .marketingFeatures(objectMapper.readValue(
+                            SyntheticPayloads.marketingFeatures(size), new TypeReference<List<String>>() {}))
+                    .build();
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public static List<ProductConfiguration> configurations(PayloadSize size) {
+        List<ProductConfiguration> configs = new ArrayList<>();
+        if (size == PayloadSize.STRESS) {
+            for (int i = 0; i < STRESS_UNRELATED_ROWS; i++) {
+                configs.add(config(ProductConfigTypeEnum.CUSTOM, "attribute_" + i, "{\"value\":" + i + "}"));
+            }
+        }
+        configs.add(config(ProductConfigTypeEnum.LIMITS,
+                PricingCompiler.CONFIG_KEY_AMOUNT_TERM, SyntheticPayloads.limits(size)));
+        configs.add(config(ProductConfigTypeEnum.PRICING,
+                PricingCompiler.CONFIG_KEY_INTEREST_RATE_BRACKETS, SyntheticPayloads.interestRateBrackets(size)));
+        configs.add(config(ProductConfigTypeEnum.PRICING,
+                PricingCompiler.CONFIG_KEY_FEES, SyntheticPayloads.fees(size)));
+        return List.copyOf(configs);
+    }
+
+    private static ProductConfiguration config(ProductConfigTypeEnum type, String key, String value) {
+        ProductConfiguration config = new ProductConfiguration();
+        config.setProductConfigurationId(UUID.nameUUIDFromBytes((type + "/" + key).getBytes(StandardCharsets.UTF_8)));
+        config.setProductId(PRODUCT_ID);
+        config.setConfigType(type);
+        config.setConfigKey(key);
+        config.setConfigValue(Json.of(value));
+        config.setDateUpdated(UPDATED);
+        return config;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.changes;
+
+import com.firefly.core.product.core.config.ProductChangeProperties;
+import com.firefly.core.product.core.pricing.ProductPricingCache;
+import com.firefly.core.product.interfaces.dtos.ProductChangeEventDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Evicts this node's {@link ProductPricingCache} (and, through its
+ * listeners, the encoded response bodies) for every product change seen on
+ * the change feed, so a write made on another node is not served from here
+ * until the caches expire.
+ *
+ * <p>Notifications are only sent on commit, so an eviction never precedes
+ * the write it announces; a read racing with it is discarded by the cache's
+ * invalidation epochs. Notifications sent while the listening connection is
+ * down are lost, so once it is listening again the caches are dropped
+ * entirely. Switched off with {@code product.changes.invalidate-caches}.
+ */
+@Slf4j
+@Component
+public class ProductChangeCacheInvalidator {
+
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final ProductChangeListener listener;
+    private final ProductPricingCache pricingCache;
+    private final boolean enabled;
+    private volatile Disposable running;
+
+    public ProductChangeCacheInvalidator(ProductChangeListener listener,
+                                         ProductPricingCache pricingCache,
+                                         ProductChangeProperties properties) {
+        this.listener = listener;
+        this.pricingCache = pricingCache;
+        this.enabled = properties.isInvalidateCaches();
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        if (enabled) {
+            running = watch().subscribe();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = running;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    /**
+     * Applies the change feed to the caches until cancelled, reconnecting
+     * with backoff when the listening connection fails.
+     *
+     * @return a {@link Flux} emitting the applied events
+     */
+    Flux<ProductChangeEventDTO> watch() {
+        AtomicBoolean reconnecting = new AtomicBoolean();
+        return Flux.defer(() -> {
+                    Mono<ProductChangeEventDTO> resync = reconnecting.getAndSet(true)
+                            ? listener.listening().then(Mono.fromRunnable(this::resync))
+                            : Mono.empty();
+                    return Flux.merge(listener.events(), resync);
+                })
+                .doOnNext(this::apply)
+                .doOnError(ex -> log.warn("Lost the change feed, caches may be stale until it reconnects: {}",
+                        ex.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_BACKOFF)
+                        .maxBackoff(MAX_BACKOFF)
+                        .transientErrors(true));
+    }
+
+    private void apply(ProductChangeEventDTO event) {
+        // Category rows are not cached.
+        if (event.getProductId() != null) {
+            pricingCache.invalidate(event.getProductId());
+        }
+    }
+
+    private void resync() {
+        log.info("Change feed reconnected; dropping cached pricing and response bodies");
+        pricingCache.invalidateAll();
+    }
+}
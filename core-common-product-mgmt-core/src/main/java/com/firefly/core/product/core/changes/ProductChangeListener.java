@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.product.interfaces.dtos.ProductChangeEventDTO;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.SynchronousSink;
+
+import java.time.Duration;
+
+/**
+ * Receives the {@code product_changes} notifications sent by the
+ * {@code publish_product_change()} trigger (V20) over a single connection
+ * shared by every subscriber of the change feed.
+ *
+ * <p>The connection is opened by the first subscriber and closed once the
+ * last one has been gone for {@link #LINGER}; with
+ * {@code product.changes.invalidate-caches} the
+ * {@link ProductChangeCacheInvalidator} keeps it open for the lifetime of the
+ * node. If it fails, every
+ * subscriber's stream fails with it rather than silently missing the
+ * notifications sent while it reconnects; subscribers resume from their last
+ * sequence number.
+ */
+@Slf4j
+@Component
+public class ProductChangeListener {
+
+    static final String CHANNEL = "product_changes";
+
+    /** How long the connection outlives its last subscriber, so that reconnecting clients find it open. */
+    private static final Duration LINGER = Duration.ofSeconds(30);
+
+    private final ObjectMapper objectMapper;
+    private final Flux<ProductChangeEventDTO> events;
+    private volatile Sinks.Empty<Void> listening = Sinks.empty();
+
+    public ProductChangeListener(ConnectionFactory connectionFactory, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // The primary factory built by R2dbcConfiguration is the driver's own,
+        // so its connections expose the notification API.
+        this.events = Flux.usingWhen(
+                        Mono.from(connectionFactory.create()).cast(PostgresqlConnection.class),
+                        this::listen,
+                        PostgresqlConnection::close)
+                .doOnError(ex -> log.warn("Product change listener failed: {}", ex.getMessage()))
+                .doFinally(signal -> listening = Sinks.empty())
+                .publish()
+                .refCount(1, LINGER);
+    }
+
+    /**
+     * Returns the live change events. Subscribing opens the shared connection
+     * if it is not open yet; events committed before it is listening are not
+     * seen.
+     *
+     * @return a hot {@link Flux} of change events in commit order; errors
+     *         when the connection fails
+     */
+    public Flux<ProductChangeEventDTO> events() {
+        return events;
+    }
+
+    /**
+     * Completes once the shared connection is listening, i.e. every event
+     * committed from then on reaches {@link #events()}.
+     *
+     * @return a {@link Mono} completing when the connection is listening
+     */
+    public Mono<Void> listening() {
+        return Mono.defer(() -> listening.asMono());
+    }
+
+    private Flux<ProductChangeEventDTO> listen(PostgresqlConnection connection) {
+        Sinks.Empty<Void> ready = listening;
+        return connection.createStatement("LISTEN " + CHANNEL)
+                .execute()
+                .flatMap(PostgresqlResult::getRowsUpdated)
+                .then(Mono.fromRunnable(() -> {
+                    log.debug("Listening for product changes");
+                    ready.tryEmitEmpty();
+                }))
+                .thenMany(connection.getNotifications())
+                .filter(notification -> CHANNEL.equals(notification.getName()))
+                .handle(this::read);
+    }
+
+    private void read(Notification notification, SynchronousSink<ProductChangeEventDTO> sink) {
+        try {
+            sink.next(objectMapper.readValue(notification.getParameter(), ProductChangeEventDTO.class));
+        } catch (JsonProcessingException ex) {
+            log.warn("Ignoring malformed product change notification {}: {}",
+                    notification.getParameter(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.product.core.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical reads: concurrent callers asking for
+ * the same {@code (operation, key)} share one in-flight {@link Mono} instead
+ * of each running the query.
+ *
+ * <p>A flight lives only while its load is running; the result is not
+ * cached, so a caller arriving after it terminated starts a new one. Every
+ * subscriber of a flight receives its value, emptiness or error, and an
+ * error is never replayed to later callers. A subscriber cancelling does not
+ * affect the others; the load itself is cancelled only once all of them have
+ * cancelled. Loads run outside the callers' Reactor context, hence outside
+ * any transaction they hold: they read committed rows only. Results are
+ * shared as-is, so callers must treat them as read-only.
+ *
+ * <p>Write paths call {@link #forgetAfterCompletion(String, Object)} so reads
+ * issued after the write never join a load that may have read the old rows.
+ *
+ * <ul>
+ *   <li>{@code product.coalescing.calls} — calls per {@code operation},
+ *       tagged {@code outcome=leader} when the call started a load and
+ *       {@code outcome=coalesced} when it joined one.</li>
+ *   <li>{@code product.coalescing.in-flight} — loads currently running.</li>
+ * </ul>
+ */
+@Component
+public class RequestCoalescer {
+
+    private final Map<FlightKey, Mono<?>> flights = new ConcurrentHashMap<>();
+    private final Map<String, Counter> leaders = new ConcurrentHashMap<>();
+    private final Map<String, Counter> coalesced = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("product.coalescing.in-flight", flights, Map::size)
+                .description("Coalesced reads whose load is running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code loader} for {@code key}, or joins the run already in flight
+     * for it. The loader is invoked lazily, on subscription of the first
+     * caller.
+     *
+     * @param operation name of the read, also used as the metric tag (e.g.
+     *                  {@code "product"})
+     * @param key       identity of the read within the operation; must
+     *                  implement {@code equals} / {@code hashCode}
+     * @param loader    supplies the read to share
+     * @return a {@link Mono} signalling the shared outcome of the read
+     */
+    @SuppressWarnings("unchecked")
+    public <V> Mono<V> coalesce(String operation, Object key, Supplier<? extends Mono<? extends V>> loader) {
+        return Mono.defer(() -> {
+            FlightKey flightKey = new FlightKey(operation, key);
+            Mono<?> existing = flights.get(flightKey);
+            if (existing == null) {
+                Mono<V> flight = newFlight(flightKey, loader);
+                existing = flights.putIfAbsent(flightKey, flight);
+                if (existing == null) {
+                    counter(leaders, operation, "leader").increment();
+                    return flight;
+                }
+            }
+            counter(coalesced, operation, "coalesced").increment();
+            return (Mono<V>) existing;
+        });
+    }
+
+    /**
+     * Detaches the flight running for {@code key}, if any: callers already
+     * waiting on it still receive its outcome, later callers start a new one.
+     */
+    public void forget(String operation, Object key) {
+        flights.remove(new FlightKey(operation, key));
+    }
+
+    /**
+     * {@link #forget(String, Object)} now and again once the current reactive
+     * transaction (if any) completes, so a read that started between the
+     * write and the commit is not joined by callers after the commit.
+     *
+     * @return a {@link Mono} completing once the flight has been detached and
+     *         the after-completion hook registered
+     */
+    public Mono<Void> forgetAfterCompletion(String operation, Object key) {
+        return Mono.fromRunnable(() -> forget(operation, key))
+                .then(TransactionSynchronizationManager.forCurrentTransaction())
+                .filter(TransactionSynchronizationManager::isSynchronizationActive)
+                .doOnNext(synchronizationManager -> synchronizationManager.registerSynchronization(
+                        new TransactionSynchronization() {
+                            @Override
+                            public Mono<Void> afterCompletion(int status) {
+                                return Mono.fromRunnable(() -> forget(operation, key));
+                            }
+                        }))
+                .onErrorResume(NoTransactionException.class, ex -> Mono.empty())
+                .then();
+    }
+
+    private <V> Mono<V> newFlight(FlightKey flightKey, Supplier<? extends Mono<? extends V>> loader) {
+        AtomicReference<Mono<V>> self = new AtomicReference<>();
+        // Released before the outcome is delivered, so a caller arriving at
+        // that moment starts a new flight instead of joining a finished one.
+        Runnable release = () -> flights.remove(flightKey, self.get());
+        Mono<V> flight = Mono.<V>defer(loader)
+                // Detached from the leader's context, so the load never runs in
+                // (or is released with) the transaction of one of its callers.
+                .contextWrite(context -> Context.empty())
+                .doOnTerminate(release)
+                .doOnCancel(release)
+                .flux()
+                .publish()
+                .refCount(1)
+                .singleOrEmpty();
+        self.set(flight);
+        return flight;
+    }
+
+    private Counter counter(Map<String, Counter> counters, String operation, String outcome) {
+        return counters.computeIfAbsent(operation, op -> Counter.builder("product.coalescing.calls")
+                .description("Reads served by the request coalescer")
+                .tag("operation", op)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private record FlightKey(String operation, Object key) {
+    }
+}
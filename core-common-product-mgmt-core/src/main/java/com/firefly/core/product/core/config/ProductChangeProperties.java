@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tuning knobs of the change feed behind {@code /api/v1/products/changes},
+ * bound from the {@code product.changes.*} namespace of
+ * {@code application.yaml}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "product.changes")
+public class ProductChangeProperties {
+
+    /**
+     * Most events replayed to a subscriber resuming from a sequence number.
+     * A subscriber further behind is answered 410 and has to resynchronise.
+     */
+    private int replayLimit = 10_000;
+
+    /**
+     * Most events read from {@code product_change_event} in one query. Each
+     * subscriber reads from its own position, so one that reads slower than
+     * events arrive simply falls behind instead of buffering them.
+     */
+    private int pageSize = 1_024;
+
+    /**
+     * How often each subscriber looks for deliverable events without being
+     * notified. Notifications only announce writes; an event also becomes
+     * deliverable when an older, unrelated transaction ends.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /** How long events are kept for resuming subscribers. */
+    private Duration retention = Duration.ofDays(7);
+
+    /** How often events older than the retention are deleted. */
+    private Duration pruneInterval = Duration.ofHours(1);
+
+    /**
+     * Whether this node evicts its pricing and response caches for the writes
+     * it sees on the change feed, so that writes made on other nodes are not
+     * served stale until the caches expire. Keeps the listening connection
+     * open for the lifetime of the node.
+     */
+    private boolean invalidateCaches = true;
+
+    /** Interval of the comment lines keeping idle streams open through proxies. */
+    private Duration heartbeat = Duration.ofSeconds(15);
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tuning knobs of the pricing aggregation read path, bound from the
+ * {@code product.pricing.*} namespace of {@code application.yaml}. Every
+ * property has a safe default so the service starts without any of them
+ * being declared.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "product.pricing")
+public class ProductPricingProperties {
+
+    /** Per-node cache of compiled pricing snapshots. */
+    private Cache cache = new Cache();
+
+    /** Streaming of {@code /with-pricing}. */
+    private Listing listing = new Listing();
+
+    /** Batch quote engine. */
+    private Quotes quotes = new Quotes();
+
+    /** Multi-product comparison. */
+    private Comparison comparison = new Comparison();
+
+    /** In-memory amount x term index behind {@code /eligible}. */
+    private Eligibility eligibility = new Eligibility();
+
+    /** Start-up compilation of the ACTIVE catalog. */
+    private Warmup warmup = new Warmup();
+
+    /** Serving of the last good pricing while the database is unreachable. */
+    private Resilience resilience = new Resilience();
+
+    @Data
+    public static class Cache {
+
+        /** Whether compiled pricing snapshots are cached at all. */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of product snapshots kept on this node per tenant
+         * partition. Every partition has the full budget, so a node holds at
+         * most this many snapshots per tenant it serves.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Safety-net expiry for snapshots. Writes through the service layer
+         * evict entries synchronously; this only bounds the lifetime of rows
+         * changed behind the service's back (e.g. by a migration).
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Listing {
+
+        /** Number of products whose configuration rows are fetched with one query. */
+        private int batchSize = 256;
+
+        /**
+         * Maximum number of windows loaded at the same time. Each window holds
+         * one pooled connection while its configuration rows are read, so this
+         * bounds how much of the pool one listing can take.
+         */
+        private int concurrency = 2;
+
+        /**
+         * Whether products are emitted in repository order. When {@code false}
+         * windows are emitted as soon as they are compiled.
+         */
+        private boolean ordered = true;
+
+        /**
+         * How listed products are priced. {@code COMPILED} loads the rows and
+         * compiles them like single-product reads; {@code SQL} streams the
+         * documents composed by PostgreSQL in one statement, without the
+         * snapshot cache. Both skip products with an invalid bracket ladder.
+         */
+        private Engine engine = Engine.COMPILED;
+    }
+
+    /** Engine behind {@code /with-pricing}; see {@link Listing#getEngine()}. */
+    public enum Engine {
+        COMPILED,
+        SQL
+    }
+
+    @Data
+    public static class Quotes {
+
+        /** Maximum number of scenarios accepted by a single batch quote request. */
+        private int maxBatchSize = 10_000;
+    }
+
+    @Data
+    public static class Comparison {
+
+        /** Maximum number of distinct products accepted by a single comparison request. */
+        private int maxProducts = 50;
+    }
+
+    @Data
+    public static class Eligibility {
+
+        /**
+         * Longest an eligibility index is served before being rebuilt. Writes
+         * through the service layer already force a rebuild on the next
+         * query; this only bounds staleness after changes made behind the
+         * service's back.
+         */
+        private Duration maxAge = Duration.ofMinutes(5);
+
+        /**
+         * Shortest time between two rebuilds triggered by writes. Writes
+         * landing within it of the last rebuild are picked up by the first
+         * query after it has elapsed, so a burst of writes costs one rebuild
+         * instead of one per write. Zero rebuilds on every write.
+         */
+        private Duration minRebuildInterval = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Warmup {
+
+        /**
+         * Whether every ACTIVE product's pricing is compiled into the cache
+         * before the readiness group reports UP. Uses the listing batch size
+         * and concurrency.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Longest the warm-up may hold readiness back. Once exceeded the
+         * warm-up is cancelled and the node reports ready with whatever was
+         * compiled so far.
+         */
+        private Duration budget = Duration.ofMinutes(2);
+    }
+
+    @Data
+    public static class Resilience {
+
+        /**
+         * Whether single-product pricing reads fall back to the last snapshot
+         * compiled on this node when the database cannot be reached, and
+         * pricing reads go through the circuit breaker.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Oldest snapshot, measured from its compilation, that may be served
+         * in place of the database. Older snapshots are not served and the
+         * read fails as it would without resilience.
+         */
+        private Duration maxStaleness = Duration.ofHours(24);
+
+        /** Consecutive unreachable-database failures that open the circuit. */
+        private int failureThreshold = 5;
+
+        /** How long an open circuit fails reads before letting a probe through. */
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.mappers;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.r2dbc.postgresql.codec.Json;
+
+import java.io.IOException;
+
+/**
+ * Converts {@code product_configuration.config_value} between the JSONB
+ * column and the {@code String} carried by the DTOs.
+ *
+ * <p>The column has been JSONB since V18, but the API has always accepted
+ * free text. A value that is a JSON document is stored as it is, and any
+ * other text is stored as a JSON string. On the way back, a stored JSON
+ * string is returned unquoted. A client that stores {@code ENABLED} therefore
+ * reads back {@code ENABLED}, and one that stores a fee array reads back the
+ * array. PostgreSQL normalises the whitespace and key order of stored
+ * documents.
+ *
+ * <p>Unquoting applies to the string view only. The raw view embeds the
+ * stored JSON as it is (see {@link #toRawText(Json)}), so a stored JSON
+ * string such as {@code "[1,2]"} stays a string there.
+ */
+public final class ConfigValues {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ConfigValues() {
+    }
+
+    /**
+     * Converts a value received from a client into its JSONB form.
+     *
+     * @param value the value as sent; may be {@code null}
+     * @return the value as JSON, or {@code null} for a {@code null} value
+     */
+    public static Json toJson(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (isJson(value)) {
+            return Json.of(value);
+        }
+        return Json.of("\"" + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + "\"");
+    }
+
+    /**
+     * Converts a stored JSONB value into the text returned to clients.
+     *
+     * @param value the stored value; may be {@code null}
+     * @return the JSON text, or the content of a JSON string, or {@code null}
+     */
+    public static String toText(Json value) {
+        if (value == null) {
+            return null;
+        }
+        String json = value.asString();
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() == JsonToken.VALUE_STRING) {
+                return parser.getText();
+            }
+            return json;
+        } catch (IOException ex) {
+            // PostgreSQL only returns valid JSON from a JSONB column.
+            return json;
+        }
+    }
+
+    /**
+     * Returns the stored JSONB text unchanged, for the raw view.
+     *
+     * @param value the stored value; may be {@code null}
+     * @return the JSON text, or {@code null}
+     */
+    public static String toRawText(Json value) {
+        return value == null ? null : value.asString();
+    }
+
+    private static boolean isJson(String value) {
+        try (JsonParser parser = JSON_FACTORY.createParser(value)) {
+            if (parser.nextToken() == null) {
+                return false;
+            }
+            parser.skipChildren();
+            return parser.nextToken() == null;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+}
@@ -18,12 +18,18 @@
 package com.firefly.core.product.core.mappers;
 
 import com.firefly.core.product.interfaces.dtos.ProductConfigurationDTO;
+import com.firefly.core.product.interfaces.dtos.ProductConfigurationRawDTO;
 import com.firefly.core.product.models.entities.ProductConfiguration;
+import io.r2dbc.postgresql.codec.Json;
 import org.mapstruct.*;
 
 @Mapper(componentModel = "spring")
 public interface ProductConfigurationMapper {
     ProductConfigurationDTO toDto(ProductConfiguration entity);
+
+    @Mapping(target = "configValue", qualifiedByName = "rawJson")
+    ProductConfigurationRawDTO toRawDto(ProductConfiguration entity);
+
     ProductConfiguration toEntity(ProductConfigurationDTO dto);
 
     @Mapping(target = "productConfigurationId", ignore = true)
@@ -31,5 +37,18 @@ public interface ProductConfigurationMapper {
     @Mapping(target = "dateCreated", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateEntityFromDto(ProductConfigurationDTO dto, @MappingTarget ProductConfiguration entity);
+
+    default Json toJson(String configValue) {
+        return ConfigValues.toJson(configValue);
+    }
+
+    default String toText(Json configValue) {
+        return ConfigValues.toText(configValue);
+    }
+
+    @Named("rawJson")
+    default String toRawText(Json configValue) {
+        return ConfigValues.toRawText(configValue);
+    }
 }
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.interfaces.dtos.AmortisationScheduleEntryDTO;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily generated French amortisation schedule. Each period is computed
+ * from the previous outstanding balance when the iterator reaches it, so a
+ * schedule is never held in memory as a whole.
+ *
+ * <p>Interest is the outstanding balance times the monthly rate, rounded
+ * half-up to the currency's minor unit; the principal part is the rest of
+ * the instalment. The last period repays whatever principal is left, so the
+ * schedule always ends at zero despite rounding. {@link #totalRepaid()} runs
+ * the same periods without building the entries, so a quote's totals match
+ * the sum of its schedule to the cent.
+ */
+final class AmortisationSchedule implements Iterable<AmortisationScheduleEntryDTO> {
+
+    private final BigDecimal amount;
+    private final BigDecimal monthlyRate;
+    private final BigDecimal instalment;
+    private final int term;
+    private final int scale;
+
+    AmortisationSchedule(BigDecimal amount, BigDecimal monthlyRate, BigDecimal instalment, int term, int scale) {
+        this.amount = amount;
+        this.monthlyRate = monthlyRate;
+        this.instalment = instalment;
+        this.term = term;
+        this.scale = scale;
+    }
+
+    /**
+     * Sum of every instalment of the schedule, including the adjustment of
+     * the last one.
+     */
+    BigDecimal totalRepaid() {
+        BigDecimal outstanding = opening();
+        BigDecimal total = BigDecimal.ZERO.setScale(scale);
+        for (int period = 1; period <= term; period++) {
+            BigDecimal interest = interest(outstanding);
+            BigDecimal principal = principal(period, outstanding, interest);
+            outstanding = outstanding.subtract(principal);
+            total = total.add(principal).add(interest);
+        }
+        return total;
+    }
+
+    @Override
+    public Iterator<AmortisationScheduleEntryDTO> iterator() {
+        return new Iterator<>() {
+
+            private int period;
+            private BigDecimal outstanding = opening();
+
+            @Override
+            public boolean hasNext() {
+                return period < term;
+            }
+
+            @Override
+            public AmortisationScheduleEntryDTO next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                period++;
+                BigDecimal interest = interest(outstanding);
+                BigDecimal principal = principal(period, outstanding, interest);
+                outstanding = outstanding.subtract(principal);
+                return AmortisationScheduleEntryDTO.builder()
+                        .period(period)
+                        .instalment(principal.add(interest))
+                        .interest(interest)
+                        .principal(principal)
+                        .outstandingPrincipal(outstanding)
+                        .build();
+            }
+        };
+    }
+
+    private BigDecimal opening() {
+        return amount.setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal interest(BigDecimal outstanding) {
+        return outstanding.multiply(monthlyRate, MathContext.DECIMAL64).setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal principal(int period, BigDecimal outstanding, BigDecimal interest) {
+        return period == term ? outstanding : instalment.subtract(interest).min(outstanding);
+    }
+}
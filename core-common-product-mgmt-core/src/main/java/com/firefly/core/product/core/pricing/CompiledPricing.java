@@ -0,0 +1,110 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Already-parsed pricing snapshot of a single product, as kept by
+ * {@link ProductPricingCache}. The wrapped {@link ProductPricingDTO} is built
+ * with unmodifiable collections and is shared between every request served
+ * from the cache, so callers must treat it as read-only.
+ *
+ * <p>The interest-rate brackets are also kept as an {@link InterestRateIndex},
+ * sorted and overlap-checked once at compile time, so quoting an amount does
+ * not re-scan or re-validate the ladder, and the per-unit-principal
+ * instalments of every bracket and term are tabulated in
+ * {@link InstalmentFactors}.
+ *
+ * <p>{@code etag} is a strong entity tag derived from the identity and
+ * {@code date_updated} of the product row and of the configuration rows the
+ * snapshot was compiled from; it changes whenever any of them is rewritten.
+ *
+ * <p>A {@code stale} snapshot is the last good one served by
+ * {@link StalePricingStore} while the database is unreachable; it may no
+ * longer match the rows.
+ *
+ * @param pricing    aggregated pricing parameters of the product
+ * @param rates      interest-rate brackets indexed by amount
+ * @param factors    annuity factors per bracket and term
+ * @param tenantId   tenant owning the product; selects the cache partition
+ * @param etag       unquoted strong entity tag of the snapshot
+ * @param compiledAt instant at which the configuration rows were parsed
+ * @param stale      whether the snapshot is served in place of an
+ *                   unavailable database read
+ */
+public record CompiledPricing(
+        ProductPricingDTO pricing,
+        InterestRateIndex rates,
+        InstalmentFactors factors,
+        UUID tenantId,
+        String etag,
+        Instant compiledAt,
+        boolean stale) {
+
+    /** Rough shallow sizes, in bytes, used by {@link #estimatedBytes()}. */
+    private static final int SNAPSHOT_OVERHEAD = 512;
+    private static final int BRACKET_SIZE = 160;
+    private static final int FEE_SIZE = 144;
+    private static final int FACTOR_SIZE = 56;
+
+    /** A snapshot freshly compiled from the database. */
+    public CompiledPricing(
+            ProductPricingDTO pricing,
+            InterestRateIndex rates,
+            InstalmentFactors factors,
+            UUID tenantId,
+            String etag,
+            Instant compiledAt) {
+        this(pricing, rates, factors, tenantId, etag, compiledAt, false);
+    }
+
+    /**
+     * Approximate heap retained by this snapshot: a fixed overhead for the
+     * record, DTO and index, a per-bracket, per-fee and per-tabulated-factor
+     * allowance, and two bytes per character of the free-text fields. Meant
+     * for per-tenant memory gauges, not for exact accounting.
+     */
+    public long estimatedBytes() {
+        long bytes = SNAPSHOT_OVERHEAD;
+        bytes += (long) rates.brackets().size() * BRACKET_SIZE;
+        bytes += factors.cells() * FACTOR_SIZE;
+        if (pricing.getFees() != null) {
+            bytes += (long) pricing.getFees().size() * FEE_SIZE;
+        }
+        bytes += 2L * (length(pricing.getName()) + length(pricing.getDescription()) + length(pricing.getProductCode()));
+        if (pricing.getFeatures() != null) {
+            for (String feature : pricing.getFeatures()) {
+                bytes += 2L * length(feature);
+            }
+        }
+        return bytes;
+    }
+
+    /** This snapshot, marked as served in place of the database. */
+    public CompiledPricing asStale() {
+        return stale ? this : new CompiledPricing(pricing, rates, factors, tenantId, etag, compiledAt, true);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import io.r2dbc.postgresql.codec.Json;
+import org.fireflyframework.web.error.exceptions.BusinessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Schemas of the {@code product_configuration} payloads the pricing read path
+ * decodes, keyed by {@code (configType, configKey)} and built once when the
+ * bean is created.
+ *
+ * <p>A schema checks the shape of the JSON document (types, required and
+ * unknown attributes, lower bounds) and then decodes it with the same
+ * {@link PricingPayloadReader} and {@link InterestRateIndex} the
+ * {@link PricingCompiler} uses, so a value accepted here always compiles.
+ * Keys without a schema keep accepting any value.
+ */
+@Component
+public class ConfigurationSchemaRegistry {
+
+    private static final Pattern CURRENCY_CODE = Pattern.compile("[A-Z]{3}");
+
+    private final ObjectReader treeReader;
+    private final Map<SchemaKey, Schema> schemas;
+
+    public ConfigurationSchemaRegistry(ObjectMapper objectMapper, PricingPayloadReader payloadReader) {
+        this.treeReader = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this.schemas = Map.of(
+                new SchemaKey(ProductConfigTypeEnum.LIMITS, PricingCompiler.CONFIG_KEY_AMOUNT_TERM),
+                new Schema(
+                        object(
+                                required("currency", text(CURRENCY_CODE)),
+                                required("minAmount", number()),
+                                required("maxAmount", number()),
+                                required("minTerm", integer(1)),
+                                required("maxTerm", integer(1))),
+                        json -> {
+                            PricingLimits limits = payloadReader.readLimits(json);
+                            if (limits.minAmount().compareTo(limits.maxAmount()) > 0) {
+                                return "minAmount is greater than maxAmount";
+                            }
+                            if (limits.minTerm() > limits.maxTerm()) {
+                                return "minTerm is greater than maxTerm";
+                            }
+                            return null;
+                        }),
+                new SchemaKey(ProductConfigTypeEnum.PRICING, PricingCompiler.CONFIG_KEY_INTEREST_RATE_BRACKETS),
+                new Schema(
+                        array(object(
+                                optional("minAmount", number()),
+                                optional("maxAmount", number()),
+                                required("tin", number()))),
+                        json -> {
+                            try {
+                                InterestRateIndex.of(payloadReader.readInterestRateBrackets(json));
+                                return null;
+                            } catch (IllegalArgumentException ex) {
+                                return ex.getMessage();
+                            }
+                        }),
+                new SchemaKey(ProductConfigTypeEnum.PRICING, PricingCompiler.CONFIG_KEY_FEES),
+                new Schema(
+                        array(object(
+                                required("type", text(null)),
+                                optional("percentage", number()),
+                                optional("fixed", number()))),
+                        json -> {
+                            payloadReader.readFees(json);
+                            return null;
+                        }));
+    }
+
+    /**
+     * @return whether values of the given type and key are checked against a
+     *         schema
+     */
+    public boolean hasSchema(ProductConfigTypeEnum configType, String configKey) {
+        return schemas.containsKey(new SchemaKey(configType, configKey));
+    }
+
+    /**
+     * Checks a configuration value against the schema of its type and key.
+     *
+     * @param configType configuration type
+     * @param configKey  configuration key
+     * @param value      the value as it will be stored; may be {@code null}
+     * @return a description of the first violation, or {@code null} if the
+     *         value is valid or the key has no schema
+     */
+    public String violation(ProductConfigTypeEnum configType, String configKey, Json value) {
+        Schema schema = schemas.get(new SchemaKey(configType, configKey));
+        if (schema == null) {
+            return null;
+        }
+        String json = value == null ? null : value.asString();
+        if (json == null || json.isBlank()) {
+            return "a JSON value is required";
+        }
+        try {
+            String violation = schema.shape().check(treeReader.readTree(json), "");
+            return violation != null ? violation : schema.rule().check(json);
+        } catch (JsonProcessingException ex) {
+            return "not valid JSON: " + ex.getOriginalMessage();
+        }
+    }
+
+    /**
+     * Same as {@link #violation(ProductConfigTypeEnum, String, Json)}, but
+     * reports a violation as an error.
+     *
+     * @throws BusinessException 400 {@code PRODUCT_CONFIG_SCHEMA_VIOLATION} if
+     *                           the value does not match the schema of its key
+     */
+    public void validate(ProductConfigTypeEnum configType, String configKey, Json value) {
+        String violation = violation(configType, configKey, value);
+        if (violation != null) {
+            throw new BusinessException(
+                    HttpStatus.BAD_REQUEST,
+                    "PRODUCT_CONFIG_SCHEMA_VIOLATION",
+                    "Invalid value for configuration " + configType + "/" + configKey + ": " + violation);
+        }
+    }
+
+    private static Node object(Property... properties) {
+        Set<String> known = Arrays.stream(properties).map(Property::name).collect(Collectors.toUnmodifiableSet());
+        return (node, pointer) -> {
+            if (!node.isObject()) {
+                return at(pointer, "expected an object");
+            }
+            for (Property property : properties) {
+                JsonNode value = node.get(property.name());
+                String path = pointer + "/" + property.name();
+                if (value == null || value.isNull()) {
+                    if (property.required()) {
+                        return at(path, "is required");
+                    }
+                    continue;
+                }
+                String violation = property.node().check(value, path);
+                if (violation != null) {
+                    return violation;
+                }
+            }
+            for (Iterator<String> names = node.fieldNames(); names.hasNext(); ) {
+                String name = names.next();
+                if (!known.contains(name)) {
+                    return at(pointer + "/" + name, "is not a known attribute");
+                }
+            }
+            return null;
+        };
+    }
+
+    private static Node array(Node items) {
+        return (node, pointer) -> {
+            if (!node.isArray()) {
+                return at(pointer, "expected an array");
+            }
+            for (int i = 0; i < node.size(); i++) {
+                String violation = items.check(node.get(i), pointer + "/" + i);
+                if (violation != null) {
+                    return violation;
+                }
+            }
+            return null;
+        };
+    }
+
+    private static Node number() {
+        return (node, pointer) -> {
+            if (!node.isNumber()) {
+                return at(pointer, "expected a number");
+            }
+            return node.decimalValue().signum() < 0 ? at(pointer, "must not be negative") : null;
+        };
+    }
+
+    private static Node integer(int minimum) {
+        return (node, pointer) -> {
+            if (!node.isIntegralNumber() || !node.canConvertToInt()) {
+                return at(pointer, "expected an integer");
+            }
+            return node.intValue() < minimum ? at(pointer, "must be at least " + minimum) : null;
+        };
+    }
+
+    private static Node text(Pattern pattern) {
+        return (node, pointer) -> {
+            if (!node.isTextual() || node.textValue().isBlank()) {
+                return at(pointer, "expected a non-blank string");
+            }
+            if (pattern != null && !pattern.matcher(node.textValue()).matches()) {
+                return at(pointer, "must match " + pattern.pattern());
+            }
+            return null;
+        };
+    }
+
+    private static Property required(String name, Node node) {
+        return new Property(name, node, true);
+    }
+
+    private static Property optional(String name, Node node) {
+        return new Property(name, node, false);
+    }
+
+    private static String at(String pointer, String message) {
+        return (pointer.isEmpty() ? "/" : pointer) + " " + message;
+    }
+
+    /** Check of one JSON node; returns the first violation found, or {@code null}. */
+    @FunctionalInterface
+    private interface Node {
+        String check(JsonNode node, String pointer);
+    }
+
+    /** Check of a whole document once its shape is known to be valid. */
+    @FunctionalInterface
+    private interface Rule {
+        String check(String json) throws JsonProcessingException;
+    }
+
+    private record Property(String name, Node node, boolean required) {
+    }
+
+    private record Schema(Node shape, Rule rule) {
+    }
+
+    private record SchemaKey(ProductConfigTypeEnum configType, String configKey) {
+    }
+}
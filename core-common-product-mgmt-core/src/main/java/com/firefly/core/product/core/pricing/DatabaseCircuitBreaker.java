@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import io.r2dbc.spi.R2dbcTransientException;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.web.error.exceptions.BusinessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Circuit breaker around the database reads of the pricing path.
+ *
+ * <p>After {@code failureThreshold} consecutive reads fail because the
+ * database is unreachable (see {@link #isDatabaseFailure(Throwable)}), the
+ * circuit opens and reads fail immediately with 503
+ * {@code PRICING_DATABASE_UNAVAILABLE} instead of queueing on dead
+ * connections. Once {@code openDuration} has elapsed a single probe read is
+ * let through: its success closes the circuit, its failure opens it again.
+ * Reads failing for business reasons (missing product, malformed
+ * configuration) prove the database answered and count as successes.
+ *
+ * <p>The state is exported as {@code product.pricing.circuit.state}: 0
+ * closed, 1 open, 2 half-open. With resilience disabled every read passes
+ * through untouched.
+ */
+@Slf4j
+@Component
+public class DatabaseCircuitBreaker {
+
+    /** Error code of the 503 signalled while the circuit is open. */
+    public static final String UNAVAILABLE_CODE = "PRICING_DATABASE_UNAVAILABLE";
+
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+
+    private final ProductPricingProperties.Resilience config;
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+    private volatile long openedAt;
+
+    public DatabaseCircuitBreaker(ProductPricingProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.getResilience();
+        Gauge.builder("product.pricing.circuit.state", state, AtomicInteger::get)
+                .description("Pricing database circuit: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code read} through the circuit.
+     *
+     * @return {@code read}, or a {@link Mono} failing with 503
+     *         {@code PRICING_DATABASE_UNAVAILABLE} while the circuit is open
+     */
+    public <T> Mono<T> protect(Mono<T> read) {
+        if (!config.isEnabled()) {
+            return read;
+        }
+        return Mono.defer(() -> {
+            boolean probe = false;
+            if (state.get() != CLOSED) {
+                if (System.nanoTime() - openedAt < config.getOpenDuration().toNanos()
+                        || !probeInFlight.compareAndSet(false, true)) {
+                    return Mono.error(unavailable());
+                }
+                state.set(HALF_OPEN);
+                probe = true;
+            }
+            boolean isProbe = probe;
+            return read
+                    .doOnSuccess(value -> succeeded(isProbe))
+                    .doOnError(error -> {
+                        if (isDatabaseFailure(error)) {
+                            failed(isProbe);
+                        } else {
+                            succeeded(isProbe);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (isProbe) {
+                            probeInFlight.set(false);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Whether {@code error} means the database could not be reached, as
+     * opposed to a query that ran and failed. Also {@code true} for the
+     * error signalled while the circuit is open.
+     */
+    public static boolean isDatabaseFailure(Throwable error) {
+        if (error instanceof BusinessException business) {
+            return UNAVAILABLE_CODE.equals(business.getCode());
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof R2dbcTransientException
+                    || cause instanceof R2dbcNonTransientResourceException
+                    || cause instanceof IOException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private void succeeded(boolean probe) {
+        consecutiveFailures.set(0);
+        if (probe) {
+            probeInFlight.set(false);
+        }
+        if (state.getAndSet(CLOSED) != CLOSED) {
+            log.info("Pricing database reachable again; circuit closed");
+        }
+    }
+
+    private void failed(boolean probe) {
+        if (probe || consecutiveFailures.incrementAndGet() >= config.getFailureThreshold()) {
+            openedAt = System.nanoTime();
+            if (probe) {
+                probeInFlight.set(false);
+            }
+            if (state.getAndSet(OPEN) != OPEN) {
+                log.warn("Pricing database unreachable; circuit open for {}", config.getOpenDuration());
+            }
+        }
+    }
+
+    private static BusinessException unavailable() {
+        return new BusinessException(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                UNAVAILABLE_CODE,
+                "Pricing database unavailable; retry later");
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable index of product limits answering "which products accept this
+ * amount over this term".
+ *
+ * <p>Products are partitioned by {@code (tenantId, productType)}. Inside a
+ * partition the {@code [minAmount, maxAmount]} intervals are sorted by lower
+ * bound and laid out as an implicit balanced tree in which every node also
+ * carries the highest upper bound of its subtree. A stabbing query descends
+ * only into subtrees that can still contain the amount, so it costs
+ * {@code O(log n + k)} for {@code k} amount matches; the term range of each
+ * match is then checked in constant time. Absent limits are unbounded, as in
+ * {@link PricingQuoteCalculator}. A match must also have an interest-rate
+ * bracket covering the amount ({@code O(log b)} in its
+ * {@link InterestRateIndex}), so a product whose brackets leave a gap inside
+ * its limits is not offered for an amount in that gap: every eligible
+ * product can be quoted.
+ *
+ * <p>Built from compiled snapshots by {@link #of(Collection)}; safe to share
+ * between threads.
+ */
+public final class EligibilityIndex {
+
+    private static final Comparator<ProductPricingDTO> RESULT_ORDER = Comparator
+            .comparing(ProductPricingDTO::getProductCode, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ProductPricingDTO::getProductId);
+
+    private final Map<Partition, IntervalTree> partitions;
+    private final int size;
+
+    private EligibilityIndex(Map<Partition, IntervalTree> partitions, int size) {
+        this.partitions = partitions;
+        this.size = size;
+    }
+
+    /**
+     * Indexes the limits of the given snapshots.
+     */
+    public static EligibilityIndex of(Collection<CompiledPricing> snapshots) {
+        Map<Partition, List<CompiledPricing>> grouped = new HashMap<>();
+        for (CompiledPricing snapshot : snapshots) {
+            grouped.computeIfAbsent(new Partition(snapshot.tenantId(), snapshot.pricing().getProductType()),
+                    key -> new ArrayList<>()).add(snapshot);
+        }
+        Map<Partition, IntervalTree> partitions = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((key, products) -> partitions.put(key, new IntervalTree(products)));
+        return new EligibilityIndex(partitions, snapshots.size());
+    }
+
+    /**
+     * Returns the products whose limits cover {@code amount} and
+     * {@code term} and whose brackets price {@code amount}, ordered by
+     * product code.
+     *
+     * @param tenantId    tenant to search; {@code null} searches every tenant
+     * @param productType derived product-type label to search; {@code null}
+     *                    searches every type
+     * @param amount      requested principal amount
+     * @param term        requested term, in months
+     * @return the eligible products
+     */
+    public List<ProductPricingDTO> eligible(UUID tenantId, String productType, BigDecimal amount, int term) {
+        List<ProductPricingDTO> matches = new ArrayList<>();
+        if (tenantId != null && productType != null) {
+            IntervalTree tree = partitions.get(new Partition(tenantId, productType));
+            if (tree != null) {
+                tree.stab(amount, term, matches);
+            }
+        } else {
+            partitions.forEach((key, tree) -> {
+                if ((tenantId == null || tenantId.equals(key.tenantId()))
+                        && (productType == null || productType.equals(key.productType()))) {
+                    tree.stab(amount, term, matches);
+                }
+            });
+        }
+        matches.sort(RESULT_ORDER);
+        return matches;
+    }
+
+    /**
+     * Number of indexed products.
+     */
+    public int size() {
+        return size;
+    }
+
+    private record Partition(UUID tenantId, String productType) {
+    }
+
+    /**
+     * Static interval tree over the amount ranges of one partition. Node
+     * {@code mid = (lo + hi) >>> 1} of the range {@code [lo, hi)} holds
+     * {@code snapshots[mid]}; {@code maxUpper[mid]} is the highest
+     * {@code maxAmount} in that range, {@code null} meaning unbounded.
+     */
+    private static final class IntervalTree {
+
+        /** Upper bound of an empty range: below any amount. */
+        private static final BigDecimal EMPTY = BigDecimal.valueOf(Long.MIN_VALUE);
+
+        private final CompiledPricing[] snapshots;
+        private final BigDecimal[] maxUpper;
+
+        IntervalTree(List<CompiledPricing> unsorted) {
+            this.snapshots = unsorted.toArray(CompiledPricing[]::new);
+            Arrays.sort(snapshots, Comparator.comparing(
+                    (CompiledPricing snapshot) -> snapshot.pricing().getMinAmount(),
+                    Comparator.nullsFirst(Comparator.naturalOrder())));
+            this.maxUpper = new BigDecimal[snapshots.length];
+            build(0, snapshots.length);
+        }
+
+        private BigDecimal build(int lo, int hi) {
+            if (lo >= hi) {
+                return EMPTY;
+            }
+            int mid = (lo + hi) >>> 1;
+            BigDecimal left = build(lo, mid);
+            BigDecimal right = build(mid + 1, hi);
+            BigDecimal max = upperMax(upperMax(left, right), snapshots[mid].pricing().getMaxAmount());
+            maxUpper[mid] = max;
+            return max;
+        }
+
+        void stab(BigDecimal amount, int term, List<ProductPricingDTO> out) {
+            stab(0, snapshots.length, amount, term, out);
+        }
+
+        private void stab(int lo, int hi, BigDecimal amount, int term, List<ProductPricingDTO> out) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (maxUpper[mid] != null && maxUpper[mid].compareTo(amount) < 0) {
+                return;
+            }
+            stab(lo, mid, amount, term, out);
+            CompiledPricing snapshot = snapshots[mid];
+            ProductPricingDTO product = snapshot.pricing();
+            if (product.getMinAmount() != null && product.getMinAmount().compareTo(amount) > 0) {
+                // Everything to the right starts even higher.
+                return;
+            }
+            if ((product.getMaxAmount() == null || product.getMaxAmount().compareTo(amount) >= 0)
+                    && (product.getMinTerm() == null || product.getMinTerm() <= term)
+                    && (product.getMaxTerm() == null || product.getMaxTerm() >= term)
+                    && snapshot.rates().indexOf(amount) >= 0) {
+                out.add(product);
+            }
+            stab(mid + 1, hi, amount, term, out);
+        }
+
+        /** Maximum of two upper bounds, {@code null} being unbounded. */
+        private static BigDecimal upperMax(BigDecimal a, BigDecimal b) {
+            if (a == null || b == null) {
+                return null;
+            }
+            return a.compareTo(b) >= 0 ? a : b;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-unit-principal instalments of a product, one row per interest-rate
+ * bracket and one column per term in {@code [minTerm, maxTerm]}, so an
+ * instalment is a single multiplication by the principal.
+ *
+ * <p>The whole table is computed by {@link #of(InterestRateIndex, Integer, Integer)}
+ * when the pricing is compiled and is then immutable for the lifetime of the
+ * {@link CompiledPricing} snapshot that owns it, so the first quote of a
+ * snapshot costs the same as any other and readers share it without any
+ * publication concerns. Terms outside the product limits, or products
+ * without term limits, are computed on every call.
+ */
+public final class InstalmentFactors {
+
+    private final InterestRateIndex rates;
+    private final int minTerm;
+    private final int terms;
+    private final BigDecimal[][] rows;
+
+    private InstalmentFactors(InterestRateIndex rates, int minTerm, int terms) {
+        this.rates = rates;
+        this.minTerm = minTerm;
+        this.terms = terms;
+        this.rows = new BigDecimal[terms > 0 ? rates.brackets().size() : 0][];
+        for (int bracket = 0; bracket < rows.length; bracket++) {
+            rows[bracket] = computeRow(bracket);
+        }
+    }
+
+    /**
+     * @param rates   interest-rate brackets of the product
+     * @param minTerm lower term limit; {@code null} if unbounded
+     * @param maxTerm upper term limit; {@code null} if unbounded
+     * @return the filled factor table
+     */
+    public static InstalmentFactors of(InterestRateIndex rates, Integer minTerm, Integer maxTerm) {
+        if (minTerm == null || maxTerm == null || minTerm < 1 || maxTerm < minTerm) {
+            return new InstalmentFactors(rates, 0, 0);
+        }
+        return new InstalmentFactors(rates, minTerm, maxTerm - minTerm + 1);
+    }
+
+    /**
+     * Returns the annuity factor of a bracket and term, see
+     * {@link PricingQuoteCalculator#annuityFactor(BigDecimal, int)}.
+     *
+     * @param bracket position of the bracket in {@link InterestRateIndex#brackets()}
+     * @param term    number of monthly instalments
+     * @return the per-unit-principal instalment, unrounded
+     */
+    public BigDecimal factor(int bracket, int term) {
+        int column = term - minTerm;
+        if (terms == 0 || column < 0 || column >= terms) {
+            return PricingQuoteCalculator.annuityFactor(rates.brackets().get(bracket).getTin(), term);
+        }
+        return rows[bracket][column];
+    }
+
+    /** Number of tabulated cells, for memory estimates. */
+    long cells() {
+        return (long) rows.length * terms;
+    }
+
+    private BigDecimal[] computeRow(int bracket) {
+        BigDecimal tin = rates.brackets().get(bracket).getTin();
+        BigDecimal[] row = new BigDecimal[terms];
+        for (int i = 0; i < terms; i++) {
+            row[i] = PricingQuoteCalculator.annuityFactor(tin, minTerm + i);
+        }
+        return row;
+    }
+}
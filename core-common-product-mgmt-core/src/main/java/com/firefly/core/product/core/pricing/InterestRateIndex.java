@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.interfaces.dtos.InterestRateBracketDTO;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Interest-rate brackets of a product sorted by lower bound, so the bracket
+ * covering a principal amount is found with a binary search.
+ *
+ * <p>Bounds are inclusive. A {@code null} {@code minAmount} is only accepted
+ * on the first bracket (unbounded below) and a {@code null} {@code maxAmount}
+ * only on the last one (unbounded above). Gaps between brackets are allowed;
+ * overlapping or inverted brackets are rejected when the index is built, so a
+ * bad configuration fails once at compile time instead of producing an
+ * arbitrary rate on every quote.
+ */
+public final class InterestRateIndex {
+
+    private static final Comparator<InterestRateBracketDTO> BY_MIN_AMOUNT = Comparator.comparing(
+            InterestRateBracketDTO::getMinAmount, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final List<InterestRateBracketDTO> brackets;
+
+    private InterestRateIndex(List<InterestRateBracketDTO> brackets) {
+        this.brackets = brackets;
+    }
+
+    /**
+     * Sorts and validates the given brackets.
+     *
+     * @param brackets decoded {@code (PRICING, interest_rate_brackets)} payload
+     * @return the index
+     * @throws IllegalArgumentException if a bracket has no {@code tin}, is
+     *                                  inverted, overlaps another bracket or
+     *                                  leaves a bound open in the middle of
+     *                                  the ladder
+     */
+    public static InterestRateIndex of(List<InterestRateBracketDTO> brackets) {
+        List<InterestRateBracketDTO> sorted = new ArrayList<>(brackets);
+        sorted.sort(BY_MIN_AMOUNT);
+        for (int i = 0; i < sorted.size(); i++) {
+            InterestRateBracketDTO bracket = sorted.get(i);
+            if (bracket.getTin() == null) {
+                throw new IllegalArgumentException("Bracket " + describe(bracket) + " has no tin");
+            }
+            if (bracket.getMinAmount() != null && bracket.getMaxAmount() != null
+                    && bracket.getMinAmount().compareTo(bracket.getMaxAmount()) > 0) {
+                throw new IllegalArgumentException("Bracket " + describe(bracket) + " is inverted");
+            }
+            if (i == 0) {
+                continue;
+            }
+            InterestRateBracketDTO previous = sorted.get(i - 1);
+            if (bracket.getMinAmount() == null || previous.getMaxAmount() == null
+                    || previous.getMaxAmount().compareTo(bracket.getMinAmount()) >= 0) {
+                throw new IllegalArgumentException(
+                        "Brackets " + describe(previous) + " and " + describe(bracket) + " overlap");
+            }
+        }
+        return new InterestRateIndex(Collections.unmodifiableList(sorted));
+    }
+
+    /**
+     * Returns the bracket whose range contains {@code amount}.
+     *
+     * @param amount principal amount
+     * @return the matching bracket, or {@code null} if the amount falls
+     *         outside every bracket
+     */
+    public InterestRateBracketDTO find(BigDecimal amount) {
+        int index = indexOf(amount);
+        return index < 0 ? null : brackets.get(index);
+    }
+
+    /**
+     * Returns the position in {@link #brackets()} of the bracket whose range
+     * contains {@code amount}.
+     *
+     * @param amount principal amount
+     * @return the bracket position, or {@code -1} if the amount falls outside
+     *         every bracket
+     */
+    public int indexOf(BigDecimal amount) {
+        // Last bracket whose lower bound is <= amount; a null lower bound
+        // sorts first and always qualifies.
+        int low = 0;
+        int high = brackets.size() - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            BigDecimal min = brackets.get(mid).getMinAmount();
+            if (min == null || min.compareTo(amount) <= 0) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (candidate < 0) {
+            return -1;
+        }
+        BigDecimal max = brackets.get(candidate).getMaxAmount();
+        return max == null || max.compareTo(amount) >= 0 ? candidate : -1;
+    }
+
+    /**
+     * @return the brackets sorted by lower bound; unmodifiable
+     */
+    public List<InterestRateBracketDTO> brackets() {
+        return brackets;
+    }
+
+    private static String describe(InterestRateBracketDTO bracket) {
+        return "[" + bracket.getMinAmount() + ", " + bracket.getMaxAmount() + "]";
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.interfaces.dtos.AppliedFeeDTO;
+import com.firefly.core.product.interfaces.dtos.PricingComparisonDTO;
+import com.firefly.core.product.interfaces.dtos.PricingComparisonRowDTO;
+import com.firefly.core.product.interfaces.dtos.PricingQuoteDTO;
+import com.firefly.core.product.interfaces.dtos.PricingQuoteResultDTO;
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import org.fireflyframework.web.error.exceptions.BusinessException;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Accumulates the quotes of several products for one {@code (amount, term)}
+ * scenario and keeps the {@code topK} cheapest.
+ *
+ * <p>Each snapshot is quoted once as it is offered and either retained or
+ * dropped immediately: the running selection is a max-heap bounded to
+ * {@code topK} entries ordered by total cost, then instalment, then product
+ * id, so comparing {@code n} products costs {@code O(n log topK)} and never
+ * holds more than {@code topK} quotes. The fee columns are the union of the
+ * retained rows' fee types, in order of first appearance.
+ *
+ * <p>Total costs are only comparable within one currency, so every quoted
+ * product must be priced in the currency of the first one; a product in
+ * another currency fails the whole comparison rather than being ranked by
+ * its bare amount.
+ *
+ * <p>Not thread-safe; build one per request.
+ */
+public final class PricingComparison {
+
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparing((Candidate c) -> c.quote().getTotalCost())
+            .thenComparing(c -> c.quote().getInstalment())
+            .thenComparing(c -> c.pricing().getProductId());
+
+    private final BigDecimal amount;
+    private final int term;
+    private final int topK;
+    private final PriorityQueue<Candidate> best;
+    private final List<PricingQuoteResultDTO> excluded = new ArrayList<>();
+    private boolean quoted;
+    private String currency;
+
+    /**
+     * @param amount requested principal amount; strictly positive
+     * @param term   requested term in months; strictly positive
+     * @param topK   number of rows to keep; strictly positive
+     */
+    public PricingComparison(BigDecimal amount, int term, int topK) {
+        this.amount = amount;
+        this.term = term;
+        this.topK = topK;
+        this.best = new PriorityQueue<>(Math.min(topK, 64) + 1, RANKING.reversed());
+    }
+
+    /**
+     * Quotes {@code compiled} and keeps it if it ranks among the best so far.
+     * A product that cannot be quoted for the scenario is recorded as
+     * excluded with the calculator's error code.
+     *
+     * @throws BusinessException 400 {@code COMPARISON_MIXED_CURRENCIES} if
+     *                           the product is priced in another currency
+     *                           than the products quoted before it
+     */
+    public void offer(CompiledPricing compiled) {
+        PricingQuoteDTO quote;
+        try {
+            quote = PricingQuoteCalculator.quote(compiled, amount, term);
+        } catch (BusinessException e) {
+            exclude(compiled.pricing().getProductId(), e.getCode(), e.getMessage());
+            return;
+        }
+        if (!quoted) {
+            quoted = true;
+            currency = quote.getCurrency();
+        } else if (!Objects.equals(currency, quote.getCurrency())) {
+            throw new BusinessException(
+                    HttpStatus.BAD_REQUEST,
+                    "COMPARISON_MIXED_CURRENCIES",
+                    "Products priced in " + currency + " and " + quote.getCurrency()
+                            + " cannot be ranked together; compare products of one currency");
+        }
+        Candidate candidate = new Candidate(compiled.pricing(), quote);
+        if (best.size() < topK) {
+            best.add(candidate);
+        } else if (RANKING.compare(candidate, best.peek()) < 0) {
+            best.poll();
+            best.add(candidate);
+        }
+    }
+
+    /**
+     * Records a product that could not be compared, e.g. because it does not
+     * exist or its pricing could not be compiled.
+     */
+    public void exclude(UUID productId, String code, String message) {
+        excluded.add(PricingQuoteResultDTO.builder()
+                .productId(productId)
+                .errorCode(code)
+                .errorMessage(message)
+                .build());
+    }
+
+    /**
+     * Builds the ranked matrix from the rows retained so far.
+     */
+    public PricingComparisonDTO result() {
+        List<Candidate> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+
+        Map<String, Integer> columns = new LinkedHashMap<>();
+        for (Candidate candidate : ranked) {
+            for (AppliedFeeDTO fee : candidate.quote().getFees()) {
+                columns.putIfAbsent(fee.getType(), columns.size());
+            }
+        }
+
+        List<PricingComparisonRowDTO> rows = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            rows.add(row(i + 1, ranked.get(i), columns));
+        }
+        return PricingComparisonDTO.builder()
+                .amount(amount)
+                .term(term)
+                .feeTypes(new ArrayList<>(columns.keySet()))
+                .rows(rows)
+                .excluded(List.copyOf(excluded))
+                .build();
+    }
+
+    private static PricingComparisonRowDTO row(int rank, Candidate candidate, Map<String, Integer> columns) {
+        PricingQuoteDTO quote = candidate.quote();
+        BigDecimal zero = BigDecimal.ZERO.setScale(quote.getTotalFees().scale());
+        List<BigDecimal> fees = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            fees.add(zero);
+        }
+        for (AppliedFeeDTO fee : quote.getFees()) {
+            int column = columns.get(fee.getType());
+            fees.set(column, fees.get(column).add(fee.getAmount()));
+        }
+        ProductPricingDTO pricing = candidate.pricing();
+        return PricingComparisonRowDTO.builder()
+                .rank(rank)
+                .productId(pricing.getProductId())
+                .productCode(pricing.getProductCode())
+                .name(pricing.getName())
+                .currency(quote.getCurrency())
+                .tin(quote.getTin())
+                .apr(quote.getApr())
+                .instalment(quote.getInstalment())
+                .fees(fees)
+                .totalFees(quote.getTotalFees())
+                .totalCost(quote.getTotalCost())
+                .build();
+    }
+
+    private record Candidate(ProductPricingDTO pricing, PricingQuoteDTO quote) {
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.firefly.core.product.interfaces.dtos.FeeDefinitionDTO;
+import com.firefly.core.product.interfaces.dtos.InterestRateBracketDTO;
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import com.firefly.core.product.interfaces.enums.ProductStatusEnum;
+import com.firefly.core.product.models.entities.Product;
+import com.firefly.core.product.models.entities.ProductConfiguration;
+import io.r2dbc.postgresql.codec.Json;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.web.error.exceptions.BusinessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Turns a product and its {@code product_configuration} rows into a
+ * {@link CompiledPricing} snapshot. Pure CPU work: no I/O, no reactive
+ * types, so the same code path can be driven by the aggregator service and by
+ * the JMH benchmarks.
+ *
+ * <p>Three configuration rows are required per product:
+ * {@code (LIMITS, amount_term)}, {@code (PRICING, interest_rate_brackets)}
+ * and {@code (PRICING, fees)}. A missing row is reported as 422
+ * {@code PRODUCT_CONFIG_MISSING}; malformed JSON and invalid bracket ladders
+ * as 502 {@code PRODUCT_CONFIG_PARSE_ERROR} / {@code PRODUCT_CONFIG_INVALID}.
+ *
+ * <p>Writes through the configuration service are checked against the
+ * {@link ConfigurationSchemaRegistry}, so the stored JSON of these rows is
+ * decoded as it is, without first probing it for a quoted text value. The
+ * two 502 errors remain for rows written before the schemas existed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PricingCompiler {
+
+    /** Configuration key holding the LIMITS JSON object. */
+    public static final String CONFIG_KEY_AMOUNT_TERM = "amount_term";
+
+    /** Configuration key holding the PRICING interest-rate brackets array. */
+    public static final String CONFIG_KEY_INTEREST_RATE_BRACKETS = "interest_rate_brackets";
+
+    /** Configuration key holding the PRICING fees array. */
+    public static final String CONFIG_KEY_FEES = "fees";
+
+    /** Number of digest bytes kept in a pricing entity tag. */
+    private static final int ETAG_BYTES = 16;
+
+    private final PricingPayloadReader payloadReader;
+
+    /**
+     * Compiles the pricing snapshot of a product.
+     *
+     * @param product the product row
+     * @param configs every configuration row of the product (rows of other
+     *                types and keys are ignored)
+     * @return the compiled snapshot
+     * @throws BusinessException if a required row is missing or cannot be
+     *                           decoded
+     */
+    public CompiledPricing compile(Product product, Collection<ProductConfiguration> configs) {
+        ProductConfiguration limitsCfg = requireConfig(
+                product, configs, ProductConfigTypeEnum.LIMITS, CONFIG_KEY_AMOUNT_TERM);
+        ProductConfiguration ratesCfg = requireConfig(
+                product, configs, ProductConfigTypeEnum.PRICING, CONFIG_KEY_INTEREST_RATE_BRACKETS);
+        ProductConfiguration feesCfg = requireConfig(
+                product, configs, ProductConfigTypeEnum.PRICING, CONFIG_KEY_FEES);
+
+        try {
+            PricingLimits limits = payloadReader.readLimits(storedJson(limitsCfg));
+            List<InterestRateBracketDTO> rates = payloadReader.readInterestRateBrackets(storedJson(ratesCfg));
+            List<FeeDefinitionDTO> fees = payloadReader.readFees(storedJson(feesCfg));
+            InterestRateIndex rateIndex = InterestRateIndex.of(rates);
+
+            ProductPricingDTO dto = ProductPricingDTO.builder()
+                    .productId(product.getProductId())
+                    .productCode(product.getProductCode())
+                    .productType(ProductTypeLabel.derive(product.getProductCode(), product.getProductType()))
+                    .name(product.getProductName())
+                    .description(product.getProductDescription())
+                    .available(product.getProductStatus() == ProductStatusEnum.ACTIVE)
+                    .features(unmodifiable(parseMarketingFeatures(product.getMarketingFeatures())))
+                    .currency(limits.currency())
+                    .minAmount(limits.minAmount())
+                    .maxAmount(limits.maxAmount())
+                    .minTerm(limits.minTerm())
+                    .maxTerm(limits.maxTerm())
+                    .interestRates(rateIndex.brackets())
+                    .fees(Collections.unmodifiableList(fees))
+                    .build();
+            String etag = etagOf(product, limitsCfg, ratesCfg, feesCfg);
+            return new CompiledPricing(
+                    dto,
+                    rateIndex,
+                    InstalmentFactors.of(rateIndex, limits.minTerm(), limits.maxTerm()),
+                    product.getTenantId(),
+                    etag,
+                    Instant.now());
+        } catch (JsonProcessingException ex) {
+            throw new BusinessException(
+                    HttpStatus.BAD_GATEWAY,
+                    "PRODUCT_CONFIG_PARSE_ERROR",
+                    "Configuration parse error for product " + product.getProductId() + ": " + ex.getOriginalMessage(),
+                    ex);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException(
+                    HttpStatus.BAD_GATEWAY,
+                    "PRODUCT_CONFIG_INVALID",
+                    "Invalid interest-rate brackets for product " + product.getProductId() + ": " + ex.getMessage(),
+                    ex);
+        }
+    }
+
+    /**
+     * Returns the first row of {@code configs} with the given type and key.
+     */
+    public static Optional<ProductConfiguration> findConfig(
+            Collection<ProductConfiguration> configs,
+            ProductConfigTypeEnum type,
+            String key) {
+        for (ProductConfiguration config : configs) {
+            if (type == config.getConfigType() && key.equals(config.getConfigKey())) {
+                return Optional.of(config);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static ProductConfiguration requireConfig(
+            Product product,
+            Collection<ProductConfiguration> configs,
+            ProductConfigTypeEnum type,
+            String key) {
+        return findConfig(configs, type, key).orElseThrow(() -> new BusinessException(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                "PRODUCT_CONFIG_MISSING",
+                "Configuration not found: " + type + "/" + key + " for product " + product.getProductId()));
+    }
+
+    /**
+     * Hashes the identity and {@code date_updated} of every row a snapshot is
+     * compiled from. Auditing bumps {@code date_updated} on each write through
+     * the service layer, so the tag changes exactly when the inputs do.
+     */
+    private static String etagOf(Product product, ProductConfiguration... configs) {
+        MessageDigest digest = sha256();
+        update(digest, product.getProductId());
+        update(digest, product.getDateUpdated());
+        for (ProductConfiguration config : configs) {
+            update(digest, config.getProductConfigurationId());
+            update(digest, config.getDateUpdated());
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, ETAG_BYTES);
+    }
+
+    private static String storedJson(ProductConfiguration config) {
+        Json value = config.getConfigValue();
+        return value == null ? null : value.asString();
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private List<String> parseMarketingFeatures(Json json) {
+        if (json == null) {
+            return null;
+        }
+        String raw = json.asString();
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        try {
+            return payloadReader.readStringList(raw);
+        } catch (JsonProcessingException ex) {
+            log.warn("Failed to parse product marketing_features JSON: {}", ex.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private static <T> List<T> unmodifiable(List<T> list) {
+        return list == null ? null : Collections.unmodifiableList(list);
+    }
+}
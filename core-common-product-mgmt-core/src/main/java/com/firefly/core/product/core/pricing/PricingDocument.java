@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.product.core.pricing;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Pricing of a single product already encoded as JSON by the database (see
+ * the {@code product_pricing_document} view), as emitted by the SQL listing
+ * engine. It has the shape of a
+ * {@link com.firefly.core.product.interfaces.dtos.ProductPricingDTO} and is
+ * serialised by writing {@code json} verbatim, so Jackson encoders can stream
+ * it as a JSON array element, an NDJSON line or an SSE event without parsing
+ * it.
+ *
+ * @param productId product the document describes
+ * @param etag      unquoted strong entity tag of the document
+ * @param json      the document
+ */
+@JsonSerialize(using = PricingDocument.RawSerializer.class)
+public record PricingDocument(UUID productId, String etag, String json) {
+
+    static final class RawSerializer extends StdSerializer<PricingDocument> {
+
+        RawSerializer() {
+            super(PricingDocument.class);
+        }
+
+        @Override
+        public void serialize(PricingDocument value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeRawValue(value.json());
+        }
+    }
+}
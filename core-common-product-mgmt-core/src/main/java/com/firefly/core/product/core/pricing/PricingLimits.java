@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import java.math.BigDecimal;
+
+/**
+ * Typed view of the {@code (LIMITS, amount_term)} configuration payload.
+ * Any component absent from the stored JSON is {@code null}.
+ *
+ * @param currency  ISO 4217 currency code
+ * @param minAmount inclusive minimum principal amount
+ * @param maxAmount inclusive maximum principal amount
+ * @param minTerm   inclusive minimum term, in months
+ * @param maxTerm   inclusive maximum term, in months
+ */
+public record PricingLimits(
+        String currency,
+        BigDecimal minAmount,
+        BigDecimal maxAmount,
+        Integer minTerm,
+        Integer maxTerm) {
+
+    /** Limits decoded from a blank payload. */
+    public static final PricingLimits EMPTY = new PricingLimits(null, null, null, null, null);
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.firefly.core.product.interfaces.dtos.FeeDefinitionDTO;
+import com.firefly.core.product.interfaces.dtos.InterestRateBracketDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decodes the JSON payloads stored in {@code product_configuration.config_value}
+ * for the pricing read path.
+ *
+ * <p>The {@code (LIMITS, amount_term)} object is decoded with a streaming
+ * {@link JsonParser} straight into a {@link PricingLimits}: numbers go from
+ * the token buffer to {@link BigDecimal} / {@code int} without an
+ * intermediate {@code Map<String, Object>} or string round-trip, and unknown
+ * attributes are skipped. The PRICING arrays and the marketing features use
+ * {@link ObjectReader}s built once at construction, so no type references or
+ * deserializer lookups happen per call.
+ *
+ * <p>Blank payloads decode to empty values, mirroring how a missing
+ * {@code config_value} has always been treated.
+ */
+@Component
+public class PricingPayloadReader {
+
+    private static final TypeReference<List<InterestRateBracketDTO>> BRACKET_LIST_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<FeeDefinitionDTO>> FEE_LIST_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<String>> STRING_LIST_TYPE = new TypeReference<>() {};
+
+    private final JsonFactory jsonFactory;
+    private final ObjectReader bracketsReader;
+    private final ObjectReader feesReader;
+    private final ObjectReader stringListReader;
+
+    public PricingPayloadReader(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.bracketsReader = objectMapper.readerFor(BRACKET_LIST_TYPE);
+        this.feesReader = objectMapper.readerFor(FEE_LIST_TYPE);
+        this.stringListReader = objectMapper.readerFor(STRING_LIST_TYPE);
+    }
+
+    /**
+     * Decodes a {@code (LIMITS, amount_term)} payload.
+     *
+     * @param json stored configuration value; may be {@code null} or blank
+     * @return the decoded limits, or {@link PricingLimits#EMPTY} for a blank
+     *         payload
+     * @throws JsonProcessingException if the payload is not a JSON object or a
+     *                                 numeric attribute is not a number
+     */
+    public PricingLimits readLimits(String json) throws JsonProcessingException {
+        if (json == null || json.isBlank()) {
+            return PricingLimits.EMPTY;
+        }
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                return PricingLimits.EMPTY;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object for LIMITS/amount_term");
+            }
+            String currency = null;
+            BigDecimal minAmount = null;
+            BigDecimal maxAmount = null;
+            Integer minTerm = null;
+            Integer maxTerm = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "currency" -> currency = value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                    case "minAmount" -> minAmount = readDecimal(parser, value);
+                    case "maxAmount" -> maxAmount = readDecimal(parser, value);
+                    case "minTerm" -> minTerm = readInteger(parser, value);
+                    case "maxTerm" -> maxTerm = readInteger(parser, value);
+                    default -> parser.skipChildren();
+                }
+            }
+            return new PricingLimits(currency, minAmount, maxAmount, minTerm, maxTerm);
+        } catch (JsonProcessingException ex) {
+            throw ex;
+        } catch (IOException ex) {
+            // Parsing an in-memory String performs no I/O.
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Decodes a {@code (PRICING, interest_rate_brackets)} payload.
+     *
+     * @param json stored configuration value; may be {@code null} or blank
+     * @return the decoded brackets, never {@code null}
+     * @throws JsonProcessingException if the payload is not a JSON array of
+     *                                 brackets
+     */
+    public List<InterestRateBracketDTO> readInterestRateBrackets(String json) throws JsonProcessingException {
+        return readList(bracketsReader, json);
+    }
+
+    /**
+     * Decodes a {@code (PRICING, fees)} payload.
+     *
+     * @param json stored configuration value; may be {@code null} or blank
+     * @return the decoded fees, never {@code null}
+     * @throws JsonProcessingException if the payload is not a JSON array of
+     *                                 fees
+     */
+    public List<FeeDefinitionDTO> readFees(String json) throws JsonProcessingException {
+        return readList(feesReader, json);
+    }
+
+    /**
+     * Decodes a JSON array of strings, such as {@code product.marketing_features}.
+     *
+     * @param json raw JSON; may be {@code null} or blank
+     * @return the decoded strings, or {@code null} for a blank payload
+     * @throws JsonProcessingException if the payload is not a JSON array of
+     *                                 strings
+     */
+    public List<String> readStringList(String json) throws JsonProcessingException {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        return stringListReader.readValue(json);
+    }
+
+    private static <T> List<T> readList(ObjectReader reader, String json) throws JsonProcessingException {
+        if (json == null || json.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<T> values = reader.readValue(json);
+        return values != null ? values : Collections.emptyList();
+    }
+
+    private static BigDecimal readDecimal(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDecimalValue();
+            case VALUE_NULL -> null;
+            case VALUE_STRING -> {
+                try {
+                    yield new BigDecimal(parser.getText().trim());
+                } catch (NumberFormatException ex) {
+                    throw new JsonParseException(parser, "Not a decimal number: \"" + parser.getText() + "\"");
+                }
+            }
+            default -> throw new JsonParseException(parser, "Expected a number for " + parser.currentName());
+        };
+    }
+
+    private static Integer readInteger(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getIntValue();
+            case VALUE_NULL -> null;
+            case VALUE_STRING -> {
+                try {
+                    yield Integer.valueOf(parser.getText().trim());
+                } catch (NumberFormatException ex) {
+                    throw new JsonParseException(parser, "Not an integer: \"" + parser.getText() + "\"");
+                }
+            }
+            default -> throw new JsonParseException(parser, "Expected an integer for " + parser.currentName());
+        };
+    }
+}
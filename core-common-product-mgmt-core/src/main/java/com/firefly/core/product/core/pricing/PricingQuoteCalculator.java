@@ -0,0 +1,268 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.interfaces.dtos.AmortisationScheduleEntryDTO;
+import com.firefly.core.product.interfaces.dtos.AppliedFeeDTO;
+import com.firefly.core.product.interfaces.dtos.FeeDefinitionDTO;
+import com.firefly.core.product.interfaces.dtos.InterestRateBracketDTO;
+import com.firefly.core.product.interfaces.dtos.PricingQuoteDTO;
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import org.fireflyframework.web.error.exceptions.BusinessException;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * Prices a single {@code (amount, term)} scenario against a
+ * {@link CompiledPricing} snapshot.
+ *
+ * <p>The monthly instalment follows the French amortisation formula
+ * {@code P * r / (1 - (1 + r)^-n)} with {@code r = tin / 12 / 100}; a zero
+ * rate degenerates to {@code P / n}. Each fee is
+ * {@code amount * percentage / 100 + fixed}. Monetary results are rounded
+ * half-up to the currency's minor unit (two decimals when the currency is
+ * unknown); intermediate values use {@link MathContext#DECIMAL64}.
+ *
+ * <p>The APR is the annualised internal rate of return of the loan, with
+ * fees treated as paid at disbursement: the monthly rate {@code i} solving
+ * {@code amount - fees = instalment * (1 - (1 + i)^-n) / i} is found by
+ * Newton iteration on primitive {@code double}s and compounded as
+ * {@code (1 + i)^12 - 1}. It is an indicative figure rounded to two
+ * decimals, so the iteration does not allocate.
+ *
+ * <p>Annuity factors come from the snapshot's {@link InstalmentFactors}, so
+ * a quote only multiplies by the principal. The total repaid is the sum of
+ * the {@link AmortisationSchedule}, whose last instalment absorbs the
+ * rounding of the others, so a quote's totals always match its schedule.
+ *
+ * <p>Limits absent from the configuration are treated as unbounded.
+ */
+public final class PricingQuoteCalculator {
+
+    private static final MathContext MC = MathContext.DECIMAL64;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal MONTHLY_RATE_DIVISOR = BigDecimal.valueOf(1200);
+    private static final int DEFAULT_FRACTION_DIGITS = 2;
+    private static final int APR_SCALE = 2;
+    private static final int APR_MAX_ITERATIONS = 50;
+    private static final double APR_TOLERANCE = 1e-12;
+
+    private PricingQuoteCalculator() {
+    }
+
+    /**
+     * Computes the quote of {@code amount} over {@code term} months.
+     *
+     * @param compiled compiled pricing of the product
+     * @param amount   requested principal amount; strictly positive
+     * @param term     requested term in months; strictly positive
+     * @return the quote
+     * @throws BusinessException with status 422 if the product is not
+     *                           available, the amount or term falls outside
+     *                           the product limits, or no interest-rate
+     *                           bracket covers the amount
+     */
+    public static PricingQuoteDTO quote(CompiledPricing compiled, BigDecimal amount, int term) {
+        ProductPricingDTO pricing = compiled.pricing();
+        int bracketIndex = bracketFor(compiled, amount, term);
+        InterestRateBracketDTO bracket = compiled.rates().brackets().get(bracketIndex);
+
+        int scale = fractionDigits(pricing.getCurrency());
+        BigDecimal instalment = instalment(compiled, bracketIndex, amount, term, scale);
+        BigDecimal totalRepaid = amortisation(compiled, bracketIndex, amount, term, scale, instalment).totalRepaid();
+
+        List<FeeDefinitionDTO> definitions = pricing.getFees() != null ? pricing.getFees() : Collections.emptyList();
+        List<AppliedFeeDTO> fees = new ArrayList<>(definitions.size());
+        BigDecimal totalFees = BigDecimal.ZERO.setScale(scale);
+        for (FeeDefinitionDTO definition : definitions) {
+            BigDecimal fee = fee(definition, amount).setScale(scale, RoundingMode.HALF_UP);
+            fees.add(AppliedFeeDTO.builder().type(definition.getType()).amount(fee).build());
+            totalFees = totalFees.add(fee);
+        }
+
+        return PricingQuoteDTO.builder()
+                .productId(pricing.getProductId())
+                .currency(pricing.getCurrency())
+                .amount(amount)
+                .term(term)
+                .tin(bracket.getTin())
+                .apr(apr(amount.subtract(totalFees).doubleValue(), instalment.doubleValue(), term,
+                        bracket.getTin().doubleValue() / 1200d))
+                .instalment(instalment)
+                .totalInterest(totalRepaid.subtract(amount).setScale(scale, RoundingMode.HALF_UP))
+                .fees(fees)
+                .totalFees(totalFees)
+                .totalCost(totalRepaid.add(totalFees))
+                .build();
+    }
+
+    /**
+     * Returns the amortisation schedule of {@code amount} over {@code term}
+     * months. Validation happens eagerly; the periods themselves are computed
+     * lazily while the result is iterated.
+     *
+     * @param compiled compiled pricing of the product
+     * @param amount   requested principal amount; strictly positive
+     * @param term     requested term in months; strictly positive
+     * @return the schedule, one entry per month
+     * @throws BusinessException under the same conditions as
+     *                           {@link #quote(CompiledPricing, BigDecimal, int)}
+     */
+    public static Iterable<AmortisationScheduleEntryDTO> schedule(
+            CompiledPricing compiled, BigDecimal amount, int term) {
+        int bracketIndex = bracketFor(compiled, amount, term);
+        int scale = fractionDigits(compiled.pricing().getCurrency());
+        return amortisation(compiled, bracketIndex, amount, term, scale,
+                instalment(compiled, bracketIndex, amount, term, scale));
+    }
+
+    /**
+     * Per-unit-principal French-amortisation instalment,
+     * {@code r * (1 + r)^n / ((1 + r)^n - 1)}, or {@code 1 / n} for a zero
+     * rate. Multiplying by the principal gives the unrounded instalment.
+     *
+     * @param tin  nominal annual rate, as a percentage
+     * @param term number of monthly instalments
+     * @return the annuity factor
+     */
+    public static BigDecimal annuityFactor(BigDecimal tin, int term) {
+        if (tin.signum() == 0) {
+            return BigDecimal.ONE.divide(BigDecimal.valueOf(term), MC);
+        }
+        BigDecimal rate = tin.divide(MONTHLY_RATE_DIVISOR, MC);
+        BigDecimal growth = BigDecimal.ONE.add(rate).pow(term, MC);
+        return rate.multiply(growth, MC).divide(growth.subtract(BigDecimal.ONE), MC);
+    }
+
+    /**
+     * Annual percentage rate of a loan paying {@code instalment} for
+     * {@code term} months against {@code netAmount} actually disbursed.
+     *
+     * @param netAmount  principal minus upfront fees
+     * @param instalment rounded monthly instalment
+     * @param term       number of monthly instalments
+     * @param guess      initial monthly rate; the nominal monthly rate is a
+     *                   good starting point
+     * @return the APR as a percentage, or {@code null} if the iteration does
+     *         not converge (e.g. fees exceed the principal)
+     */
+    static BigDecimal apr(double netAmount, double instalment, int term, double guess) {
+        if (netAmount <= 0d || instalment <= 0d) {
+            return null;
+        }
+        if (instalment * term <= netAmount) {
+            // Nothing is charged on top of the amount disbursed.
+            return BigDecimal.ZERO.setScale(APR_SCALE);
+        }
+        double rate = guess > 0d ? guess : 0.01d;
+        for (int i = 0; i < APR_MAX_ITERATIONS; i++) {
+            double discount = Math.pow(1d + rate, -term);
+            double presentValue = instalment * (1d - discount) / rate;
+            double derivative = instalment
+                    * (term * discount / (1d + rate) / rate - (1d - discount) / (rate * rate));
+            double step = (presentValue - netAmount) / derivative;
+            rate -= step;
+            if (!Double.isFinite(rate) || rate <= -1d) {
+                return null;
+            }
+            if (Math.abs(step) < APR_TOLERANCE) {
+                double annual = (Math.pow(1d + rate, 12) - 1d) * 100d;
+                return BigDecimal.valueOf(annual).setScale(APR_SCALE, RoundingMode.HALF_UP);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks availability and limits and returns the position of the bracket
+     * covering {@code amount}.
+     */
+    private static int bracketFor(CompiledPricing compiled, BigDecimal amount, int term) {
+        ProductPricingDTO pricing = compiled.pricing();
+        if (!Boolean.TRUE.equals(pricing.getAvailable())) {
+            throw unprocessable("PRODUCT_NOT_AVAILABLE",
+                    "Product " + pricing.getProductId() + " is not available for quoting");
+        }
+        if ((pricing.getMinAmount() != null && amount.compareTo(pricing.getMinAmount()) < 0)
+                || (pricing.getMaxAmount() != null && amount.compareTo(pricing.getMaxAmount()) > 0)) {
+            throw unprocessable("QUOTE_AMOUNT_OUT_OF_RANGE",
+                    "Amount " + amount.toPlainString() + " is outside [" + pricing.getMinAmount() + ", "
+                            + pricing.getMaxAmount() + "] for product " + pricing.getProductId());
+        }
+        if ((pricing.getMinTerm() != null && term < pricing.getMinTerm())
+                || (pricing.getMaxTerm() != null && term > pricing.getMaxTerm())) {
+            throw unprocessable("QUOTE_TERM_OUT_OF_RANGE",
+                    "Term " + term + " is outside [" + pricing.getMinTerm() + ", "
+                            + pricing.getMaxTerm() + "] for product " + pricing.getProductId());
+        }
+        int bracketIndex = compiled.rates().indexOf(amount);
+        if (bracketIndex < 0) {
+            throw unprocessable("QUOTE_NO_RATE_BRACKET",
+                    "No interest-rate bracket covers amount " + amount.toPlainString()
+                            + " for product " + pricing.getProductId());
+        }
+        return bracketIndex;
+    }
+
+    private static BigDecimal instalment(
+            CompiledPricing compiled, int bracketIndex, BigDecimal amount, int term, int scale) {
+        return amount.multiply(compiled.factors().factor(bracketIndex, term), MC)
+                .setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    private static AmortisationSchedule amortisation(
+            CompiledPricing compiled, int bracketIndex, BigDecimal amount, int term, int scale,
+            BigDecimal instalment) {
+        BigDecimal tin = compiled.rates().brackets().get(bracketIndex).getTin();
+        return new AmortisationSchedule(amount, tin.divide(MONTHLY_RATE_DIVISOR, MC), instalment, term, scale);
+    }
+
+    private static BigDecimal fee(FeeDefinitionDTO definition, BigDecimal amount) {
+        BigDecimal fee = BigDecimal.ZERO;
+        if (definition.getPercentage() != null) {
+            fee = amount.multiply(definition.getPercentage(), MC).divide(HUNDRED, MC);
+        }
+        if (definition.getFixed() != null) {
+            fee = fee.add(definition.getFixed());
+        }
+        return fee;
+    }
+
+    private static int fractionDigits(String currencyCode) {
+        if (currencyCode == null) {
+            return DEFAULT_FRACTION_DIGITS;
+        }
+        try {
+            int digits = Currency.getInstance(currencyCode).getDefaultFractionDigits();
+            return digits >= 0 ? digits : DEFAULT_FRACTION_DIGITS;
+        } catch (IllegalArgumentException ex) {
+            return DEFAULT_FRACTION_DIGITS;
+        }
+    }
+
+    private static BusinessException unprocessable(String code, String message) {
+        return new BusinessException(HttpStatus.UNPROCESSABLE_ENTITY, code, message);
+    }
+}
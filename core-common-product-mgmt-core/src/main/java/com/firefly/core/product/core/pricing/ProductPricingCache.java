@@ -0,0 +1,333 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Per-node cache of {@link CompiledPricing} snapshots keyed by product id and
+ * partitioned by tenant.
+ *
+ * <p>Each tenant gets its own size-bounded Caffeine {@link AsyncCache}
+ * (W-TinyLFU eviction), so one tenant's churn can only evict that tenant's
+ * entries. The configured maximum size is the fixed budget of every
+ * partition; a new tenant adds its own partition and never shrinks the
+ * others. Statistics are exported to Micrometer under the
+ * {@code product-pricing} cache name with a {@code tenant} tag, together with
+ * a {@code product.pricing.cache.estimated.bytes} gauge per tenant. Because a
+ * partition stores the in-flight load future rather than the value,
+ * concurrent misses for the same product share a single database round-trip,
+ * and an {@link #invalidate(UUID)} issued while a load is running discards
+ * that load's result instead of letting it repopulate the entry. Loads that
+ * run outside a partition are checked against the invalidations of their own
+ * tenant only, so one tenant's writes never drop another tenant's loads.
+ *
+ * <p>The tenant of a product is learned from its first compiled snapshot.
+ * Until then (first read of a product on this node, or the first read after
+ * an invalidation) the load runs outside any partition and its result is
+ * filed under the snapshot's tenant.
+ *
+ * <p>Write paths must call {@link #invalidateAfterCompletion(UUID)} so the
+ * entry is dropped both immediately and once the surrounding transaction has
+ * completed; the second eviction covers reads that re-loaded the old rows
+ * between the write and the commit. Caches derived from the same rows (e.g.
+ * encoded response bodies) subscribe with
+ * {@link #addInvalidationListener(Consumer)} and
+ * {@link #addClearListener(Runnable)} instead of being called from every
+ * write path. Writes made on other nodes arrive through the change feed,
+ * see {@link com.firefly.core.product.core.changes.ProductChangeCacheInvalidator}.
+ */
+@Slf4j
+@Component
+public class ProductPricingCache {
+
+    static final String CACHE_NAME = "product-pricing";
+
+    /** Partition of snapshots whose product has no tenant. */
+    private static final UUID NO_TENANT = new UUID(0L, 0L);
+
+    private final ProductPricingProperties.Cache config;
+    private final MeterRegistry meterRegistry;
+    private final Map<UUID, AsyncCache<UUID, CompiledPricing>> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * Partition of every cached product. Entries leave with their snapshot,
+     * on invalidation or eviction, so the map is bounded like the cache.
+     */
+    private final Map<UUID, UUID> tenantByProduct = new ConcurrentHashMap<>();
+
+    /**
+     * Bumped on every invalidation. Loads that run outside a partition capture
+     * it before reading the database; see {@link #put(UUID, CompiledPricing, long)}.
+     */
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    /** Epoch of the last invalidation of each partition. */
+    private final Map<UUID, AtomicLong> partitionEpochs = new ConcurrentHashMap<>();
+
+    /**
+     * Epoch of the last invalidation of products whose partition was not
+     * known when they were invalidated, e.g. because their first load on this
+     * node was still running. Marks expire with the snapshots, so a mark lost
+     * to expiry can at worst cache a snapshot for as long as a row changed
+     * behind the service's back would be.
+     */
+    private final Cache<UUID, Long> productEpochs;
+
+    /** Epoch of the last {@link #invalidateAll()}. */
+    private final AtomicLong clearEpoch = new AtomicLong();
+
+    private final List<Consumer<UUID>> invalidationListeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> clearListeners = new CopyOnWriteArrayList<>();
+
+    public ProductPricingCache(ProductPricingProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.getCache();
+        this.meterRegistry = meterRegistry;
+        this.productEpochs = Caffeine.newBuilder()
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .build();
+        if (!config.isEnabled()) {
+            log.info("Product pricing cache is disabled; every pricing read goes to the database");
+        }
+    }
+
+    /**
+     * Returns the cached snapshot of a product, loading it with
+     * {@code loader} on a miss. Errors signalled by the loader are propagated
+     * to every caller waiting on the same load and are not cached.
+     *
+     * @param productId unique identifier of the product
+     * @param loader    function that reads and compiles the product's pricing
+     * @return a {@link Mono} emitting the cached or freshly compiled snapshot
+     */
+    public Mono<CompiledPricing> get(UUID productId, Function<UUID, Mono<CompiledPricing>> loader) {
+        if (!config.isEnabled()) {
+            return loader.apply(productId);
+        }
+        UUID tenantId = tenantByProduct.get(productId);
+        if (tenantId == null) {
+            return Mono.defer(() -> {
+                long epoch = epoch();
+                return loader.apply(productId).doOnNext(pricing -> put(productId, pricing, epoch));
+            });
+        }
+        AsyncCache<UUID, CompiledPricing> partition = partition(tenantId);
+        // suppressCancel: one subscriber cancelling must not abort a load
+        // other callers are waiting on.
+        return Mono.fromFuture(
+                () -> partition.get(productId, (id, executor) -> loader.apply(id).toFuture()),
+                true);
+    }
+
+    /**
+     * Returns the snapshot of a product if it is cached and fully loaded,
+     * without triggering a load.
+     *
+     * @param productId unique identifier of the product
+     * @return the cached snapshot, or {@code null} on a miss or while the
+     *         snapshot is still being loaded
+     */
+    public CompiledPricing getIfPresent(UUID productId) {
+        UUID tenantId = tenantByProduct.get(productId);
+        if (!config.isEnabled() || tenantId == null) {
+            return null;
+        }
+        CompletableFuture<CompiledPricing> future = partition(tenantId).getIfPresent(productId);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.join();
+    }
+
+    /**
+     * Returns the current invalidation epoch of the node. It moves on every
+     * invalidation; capture it before reading the database for a bulk load
+     * and pass it back to {@link #put(UUID, CompiledPricing, long)}.
+     */
+    public long epoch() {
+        return invalidationEpoch.get();
+    }
+
+    /**
+     * Publishes a snapshot compiled outside a partition (e.g. by the batched
+     * listing) into its tenant's partition. The snapshot is dropped again if
+     * its partition, or the product itself, was invalidated since
+     * {@code epoch} was captured, because its rows may predate that write.
+     */
+    public void put(UUID productId, CompiledPricing pricing, long epoch) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        UUID tenantId = pricing.tenantId() != null ? pricing.tenantId() : NO_TENANT;
+        if (invalidatedSince(productId, tenantId, epoch)) {
+            return;
+        }
+        AsyncCache<UUID, CompiledPricing> partition = partition(tenantId);
+        partition.put(productId, CompletableFuture.completedFuture(pricing));
+        tenantByProduct.put(productId, tenantId);
+        if (invalidatedSince(productId, tenantId, epoch)) {
+            partition.synchronous().invalidate(productId);
+        }
+    }
+
+    /**
+     * Drops the snapshot of a product, including any load in flight.
+     */
+    public void invalidate(UUID productId) {
+        long epoch = invalidationEpoch.incrementAndGet();
+        UUID tenantId = tenantByProduct.get(productId);
+        if (tenantId != null) {
+            partitionEpoch(tenantId).accumulateAndGet(epoch, Math::max);
+        } else {
+            productEpochs.asMap().merge(productId, epoch, Math::max);
+        }
+        tenantId = tenantByProduct.remove(productId);
+        if (tenantId != null) {
+            partition(tenantId).synchronous().invalidate(productId);
+        }
+        invalidationListeners.forEach(listener -> listener.accept(productId));
+    }
+
+    /**
+     * Drops every snapshot, including loads in flight, for when invalidations
+     * may have been missed (e.g. while the change feed was disconnected).
+     */
+    public void invalidateAll() {
+        clearEpoch.accumulateAndGet(invalidationEpoch.incrementAndGet(), Math::max);
+        tenantByProduct.clear();
+        partitions.values().forEach(partition -> partition.synchronous().invalidateAll());
+        clearListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Registers a callback run on every {@link #invalidate(UUID)}, after the
+     * epoch has moved and the snapshot has been dropped. Listeners run on the
+     * invalidating thread and must not block.
+     */
+    public void addInvalidationListener(Consumer<UUID> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    /**
+     * Registers a callback run on every {@link #invalidateAll()}, on the
+     * invalidating thread.
+     */
+    public void addClearListener(Runnable listener) {
+        clearListeners.add(listener);
+    }
+
+    /**
+     * Drops the snapshot of a product now and again once the current reactive
+     * transaction (if any) completes, so that a read racing with an
+     * uncommitted write cannot leave the old rates cached.
+     *
+     * @param productId unique identifier of the product whose rows changed
+     * @return a {@link Mono} completing once the eviction has been applied and
+     *         the after-completion hook registered
+     */
+    public Mono<Void> invalidateAfterCompletion(UUID productId) {
+        return Mono.fromRunnable(() -> invalidate(productId))
+                .then(TransactionSynchronizationManager.forCurrentTransaction())
+                .filter(TransactionSynchronizationManager::isSynchronizationActive)
+                .doOnNext(synchronizationManager -> synchronizationManager.registerSynchronization(
+                        new TransactionSynchronization() {
+                            @Override
+                            public Mono<Void> afterCompletion(int status) {
+                                return Mono.fromRunnable(() -> invalidate(productId));
+                            }
+                        }))
+                .onErrorResume(NoTransactionException.class, ex -> Mono.empty())
+                .then();
+    }
+
+    /** Runs pending evictions of every partition on the calling thread. */
+    void cleanUp() {
+        partitions.values().forEach(partition -> partition.synchronous().cleanUp());
+    }
+
+    /** Number of products whose partition is currently known. */
+    int trackedProducts() {
+        return tenantByProduct.size();
+    }
+
+    private boolean invalidatedSince(UUID productId, UUID tenantId, long epoch) {
+        Long productEpoch = productEpochs.getIfPresent(productId);
+        return clearEpoch.get() > epoch
+                || partitionEpoch(tenantId).get() > epoch
+                || (productEpoch != null && productEpoch > epoch);
+    }
+
+    private AtomicLong partitionEpoch(UUID tenantId) {
+        return partitionEpochs.computeIfAbsent(tenantId, id -> new AtomicLong());
+    }
+
+    private AsyncCache<UUID, CompiledPricing> partition(UUID tenantId) {
+        return partitions.computeIfAbsent(tenantId, this::newPartition);
+    }
+
+    private AsyncCache<UUID, CompiledPricing> newPartition(UUID tenantId) {
+        AsyncCache<UUID, CompiledPricing> partition = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .evictionListener((UUID productId, CompiledPricing pricing, RemovalCause cause) ->
+                        tenantByProduct.remove(productId, tenantId))
+                .recordStats()
+                .buildAsync();
+        Tags tags = Tags.of("tenant", tenantId.toString());
+        CaffeineCacheMetrics.monitor(meterRegistry, partition.synchronous(), CACHE_NAME, tags);
+        Gauge.builder("product.pricing.cache.estimated.bytes", partition, ProductPricingCache::estimatedBytes)
+                .description("Estimated heap retained by the compiled pricing snapshots of a tenant")
+                .tags(tags)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        log.debug("Created pricing cache partition for tenant {}", tenantId);
+        return partition;
+    }
+
+    private static double estimatedBytes(AsyncCache<UUID, CompiledPricing> partition) {
+        long bytes = 0;
+        for (CompiledPricing pricing : partition.synchronous().asMap().values()) {
+            bytes += pricing.estimatedBytes();
+        }
+        return bytes;
+    }
+}
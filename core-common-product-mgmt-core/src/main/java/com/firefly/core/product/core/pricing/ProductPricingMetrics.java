@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer instrumentation of the pricing read path, other than the cache
+ * statistics exported by {@link ProductPricingCache}.
+ *
+ * <ul>
+ *   <li>{@code product.pricing.listing.in-flight} — listing windows whose
+ *       configuration rows are being loaded or compiled right now, i.e. the
+ *       number of pooled connections the listing may be holding.</li>
+ *   <li>{@code product.pricing.listing.emitted} — products streamed by the
+ *       listing.</li>
+ *   <li>{@code product.pricing.warmup.products} — products compiled by the
+ *       start-up warm-up.</li>
+ *   <li>{@code product.pricing.warmup.duration} — wall time of the warm-up,
+ *       tagged with its {@code outcome}.</li>
+ *   <li>{@code product.pricing.eligibility.rebuild} — time taken to rebuild
+ *       the eligibility index.</li>
+ *   <li>{@code product.pricing.eligibility.products} — products in the
+ *       current eligibility index.</li>
+ *   <li>{@code product.pricing.stale.served} — last good snapshots served
+ *       because the database was unreachable.</li>
+ * </ul>
+ */
+@Component
+public class ProductPricingMetrics {
+
+    private final AtomicInteger listingInFlight = new AtomicInteger();
+    private final Counter listingEmitted;
+    private final Counter warmupProducts;
+    private final Timer eligibilityRebuild;
+    private final AtomicInteger eligibilityProducts = new AtomicInteger();
+    private final Counter staleServed;
+    private final MeterRegistry meterRegistry;
+
+    public ProductPricingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("product.pricing.listing.in-flight", listingInFlight, AtomicInteger::get)
+                .description("Listing windows currently being loaded or compiled")
+                .register(meterRegistry);
+        this.listingEmitted = Counter.builder("product.pricing.listing.emitted")
+                .description("Products streamed by the pricing listing")
+                .register(meterRegistry);
+        this.warmupProducts = Counter.builder("product.pricing.warmup.products")
+                .description("Products compiled by the start-up pricing warm-up")
+                .register(meterRegistry);
+        this.eligibilityRebuild = Timer.builder("product.pricing.eligibility.rebuild")
+                .description("Time taken to rebuild the product eligibility index")
+                .register(meterRegistry);
+        Gauge.builder("product.pricing.eligibility.products", eligibilityProducts, AtomicInteger::get)
+                .description("Products in the current eligibility index")
+                .register(meterRegistry);
+        this.staleServed = Counter.builder("product.pricing.stale.served")
+                .description("Last good pricing snapshots served while the database was unreachable")
+                .register(meterRegistry);
+    }
+
+    public void listingWindowStarted() {
+        listingInFlight.incrementAndGet();
+    }
+
+    public void listingWindowFinished() {
+        listingInFlight.decrementAndGet();
+    }
+
+    public void listingEmitted() {
+        listingEmitted.increment();
+    }
+
+    public void warmupCompiled() {
+        warmupProducts.increment();
+    }
+
+    public void warmupFinished(String outcome, Duration elapsed) {
+        Timer.builder("product.pricing.warmup.duration")
+                .description("Wall time of the start-up pricing warm-up")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsed);
+    }
+
+    public void eligibilityIndexBuilt(int products, Duration elapsed) {
+        eligibilityProducts.set(products);
+        eligibilityRebuild.record(elapsed);
+    }
+
+    public void staleServed() {
+        staleServed.increment();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import com.firefly.core.product.core.services.ProductPricingAggregatorService;
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.web.error.exceptions.BusinessException;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Optional start-up phase that compiles the pricing of every ACTIVE product
+ * into {@link ProductPricingCache} before the node takes traffic, so the
+ * first calculator requests after a deploy do not pay for cold JSON
+ * decoding, cold connections and an empty cache.
+ *
+ * <p>The catalog is read through
+ * {@link ProductPricingAggregatorService#listCompiledPricing}, i.e. in
+ * batches of {@code product.pricing.listing.batch-size} with
+ * {@code product.pricing.listing.concurrency} batches in flight; each
+ * snapshot is also quoted once at its minimum amount and term to warm the
+ * calculator. The web module's readiness health indicator reports
+ * OUT_OF_SERVICE until {@link #isSettled()}; once
+ * {@code product.pricing.warmup.budget} has elapsed the warm-up is cancelled
+ * and the node goes ready anyway.
+ */
+@Slf4j
+@Component
+public class ProductPricingWarmup {
+
+    public enum State {
+        /** Warm-up switched off (or the cache is); readiness is not held back. */
+        DISABLED,
+        /** Waiting for the application to start. */
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        /** The budget elapsed before the whole catalog was compiled. */
+        BUDGET_EXCEEDED,
+        /** The catalog could not be read; the node goes ready with a cold cache. */
+        FAILED
+    }
+
+    private final ProductPricingAggregatorService pricingService;
+    private final ProductPricingMetrics metrics;
+    private final Duration budget;
+    private final AtomicReference<State> state;
+    private final AtomicInteger compiled = new AtomicInteger();
+    private volatile Disposable running;
+
+    public ProductPricingWarmup(ProductPricingAggregatorService pricingService,
+                                ProductPricingProperties properties,
+                                ProductPricingMetrics metrics) {
+        this.pricingService = pricingService;
+        this.metrics = metrics;
+        this.budget = properties.getWarmup().getBudget();
+        boolean enabled = properties.getWarmup().isEnabled() && properties.getCache().isEnabled();
+        this.state = new AtomicReference<>(enabled ? State.PENDING : State.DISABLED);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        if (state.get() == State.PENDING) {
+            running = run().subscribe();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = running;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    /**
+     * Runs the warm-up once.
+     *
+     * @return a {@link Mono} emitting the final state; never errors
+     */
+    public Mono<State> run() {
+        return Mono.defer(() -> {
+            if (!state.compareAndSet(State.PENDING, State.RUNNING)) {
+                return Mono.just(state.get());
+            }
+            long startedAt = System.nanoTime();
+            log.info("Warming up product pricing cache (budget {})", budget);
+            return pricingService.listCompiledPricing(null, null)
+                    .doOnNext(this::exercise)
+                    .then(Mono.just(State.COMPLETED))
+                    .timeout(budget, Mono.just(State.BUDGET_EXCEEDED))
+                    .onErrorResume(ex -> {
+                        log.warn("Product pricing warm-up failed: {}", ex.getMessage());
+                        return Mono.just(State.FAILED);
+                    })
+                    .doOnNext(outcome -> finish(outcome, Duration.ofNanos(System.nanoTime() - startedAt)));
+        });
+    }
+
+    /**
+     * Whether readiness may be reported, i.e. the warm-up is disabled or has
+     * finished one way or another.
+     */
+    public boolean isSettled() {
+        State current = state.get();
+        return current != State.PENDING && current != State.RUNNING;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /** Number of products compiled so far. */
+    public int getCompiled() {
+        return compiled.get();
+    }
+
+    private void exercise(CompiledPricing pricing) {
+        compiled.incrementAndGet();
+        metrics.warmupCompiled();
+        ProductPricingDTO dto = pricing.pricing();
+        if (dto.getMinAmount() == null || dto.getMinTerm() == null) {
+            return;
+        }
+        try {
+            PricingQuoteCalculator.quote(pricing, dto.getMinAmount(), dto.getMinTerm());
+        } catch (BusinessException ex) {
+            // Not every product can be quoted at its bounds (e.g. a gap in the
+            // brackets); the snapshot is cached either way.
+        }
+    }
+
+    private void finish(State outcome, Duration elapsed) {
+        state.set(outcome);
+        metrics.warmupFinished(outcome.name().toLowerCase(Locale.ROOT), elapsed);
+        log.info("Product pricing warm-up {} after {} ms: {} products compiled",
+                outcome, elapsed.toMillis(), compiled.get());
+    }
+}
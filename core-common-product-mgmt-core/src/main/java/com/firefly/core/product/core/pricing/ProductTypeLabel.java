@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.interfaces.enums.ProductTypeEnum;
+
+import java.util.Locale;
+
+/**
+ * Calculator-friendly product-type label (e.g. {@code "PERSONAL_LOAN"},
+ * {@code "LEASING"}) derived from a product's business code.
+ *
+ * <p>The same derivation is materialised by PostgreSQL in the stored
+ * generated column {@code product.derived_type} (migration V15), so the
+ * {@code productType} filter of the pricing listing runs in SQL. Both
+ * definitions must change together.
+ */
+public final class ProductTypeLabel {
+
+    private static final String DEMO_SUFFIX = "_DEMO";
+
+    private ProductTypeLabel() {
+    }
+
+    /**
+     * Derives the label. Convention: {@code "<TYPE>_DEMO"} -> {@code "<TYPE>"};
+     * any other code is returned upper-cased. Falls back to the entity-level
+     * product type (FINANCIAL / NON_FINANCIAL) when no code is present.
+     *
+     * @param productCode business code of the product; may be {@code null}
+     * @param productType entity-level product type; may be {@code null}
+     * @return the label, or {@code null} if neither input is present
+     */
+    public static String derive(String productCode, ProductTypeEnum productType) {
+        if (productCode != null && !productCode.isBlank()) {
+            String upper = productCode.toUpperCase(Locale.ROOT);
+            if (upper.endsWith(DEMO_SUFFIX)) {
+                return upper.substring(0, upper.length() - DEMO_SUFFIX.length());
+            }
+            return upper;
+        }
+        return productType != null ? productType.name() : null;
+    }
+
+    /**
+     * Normalises a label received from a caller so it can be compared with
+     * {@code derived_type}.
+     *
+     * @param label caller-supplied label; may be {@code null}
+     * @return the trimmed, upper-cased label, or {@code null} if blank
+     */
+    public static String normalize(String label) {
+        if (label == null || label.isBlank()) {
+            return null;
+        }
+        return label.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Last snapshot successfully compiled from the database for each product,
+ * served by the aggregator while the database is unreachable.
+ *
+ * <p>Unlike {@link ProductPricingCache}, entries are not dropped when a
+ * product is written: they are replaced by the next successful load, and
+ * only served while younger than {@code maxStaleness}, measured from the
+ * instant they were compiled. Size-bounded like one cache partition.
+ */
+@Component
+public class StalePricingStore {
+
+    private final ProductPricingProperties.Resilience config;
+    private final Cache<UUID, CompiledPricing> snapshots;
+
+    public StalePricingStore(ProductPricingProperties properties) {
+        this.config = properties.getResilience();
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getMaximumSize())
+                .build();
+    }
+
+    /**
+     * Records {@code pricing} as the last good snapshot of its product.
+     */
+    public void remember(CompiledPricing pricing) {
+        if (config.isEnabled()) {
+            snapshots.put(pricing.pricing().getProductId(), pricing);
+        }
+    }
+
+    /**
+     * Drops the snapshot of a product the database reported as gone.
+     */
+    public void forget(UUID productId) {
+        snapshots.invalidate(productId);
+    }
+
+    /**
+     * @return the last good snapshot of the product marked as
+     *         {@linkplain CompiledPricing#stale() stale}, unless there is none
+     *         or it is older than {@code maxStaleness}
+     */
+    public Optional<CompiledPricing> get(UUID productId) {
+        CompiledPricing snapshot = snapshots.getIfPresent(productId);
+        if (snapshot == null
+                || Duration.between(snapshot.compiledAt(), Instant.now()).compareTo(config.getMaxStaleness()) > 0) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot.asStale());
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.services;
+
+import com.firefly.core.product.interfaces.dtos.ProductChangeEventDTO;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Feed of product, configuration and category changes, for consumers that
+ * would otherwise have to poll.
+ */
+public interface ProductChangeService {
+
+    /**
+     * Streams change events once their transactions have committed. When
+     * {@code after} is given, the retained events that follow it are
+     * replayed first, and live events continue without gaps or duplicates.
+     *
+     * <p>Events are delivered by transaction, then sequence number, and only
+     * once every older transaction on the server has ended (V24), so resuming
+     * after the last event received cannot skip an event committed later.
+     * Sequence numbers identify events but do not increase along the stream.
+     *
+     * @param after    sequence number of the last event the caller received,
+     *                 or {@code null} for live events only
+     * @param tenantId tenant whose changes are wanted, plus the tenant-less
+     *                 category changes; {@code null} for every tenant. Other
+     *                 changes without a tenant only reach unfiltered streams
+     * @return a {@link Flux} of change events that never completes; errors
+     *         with 410 {@code PRODUCT_CHANGES_RESUME_UNAVAILABLE} when
+     *         {@code after} is no longer retained or too far behind, in which
+     *         case the caller has to resynchronise
+     */
+    Flux<ProductChangeEventDTO> streamChanges(Long after, UUID tenantId);
+}
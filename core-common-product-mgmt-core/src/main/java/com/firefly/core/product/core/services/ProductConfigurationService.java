@@ -19,7 +19,10 @@ package com.firefly.core.product.core.services;
 
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.product.interfaces.dtos.KeysetPageDTO;
 import com.firefly.core.product.interfaces.dtos.ProductConfigurationDTO;
+import com.firefly.core.product.interfaces.dtos.ProductConfigurationRawDTO;
+import com.firefly.core.product.interfaces.dtos.ProductConfigurationUpsertResultDTO;
 import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -41,12 +44,26 @@ public interface ProductConfigurationService {
     Mono<PaginationResponse<ProductConfigurationDTO>> filterConfigurations(
             UUID productId, FilterRequest<ProductConfigurationDTO> filterRequest);
 
+    /**
+     * Lists the configurations of a product one keyset page at a time, in
+     * identifier order. Each page is a single index range scan, so deep
+     * pages cost the same as the first; no total is counted.
+     *
+     * @param productId the unique identifier of the product owning the configurations
+     * @param after the identifier of the last configuration of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of configurations in the page
+     * @return a reactive {@code Mono} emitting the page
+     */
+    Mono<KeysetPageDTO<ProductConfigurationDTO>> listConfigurations(UUID productId, UUID after, int limit);
+
     /**
      * Creates a new configuration based on the provided information for a specific product.
      *
      * @param productId the unique identifier of the product that will own the configuration
      * @param configDTO the DTO object containing details of the configuration to be created
-     * @return a Mono that emits the created ProductConfigurationDTO object
+     * @return a Mono that emits the created ProductConfigurationDTO object, or a
+     *         {@code BusinessException} with status 409 if the product already has a
+     *         configuration with the same type and key
      */
     Mono<ProductConfigurationDTO> createConfiguration(UUID productId, ProductConfigurationDTO configDTO);
 
@@ -69,6 +86,15 @@ public interface ProductConfigurationService {
      */
     Mono<ProductConfigurationDTO> getConfigurationByKey(UUID productId, String configKey);
 
+    /**
+     * Retrieves a configuration by its key for a specific product, with its value embedded as JSON.
+     *
+     * @param productId the unique identifier of the product
+     * @param configKey the configuration key
+     * @return a Mono emitting the {@link ProductConfigurationRawDTO} representing the configuration if found
+     */
+    Mono<ProductConfigurationRawDTO> getConfigurationByKeyRaw(UUID productId, String configKey);
+
     /**
      * Retrieves all configurations of a specific type for a product.
      *
@@ -78,17 +104,62 @@ public interface ProductConfigurationService {
      */
     Flux<ProductConfigurationDTO> getConfigurationsByType(UUID productId, ProductConfigTypeEnum configType);
 
+    /**
+     * Retrieves all configurations of a specific type for a product, with their values embedded as JSON.
+     *
+     * @param productId the unique identifier of the product
+     * @param configType the type of configuration
+     * @return a Flux emitting all configurations of the specified type for the product
+     */
+    Flux<ProductConfigurationRawDTO> getConfigurationsByTypeRaw(UUID productId, ProductConfigTypeEnum configType);
+
+    /**
+     * Searches the configurations of one type and key, across the products of
+     * one tenant, for values matching a jsonpath expression. The expression
+     * must start at the root ({@code $}) and contain at least one {@code ==}
+     * comparison against a literal, so the search can use the value index.
+     * Forms that would keep the index from narrowing the scan are rejected:
+     * variables, {@code like_regex}, the {@code **} accessor, {@code ||} and
+     * {@code !}.
+     *
+     * @param tenantId the tenant whose products are searched; required
+     * @param configType the type of configuration to search
+     * @param configKey the configuration key to search
+     * @param path a jsonpath expression; a value matches when it returns at least one item,
+     *             for example {@code $[*] ? (@.type == "OPENING_FEE" && @.percentage > 2)}
+     * @param limit the maximum number of configurations returned
+     * @return a Flux emitting the matching configurations ordered by product, or a
+     *         {@code BusinessException} with status 400 if no tenant is given or the
+     *         expression is rejected
+     */
+    Flux<ProductConfigurationDTO> searchConfigurations(
+            UUID tenantId, ProductConfigTypeEnum configType, String configKey, String path, int limit);
+
     /**
      * Updates an existing configuration with updated information, validating product ownership.
      *
      * @param productId the unique identifier of the product that owns the configuration
      * @param configId the unique identifier of the configuration to be updated
      * @param configDTO the data transfer object containing the updated details of the configuration
-     * @return a reactive Mono containing the updated ProductConfigurationDTO
+     * @return a reactive Mono containing the updated ProductConfigurationDTO, or a
+     *         {@code BusinessException} with status 409 if the new type and key are
+     *         already used by another configuration of the product
      */
     Mono<ProductConfigurationDTO> updateConfiguration(
             UUID productId, UUID configId, ProductConfigurationDTO configDTO);
 
+    /**
+     * Creates or updates a stream of configurations, keyed by product, type and key, in one
+     * transaction. Rows are written in batches of multi-row upserts. A row that names no
+     * product, type or key, or whose product does not exist, is rejected without failing the
+     * request. Results are emitted in request order as each batch is written; the transaction
+     * commits when the stream completes, so a stream that ends in an error has written nothing.
+     *
+     * @param configurations the configurations to write, each carrying its productId
+     * @return a Flux emitting one {@link ProductConfigurationUpsertResultDTO} per row
+     */
+    Flux<ProductConfigurationUpsertResultDTO> upsertConfigurations(Flux<ProductConfigurationDTO> configurations);
+
     /**
      * Deletes a configuration identified by its unique ID, validating product ownership.
      *
@@ -19,6 +19,7 @@ package com.firefly.core.product.core.services;
 
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.product.interfaces.dtos.KeysetPageDTO;
 import com.firefly.core.product.interfaces.dtos.ProductDocumentationRequirementDTO;
 import com.firefly.core.product.interfaces.enums.ContractingDocTypeEnum;
 import reactor.core.publisher.Flux;
@@ -41,6 +42,19 @@ public interface ProductDocumentationRequirementService {
     Mono<PaginationResponse<ProductDocumentationRequirementDTO>> filterDocumentationRequirements(
             UUID productId, FilterRequest<ProductDocumentationRequirementDTO> filterRequest);
 
+    /**
+     * Lists the documentation requirements of a product one keyset page at a time, in
+     * identifier order. Each page is a single index range scan, so deep
+     * pages cost the same as the first; no total is counted.
+     *
+     * @param productId the unique identifier of the product owning the documentation requirements
+     * @param after the identifier of the last requirement of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of documentation requirements in the page
+     * @return a reactive {@code Mono} emitting the page
+     */
+    Mono<KeysetPageDTO<ProductDocumentationRequirementDTO>> listDocumentationRequirements(
+            UUID productId, UUID after, int limit);
+
     /**
      * Creates a new documentation requirement based on the provided information for a specific product.
      *
@@ -19,6 +19,7 @@ package com.firefly.core.product.core.services;
 
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.product.interfaces.dtos.KeysetPageDTO;
 import com.firefly.core.product.interfaces.dtos.ProductDocumentationDTO;
 import reactor.core.publisher.Mono;
 
@@ -38,6 +39,18 @@ public interface ProductDocumentationService {
      */
     Mono<PaginationResponse<ProductDocumentationDTO>> filterDocumentations(UUID productId, FilterRequest<ProductDocumentationDTO> filterRequest);
 
+    /**
+     * Lists the documentations of a product one keyset page at a time, in
+     * identifier order. Each page is a single index range scan, so deep
+     * pages cost the same as the first; no total is counted.
+     *
+     * @param productId the unique identifier of the product owning the documentations
+     * @param after the identifier of the last documentation of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of documentations in the page
+     * @return a reactive {@code Mono} emitting the page
+     */
+    Mono<KeysetPageDTO<ProductDocumentationDTO>> listDocumentations(UUID productId, UUID after, int limit);
+
     /**
      * Creates a new documentation based on the provided information for a specific product.
      *
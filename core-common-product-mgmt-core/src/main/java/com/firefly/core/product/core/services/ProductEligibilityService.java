@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.services;
+
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Finds the ACTIVE products whose limits accept a given amount and term.
+ */
+public interface ProductEligibilityService {
+
+    /**
+     * Returns the ACTIVE products whose {@code LIMITS / amount_term} range
+     * covers both {@code amount} and {@code term} and that have an
+     * interest-rate bracket covering {@code amount}, i.e. the products a
+     * quote for that amount and term would succeed on. Answered from an
+     * in-memory index of the compiled pricing, rebuilt lazily after writes;
+     * a write may take up to
+     * {@code product.pricing.eligibility.min-rebuild-interval} to show.
+     *
+     * @param tenantId    tenant whose catalog is searched; required
+     * @param productType optional derived product-type label
+     *                    (e.g. PERSONAL_LOAN, LEASING)
+     * @param amount      requested principal amount; strictly positive
+     * @param term        requested term in months; strictly positive
+     * @return a {@link Flux} of the eligible products, ordered by product code.
+     *         Errors with 400 {@code PRODUCT_ELIGIBILITY_TENANT_REQUIRED}
+     *         without a tenant.
+     */
+    Flux<ProductPricingDTO> findEligibleProducts(UUID tenantId, String productType, BigDecimal amount, int term);
+}
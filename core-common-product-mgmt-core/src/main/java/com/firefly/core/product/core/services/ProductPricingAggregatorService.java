@@ -17,10 +17,20 @@
 
 package com.firefly.core.product.core.services;
 
+import com.firefly.core.product.core.pricing.CompiledPricing;
+import com.firefly.core.product.core.pricing.PricingDocument;
+import com.firefly.core.product.interfaces.dtos.AmortisationScheduleEntryDTO;
+import com.firefly.core.product.interfaces.dtos.PricingComparisonDTO;
+import com.firefly.core.product.interfaces.dtos.PricingComparisonRequestDTO;
+import com.firefly.core.product.interfaces.dtos.PricingQuoteDTO;
+import com.firefly.core.product.interfaces.dtos.PricingQuoteResultDTO;
+import com.firefly.core.product.interfaces.dtos.PricingScenarioDTO;
 import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 /**
@@ -44,15 +54,195 @@ public interface ProductPricingAggregatorService {
     Mono<ProductPricingDTO> getProductPricing(UUID productId);
 
     /**
-     * Streams the aggregated pricing parameters of every product, optionally
-     * filtered by the derived {@code productType} label
+     * Returns the compiled pricing snapshot of a single product, carrying the
+     * aggregated pricing together with its entity tag for conditional reads.
+     * With {@code product.pricing.resilience.enabled}, a read failing because
+     * the database is unreachable emits the product's last good snapshot
+     * instead, flagged {@link CompiledPricing#stale()}, as long as it is
+     * younger than the configured maximum staleness.
+     *
+     * @param productId unique identifier of the product
+     * @return a {@link Mono} that emits the snapshot, with the same error
+     *         semantics as {@link #getProductPricing(UUID)}.
+     */
+    Mono<CompiledPricing> getCompiledPricing(UUID productId);
+
+    /**
+     * Point-in-time variant of {@link #getProductPricing(UUID)}: the pricing
+     * configuration rows are those in effect at {@code asOf}, read from the
+     * configuration history with one indexed lookup per row. Product
+     * metadata (name, status, features) is the current one.
+     *
+     * @param productId unique identifier of the product
+     * @param asOf      instant of interest; {@code null} means now
+     * @return a {@link Mono} that emits the pricing, with the same error
+     *         semantics as {@link #getProductPricing(UUID)}; a row that did
+     *         not exist yet at {@code asOf} counts as missing.
+     */
+    Mono<ProductPricingDTO> getProductPricing(UUID productId, OffsetDateTime asOf);
+
+    /**
+     * Snapshot form of {@link #getProductPricing(UUID, OffsetDateTime)}.
+     * Historical snapshots are compiled on every call and never cached.
+     *
+     * @param productId unique identifier of the product
+     * @param asOf      instant of interest; {@code null} means now
+     * @return a {@link Mono} that emits the snapshot
+     */
+    Mono<CompiledPricing> getCompiledPricing(UUID productId, OffsetDateTime asOf);
+
+    /**
+     * Quotes a loan of {@code amount} over {@code term} months against the
+     * product's pricing: the interest-rate bracket covering the amount, the
+     * monthly instalment, the fees and the total cost. The pricing is read
+     * through {@link #getCompiledPricing(UUID)}, so a quote is served from
+     * the last good snapshot while the database is unreachable.
+     *
+     * @param productId unique identifier of the product
+     * @param amount    requested principal amount
+     * @param term      requested term, in months
+     * @return a {@link Mono} that emits the quote on success, or signals an
+     *         error if the pricing cannot be aggregated (see
+     *         {@link #getProductPricing(UUID)}), the product is not available,
+     *         the amount or term is outside the product limits, or no
+     *         interest-rate bracket covers the amount.
+     */
+    Mono<PricingQuoteDTO> getPricingQuote(UUID productId, BigDecimal amount, int term);
+
+    /**
+     * Quotes against a snapshot the caller already holds, e.g. one from
+     * {@link #getCompiledPricing(UUID)} whose staleness it reports.
+     *
+     * @param pricing compiled pricing of the product
+     * @param amount  requested principal amount
+     * @param term    requested term, in months
+     * @return a {@link Mono} that emits the quote, with the same errors as
+     *         {@link #getPricingQuote(UUID, BigDecimal, int)} past the read
+     */
+    Mono<PricingQuoteDTO> getPricingQuote(CompiledPricing pricing, BigDecimal amount, int term);
+
+    /**
+     * Streams the monthly amortisation schedule of a loan of {@code amount}
+     * over {@code term} months. Periods are generated on demand, so long
+     * terms are never buffered. Reads the pricing like
+     * {@link #getPricingQuote(UUID, BigDecimal, int)}.
+     *
+     * @param productId unique identifier of the product
+     * @param amount    requested principal amount
+     * @param term      requested term, in months
+     * @return a {@link Flux} emitting one entry per month, or signalling the
+     *         same errors as {@link #getPricingQuote(UUID, BigDecimal, int)}
+     *         before the first entry.
+     */
+    Flux<AmortisationScheduleEntryDTO> getAmortisationSchedule(UUID productId, BigDecimal amount, int term);
+
+    /**
+     * Schedule form of {@link #getPricingQuote(CompiledPricing, BigDecimal, int)}.
+     *
+     * @param pricing compiled pricing of the product
+     * @param amount  requested principal amount
+     * @param term    requested term, in months
+     * @return a {@link Flux} emitting one entry per month, or signalling the
+     *         quote errors before the first entry
+     */
+    Flux<AmortisationScheduleEntryDTO> getAmortisationSchedule(CompiledPricing pricing, BigDecimal amount, int term);
+
+    /**
+     * Quotes a stream of scenarios. The scenarios are read in full before the
+     * first quote, so an oversized batch is rejected before any result is
+     * emitted. Each product's pricing is loaded once per request and the
+     * quotes are computed in parallel, so results are emitted as they
+     * complete and not necessarily in request order; callers correlate them
+     * through {@link PricingScenarioDTO#getScenarioId()}.
+     *
+     * @param scenarios scenarios to quote
+     * @return a {@link Flux} emitting one {@link PricingQuoteResultDTO} per
+     *         scenario, carrying either the quote or the error code of the
+     *         failure. The stream errors, before any result, only if the
+     *         request holds more scenarios than the configured maximum batch
+     *         size.
+     */
+    Flux<PricingQuoteResultDTO> quoteBatch(Flux<PricingScenarioDTO> scenarios);
+
+    /**
+     * Prices one {@code (amount, term)} scenario against several products
+     * and ranks them by total cost. Snapshots are taken from the cache; the
+     * products and configuration rows of the misses are read with one query
+     * each, whatever their number. That read goes through the circuit
+     * breaker, and while the database is unreachable each miss is compared
+     * on its last good snapshot, or excluded with
+     * {@code PRICING_DATABASE_UNAVAILABLE} when it has none.
+     *
+     * @param request products, amount, term and optional top-K
+     * @return a {@link Mono} that emits the ranked matrix. Products that do
+     *         not exist or cannot be quoted are reported in
+     *         {@code excluded} rather than failing the request. Errors with
+     *         {@link org.fireflyframework.web.error.exceptions.BusinessException}
+     *         400 {@code COMPARISON_INVALID_REQUEST} on a missing or
+     *         non-positive amount, term or top-K, 400
+     *         {@code COMPARISON_MIXED_CURRENCIES} when the quoted products
+     *         are not all priced in one currency, and 413
+     *         {@code COMPARISON_TOO_LARGE} above the configured number of
+     *         products.
+     */
+    Mono<PricingComparisonDTO> comparePricing(PricingComparisonRequestDTO request);
+
+    /**
+     * Streams the aggregated pricing parameters of every ACTIVE product of a
+     * tenant, optionally filtered by the derived {@code productType} label
      * (e.g. {@code "PERSONAL_LOAN"}, {@code "LEASING"}). Products that do not
      * yet have a complete pricing configuration are skipped.
      *
+     * @param tenantId    tenant whose catalog is listed; required
      * @param productType optional derived product-type label; {@code null} or
      *                    blank returns every product with pricing.
      * @return a {@link Flux} emitting one {@link ProductPricingDTO} per product
-     *         with a complete pricing configuration.
+     *         with a complete pricing configuration. Errors with
+     *         {@link org.fireflyframework.web.error.exceptions.BusinessException}
+     *         400 {@code PRODUCT_PRICING_TENANT_REQUIRED} without a tenant.
+     */
+    Flux<ProductPricingDTO> listProductsWithPricing(UUID tenantId, String productType);
+
+    /**
+     * Same as {@link #listProductsWithPricing(UUID, String)} but emits the
+     * compiled snapshots, so callers can derive an entity tag for the whole
+     * listing. Unlike the HTTP-facing listings it accepts no tenant, for
+     * internal callers such as the warm-up and the eligibility index.
+     *
+     * @param tenantId    tenant whose catalog is listed; {@code null} lists
+     *                    every tenant
+     * @param productType optional derived product-type label
+     * @return a {@link Flux} emitting one snapshot per product with a complete
+     *         pricing configuration.
+     */
+    Flux<CompiledPricing> listCompiledPricing(UUID tenantId, String productType);
+
+    /**
+     * Same listing as {@link #listProductsWithPricing(UUID, String)}, composed
+     * by PostgreSQL in a single statement and emitted as JSON text. Skips the
+     * snapshot cache; products whose interest-rate brackets the compiled path
+     * rejects are left out in the same way. Selected by
+     * {@code product.pricing.listing.engine=SQL}.
+     *
+     * @param tenantId    tenant whose catalog is listed; required
+     * @param productType optional derived product-type label
+     * @return a {@link Flux} emitting one document per product with a complete
+     *         pricing configuration, in repository order. Errors with 400
+     *         {@code PRODUCT_PRICING_TENANT_REQUIRED} without a tenant.
+     */
+    Flux<PricingDocument> listPricingDocuments(UUID tenantId, String productType);
+
+    /**
+     * Version of the catalog behind {@link #listCompiledPricing(UUID, String)}
+     * and {@link #listPricingDocuments(UUID, String)}, read in one aggregate
+     * statement. It changes whenever a product of the listing or any of its
+     * configuration rows does, so callers can validate a listing before
+     * loading it.
+     *
+     * @param tenantId    tenant whose catalog is listed; required
+     * @param productType optional derived product-type label
+     * @return a {@link Mono} emitting an opaque version string. Errors with
+     *         400 {@code PRODUCT_PRICING_TENANT_REQUIRED} without a tenant.
      */
-    Flux<ProductPricingDTO> listProductsWithPricing(String productType);
+    Mono<String> getListingVersion(UUID tenantId, String productType);
 }
@@ -19,6 +19,7 @@ package com.firefly.core.product.core.services;
 
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.product.interfaces.dtos.KeysetPageDTO;
 import com.firefly.core.product.interfaces.dtos.ProductVersionDTO;
 import reactor.core.publisher.Mono;
 
@@ -38,6 +39,18 @@ public interface ProductVersionService {
      */
     Mono<PaginationResponse<ProductVersionDTO>> filterProductVersions(UUID productId, FilterRequest<ProductVersionDTO> filterRequest);
 
+    /**
+     * Lists the versions of a product one keyset page at a time, in
+     * identifier order. Each page is a single index range scan, so deep
+     * pages cost the same as the first; no total is counted.
+     *
+     * @param productId the unique identifier of the product owning the versions
+     * @param after the identifier of the last version of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of versions in the page
+     * @return a reactive {@code Mono} emitting the page
+     */
+    Mono<KeysetPageDTO<ProductVersionDTO>> listProductVersions(UUID productId, UUID after, int limit);
+
     /**
      * Creates a new product version based on the provided information for a specific product.
      *
@@ -20,6 +20,7 @@ package com.firefly.core.product.core.services.impl;
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.product.core.coalescing.RequestCoalescer;
 import com.firefly.core.product.core.mappers.ProductCategoryMapper;
 import com.firefly.core.product.core.services.ProductCategoryService;
 import com.firefly.core.product.interfaces.dtos.ProductCategoryDTO;
@@ -27,6 +28,7 @@ import com.firefly.core.product.models.entities.ProductCategory;
 import com.firefly.core.product.models.repositories.ProductCategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
 
@@ -36,12 +38,18 @@ import java.util.UUID;
 @Transactional
 public class ProductCategoryServiceImpl implements ProductCategoryService {
 
+    /** {@link RequestCoalescer} operation of {@link #getCategoryById(UUID)}. */
+    static final String COALESCED_READ = "category";
+
     @Autowired
     private ProductCategoryRepository repository;
 
     @Autowired
     private ProductCategoryMapper mapper;
 
+    @Autowired
+    private RequestCoalescer coalescer;
+
     @Override
     public Mono<PaginationResponse<ProductCategoryDTO>> filterRootCategories(FilterRequest<ProductCategoryDTO> filterRequest) {
         return FilterUtils
@@ -84,10 +92,13 @@ public class ProductCategoryServiceImpl implements ProductCategoryService {
     }
 
     @Override
+    // Coalesced reads run outside any transaction; opening one per caller
+    // would only hold a pooled connection the shared load does not use.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Mono<ProductCategoryDTO> getCategoryById(UUID categoryId) {
-        return repository.findById(categoryId)
+        return coalescer.coalesce(COALESCED_READ, categoryId, () -> repository.findById(categoryId)
                 .switchIfEmpty(Mono.error(new RuntimeException("Category not found with ID: " + categoryId)))
-                .map(mapper::toDto);
+                .map(mapper::toDto));
     }
 
     @Override
@@ -106,6 +117,8 @@ public class ProductCategoryServiceImpl implements ProductCategoryService {
                                 existingEntity.setLevel(level);
                                 return repository.save(existingEntity);
                             })
+                            .flatMap(saved -> coalescer.forgetAfterCompletion(COALESCED_READ, categoryId)
+                                    .thenReturn(saved))
                             .map(mapper::toDto);
                 });
     }
@@ -120,7 +133,8 @@ public class ProductCategoryServiceImpl implements ProductCategoryService {
                                 if (count > 0) {
                                     return Mono.error(new RuntimeException("Cannot delete category with ID " + categoryId + " because it has child categories"));
                                 }
-                                return repository.deleteById(categoryId);
+                                return repository.deleteById(categoryId)
+                                        .then(coalescer.forgetAfterCompletion(COALESCED_READ, categoryId));
                             })
                 );
     }
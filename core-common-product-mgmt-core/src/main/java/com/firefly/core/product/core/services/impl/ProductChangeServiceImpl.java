@@ -0,0 +1,182 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.services.impl;
+
+import com.firefly.core.product.core.changes.ProductChangeListener;
+import com.firefly.core.product.core.config.ProductChangeProperties;
+import com.firefly.core.product.core.mappers.ProductChangeEventMapper;
+import com.firefly.core.product.core.services.ProductChangeService;
+import com.firefly.core.product.interfaces.dtos.ProductChangeEventDTO;
+import com.firefly.core.product.interfaces.enums.ProductChangeEntityEnum;
+import com.firefly.core.product.models.entities.ProductChangeEvent;
+import com.firefly.core.product.models.repositories.ProductChangeEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.web.error.exceptions.BusinessException;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Default {@link ProductChangeService} implementation.
+ *
+ * <p>Every subscriber reads {@code product_change_event} from its own
+ * position in feed order, {@code (transaction_id, sequence_number)}, and only
+ * up to the oldest transaction still running (V24), so a resumed stream and
+ * a live one are the same query. The notifications of the shared
+ * {@link ProductChangeListener} connection only wake subscribers up; a poll
+ * every {@code product.changes.poll-interval} picks up events that became
+ * deliverable because an older transaction ended. Each node also deletes the events older than
+ * {@code product.changes.retention} every
+ * {@code product.changes.prune-interval}.
+ */
+@Slf4j
+@Service
+public class ProductChangeServiceImpl implements ProductChangeService {
+
+    private final ProductChangeEventRepository repository;
+    private final ProductChangeEventMapper mapper;
+    private final ProductChangeListener listener;
+    private final ProductChangeProperties properties;
+    private volatile Disposable pruning;
+
+    public ProductChangeServiceImpl(
+            ProductChangeEventRepository repository,
+            ProductChangeEventMapper mapper,
+            ProductChangeListener listener,
+            ProductChangeProperties properties) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.listener = listener;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        pruning = Flux.interval(properties.getPruneInterval())
+                .concatMap(tick -> prune().onErrorResume(ex -> {
+                    log.warn("Failed to prune product change events: {}", ex.getMessage());
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = pruning;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    @Override
+    public Flux<ProductChangeEventDTO> streamChanges(Long after, UUID tenantId) {
+        Flux<ProductChangeEventDTO> events = Flux.defer(() -> {
+            AtomicReference<Position> position = new AtomicReference<>();
+            Flux<ProductChangeEvent> missed = after == null
+                    ? repository.findDeliveryHorizon()
+                            .doOnNext(horizon -> position.set(new Position(horizon, 0L)))
+                            .thenMany(Flux.<ProductChangeEvent>empty())
+                    : resume(after, position);
+            // Wake-ups are idempotent: while a read is running, later ones
+            // collapse into a single read once it is done.
+            Flux<Object> wakeUps = Flux.merge(
+                            listener.events(),
+                            Flux.interval(properties.getPollInterval()))
+                    .onBackpressureLatest();
+            return Flux.concat(missed, wakeUps.concatMap(wakeUp -> read(position), 1))
+                    .map(mapper::toDto);
+        });
+        return tenantId == null ? events : events.filter(event -> event.getTenantId() == null
+                ? event.getEntity() == ProductChangeEntityEnum.CATEGORY
+                : tenantId.equals(event.getTenantId()));
+    }
+
+    /**
+     * Deletes the events that are past their retention.
+     *
+     * @return a {@link Mono} emitting the number of deleted events
+     */
+    Mono<Long> prune() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(properties.getRetention());
+        return repository.deleteCreatedBefore(cutoff)
+                .doOnNext(deleted -> log.debug("Pruned {} product change events older than {}", deleted, cutoff));
+    }
+
+    /**
+     * Reads the events that follow event {@code after}, up to the replay
+     * limit, and leaves {@code position} on the last of them.
+     */
+    private Flux<ProductChangeEvent> resume(long after, AtomicReference<Position> position) {
+        int limit = properties.getReplayLimit();
+        return repository.findById(after)
+                .switchIfEmpty(Mono.error(() -> resumeUnavailable(
+                        "Change event " + after + " is no longer retained")))
+                .flatMap(event -> repository.findDeliverableAfter(
+                                event.getTransactionId(), event.getSequenceNumber(), limit + 1)
+                        .collectList()
+                        .doOnNext(missed -> position.set(Position.of(
+                                missed.isEmpty() ? event : missed.get(missed.size() - 1)))))
+                .flatMapMany(missed -> missed.size() > limit
+                        ? Flux.<ProductChangeEvent>error(
+                                resumeUnavailable("More than " + limit + " changes happened after event " + after))
+                        : Flux.fromIterable(missed));
+    }
+
+    /**
+     * Reads the deliverable events after {@code position} page by page and
+     * moves {@code position} past them.
+     */
+    private Flux<ProductChangeEvent> read(AtomicReference<Position> position) {
+        int pageSize = properties.getPageSize();
+        Mono<List<ProductChangeEvent>> page = Mono.defer(() -> {
+            Position from = position.get();
+            return repository.findDeliverableAfter(from.transactionId(), from.sequenceNumber(), pageSize)
+                    .collectList()
+                    .doOnNext(events -> {
+                        if (!events.isEmpty()) {
+                            position.set(Position.of(events.get(events.size() - 1)));
+                        }
+                    });
+        });
+        return page.expand(events -> events.size() < pageSize ? Mono.empty() : page)
+                .flatMapIterable(events -> events);
+    }
+
+    private static BusinessException resumeUnavailable(String message) {
+        return new BusinessException(HttpStatus.GONE, "PRODUCT_CHANGES_RESUME_UNAVAILABLE", message);
+    }
+
+    /** Last event delivered to a subscriber, in feed order. */
+    private record Position(long transactionId, long sequenceNumber) {
+
+        static Position of(ProductChangeEvent event) {
+            return new Position(event.getTransactionId(), event.getSequenceNumber());
+        }
+    }
+}
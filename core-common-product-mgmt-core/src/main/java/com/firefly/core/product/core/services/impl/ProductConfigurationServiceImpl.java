@@ -20,30 +20,84 @@ package com.firefly.core.product.core.services.impl;
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.product.core.mappers.ConfigValues;
 import com.firefly.core.product.core.mappers.ProductConfigurationMapper;
+import com.firefly.core.product.core.pricing.ConfigurationSchemaRegistry;
+import com.firefly.core.product.core.pricing.ProductPricingCache;
 import com.firefly.core.product.core.services.ProductConfigurationService;
+import com.firefly.core.product.interfaces.dtos.KeysetPageDTO;
 import com.firefly.core.product.interfaces.dtos.ProductConfigurationDTO;
+import com.firefly.core.product.interfaces.dtos.ProductConfigurationRawDTO;
+import com.firefly.core.product.interfaces.dtos.ProductConfigurationUpsertResultDTO;
+import com.firefly.core.product.interfaces.enums.ConfigurationUpsertOutcomeEnum;
 import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import com.firefly.core.product.models.entities.Product;
 import com.firefly.core.product.models.entities.ProductConfiguration;
+import com.firefly.core.product.models.entities.ProductConfigurationUpsert;
 import com.firefly.core.product.models.repositories.ProductConfigurationRepository;
+import com.firefly.core.product.models.repositories.ProductRepository;
+import io.r2dbc.postgresql.codec.Json;
+import org.fireflyframework.web.error.exceptions.BusinessException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.BadSqlGrammarException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.regex.Pattern;
 
 @Service
 @Transactional
 public class ProductConfigurationServiceImpl implements ProductConfigurationService {
 
+    private static final int MAX_SEARCH_PATH_LENGTH = 256;
+
+    /** Rows written by one multi-row upsert statement. */
+    private static final int UPSERT_BATCH_SIZE = 500;
+
+    /** Length of the {@code config_key} column. */
+    private static final int MAX_CONFIG_KEY_LENGTH = 255;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("\"(?:[^\"\\\\]|\\\\.)*\"");
+
+    private static final Pattern VARIABLE = Pattern.compile("\\$[A-Za-z_\"]");
+
+    /** A {@code !} that is not part of {@code !=}. */
+    private static final Pattern NEGATION = Pattern.compile("!(?!=)");
+
+    /** An equality with a literal on either side, once string literals are blanked. */
+    private static final Pattern LITERAL_EQUALITY = Pattern.compile(
+            "==\\s*(?:\"\"|-?\\d|true\\b|false\\b|null\\b)"
+                    + "|(?:(?<!\\.)\"\"|(?<![\\w.@$])(?:\\d[\\w.]*|true|false|null))\\s*==");
+
     @Autowired
     private ProductConfigurationRepository repository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
     @Autowired
     private ProductConfigurationMapper mapper;
 
+    @Autowired
+    private ProductPricingCache pricingCache;
+
+    @Autowired
+    private ConfigurationSchemaRegistry schemaRegistry;
+
     @Override
     public Mono<PaginationResponse<ProductConfigurationDTO>> filterConfigurations(
             UUID productId, FilterRequest<ProductConfigurationDTO> filterRequest) {
@@ -52,7 +106,15 @@ public class ProductConfigurationServiceImpl implements ProductConfigurationServ
                         ProductConfiguration.class,
                         mapper::toDto
                 )
-                .filter(filterRequest);
+                .filter(ProductScope.toProduct(
+                        filterRequest, productId, ProductConfigurationDTO::new, ProductConfigurationDTO::setProductId));
+    }
+
+    @Override
+    public Mono<KeysetPageDTO<ProductConfigurationDTO>> listConfigurations(UUID productId, UUID after, int limit) {
+        return ProductScope.page(after, limit,
+                (from, rows) -> repository.findPageByProductId(productId, from, rows),
+                mapper::toDto, ProductConfigurationDTO::getProductConfigurationId);
     }
 
     @Override
@@ -60,7 +122,11 @@ public class ProductConfigurationServiceImpl implements ProductConfigurationServ
         return Mono.just(configDTO)
                 .doOnNext(dto -> dto.setProductId(productId))
                 .map(mapper::toEntity)
-                .flatMap(repository::save)
+                .doOnNext(entity -> schemaRegistry.validate(
+                        entity.getConfigType(), entity.getConfigKey(), entity.getConfigValue()))
+                .flatMap(entity -> repository.save(entity)
+                        .onErrorMap(DuplicateKeyException.class, ex -> duplicateConfiguration(entity, ex)))
+                .flatMap(saved -> pricingCache.invalidateAfterCompletion(productId).thenReturn(saved))
                 .map(mapper::toDto);
     }
 
@@ -83,12 +149,42 @@ public class ProductConfigurationServiceImpl implements ProductConfigurationServ
                 .map(mapper::toDto);
     }
 
+    @Override
+    public Mono<ProductConfigurationRawDTO> getConfigurationByKeyRaw(UUID productId, String configKey) {
+        return repository.findByProductIdAndConfigKey(productId, configKey)
+                .switchIfEmpty(Mono.error(new RuntimeException("Configuration not found for product " + productId + " with key " + configKey)))
+                .map(mapper::toRawDto);
+    }
+
     @Override
     public Flux<ProductConfigurationDTO> getConfigurationsByType(UUID productId, ProductConfigTypeEnum configType) {
         return repository.findByProductIdAndConfigType(productId, configType)
                 .map(mapper::toDto);
     }
 
+    @Override
+    public Flux<ProductConfigurationRawDTO> getConfigurationsByTypeRaw(UUID productId, ProductConfigTypeEnum configType) {
+        return repository.findByProductIdAndConfigType(productId, configType)
+                .map(mapper::toRawDto);
+    }
+
+    @Override
+    public Flux<ProductConfigurationDTO> searchConfigurations(
+            UUID tenantId, ProductConfigTypeEnum configType, String configKey, String path, int limit) {
+        if (tenantId == null) {
+            return Flux.error(new BusinessException(
+                    HttpStatus.BAD_REQUEST,
+                    "PRODUCT_CONFIG_SEARCH_TENANT_REQUIRED",
+                    "A configuration search is scoped to one tenant; pass tenantId or the tenant header"));
+        }
+        return Mono.fromCallable(() -> toSearchPredicate(path))
+                .flatMapMany(predicate -> repository.findByConfigValueMatching(
+                        tenantId, configType, configKey, predicate, limit))
+                .onErrorMap(BadSqlGrammarException.class, ex -> invalidSearchPath(
+                        "not a valid jsonpath expression: " + ex.getMostSpecificCause().getMessage()))
+                .map(mapper::toDto);
+    }
+
     @Override
     public Mono<ProductConfigurationDTO> updateConfiguration(
             UUID productId, UUID configId, ProductConfigurationDTO configDTO) {
@@ -99,11 +195,23 @@ public class ProductConfigurationServiceImpl implements ProductConfigurationServ
                         return Mono.error(new RuntimeException("Configuration with ID " + configId + " does not belong to product " + productId));
                     }
                     mapper.updateEntityFromDto(configDTO, existingConfig);
-                    return repository.save(existingConfig);
+                    schemaRegistry.validate(existingConfig.getConfigType(), existingConfig.getConfigKey(),
+                            existingConfig.getConfigValue());
+                    return repository.save(existingConfig)
+                            .onErrorMap(DuplicateKeyException.class, ex -> duplicateConfiguration(existingConfig, ex));
                 })
+                .flatMap(saved -> pricingCache.invalidateAfterCompletion(productId).thenReturn(saved))
                 .map(mapper::toDto);
     }
 
+    @Override
+    public Flux<ProductConfigurationUpsertResultDTO> upsertConfigurations(Flux<ProductConfigurationDTO> configurations) {
+        return Flux.defer(() -> configurations
+                .index()
+                .bufferUntil(new BatchBoundary(), true)
+                .concatMap(this::upsertBatch));
+    }
+
     @Override
     public Mono<Void> deleteConfiguration(UUID productId, UUID configId) {
         return repository.findById(configId)
@@ -112,8 +220,228 @@ public class ProductConfigurationServiceImpl implements ProductConfigurationServ
                     if (!productId.equals(config.getProductId())) {
                         return Mono.error(new RuntimeException("Configuration with ID " + configId + " does not belong to product " + productId));
                     }
-                    return repository.deleteById(configId);
+                    return repository.deleteById(configId)
+                            .then(pricingCache.invalidateAfterCompletion(productId));
                 });
     }
-}
 
+    /**
+     * Checks a client-supplied jsonpath against the subset the search accepts
+     * and wraps it as the {@code exists(...)} predicate run by the repository.
+     * String literals are blanked before the checks so their content cannot
+     * trip or bypass them.
+     */
+    private static String toSearchPredicate(String path) {
+        if (path == null || path.isBlank()) {
+            throw invalidSearchPath("a jsonpath expression is required");
+        }
+        String trimmed = path.strip();
+        if (trimmed.length() > MAX_SEARCH_PATH_LENGTH) {
+            throw invalidSearchPath("longer than " + MAX_SEARCH_PATH_LENGTH + " characters");
+        }
+        String code = STRING_LITERAL.matcher(trimmed).replaceAll("\"\"");
+        if (code.charAt(0) != '$') {
+            throw invalidSearchPath("must start at the root item $");
+        }
+        if (VARIABLE.matcher(code).find()) {
+            throw invalidSearchPath("variables are not supported");
+        }
+        if (code.contains("like_regex")) {
+            throw invalidSearchPath("like_regex is not supported");
+        }
+        if (code.contains("**")) {
+            throw invalidSearchPath("the ** accessor is not supported");
+        }
+        // An alternative or a negation makes the index unable to narrow the
+        // scan, and so does an equality between two paths.
+        if (code.contains("||")) {
+            throw invalidSearchPath("|| is not supported");
+        }
+        if (NEGATION.matcher(code).find()) {
+            throw invalidSearchPath("! is not supported");
+        }
+        if (!LITERAL_EQUALITY.matcher(code).find()) {
+            throw invalidSearchPath("needs at least one == comparison against a literal to use the index");
+        }
+        int depth = 0;
+        for (int i = 0; i < code.length() && depth >= 0; i++) {
+            char c = code.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            }
+        }
+        if (depth != 0) {
+            throw invalidSearchPath("unbalanced parentheses");
+        }
+        return "exists(" + trimmed + ")";
+    }
+
+    private static BusinessException invalidSearchPath(String reason) {
+        return new BusinessException(
+                HttpStatus.BAD_REQUEST,
+                "PRODUCT_CONFIG_SEARCH_PATH_INVALID",
+                "Invalid configuration search path: " + reason);
+    }
+
+    /**
+     * Validates one batch, drops rows of unknown products and writes the rest
+     * with a single upsert. Rows whose value breaks the schema of their key
+     * are rejected like any other invalid row. Results keep the order of the
+     * batch.
+     */
+    private Flux<ProductConfigurationUpsertResultDTO> upsertBatch(List<Tuple2<Long, ProductConfigurationDTO>> batch) {
+        Map<Long, ProductConfigurationUpsertResultDTO> rejected = new HashMap<>();
+        List<Tuple2<Long, ProductConfigurationDTO>> valid = new ArrayList<>(batch.size());
+        for (Tuple2<Long, ProductConfigurationDTO> row : batch) {
+            String error = validationError(row.getT2());
+            if (error != null) {
+                rejected.put(row.getT1(), rejected(row, "PRODUCT_CONFIG_INVALID", error));
+                continue;
+            }
+            String violation = schemaRegistry.violation(row.getT2().getConfigType(), row.getT2().getConfigKey(),
+                    ConfigValues.toJson(row.getT2().getConfigValue()));
+            if (violation != null) {
+                rejected.put(row.getT1(), rejected(row, "PRODUCT_CONFIG_SCHEMA_VIOLATION", violation));
+            } else {
+                valid.add(row);
+            }
+        }
+        Set<UUID> productIds = valid.stream()
+                .map(row -> row.getT2().getProductId())
+                .collect(Collectors.toSet());
+        Mono<Set<UUID>> knownProducts = productIds.isEmpty()
+                ? Mono.just(Set.of())
+                : productRepository.findAllById(productIds).map(Product::getProductId).collect(Collectors.toSet());
+        return knownProducts
+                .flatMap(known -> {
+                    List<ProductConfigurationDTO> writes = new ArrayList<>(valid.size());
+                    for (Tuple2<Long, ProductConfigurationDTO> row : valid) {
+                        UUID productId = row.getT2().getProductId();
+                        if (known.contains(productId)) {
+                            writes.add(row.getT2());
+                        } else {
+                            rejected.put(row.getT1(), rejected(
+                                    row, "PRODUCT_NOT_FOUND", "Product not found with ID: " + productId));
+                        }
+                    }
+                    return write(writes);
+                })
+                .flatMapIterable(written -> batch.stream()
+                        .map(row -> rejected.containsKey(row.getT1())
+                                ? rejected.get(row.getT1())
+                                : outcome(row, written.get(ConfigKey.of(row.getT2()))))
+                        .toList());
+    }
+
+    private Mono<Map<ConfigKey, ProductConfigurationUpsert>> write(List<ProductConfigurationDTO> rows) {
+        if (rows.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        int size = rows.size();
+        UUID[] productIds = new UUID[size];
+        String[] configTypes = new String[size];
+        String[] configKeys = new String[size];
+        String[] configValues = new String[size];
+        for (int i = 0; i < size; i++) {
+            ProductConfigurationDTO row = rows.get(i);
+            Json value = ConfigValues.toJson(row.getConfigValue());
+            productIds[i] = row.getProductId();
+            configTypes[i] = row.getConfigType().name();
+            configKeys[i] = row.getConfigKey();
+            configValues[i] = value == null ? null : value.asString();
+        }
+        return repository.upsertAll(productIds, configTypes, configKeys, configValues)
+                .collectMap(upsert -> new ConfigKey(
+                        upsert.getProductId(), upsert.getConfigType(), upsert.getConfigKey()))
+                .flatMap(written -> Flux.fromIterable(written.values())
+                        .map(ProductConfigurationUpsert::getProductId)
+                        .distinct()
+                        .concatMap(pricingCache::invalidateAfterCompletion)
+                        .then(Mono.just(written)));
+    }
+
+    private static String validationError(ProductConfigurationDTO row) {
+        if (row.getProductId() == null || row.getConfigType() == null
+                || row.getConfigKey() == null || row.getConfigKey().isBlank()) {
+            return "productId, configType and configKey are required";
+        }
+        if (row.getConfigKey().length() > MAX_CONFIG_KEY_LENGTH) {
+            return "configKey is longer than " + MAX_CONFIG_KEY_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static ProductConfigurationUpsertResultDTO rejected(
+            Tuple2<Long, ProductConfigurationDTO> row, String errorCode, String errorMessage) {
+        return result(row)
+                .outcome(ConfigurationUpsertOutcomeEnum.REJECTED)
+                .errorCode(errorCode)
+                .errorMessage(errorMessage)
+                .build();
+    }
+
+    private static ProductConfigurationUpsertResultDTO outcome(
+            Tuple2<Long, ProductConfigurationDTO> row, ProductConfigurationUpsert upsert) {
+        if (upsert == null) {
+            return result(row).outcome(ConfigurationUpsertOutcomeEnum.UNCHANGED).build();
+        }
+        return result(row)
+                .productConfigurationId(upsert.getProductConfigurationId())
+                .outcome(upsert.isCreated()
+                        ? ConfigurationUpsertOutcomeEnum.CREATED
+                        : ConfigurationUpsertOutcomeEnum.UPDATED)
+                .build();
+    }
+
+    private static ProductConfigurationUpsertResultDTO.ProductConfigurationUpsertResultDTOBuilder result(
+            Tuple2<Long, ProductConfigurationDTO> row) {
+        return ProductConfigurationUpsertResultDTO.builder()
+                .index(row.getT1())
+                .productId(row.getT2().getProductId())
+                .configType(row.getT2().getConfigType())
+                .configKey(row.getT2().getConfigKey());
+    }
+
+    private static BusinessException duplicateConfiguration(ProductConfiguration config, Throwable cause) {
+        return new BusinessException(
+                HttpStatus.CONFLICT,
+                "PRODUCT_CONFIG_DUPLICATE",
+                "Configuration " + config.getConfigType() + "/" + config.getConfigKey()
+                        + " already exists for product " + config.getProductId(),
+                cause);
+    }
+
+    private record ConfigKey(UUID productId, ProductConfigTypeEnum configType, String configKey) {
+
+        static ConfigKey of(ProductConfigurationDTO row) {
+            return new ConfigKey(row.getProductId(), row.getConfigType(), row.getConfigKey());
+        }
+    }
+
+    /**
+     * Ends an upsert batch before a row once the batch is full, or when the
+     * row repeats a key already in it: one {@code INSERT ... ON CONFLICT}
+     * cannot write the same row twice, so the later row goes to the next
+     * batch and wins.
+     */
+    private static final class BatchBoundary implements Predicate<Tuple2<Long, ProductConfigurationDTO>> {
+
+        private final Set<ConfigKey> keys = new HashSet<>();
+        private int size;
+
+        @Override
+        public boolean test(Tuple2<Long, ProductConfigurationDTO> row) {
+            ConfigKey key = ConfigKey.of(row.getT2());
+            boolean boundary = size == UPSERT_BATCH_SIZE || keys.contains(key);
+            if (boundary) {
+                keys.clear();
+                size = 0;
+            }
+            keys.add(key);
+            size++;
+            return boundary;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.core.product.core.mappers.ProductDocumentationRequirementMapper;
 import com.firefly.core.product.core.services.ProductDocumentationRequirementService;
+import com.firefly.core.product.interfaces.dtos.KeysetPageDTO;
 import com.firefly.core.product.interfaces.dtos.ProductDocumentationRequirementDTO;
 import com.firefly.core.product.interfaces.enums.ContractingDocTypeEnum;
 import com.firefly.core.product.models.entities.ProductDocumentationRequirement;
@@ -52,7 +53,17 @@ public class ProductDocumentationRequirementServiceImpl implements ProductDocume
                         ProductDocumentationRequirement.class,
                         mapper::toDto
                 )
-                .filter(filterRequest);
+                .filter(ProductScope.toProduct(
+                        filterRequest, productId,
+                        ProductDocumentationRequirementDTO::new, ProductDocumentationRequirementDTO::setProductId));
+    }
+
+    @Override
+    public Mono<KeysetPageDTO<ProductDocumentationRequirementDTO>> listDocumentationRequirements(
+            UUID productId, UUID after, int limit) {
+        return ProductScope.page(after, limit,
+                (from, rows) -> repository.findPageByProductId(productId, from, rows),
+                mapper::toDto, ProductDocumentationRequirementDTO::getProductDocRequirementId);
     }
 
     @Override
@@ -22,6 +22,7 @@ import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.core.product.core.mappers.ProductDocumentationMapper;
 import com.firefly.core.product.core.services.ProductDocumentationService;
+import com.firefly.core.product.interfaces.dtos.KeysetPageDTO;
 import com.firefly.core.product.interfaces.dtos.ProductDocumentationDTO;
 import com.firefly.core.product.models.entities.ProductDocumentation;
 import com.firefly.core.product.models.repositories.ProductDocumentationRepository;
@@ -49,7 +50,15 @@ public class ProductDocumentationServiceImpl implements ProductDocumentationServ
                         ProductDocumentation.class,
                         mapper::toDto
                 )
-                .filter(filterRequest);
+                .filter(ProductScope.toProduct(
+                        filterRequest, productId, ProductDocumentationDTO::new, ProductDocumentationDTO::setProductId));
+    }
+
+    @Override
+    public Mono<KeysetPageDTO<ProductDocumentationDTO>> listDocumentations(UUID productId, UUID after, int limit) {
+        return ProductScope.page(after, limit,
+                (from, rows) -> repository.findPageByProductId(productId, from, rows),
+                mapper::toDto, ProductDocumentationDTO::getProductDocumentationId);
     }
 
     @Override
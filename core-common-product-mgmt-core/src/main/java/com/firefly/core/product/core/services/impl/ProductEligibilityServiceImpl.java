@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.services.impl;
+
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import com.firefly.core.product.core.pricing.EligibilityIndex;
+import com.firefly.core.product.core.pricing.ProductPricingCache;
+import com.firefly.core.product.core.pricing.ProductPricingMetrics;
+import com.firefly.core.product.core.pricing.ProductTypeLabel;
+import com.firefly.core.product.core.services.ProductEligibilityService;
+import com.firefly.core.product.core.services.ProductPricingAggregatorService;
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.fireflyframework.web.error.exceptions.BusinessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Default {@link ProductEligibilityService} implementation.
+ *
+ * <p>The {@link EligibilityIndex} is built from the whole ACTIVE catalog
+ * through {@link ProductPricingAggregatorService#listCompiledPricing(UUID, String)},
+ * so it reuses the cached snapshots and the batched loading of the listing.
+ * It is rebuilt on the first query after any pricing cache invalidation
+ * (every product or configuration write made through the service layer) or
+ * once it is older than {@code product.pricing.eligibility.max-age}.
+ * Rebuilds triggered by writes are debounced: the index is kept for at
+ * least {@code product.pricing.eligibility.min-rebuild-interval} after it was
+ * built, so a burst of writes, to any tenant, costs one rebuild rather than
+ * one per write, at the price of answering from the previous index for up
+ * to that interval. Concurrent queries share a single rebuild; a failed
+ * rebuild is not remembered, so the next query retries it.
+ */
+@Slf4j
+@Service
+public class ProductEligibilityServiceImpl implements ProductEligibilityService {
+
+    private final ProductPricingAggregatorService pricingService;
+    private final ProductPricingCache pricingCache;
+    private final ProductPricingMetrics metrics;
+    private final Duration maxAge;
+    private final Duration minRebuildInterval;
+    private final Mono<Snapshot> index;
+
+    public ProductEligibilityServiceImpl(
+            ProductPricingAggregatorService pricingService,
+            ProductPricingCache pricingCache,
+            ProductPricingProperties properties,
+            ProductPricingMetrics metrics) {
+        this.pricingService = pricingService;
+        this.pricingCache = pricingCache;
+        this.metrics = metrics;
+        this.maxAge = properties.getEligibility().getMaxAge();
+        this.minRebuildInterval = properties.getEligibility().getMinRebuildInterval();
+        this.index = Mono.defer(this::build).cacheInvalidateIf(snapshot -> !isFresh(snapshot));
+    }
+
+    @Override
+    public Flux<ProductPricingDTO> findEligibleProducts(
+            UUID tenantId, String productType, BigDecimal amount, int term) {
+        if (tenantId == null) {
+            return Flux.error(new BusinessException(
+                    HttpStatus.BAD_REQUEST,
+                    "PRODUCT_ELIGIBILITY_TENANT_REQUIRED",
+                    "An eligibility search is scoped to one tenant; pass tenantId or the tenant header"));
+        }
+        String derivedType = ProductTypeLabel.normalize(productType);
+        return index.flatMapIterable(snapshot -> snapshot.index().eligible(tenantId, derivedType, amount, term));
+    }
+
+    private Mono<Snapshot> build() {
+        long epoch = pricingCache.epoch();
+        long started = System.nanoTime();
+        return pricingService.listCompiledPricing(null, null)
+                .collectList()
+                .map(snapshots -> new Snapshot(EligibilityIndex.of(snapshots), epoch, Instant.now()))
+                .doOnNext(snapshot -> {
+                    Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+                    metrics.eligibilityIndexBuilt(snapshot.index().size(), elapsed);
+                    log.debug("Rebuilt eligibility index with {} products in {} ms",
+                            snapshot.index().size(), elapsed.toMillis());
+                })
+                .doOnError(err -> log.warn("Failed to rebuild eligibility index: {}", err.getMessage()));
+    }
+
+    private boolean isFresh(Snapshot snapshot) {
+        Instant now = Instant.now();
+        if (!snapshot.builtAt().plus(maxAge).isAfter(now)) {
+            return false;
+        }
+        return snapshot.epoch() == pricingCache.epoch()
+                || snapshot.builtAt().plus(minRebuildInterval).isAfter(now);
+    }
+
+    private record Snapshot(EligibilityIndex index, long epoch, Instant builtAt) {
+    }
+}
@@ -22,6 +22,7 @@ import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.core.product.core.mappers.ProductLocalizationMapper;
 import com.firefly.core.product.core.services.ProductLocalizationService;
+import com.firefly.core.product.interfaces.dtos.KeysetPageDTO;
 import com.firefly.core.product.interfaces.dtos.ProductLocalizationDTO;
 import com.firefly.core.product.models.entities.ProductLocalization;
 import com.firefly.core.product.models.repositories.ProductLocalizationRepository;
@@ -49,7 +50,15 @@ public class ProductLocalizationServiceImpl implements ProductLocalizationServic
                         ProductLocalization.class,
                         mapper::toDto
                 )
-                .filter(filterRequest);
+                .filter(ProductScope.toProduct(
+                        filterRequest, productId, ProductLocalizationDTO::new, ProductLocalizationDTO::setProductId));
+    }
+
+    @Override
+    public Mono<KeysetPageDTO<ProductLocalizationDTO>> listLocalizations(UUID productId, UUID after, int limit) {
+        return ProductScope.page(after, limit,
+                (from, rows) -> repository.findPageByProductId(productId, from, rows),
+                mapper::toDto, ProductLocalizationDTO::getProductLocalizationId);
     }
 
     @Override
@@ -17,20 +17,35 @@
 
 package com.firefly.core.product.core.services.impl;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.product.core.coalescing.RequestCoalescer;
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import com.firefly.core.product.core.pricing.CompiledPricing;
+import com.firefly.core.product.core.pricing.DatabaseCircuitBreaker;
+import com.firefly.core.product.core.pricing.PricingComparison;
+import com.firefly.core.product.core.pricing.PricingCompiler;
+import com.firefly.core.product.core.pricing.PricingDocument;
+import com.firefly.core.product.core.pricing.PricingQuoteCalculator;
+import com.firefly.core.product.core.pricing.ProductPricingCache;
+import com.firefly.core.product.core.pricing.ProductPricingMetrics;
+import com.firefly.core.product.core.pricing.ProductTypeLabel;
+import com.firefly.core.product.core.pricing.StalePricingStore;
 import com.firefly.core.product.core.services.ProductPricingAggregatorService;
-import com.firefly.core.product.interfaces.dtos.FeeDefinitionDTO;
-import com.firefly.core.product.interfaces.dtos.InterestRateBracketDTO;
+import com.firefly.core.product.interfaces.dtos.AmortisationScheduleEntryDTO;
+import com.firefly.core.product.interfaces.dtos.PricingComparisonDTO;
+import com.firefly.core.product.interfaces.dtos.PricingComparisonRequestDTO;
+import com.firefly.core.product.interfaces.dtos.PricingQuoteDTO;
+import com.firefly.core.product.interfaces.dtos.PricingQuoteResultDTO;
+import com.firefly.core.product.interfaces.dtos.PricingScenarioDTO;
 import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
 import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
 import com.firefly.core.product.interfaces.enums.ProductStatusEnum;
 import com.firefly.core.product.models.entities.Product;
 import com.firefly.core.product.models.entities.ProductConfiguration;
+import com.firefly.core.product.models.entities.ProductPricingDocument;
+import com.firefly.core.product.models.repositories.ProductConfigurationHistoryRepository;
 import com.firefly.core.product.models.repositories.ProductConfigurationRepository;
+import com.firefly.core.product.models.repositories.ProductPricingDocumentRepository;
 import com.firefly.core.product.models.repositories.ProductRepository;
-import io.r2dbc.postgresql.codec.Json;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.fireflyframework.web.error.exceptions.BusinessException;
@@ -38,19 +53,26 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default {@link ProductPricingAggregatorService} implementation. Reads the
  * generic {@code product_configuration} key-value rows that back PRICING and
- * LIMITS for a product, parses the JSON payloads with Jackson and returns a
- * calculator-friendly {@link ProductPricingDTO}.
+ * LIMITS for a product, compiles them with {@link PricingCompiler} and
+ * returns a calculator-friendly {@link ProductPricingDTO}.
  *
  * <p>Three configuration rows are required per product:
  * <ul>
@@ -64,37 +86,39 @@ import java.util.UUID;
  * </ul>
  *
  * <p>Missing rows surface as a "configuration not found" error; malformed JSON
- * is propagated as a "configuration parse error" so the controller layer can
- * map it to a 502 Bad Gateway.
+ * and overlapping interest-rate brackets are propagated as a "configuration
+ * parse error" / "configuration invalid" so the controller layer can map them
+ * to a 502 Bad Gateway. Brackets are returned sorted by {@code minAmount}.
+ *
+ * <p>Compiled snapshots are kept in {@link ProductPricingCache}; the write
+ * paths of {@code ProductConfigurationServiceImpl} and
+ * {@code ProductServiceImpl} evict them, so reads only hit the database on a
+ * cache miss.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductPricingAggregatorServiceImpl implements ProductPricingAggregatorService {
 
-    /** Configuration key holding the LIMITS JSON object. */
-    private static final String CONFIG_KEY_AMOUNT_TERM = "amount_term";
-
-    /** Configuration key holding the PRICING interest-rate brackets array. */
-    private static final String CONFIG_KEY_INTEREST_RATE_BRACKETS = "interest_rate_brackets";
-
-    /** Configuration key holding the PRICING fees array. */
-    private static final String CONFIG_KEY_FEES = "fees";
+    /** {@link RequestCoalescer} operation of {@link #getCompiledPricing(UUID)}. */
+    static final String COALESCED_READ = "pricing";
 
     private final ProductRepository productRepository;
     private final ProductConfigurationRepository productConfigurationRepository;
-    private final ObjectMapper objectMapper;
+    private final ProductConfigurationHistoryRepository productConfigurationHistoryRepository;
+    private final ProductPricingDocumentRepository productPricingDocumentRepository;
+    private final PricingCompiler pricingCompiler;
+    private final ProductPricingCache pricingCache;
+    private final ProductPricingProperties properties;
+    private final ProductPricingMetrics metrics;
+    private final RequestCoalescer coalescer;
+    private final DatabaseCircuitBreaker circuitBreaker;
+    private final StalePricingStore stalePricing;
 
     @Override
     public Mono<ProductPricingDTO> getProductPricing(UUID productId) {
-        return productRepository.findById(productId)
-                .switchIfEmpty(Mono.error(new BusinessException(
-                        HttpStatus.NOT_FOUND,
-                        "PRODUCT_NOT_FOUND",
-                        "Product not found with ID: " + productId)))
-                .flatMap(product -> productConfigurationRepository.findByProductId(productId)
-                        .collectList()
-                        .flatMap(configs -> buildPricing(product, configs)))
+        return getCompiledPricing(productId)
+                .map(CompiledPricing::pricing)
                 .doOnSuccess(dto -> log.debug(
                         "Aggregated pricing for product {} (code={})",
                         productId,
@@ -105,8 +129,210 @@ public class ProductPricingAggregatorServiceImpl implements ProductPricingAggreg
     }
 
     @Override
-    public Flux<ProductPricingDTO> listProductsWithPricing(String productType) {
-        String filter = productType == null ? null : productType.trim();
+    public Mono<CompiledPricing> getCompiledPricing(UUID productId) {
+        // The cache already shares loads of products whose tenant it knows;
+        // coalescing also covers first reads and a disabled cache. The epoch
+        // in the key keeps reads issued after a write off older loads.
+        return pricingCache.get(productId, id -> coalescer.coalesce(
+                        COALESCED_READ, new PricingRead(id, pricingCache.epoch()), () -> loadPricing(id)))
+                .onErrorResume(DatabaseCircuitBreaker::isDatabaseFailure, error -> stalePricing.get(productId)
+                        .map(snapshot -> {
+                            metrics.staleServed();
+                            log.warn("Database unavailable, serving pricing of product {} compiled at {}: {}",
+                                    productId, snapshot.compiledAt(), error.getMessage());
+                            return Mono.just(snapshot);
+                        })
+                        .orElseGet(() -> Mono.error(error)));
+    }
+
+    @Override
+    public Mono<ProductPricingDTO> getProductPricing(UUID productId, OffsetDateTime asOf) {
+        return getCompiledPricing(productId, asOf).map(CompiledPricing::pricing);
+    }
+
+    @Override
+    public Mono<CompiledPricing> getCompiledPricing(UUID productId, OffsetDateTime asOf) {
+        if (asOf == null) {
+            return getCompiledPricing(productId);
+        }
+        return productRepository.findById(productId)
+                .switchIfEmpty(Mono.error(() -> productNotFound(productId)))
+                .flatMap(product -> Flux.merge(
+                                findEffectiveAt(productId, ProductConfigTypeEnum.LIMITS,
+                                        PricingCompiler.CONFIG_KEY_AMOUNT_TERM, asOf),
+                                findEffectiveAt(productId, ProductConfigTypeEnum.PRICING,
+                                        PricingCompiler.CONFIG_KEY_INTEREST_RATE_BRACKETS, asOf),
+                                findEffectiveAt(productId, ProductConfigTypeEnum.PRICING,
+                                        PricingCompiler.CONFIG_KEY_FEES, asOf))
+                        .collectList()
+                        .flatMap(configs -> compilePricing(product, configs)))
+                .doOnError(err -> log.debug(
+                        "Failed to aggregate pricing for product {} as of {}: {}",
+                        productId, asOf, err.getMessage()));
+    }
+
+    @Override
+    public Mono<PricingQuoteDTO> getPricingQuote(UUID productId, BigDecimal amount, int term) {
+        return getCompiledPricing(productId)
+                .flatMap(compiled -> getPricingQuote(compiled, amount, term))
+                .doOnError(err -> log.debug(
+                        "Failed to quote product {} for amount={} term={}: {}",
+                        productId, amount, term, err.getMessage()));
+    }
+
+    @Override
+    public Mono<PricingQuoteDTO> getPricingQuote(CompiledPricing pricing, BigDecimal amount, int term) {
+        return Mono.fromCallable(() -> PricingQuoteCalculator.quote(pricing, amount, term));
+    }
+
+    @Override
+    public Flux<AmortisationScheduleEntryDTO> getAmortisationSchedule(UUID productId, BigDecimal amount, int term) {
+        return getCompiledPricing(productId)
+                .flatMapMany(compiled -> getAmortisationSchedule(compiled, amount, term))
+                .doOnError(err -> log.debug(
+                        "Failed to build schedule of product {} for amount={} term={}: {}",
+                        productId, amount, term, err.getMessage()));
+    }
+
+    @Override
+    public Flux<AmortisationScheduleEntryDTO> getAmortisationSchedule(
+            CompiledPricing pricing, BigDecimal amount, int term) {
+        return Flux.defer(() -> Flux.fromIterable(PricingQuoteCalculator.schedule(pricing, amount, term)));
+    }
+
+    @Override
+    public Flux<PricingQuoteResultDTO> quoteBatch(Flux<PricingScenarioDTO> scenarios) {
+        int maxBatchSize = properties.getQuotes().getMaxBatchSize();
+        // Scenarios are grouped by product through a request-scoped map of
+        // cached Monos: the first scenario of a product triggers the load
+        // (through the snapshot cache), later ones - and concurrent ones on
+        // other rails - replay the same snapshot or the same error. Unlike
+        // groupBy, this keeps no per-product sub-stream open until the
+        // request body completes, so the number of distinct products is not
+        // bounded by the operator's concurrency.
+        // The scenarios are counted before the first quote is emitted: once a
+        // result is written the status is committed, and an oversized batch
+        // would end as a truncated 200 instead of a 413. At most one scenario
+        // past the limit is read.
+        Map<UUID, Mono<CompiledPricing>> pricingByProduct = new ConcurrentHashMap<>();
+        return scenarios
+                .take(maxBatchSize + 1L)
+                .collectList()
+                .flatMapMany(batch -> batch.size() > maxBatchSize
+                        ? Flux.<PricingScenarioDTO>error(new BusinessException(
+                                HttpStatus.PAYLOAD_TOO_LARGE,
+                                "QUOTE_BATCH_TOO_LARGE",
+                                "A batch quote request accepts at most " + maxBatchSize + " scenarios"))
+                        : Flux.fromIterable(batch))
+                .parallel()
+                .runOn(Schedulers.parallel())
+                .flatMap(scenario -> quoteScenario(scenario, pricingByProduct))
+                .sequential();
+    }
+
+    @Override
+    public Mono<PricingComparisonDTO> comparePricing(PricingComparisonRequestDTO request) {
+        return Mono.defer(() -> {
+            List<UUID> productIds = request.getProductIds() == null
+                    ? List.of()
+                    : request.getProductIds().stream().filter(Objects::nonNull).distinct().toList();
+            BigDecimal amount = request.getAmount();
+            Integer term = request.getTerm();
+            if (productIds.isEmpty() || amount == null || amount.signum() <= 0 || term == null || term <= 0
+                    || (request.getTopK() != null && request.getTopK() <= 0)) {
+                return Mono.error(new BusinessException(
+                        HttpStatus.BAD_REQUEST,
+                        "COMPARISON_INVALID_REQUEST",
+                        "productIds, a positive amount, a positive term and, if given, a positive topK are required"));
+            }
+            int maxProducts = properties.getComparison().getMaxProducts();
+            if (productIds.size() > maxProducts) {
+                return Mono.error(new BusinessException(
+                        HttpStatus.PAYLOAD_TOO_LARGE,
+                        "COMPARISON_TOO_LARGE",
+                        "A pricing comparison accepts at most " + maxProducts + " products"));
+            }
+
+            int topK = request.getTopK() != null ? Math.min(request.getTopK(), productIds.size()) : productIds.size();
+            PricingComparison comparison = new PricingComparison(amount, term, topK);
+            List<UUID> misses = new ArrayList<>();
+            for (UUID productId : productIds) {
+                CompiledPricing hit = pricingCache.getIfPresent(productId);
+                if (hit != null) {
+                    comparison.offer(hit);
+                } else {
+                    misses.add(productId);
+                }
+            }
+            if (misses.isEmpty()) {
+                return Mono.fromSupplier(comparison::result);
+            }
+
+            // The products and the configuration rows of every miss are read
+            // with one statement each, issued concurrently, then compiled in
+            // request order and offered to the comparison as they go. The
+            // read goes through the circuit breaker; when the database is
+            // unavailable each miss falls back to its last good snapshot.
+            long epoch = pricingCache.epoch();
+            return circuitBreaker.protect(Mono.zip(
+                            productRepository.findAllById(misses)
+                                    .collectMap(Product::getProductId),
+                            productConfigurationRepository.findByProductIdIn(misses.toArray(UUID[]::new))
+                                    .collectMultimap(ProductConfiguration::getProductId)))
+                    .map(loaded -> {
+                        for (UUID productId : misses) {
+                            Product product = loaded.getT1().get(productId);
+                            if (product == null) {
+                                BusinessException notFound = productNotFound(productId);
+                                comparison.exclude(productId, notFound.getCode(), notFound.getMessage());
+                                continue;
+                            }
+                            CompiledPricing compiled;
+                            try {
+                                compiled = pricingCompiler.compile(
+                                        product, loaded.getT2().getOrDefault(productId, Collections.emptyList()));
+                            } catch (BusinessException e) {
+                                comparison.exclude(productId, e.getCode(), e.getMessage());
+                                continue;
+                            }
+                            pricingCache.put(productId, compiled, epoch);
+                            stalePricing.remember(compiled);
+                            // Outside the try: a currency mismatch fails the
+                            // whole comparison instead of excluding one row.
+                            comparison.offer(compiled);
+                        }
+                        return comparison.result();
+                    })
+                    .onErrorResume(DatabaseCircuitBreaker::isDatabaseFailure, error -> {
+                        log.warn("Database unavailable, comparing {} products on their last good pricing: {}",
+                                misses.size(), error.getMessage());
+                        for (UUID productId : misses) {
+                            Optional<CompiledPricing> snapshot = stalePricing.get(productId);
+                            if (snapshot.isPresent()) {
+                                metrics.staleServed();
+                                comparison.offer(snapshot.get());
+                            } else {
+                                comparison.exclude(productId, DatabaseCircuitBreaker.UNAVAILABLE_CODE,
+                                        "Pricing database unavailable and no recent enough pricing of product "
+                                                + productId);
+                            }
+                        }
+                        return Mono.just(comparison.result());
+                    });
+        });
+    }
+
+    @Override
+    public Flux<ProductPricingDTO> listProductsWithPricing(UUID tenantId, String productType) {
+        if (tenantId == null) {
+            return Flux.error(listingTenantRequired());
+        }
+        return listCompiledPricing(tenantId, productType).map(CompiledPricing::pricing);
+    }
+
+    @Override
+    public Flux<CompiledPricing> listCompiledPricing(UUID tenantId, String productType) {
+        String derivedType = ProductTypeLabel.normalize(productType);
         // Regulatory hardening: only ACTIVE products are eligible for pricing
         // aggregation. Returning RETIRED / DRAFT / PROPOSED products would let
         // a deprecated rate leak into the calculator and surface to a borrower
@@ -115,171 +341,228 @@ public class ProductPricingAggregatorServiceImpl implements ProductPricingAggreg
         // a strict status filter is safe — there are no legacy NULL rows.
         // The {@code productType} parameter is the calculator-friendly label
         // derived from {@code product_code} (e.g. "PERSONAL_LOAN", "LEASING")
-        // and not the persisted {@code ProductTypeEnum}, so it cannot be pushed
-        // into SQL and remains an in-memory filter.
-        return productRepository.findByProductStatus(ProductStatusEnum.ACTIVE)
-                .filter(product -> filter == null || filter.isEmpty()
-                        || filter.equalsIgnoreCase(deriveProductType(product)))
-                .flatMap(product -> getProductPricing(product.getProductId())
-                        .onErrorResume(err -> {
-                            log.warn(
-                                    "Skipping product {} in pricing listing due to error: {}",
-                                    product.getProductId(), err.getMessage());
-                            return Mono.empty();
-                        }));
+        // and not the persisted {@code ProductTypeEnum}; V15 materialises it
+        // as the indexed {@code derived_type} column, so a filtered listing
+        // only reads matching rows. With a tenant the listing is restricted to
+        // that tenant's catalog through the (tenant_id, product_status, ...)
+        // indexes of V11 / V15.
+        //
+        // Configuration rows are loaded per window of products with a single
+        // {@code product_id = ANY(?)} query instead of one findById plus one
+        // findByProductId per product, so the listing costs
+        // 1 + ceil(products / batchSize) statements. At most `concurrency`
+        // windows are in flight, which bounds the pooled connections one
+        // listing can hold; ordered mode keeps repository order.
+        ProductPricingProperties.Listing listing = properties.getListing();
+        int concurrency = Math.max(1, listing.getConcurrency());
+        Flux<Product> products = findActiveProducts(tenantId, derivedType);
+        Flux<List<Product>> windows = products.buffer(Math.max(1, listing.getBatchSize()));
+        Flux<CompiledPricing> pricing = listing.isOrdered()
+                ? windows.flatMapSequential(this::buildPricingWindow, concurrency)
+                : windows.flatMap(this::buildPricingWindow, concurrency);
+        return pricing.doOnNext(compiled -> metrics.listingEmitted());
+    }
+
+    @Override
+    public Flux<PricingDocument> listPricingDocuments(UUID tenantId, String productType) {
+        // One statement against the product_pricing_document view (V17): the
+        // rows are composed into JSON by PostgreSQL and streamed as the driver
+        // decodes them, so nothing is buffered per window and no snapshot is
+        // compiled or cached.
+        if (tenantId == null) {
+            return Flux.error(listingTenantRequired());
+        }
+        return findActiveDocuments(tenantId, ProductTypeLabel.normalize(productType))
+                .map(row -> new PricingDocument(row.getProductId(), row.getEtag(), row.getDocument()))
+                .doOnNext(document -> metrics.listingEmitted());
+    }
+
+    @Override
+    public Mono<String> getListingVersion(UUID tenantId, String productType) {
+        // Same ACTIVE / tenant / derived-type scope as the listings above. The
+        // version covers every configuration row of those products rather
+        // than only the pricing keys, so it may change when the listing does
+        // not; it never stays put when the listing changes.
+        if (tenantId == null) {
+            return Mono.error(listingTenantRequired());
+        }
+        return productRepository.findActiveCatalogVersion(tenantId, ProductTypeLabel.normalize(productType));
     }
 
     // ------------------------------------------------------------------
     // Internal helpers
     // ------------------------------------------------------------------
 
-    private Mono<ProductPricingDTO> buildPricing(Product product, List<ProductConfiguration> configs) {
-        Optional<ProductConfiguration> limitsCfg = findConfig(
-                configs, ProductConfigTypeEnum.LIMITS, CONFIG_KEY_AMOUNT_TERM);
-        if (limitsCfg.isEmpty()) {
-            return Mono.error(new BusinessException(
-                    HttpStatus.UNPROCESSABLE_ENTITY,
-                    "PRODUCT_CONFIG_MISSING",
-                    "Configuration not found: LIMITS/amount_term for product " + product.getProductId()));
+    private Flux<Product> findActiveProducts(UUID tenantId, String derivedType) {
+        if (tenantId == null) {
+            return derivedType == null
+                    ? productRepository.findByProductStatus(ProductStatusEnum.ACTIVE)
+                    : productRepository.findByProductStatusAndDerivedType(ProductStatusEnum.ACTIVE, derivedType);
         }
+        return derivedType == null
+                ? productRepository.findByProductStatusAndTenantId(ProductStatusEnum.ACTIVE, tenantId)
+                : productRepository.findByProductStatusAndTenantIdAndDerivedType(
+                        ProductStatusEnum.ACTIVE, tenantId, derivedType);
+    }
 
-        Optional<ProductConfiguration> ratesCfg = findConfig(
-                configs, ProductConfigTypeEnum.PRICING, CONFIG_KEY_INTEREST_RATE_BRACKETS);
-        if (ratesCfg.isEmpty()) {
-            return Mono.error(new BusinessException(
-                    HttpStatus.UNPROCESSABLE_ENTITY,
-                    "PRODUCT_CONFIG_MISSING",
-                    "Configuration not found: PRICING/interest_rate_brackets for product " + product.getProductId()));
-        }
+    private Flux<ProductPricingDocument> findActiveDocuments(UUID tenantId, String derivedType) {
+        return derivedType == null
+                ? productPricingDocumentRepository.findByProductStatusAndTenantId(ProductStatusEnum.ACTIVE, tenantId)
+                : productPricingDocumentRepository.findByProductStatusAndTenantIdAndDerivedType(
+                        ProductStatusEnum.ACTIVE, tenantId, derivedType);
+    }
 
-        Optional<ProductConfiguration> feesCfg = findConfig(
-                configs, ProductConfigTypeEnum.PRICING, CONFIG_KEY_FEES);
-        if (feesCfg.isEmpty()) {
-            return Mono.error(new BusinessException(
-                    HttpStatus.UNPROCESSABLE_ENTITY,
-                    "PRODUCT_CONFIG_MISSING",
-                    "Configuration not found: PRICING/fees for product " + product.getProductId()));
-        }
+    /**
+     * The listings exposed over HTTP read one tenant's catalog. Only internal
+     * callers (warm-up, eligibility index) go through
+     * {@link #listCompiledPricing(UUID, String)} without a tenant.
+     */
+    private static BusinessException listingTenantRequired() {
+        return new BusinessException(
+                HttpStatus.BAD_REQUEST,
+                "PRODUCT_PRICING_TENANT_REQUIRED",
+                "A pricing listing is scoped to one tenant; pass tenantId or the tenant header");
+    }
 
-        try {
-            Map<String, Object> limits = objectMapper.readValue(
-                    nullToEmptyObject(limitsCfg.get().getConfigValue()),
-                    new TypeReference<Map<String, Object>>() {});
-
-            List<InterestRateBracketDTO> rates = objectMapper.readValue(
-                    nullToEmptyArray(ratesCfg.get().getConfigValue()),
-                    new TypeReference<List<InterestRateBracketDTO>>() {});
-
-            List<FeeDefinitionDTO> fees = objectMapper.readValue(
-                    nullToEmptyArray(feesCfg.get().getConfigValue()),
-                    new TypeReference<List<FeeDefinitionDTO>>() {});
-
-            ProductPricingDTO dto = ProductPricingDTO.builder()
-                    .productId(product.getProductId())
-                    .productCode(product.getProductCode())
-                    .productType(deriveProductType(product))
-                    .name(product.getProductName())
-                    .description(product.getProductDescription())
-                    .available(product.getProductStatus() == ProductStatusEnum.ACTIVE)
-                    .features(parseMarketingFeatures(product.getMarketingFeatures()))
-                    .currency(asString(limits.get("currency")))
-                    .minAmount(asBigDecimal(limits.get("minAmount")))
-                    .maxAmount(asBigDecimal(limits.get("maxAmount")))
-                    .minTerm(asInteger(limits.get("minTerm")))
-                    .maxTerm(asInteger(limits.get("maxTerm")))
-                    .interestRates(rates != null ? rates : Collections.emptyList())
-                    .fees(fees != null ? fees : Collections.emptyList())
-                    .build();
-            return Mono.just(dto);
-        } catch (JsonProcessingException ex) {
-            return Mono.error(new BusinessException(
-                    HttpStatus.BAD_GATEWAY,
-                    "PRODUCT_CONFIG_PARSE_ERROR",
-                    "Configuration parse error for product " + product.getProductId() + ": " + ex.getOriginalMessage(),
-                    ex));
+    private Mono<PricingQuoteResultDTO> quoteScenario(
+            PricingScenarioDTO scenario,
+            Map<UUID, Mono<CompiledPricing>> pricingByProduct) {
+        UUID productId = scenario.getProductId();
+        if (productId == null || scenario.getAmount() == null || scenario.getAmount().signum() <= 0
+                || scenario.getTerm() == null || scenario.getTerm() <= 0) {
+            return Mono.just(failedQuote(scenario, "QUOTE_INVALID_SCENARIO",
+                    "productId, a positive amount and a positive term are required"));
         }
+        return pricingByProduct
+                .computeIfAbsent(productId, id -> getCompiledPricing(id).cache())
+                .map(compiled -> PricingQuoteResultDTO.builder()
+                        .scenarioId(scenario.getScenarioId())
+                        .productId(productId)
+                        .quote(PricingQuoteCalculator.quote(compiled, scenario.getAmount(), scenario.getTerm()))
+                        .build())
+                .onErrorResume(err -> Mono.just(err instanceof BusinessException be
+                        ? failedQuote(scenario, be.getCode(), be.getMessage())
+                        : failedQuote(scenario, "QUOTE_FAILED", err.getMessage())));
     }
 
-    private static Optional<ProductConfiguration> findConfig(
-            List<ProductConfiguration> configs,
-            ProductConfigTypeEnum type,
-            String key) {
-        return configs.stream()
-                .filter(c -> type == c.getConfigType())
-                .filter(c -> key.equals(c.getConfigKey()))
-                .findFirst();
+    private static PricingQuoteResultDTO failedQuote(PricingScenarioDTO scenario, String code, String message) {
+        return PricingQuoteResultDTO.builder()
+                .scenarioId(scenario.getScenarioId())
+                .productId(scenario.getProductId())
+                .errorCode(code)
+                .errorMessage(message)
+                .build();
     }
 
     /**
-     * Derives the calculator-friendly product type label from the product's
-     * business code. Convention: {@code "<TYPE>_DEMO"} -> {@code "<TYPE>"};
-     * any non-demo code returns the code itself stripped of trailing
-     * {@code _SUFFIX} segments. Falls back to the entity-level product type
-     * (FINANCIAL / NON_FINANCIAL) when no code is present.
+     * Reads a single product and its configuration rows and compiles them.
+     * Only invoked by {@link ProductPricingCache} on a miss. Reads go through
+     * the circuit breaker, and every compiled snapshot becomes the product's
+     * last good one.
      */
-    private static String deriveProductType(Product product) {
-        String code = product.getProductCode();
-        if (code != null && !code.isBlank()) {
-            String upper = code.toUpperCase();
-            if (upper.endsWith("_DEMO")) {
-                return upper.substring(0, upper.length() - "_DEMO".length());
-            }
-            return upper;
-        }
-        return product.getProductType() != null ? product.getProductType().name() : null;
+    private Mono<CompiledPricing> loadPricing(UUID productId) {
+        Mono<CompiledPricing> read = productRepository.findById(productId)
+                .switchIfEmpty(Mono.error(() -> productNotFound(productId)))
+                .flatMap(product -> productConfigurationRepository.findByProductId(productId)
+                        .collectList()
+                        .flatMap(configs -> compilePricing(product, configs)));
+        return circuitBreaker.protect(read)
+                .doOnNext(stalePricing::remember)
+                .doOnError(BusinessException.class, error -> {
+                    if (HttpStatus.NOT_FOUND.equals(error.getStatus())) {
+                        stalePricing.forget(productId);
+                    }
+                });
     }
 
-    private List<String> parseMarketingFeatures(Json json) {
-        if (json == null) {
-            return null;
-        }
-        String raw = json.asString();
-        if (raw == null || raw.isBlank()) {
-            return null;
-        }
-        try {
-            return objectMapper.readValue(raw, new TypeReference<List<String>>() {});
-        } catch (JsonProcessingException ex) {
-            log.warn("Failed to parse product marketing_features JSON: {}", ex.getOriginalMessage());
-            return null;
-        }
+    /**
+     * Builds the pricing of a window of products. Snapshots already cached are
+     * reused as-is; the configuration rows of the remaining products are
+     * loaded with one query, grouped by product in memory, compiled and
+     * published to the cache. Products whose pricing cannot be built are
+     * logged and skipped, matching the contract of
+     * {@link #listProductsWithPricing(UUID, String)}.
+     */
+    private Flux<CompiledPricing> buildPricingWindow(List<Product> products) {
+        return Flux.defer(() -> {
+                    metrics.listingWindowStarted();
+                    return buildPricingBatch(products);
+                })
+                .doFinally(signal -> metrics.listingWindowFinished());
     }
 
-    private static String nullToEmptyObject(String json) {
-        return json == null || json.isBlank() ? "{}" : json;
+    private Flux<CompiledPricing> buildPricingBatch(List<Product> products) {
+        Map<UUID, CompiledPricing> cached = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (Product product : products) {
+            CompiledPricing hit = pricingCache.getIfPresent(product.getProductId());
+            if (hit != null) {
+                cached.put(product.getProductId(), hit);
+            } else {
+                misses.add(product.getProductId());
+            }
+        }
+
+        long epoch = pricingCache.epoch();
+        Mono<Map<UUID, Collection<ProductConfiguration>>> configsByProduct = misses.isEmpty()
+                ? Mono.just(Collections.emptyMap())
+                : productConfigurationRepository.findByProductIdIn(misses.toArray(UUID[]::new))
+                        .collectMultimap(ProductConfiguration::getProductId);
+
+        return configsByProduct.flatMapMany(configs -> Flux.fromIterable(products)
+                .concatMap(product -> {
+                    CompiledPricing hit = cached.get(product.getProductId());
+                    if (hit != null) {
+                        return Mono.just(hit);
+                    }
+                    return compilePricing(
+                            product,
+                            configs.getOrDefault(product.getProductId(), Collections.emptyList()))
+                            .doOnNext(compiled -> {
+                                pricingCache.put(product.getProductId(), compiled, epoch);
+                                stalePricing.remember(compiled);
+                            })
+                            .onErrorResume(err -> {
+                                log.warn(
+                                        "Skipping product {} in pricing listing due to error: {}",
+                                        product.getProductId(), err.getMessage());
+                                return Mono.empty();
+                            });
+                }));
     }
 
-    private static String nullToEmptyArray(String json) {
-        return json == null || json.isBlank() ? "[]" : json;
+    /**
+     * Reads the version of one configuration row in effect at {@code asOf},
+     * shaped as a live row so it compiles like one. {@code date_updated} is
+     * the start of the version, which keeps entity tags distinct per version.
+     */
+    private Mono<ProductConfiguration> findEffectiveAt(
+            UUID productId, ProductConfigTypeEnum type, String key, OffsetDateTime asOf) {
+        return productConfigurationHistoryRepository.findEffectiveAt(productId, type, key, asOf)
+                .map(version -> {
+                    ProductConfiguration config = new ProductConfiguration();
+                    config.setProductConfigurationId(version.getProductConfigurationId());
+                    config.setProductId(version.getProductId());
+                    config.setConfigType(version.getConfigType());
+                    config.setConfigKey(version.getConfigKey());
+                    config.setConfigValue(version.getConfigValue());
+                    config.setDateUpdated(version.getValidFrom().toLocalDateTime());
+                    return config;
+                });
     }
 
-    private static String asString(Object value) {
-        return value == null ? null : value.toString();
+    private static BusinessException productNotFound(UUID productId) {
+        return new BusinessException(
+                HttpStatus.NOT_FOUND,
+                "PRODUCT_NOT_FOUND",
+                "Product not found with ID: " + productId);
     }
 
-    private static BigDecimal asBigDecimal(Object value) {
-        if (value == null) {
-            return null;
-        }
-        if (value instanceof BigDecimal bd) {
-            return bd;
-        }
-        if (value instanceof Number n) {
-            return new BigDecimal(n.toString());
-        }
-        return new BigDecimal(value.toString());
+    private Mono<CompiledPricing> compilePricing(Product product, Collection<ProductConfiguration> configs) {
+        return Mono.fromCallable(() -> pricingCompiler.compile(product, configs));
     }
 
-    private static Integer asInteger(Object value) {
-        if (value == null) {
-            return null;
-        }
-        if (value instanceof Integer i) {
-            return i;
-        }
-        if (value instanceof Number n) {
-            return n.intValue();
-        }
-        return Integer.valueOf(value.toString());
+    /** Coalescing key of a pricing read: the product and the cache epoch it started in. */
+    private record PricingRead(UUID productId, long epoch) {
     }
 }
@@ -22,6 +22,7 @@ import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.core.product.core.mappers.ProductRelationshipMapper;
 import com.firefly.core.product.core.services.ProductRelationshipService;
+import com.firefly.core.product.interfaces.dtos.KeysetPageDTO;
 import com.firefly.core.product.interfaces.dtos.ProductRelationshipDTO;
 import com.firefly.core.product.models.entities.ProductRelationship;
 import com.firefly.core.product.models.repositories.ProductRelationshipRepository;
@@ -49,7 +50,15 @@ public class ProductRelationshipServiceImpl implements ProductRelationshipServic
                         ProductRelationship.class,
                         mapper::toDto
                 )
-                .filter(filterRequest);
+                .filter(ProductScope.toProduct(
+                        filterRequest, productId, ProductRelationshipDTO::new, ProductRelationshipDTO::setProductId));
+    }
+
+    @Override
+    public Mono<KeysetPageDTO<ProductRelationshipDTO>> listRelationships(UUID productId, UUID after, int limit) {
+        return ProductScope.page(after, limit,
+                (from, rows) -> repository.findPageByProductId(productId, from, rows),
+                mapper::toDto, ProductRelationshipDTO::getProductRelationshipId);
     }
 
     @Override
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.services.impl;
+
+import com.firefly.core.product.interfaces.dtos.KeysetPageDTO;
+import org.fireflyframework.core.filters.FilterRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Scoping and keyset paging shared by the services whose rows belong to a
+ * single product (configurations, versions, relationships, localizations,
+ * documentations and documentation requirements).
+ */
+final class ProductScope {
+
+    /** {@code after} of the first keyset page; sorts before every generated identifier. */
+    static final UUID FIRST_PAGE = new UUID(0L, 0L);
+
+    private ProductScope() {
+    }
+
+    /**
+     * Restricts a filter request to the rows of one product. The product of
+     * the path replaces any product given in the filters, so the generated
+     * statement and its count both carry {@code product_id = ?} and use the
+     * product's index instead of scanning every product's rows.
+     *
+     * @param filterRequest   request as received
+     * @param productId       owning product
+     * @param emptyFilters    creates the filters when the request has none
+     * @param productIdSetter sets the product on the filters
+     * @return the same request, scoped to {@code productId}
+     */
+    static <T> FilterRequest<T> toProduct(
+            FilterRequest<T> filterRequest, UUID productId,
+            Supplier<T> emptyFilters, BiConsumer<T, UUID> productIdSetter) {
+        if (filterRequest.getFilters() == null) {
+            filterRequest.setFilters(emptyFilters.get());
+        }
+        productIdSetter.accept(filterRequest.getFilters(), productId);
+        return filterRequest;
+    }
+
+    /**
+     * Reads one keyset page. One row more than the page holds is asked for
+     * to learn whether another page follows without counting.
+     *
+     * @param after  identifier of the last row of the previous page, or
+     *               {@code null} for the first page
+     * @param limit  maximum number of rows in the page
+     * @param query  repository seek, given the {@code after} bound and a row limit
+     * @param toDto  entity to DTO mapping
+     * @param idOf   identifier of a DTO
+     * @return a {@link Mono} emitting the page
+     */
+    static <E, T> Mono<KeysetPageDTO<T>> page(
+            UUID after, int limit, BiFunction<UUID, Integer, Flux<E>> query,
+            Function<E, T> toDto, Function<T, UUID> idOf) {
+        return query.apply(after == null ? FIRST_PAGE : after, limit + 1)
+                .map(toDto)
+                .collectList()
+                .map(rows -> rows.size() > limit
+                        ? new KeysetPageDTO<>(List.copyOf(rows.subList(0, limit)), idOf.apply(rows.get(limit - 1)))
+                        : new KeysetPageDTO<>(rows, null));
+    }
+}
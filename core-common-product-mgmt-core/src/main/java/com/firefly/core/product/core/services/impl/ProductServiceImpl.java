@@ -20,13 +20,16 @@ package com.firefly.core.product.core.services.impl;
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
+import com.firefly.core.product.core.coalescing.RequestCoalescer;
 import com.firefly.core.product.core.mappers.ProductMapper;
+import com.firefly.core.product.core.pricing.ProductPricingCache;
 import com.firefly.core.product.core.services.ProductService;
 import com.firefly.core.product.interfaces.dtos.ProductDTO;
 import com.firefly.core.product.models.entities.Product;
 import com.firefly.core.product.models.repositories.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -37,12 +40,21 @@ import java.util.UUID;
 @Transactional
 public class ProductServiceImpl implements ProductService {
 
+    /** {@link RequestCoalescer} operation of {@link #getProductById(UUID)}. */
+    static final String COALESCED_READ = "product";
+
     @Autowired
     private ProductRepository repository;
 
     @Autowired
     private ProductMapper mapper;
 
+    @Autowired
+    private ProductPricingCache pricingCache;
+
+    @Autowired
+    private RequestCoalescer coalescer;
+
     @Override
     public Mono<PaginationResponse<ProductDTO>> filterProducts(FilterRequest<ProductDTO> filterRequest) {
         return FilterUtils
@@ -62,10 +74,13 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    // Coalesced reads run outside any transaction; opening one per caller
+    // would only hold a pooled connection the shared load does not use.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Mono<ProductDTO> getProductById(UUID productId) {
-        return repository.findById(productId)
+        return coalescer.coalesce(COALESCED_READ, productId, () -> repository.findById(productId)
                 .switchIfEmpty(Mono.error(new RuntimeException("Product not found with ID: " + productId)))
-                .map(mapper::toDto);
+                .map(mapper::toDto));
     }
 
     @Override
@@ -82,6 +97,9 @@ public class ProductServiceImpl implements ProductService {
                     mapper.updateEntityFromDto(productDTO, existingEntity);
                     return repository.save(existingEntity);
                 })
+                .flatMap(saved -> pricingCache.invalidateAfterCompletion(productId)
+                        .then(coalescer.forgetAfterCompletion(COALESCED_READ, productId))
+                        .thenReturn(saved))
                 .map(mapper::toDto);
     }
 
@@ -89,6 +107,8 @@ public class ProductServiceImpl implements ProductService {
     public Mono<Void> deleteProduct(UUID productId) {
         return repository.findById(productId)
                 .switchIfEmpty(Mono.error(new RuntimeException("Product not found with ID: " + productId)))
-                .flatMap(existingEntity -> repository.deleteById(productId));
+                .flatMap(existingEntity -> repository.deleteById(productId)
+                        .then(pricingCache.invalidateAfterCompletion(productId))
+                        .then(coalescer.forgetAfterCompletion(COALESCED_READ, productId)));
     }
 }
@@ -22,6 +22,7 @@ import org.fireflyframework.core.filters.FilterUtils;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.core.product.core.mappers.ProductVersionMapper;
 import com.firefly.core.product.core.services.ProductVersionService;
+import com.firefly.core.product.interfaces.dtos.KeysetPageDTO;
 import com.firefly.core.product.interfaces.dtos.ProductVersionDTO;
 import com.firefly.core.product.models.entities.ProductVersion;
 import com.firefly.core.product.models.repositories.ProductVersionRepository;
@@ -49,7 +50,15 @@ public class ProductVersionServiceImpl implements ProductVersionService {
                         ProductVersion.class,
                         mapper::toDto
                 )
-                .filter(filterRequest);
+                .filter(ProductScope.toProduct(
+                        filterRequest, productId, ProductVersionDTO::new, ProductVersionDTO::setProductId));
+    }
+
+    @Override
+    public Mono<KeysetPageDTO<ProductVersionDTO>> listProductVersions(UUID productId, UUID after, int limit) {
+        return ProductScope.page(after, limit,
+                (from, rows) -> repository.findPageByProductId(productId, from, rows),
+                mapper::toDto, ProductVersionDTO::getProductVersionId);
     }
 
     @Override
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.product.core.changes;
+
+import com.firefly.core.product.core.config.ProductChangeProperties;
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import com.firefly.core.product.core.pricing.CompiledPricing;
+import com.firefly.core.product.core.pricing.InstalmentFactors;
+import com.firefly.core.product.core.pricing.InterestRateIndex;
+import com.firefly.core.product.core.pricing.ProductPricingCache;
+import com.firefly.core.product.interfaces.dtos.ProductChangeEventDTO;
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import com.firefly.core.product.interfaces.enums.ProductChangeEntityEnum;
+import com.firefly.core.product.interfaces.enums.ProductChangeOperationEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangeCacheInvalidatorTest {
+
+    private static final UUID PERSONAL_LOAN_ID = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID LEASING_ID = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final UUID RETAIL_TENANT = UUID.fromString("00000000-0000-0000-0000-0000000000a1");
+
+    @Mock
+    private ProductChangeListener listener;
+
+    private ProductPricingCache pricingCache;
+    private ProductChangeCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        pricingCache = new ProductPricingCache(new ProductPricingProperties(), new SimpleMeterRegistry());
+        invalidator = new ProductChangeCacheInvalidator(listener, pricingCache, new ProductChangeProperties());
+    }
+
+    @Test
+    void watch_productChange_evictsOnlyThatProduct() {
+        cache(PERSONAL_LOAN_ID);
+        cache(LEASING_ID);
+        when(listener.events())
+                .thenReturn(Flux.just(change(PERSONAL_LOAN_ID), change(null)).concatWith(Flux.never()));
+
+        StepVerifier.create(invalidator.watch())
+                .expectNextCount(2)
+                .thenCancel()
+                .verify();
+
+        assertThat(pricingCache.getIfPresent(PERSONAL_LOAN_ID)).isNull();
+        assertThat(pricingCache.getIfPresent(LEASING_ID)).isNotNull();
+    }
+
+    @Test
+    void watch_afterReconnecting_dropsEveryCachedProduct() {
+        cache(LEASING_ID);
+        when(listener.events())
+                .thenReturn(Flux.error(new IllegalStateException("connection lost")), Flux.never());
+        when(listener.listening()).thenReturn(Mono.empty());
+
+        StepVerifier.withVirtualTime(() -> invalidator.watch())
+                .thenAwait(Duration.ofMinutes(1))
+                .thenCancel()
+                .verify();
+
+        verify(listener, times(2)).events();
+        assertThat(pricingCache.getIfPresent(LEASING_ID)).isNull();
+    }
+
+    private void cache(UUID productId) {
+        InterestRateIndex rates = InterestRateIndex.of(List.of());
+        CompiledPricing pricing = new CompiledPricing(ProductPricingDTO.builder().productId(productId).build(), rates,
+                InstalmentFactors.of(rates, null, null), RETAIL_TENANT, "etag", Instant.now());
+        pricingCache.put(productId, pricing, pricingCache.epoch());
+    }
+
+    private static ProductChangeEventDTO change(UUID productId) {
+        return ProductChangeEventDTO.builder()
+                .entity(productId != null ? ProductChangeEntityEnum.PRODUCT : ProductChangeEntityEnum.CATEGORY)
+                .entityId(productId != null ? productId : UUID.randomUUID())
+                .productId(productId)
+                .operation(ProductChangeOperationEnum.UPDATE)
+                .build();
+    }
+}
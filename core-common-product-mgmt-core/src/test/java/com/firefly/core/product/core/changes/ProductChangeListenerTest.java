@@ -0,0 +1,215 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.changes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.product.interfaces.dtos.ProductChangeEventDTO;
+import com.firefly.core.product.interfaces.enums.ProductChangeEntityEnum;
+import com.firefly.core.product.interfaces.enums.ProductChangeOperationEnum;
+import com.firefly.core.product.models.repositories.ProductChangeEventRepository;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.r2dbc.repository.Query;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies every migration to a throw-away PostgreSQL and checks that writes
+ * to the watched tables reach {@link ProductChangeListener} through the V20
+ * trigger, with the same sequence numbers as the retained events, and that
+ * concurrent writers neither wait for each other nor have their events
+ * delivered past a transaction that is still open (V24).
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProductChangeListenerTest {
+
+    private static final UUID PERSONAL_LOAN_ID = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void migrate() throws IOException, SQLException {
+        Resource[] migrations = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:db/migration/V*__*.sql");
+        Arrays.sort(migrations, Comparator.comparingInt(ProductChangeListenerTest::version));
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (Resource migration : migrations) {
+                statement.execute(migration.getContentAsString(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    void events_configurationAndCategoryWrites_AreNotifiedAsCommitted() {
+        ProductChangeListener listener = new ProductChangeListener(
+                new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                        .host(POSTGRES.getHost())
+                        .port(POSTGRES.getFirstMappedPort())
+                        .database(POSTGRES.getDatabaseName())
+                        .username(POSTGRES.getUsername())
+                        .password(POSTGRES.getPassword())
+                        .build()),
+                new ObjectMapper().findAndRegisterModules());
+
+        StepVerifier.create(listener.events().take(2))
+                .then(() -> {
+                    listener.listening().block(Duration.ofSeconds(10));
+                    execute("UPDATE product_configuration SET config_value = '\"BRANCH\"'"
+                            + " WHERE product_id = '" + PERSONAL_LOAN_ID + "' AND config_key = 'fees'");
+                    execute("INSERT INTO product_category (category_name) VALUES ('Green loans')");
+                })
+                .assertNext(event -> {
+                    assertThat(event.getEntity()).isEqualTo(ProductChangeEntityEnum.CONFIGURATION);
+                    assertThat(event.getOperation()).isEqualTo(ProductChangeOperationEnum.UPDATE);
+                    assertThat(event.getProductId()).isEqualTo(PERSONAL_LOAN_ID);
+                    assertThat(event.getTenantId()).isNotNull();
+                    assertThat(event.getDateUpdated()).isNotNull();
+                    assertRetained(event);
+                })
+                .assertNext(event -> {
+                    assertThat(event.getEntity()).isEqualTo(ProductChangeEntityEnum.CATEGORY);
+                    assertThat(event.getOperation()).isEqualTo(ProductChangeOperationEnum.INSERT);
+                    assertThat(event.getProductId()).isNull();
+                    assertThat(event.getTenantId()).isNull();
+                    assertRetained(event);
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void feed_InterleavedWriters_DeliverNothingPastAnOpenTransaction() throws Exception {
+        long horizon = deliveryHorizon();
+        try (Connection first = connect()) {
+            first.setAutoCommit(false);
+            updateConfiguration(first, "fees");
+            // The second writer commits at once instead of waiting for the
+            // first, but its event is held back behind the open transaction.
+            try (Connection second = connect()) {
+                updateConfiguration(second, "amount_term");
+            }
+            assertThat(deliverableConfigKeys(horizon)).isEmpty();
+            first.commit();
+        }
+        assertThat(deliverableConfigKeys(horizon)).containsExactly("fees", "amount_term");
+    }
+
+    private static void updateConfiguration(Connection connection, String configKey) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement("UPDATE product_configuration"
+                + " SET date_updated = CURRENT_TIMESTAMP WHERE product_id = ? AND config_key = ?")) {
+            update.setObject(1, PERSONAL_LOAN_ID);
+            update.setString(2, configKey);
+            assertThat(update.executeUpdate()).isEqualTo(1);
+        }
+    }
+
+    private static long deliveryHorizon() throws Exception {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet row = statement.executeQuery(query("findDeliveryHorizon"))) {
+            row.next();
+            return row.getLong(1);
+        }
+    }
+
+    /**
+     * Config keys of the events {@link ProductChangeEventRepository#findDeliverableAfter}
+     * returns after {@code (horizon, 0)}, in feed order.
+     */
+    private static List<String> deliverableConfigKeys(long horizon) throws Exception {
+        String deliverable = query("findDeliverableAfter", long.class, long.class, int.class)
+                .replace(":transactionId", "?")
+                .replace(":sequenceNumber", "?")
+                .replace(":limit", "?");
+        try (Connection connection = connect();
+             PreparedStatement select = connection.prepareStatement("SELECT c.config_key"
+                     + " FROM (" + deliverable + ") e"
+                     + " JOIN product_configuration c ON c.product_configuration_id = e.entity_id"
+                     + " ORDER BY e.transaction_id, e.sequence_number")) {
+            select.setLong(1, horizon);
+            select.setLong(2, 0L);
+            select.setInt(3, 100);
+            List<String> keys = new ArrayList<>();
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    keys.add(rows.getString(1));
+                }
+            }
+            return keys;
+        }
+    }
+
+    private static String query(String method, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return ProductChangeEventRepository.class.getMethod(method, parameterTypes).getAnnotation(Query.class).value();
+    }
+
+    private static void assertRetained(ProductChangeEventDTO event) {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet row = statement.executeQuery("SELECT entity, entity_id FROM product_change_event"
+                     + " WHERE sequence_number = " + event.getSequenceNumber())) {
+            assertThat(row.next()).isTrue();
+            assertThat(row.getString("entity")).isEqualTo(event.getEntity().name());
+            assertThat(row.getObject("entity_id", UUID.class)).isEqualTo(event.getEntityId());
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void execute(String sql) {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    private static int version(Resource migration) {
+        String name = migration.getFilename();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.product.core.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RequestCoalescer coalescer;
+
+    private AtomicInteger loads;
+
+    private Sinks.One<String> result;
+
+    private AtomicBoolean cancelled;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry);
+        loads = new AtomicInteger();
+        result = Sinks.one();
+        cancelled = new AtomicBoolean();
+    }
+
+    @Test
+    void coalesce_concurrentCallersForSameKey_shareOneLoad() {
+        AtomicReference<String> first = new AtomicReference<>();
+        AtomicReference<String> second = new AtomicReference<>();
+        load("product", "a").subscribe(first::set);
+        load("product", "a").subscribe(second::set);
+        assertThat(inFlight()).isEqualTo(1);
+
+        result.tryEmitValue("value");
+
+        assertThat(first.get()).isEqualTo("value");
+        assertThat(second.get()).isEqualTo("value");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(calls("product", "leader")).isEqualTo(1);
+        assertThat(calls("product", "coalesced")).isEqualTo(1);
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void coalesce_differentKeysOrOperations_loadSeparately() {
+        load("product", "a").subscribe();
+        load("product", "b").subscribe();
+        load("category", "a").subscribe();
+
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(calls("product", "coalesced")).isZero();
+        assertThat(calls("category", "leader")).isEqualTo(1);
+    }
+
+    @Test
+    void coalesce_afterCompletion_startsNewLoad() {
+        StepVerifier.create(coalescer.coalesce("product", "a", () -> Mono.fromCallable(loads::incrementAndGet)))
+                .expectNext(1)
+                .verifyComplete();
+        StepVerifier.create(coalescer.coalesce("product", "a", () -> Mono.fromCallable(loads::incrementAndGet)))
+                .expectNext(2)
+                .verifyComplete();
+
+        assertThat(calls("product", "coalesced")).isZero();
+    }
+
+    @Test
+    void coalesce_errorIsPropagatedToEveryCallerAndNotReplayed() {
+        AtomicReference<Throwable> first = new AtomicReference<>();
+        AtomicReference<Throwable> second = new AtomicReference<>();
+        load("product", "a").subscribe(value -> { }, first::set);
+        load("product", "a").subscribe(value -> { }, second::set);
+
+        result.tryEmitError(new IllegalStateException("boom"));
+
+        assertThat(first.get()).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        assertThat(second.get()).isSameAs(first.get());
+        assertThat(inFlight()).isZero();
+
+        result = Sinks.one();
+        StepVerifier.create(load("product", "a"))
+                .then(() -> result.tryEmitValue("recovered"))
+                .expectNext("recovered")
+                .verifyComplete();
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void coalesce_emptyLoad_completesEveryCallerEmpty() {
+        StepVerifier.create(load("product", "a"))
+                .then(result::tryEmitEmpty)
+                .verifyComplete();
+    }
+
+    @Test
+    void coalesce_oneCallerCancelling_doesNotCancelTheOthers() {
+        Disposable first = load("product", "a").subscribe();
+        AtomicReference<String> second = new AtomicReference<>();
+        load("product", "a").subscribe(second::set);
+
+        first.dispose();
+        result.tryEmitValue("value");
+
+        assertThat(cancelled.get()).isFalse();
+        assertThat(second.get()).isEqualTo("value");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void coalesce_allCallersCancelling_cancelsTheLoadAndReleasesTheKey() {
+        Disposable first = load("product", "a").subscribe();
+        Disposable second = load("product", "a").subscribe();
+
+        first.dispose();
+        second.dispose();
+
+        assertThat(cancelled.get()).isTrue();
+        assertThat(inFlight()).isZero();
+
+        result = Sinks.one();
+        load("product", "a").subscribe();
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void forget_detachesTheRunningLoadFromLaterCallers() {
+        AtomicReference<String> before = new AtomicReference<>();
+        load("product", "a").subscribe(before::set);
+        Sinks.One<String> stale = result;
+
+        coalescer.forget("product", "a");
+        result = Sinks.one();
+        AtomicReference<String> after = new AtomicReference<>();
+        load("product", "a").subscribe(after::set);
+
+        stale.tryEmitValue("old");
+        result.tryEmitValue("new");
+
+        assertThat(before.get()).isEqualTo("old");
+        assertThat(after.get()).isEqualTo("new");
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(inFlight()).isZero();
+    }
+
+    private Mono<String> load(String operation, String key) {
+        Sinks.One<String> sink = result;
+        return coalescer.coalesce(operation, key, () -> {
+            loads.incrementAndGet();
+            return sink.asMono().doOnCancel(() -> cancelled.set(true));
+        });
+    }
+
+    private double calls(String operation, String outcome) {
+        Counter counter = meterRegistry.find("product.coalescing.calls")
+                .tags("operation", operation, "outcome", outcome)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("product.coalescing.in-flight").gauge().value();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.mappers;
+
+import io.r2dbc.postgresql.codec.Json;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigValuesTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "[{\"type\":\"OPENING_FEE\",\"percentage\":1.0,\"fixed\":0}]",
+            "{\"currency\":\"EUR\",\"minAmount\":1000}",
+            "10000",
+            "true",
+            "null"
+    })
+    void toJson_jsonDocument_storedAsIs(String value) {
+        assertThat(ConfigValues.toJson(value).asString()).isEqualTo(value);
+        assertThat(ConfigValues.toText(ConfigValues.toJson(value))).isEqualTo(value);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ENABLED", "BRANCH \"ONLY\"", "{not json", "1 2", ""})
+    void toJson_freeText_storedAsJsonStringAndReadBackUnquoted(String value) {
+        Json stored = ConfigValues.toJson(value);
+
+        assertThat(stored.asString()).startsWith("\"").endsWith("\"");
+        assertThat(ConfigValues.toText(stored)).isEqualTo(value);
+    }
+
+    @Test
+    void toText_jsonString_returnsItsContent() {
+        assertThat(ConfigValues.toText(Json.of("\"a\\nb\""))).isEqualTo("a\nb");
+    }
+
+    @Test
+    void toRawText_jsonString_keepsItsQuotes() {
+        Json stored = ConfigValues.toJson("\"[1,2]\"");
+
+        assertThat(ConfigValues.toText(stored)).isEqualTo("[1,2]");
+        assertThat(ConfigValues.toRawText(stored)).isEqualTo("\"[1,2]\"");
+    }
+
+    @Test
+    void nullValues_stayNull() {
+        assertThat(ConfigValues.toJson(null)).isNull();
+        assertThat(ConfigValues.toText(null)).isNull();
+        assertThat(ConfigValues.toRawText(null)).isNull();
+    }
+}
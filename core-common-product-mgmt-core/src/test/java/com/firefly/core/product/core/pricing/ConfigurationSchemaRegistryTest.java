@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import io.r2dbc.postgresql.codec.Json;
+import org.fireflyframework.web.error.exceptions.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConfigurationSchemaRegistryTest {
+
+    private final ConfigurationSchemaRegistry registry = new ConfigurationSchemaRegistry(
+            new ObjectMapper(), new PricingPayloadReader(new ObjectMapper()));
+
+    @Test
+    void violation_SeededDemoValues_AreValid() {
+        assertThat(registry.violation(ProductConfigTypeEnum.LIMITS, "amount_term",
+                Json.of("{\"currency\":\"EUR\",\"minAmount\":1000,\"maxAmount\":60000,\"minTerm\":12,\"maxTerm\":96}")))
+                .isNull();
+        assertThat(registry.violation(ProductConfigTypeEnum.PRICING, "interest_rate_brackets",
+                Json.of("[{\"minAmount\":1000,\"maxAmount\":60000,\"tin\":7.99}]")))
+                .isNull();
+        assertThat(registry.violation(ProductConfigTypeEnum.PRICING, "fees",
+                Json.of("[{\"type\":\"OPENING_FEE\",\"percentage\":0,\"fixed\":0}]")))
+                .isNull();
+    }
+
+    @Test
+    void violation_KeyWithoutSchema_AcceptsAnyValue() {
+        assertThat(registry.hasSchema(ProductConfigTypeEnum.LIMITS, "max_limit")).isFalse();
+        assertThat(registry.violation(ProductConfigTypeEnum.LIMITS, "max_limit", Json.of("\"anything\""))).isNull();
+        assertThat(registry.violation(ProductConfigTypeEnum.PRICING, "amount_term", null)).isNull();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "LIMITS  | amount_term            | [1000, 60000]                                        | / expected an object",
+            "LIMITS  | amount_term            | {\"currency\":\"eur\",\"minAmount\":1,\"maxAmount\":2,\"minTerm\":1,\"maxTerm\":2} | /currency must match [A-Z]{3}",
+            "LIMITS  | amount_term            | {\"currency\":\"EUR\",\"minAmount\":1,\"maxAmount\":2,\"minTerm\":1.5,\"maxTerm\":2} | /minTerm expected an integer",
+            "LIMITS  | amount_term            | {\"currency\":\"EUR\",\"minAmount\":1,\"maxAmount\":2,\"minTerm\":1,\"maxTerms\":2} | /maxTerm is required",
+            "LIMITS  | amount_term            | {\"currency\":\"EUR\",\"minAmount\":1,\"maxAmount\":2,\"minTerm\":1,\"maxTerm\":2,\"x\":0} | /x is not a known attribute",
+            "LIMITS  | amount_term            | {\"currency\":\"EUR\",\"minAmount\":1,\"maxAmount\":2,\"minTerm\":9,\"maxTerm\":2} | minTerm is greater than maxTerm",
+            "PRICING | interest_rate_brackets | [{\"minAmount\":-1,\"tin\":5}]                        | /0/minAmount must not be negative",
+            "PRICING | interest_rate_brackets | [{\"maxAmount\":100,\"tin\":5},{\"minAmount\":50,\"tin\":4}] | Brackets [null, 100] and [50, null] overlap",
+            "PRICING | fees                   | [{\"type\":\" \"}]                                    | /0/type expected a non-blank string",
+            "PRICING | fees                   | {not-json                                            | not valid JSON: "
+    })
+    void violation_InvalidValue_ReportsFirstViolation(
+            ProductConfigTypeEnum configType, String configKey, String value, String expected) {
+        assertThat(registry.violation(configType, configKey, Json.of(value))).startsWith(expected);
+    }
+
+    @Test
+    void validate_BlankValue_RejectedAsBadRequest() {
+        assertThatThrownBy(() -> registry.validate(ProductConfigTypeEnum.PRICING, "fees", Json.of(" ")))
+                .isInstanceOfSatisfying(BusinessException.class, ex -> {
+                    assertThat(ex.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(ex.getCode()).isEqualTo("PRODUCT_CONFIG_SCHEMA_VIOLATION");
+                    assertThat(ex.getMessage()).contains("PRICING/fees: a JSON value is required");
+                });
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.R2dbcTransientResourceException;
+import org.fireflyframework.web.error.exceptions.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatabaseCircuitBreakerTest {
+
+    private ProductPricingProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private DatabaseCircuitBreaker breaker;
+
+    private AtomicInteger reads;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProductPricingProperties();
+        properties.getResilience().setEnabled(true);
+        properties.getResilience().setFailureThreshold(2);
+        properties.getResilience().setOpenDuration(Duration.ofHours(1));
+        meterRegistry = new SimpleMeterRegistry();
+        breaker = new DatabaseCircuitBreaker(properties, meterRegistry);
+        reads = new AtomicInteger();
+    }
+
+    @Test
+    void protect_consecutiveDatabaseFailures_openTheCircuitAndFailFast() {
+        fail(new DataAccessResourceFailureException("connection refused"));
+        fail(new DataAccessResourceFailureException("connection refused"));
+        assertThat(state()).isEqualTo(1);
+
+        StepVerifier.create(breaker.protect(read("value")))
+                .expectErrorSatisfies(error -> {
+                    assertThat(((BusinessException) error).getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(DatabaseCircuitBreaker.isDatabaseFailure(error)).isTrue();
+                })
+                .verify();
+        assertThat(reads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void protect_businessErrors_doNotOpenTheCircuit() {
+        fail(new DataAccessResourceFailureException("connection refused"));
+        fail(new BusinessException(HttpStatus.NOT_FOUND, "PRODUCT_NOT_FOUND", "gone"));
+        fail(new DataAccessResourceFailureException("connection refused"));
+
+        assertThat(state()).isZero();
+    }
+
+    @Test
+    void protect_successfulProbe_closesTheCircuit() {
+        properties.getResilience().setOpenDuration(Duration.ZERO);
+        fail(new R2dbcTransientResourceException("timeout"));
+        fail(new R2dbcTransientResourceException("timeout"));
+
+        StepVerifier.create(breaker.protect(read("value")))
+                .expectNext("value")
+                .verifyComplete();
+        assertThat(state()).isZero();
+    }
+
+    @Test
+    void protect_failedProbe_reopensTheCircuit() {
+        properties.getResilience().setOpenDuration(Duration.ZERO);
+        fail(new DataAccessResourceFailureException("connection refused"));
+        fail(new DataAccessResourceFailureException("connection refused"));
+        fail(new DataAccessResourceFailureException("connection refused"));
+        assertThat(reads.get()).isEqualTo(3);
+        assertThat(state()).isEqualTo(1);
+
+        properties.getResilience().setOpenDuration(Duration.ofHours(1));
+        StepVerifier.create(breaker.protect(read("value")))
+                .expectError(BusinessException.class)
+                .verify();
+        assertThat(reads.get()).isEqualTo(3);
+    }
+
+    @Test
+    void protect_disabled_passesEveryReadThrough() {
+        properties.getResilience().setEnabled(false);
+        breaker = new DatabaseCircuitBreaker(properties, new SimpleMeterRegistry());
+        fail(new DataAccessResourceFailureException("connection refused"));
+        fail(new DataAccessResourceFailureException("connection refused"));
+        fail(new DataAccessResourceFailureException("connection refused"));
+
+        assertThat(reads.get()).isEqualTo(3);
+    }
+
+    @Test
+    void isDatabaseFailure_looksThroughCauses() {
+        assertThat(DatabaseCircuitBreaker.isDatabaseFailure(
+                new IllegalStateException(new ConnectException("refused")))).isTrue();
+        assertThat(DatabaseCircuitBreaker.isDatabaseFailure(new IllegalArgumentException("bad ladder"))).isFalse();
+    }
+
+    private void fail(Throwable error) {
+        StepVerifier.create(breaker.protect(Mono.defer(() -> {
+                    reads.incrementAndGet();
+                    return Mono.error(error);
+                })))
+                .expectError()
+                .verify();
+    }
+
+    private Mono<String> read(String value) {
+        return Mono.fromCallable(() -> {
+            reads.incrementAndGet();
+            return value;
+        });
+    }
+
+    private double state() {
+        return meterRegistry.get("product.pricing.circuit.state").gauge().value();
+    }
+}
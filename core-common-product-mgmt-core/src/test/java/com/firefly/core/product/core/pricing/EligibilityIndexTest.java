@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.interfaces.dtos.InterestRateBracketDTO;
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EligibilityIndexTest {
+
+    private static final UUID RETAIL = UUID.fromString("00000000-0000-0000-0000-0000000000a1");
+    private static final UUID FLEET = UUID.fromString("00000000-0000-0000-0000-0000000000a2");
+
+    @Test
+    void eligible_agreesWithLinearScan_onRandomLimits() {
+        Random random = new Random(42);
+        List<CompiledPricing> snapshots = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int minAmount = random.nextInt(50_000);
+            int minTerm = 6 + random.nextInt(60);
+            snapshots.add(snapshot(
+                    i % 2 == 0 ? RETAIL : FLEET,
+                    i % 3 == 0 ? "LEASING" : "PERSONAL_LOAN",
+                    String.format("P%04d", i),
+                    random.nextInt(10) == 0 ? null : BigDecimal.valueOf(minAmount),
+                    random.nextInt(10) == 0 ? null : BigDecimal.valueOf(minAmount + random.nextInt(100_000)),
+                    minTerm,
+                    random.nextInt(10) == 0 ? null : minTerm + random.nextInt(96)));
+        }
+        EligibilityIndex index = EligibilityIndex.of(snapshots);
+
+        for (int query = 0; query < 200; query++) {
+            BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(160_000));
+            int term = 1 + random.nextInt(180);
+            UUID tenant = query % 3 == 0 ? null : (query % 3 == 1 ? RETAIL : FLEET);
+            String type = query % 4 == 0 ? "LEASING" : null;
+
+            List<String> expected = snapshots.stream()
+                    .filter(s -> tenant == null || tenant.equals(s.tenantId()))
+                    .filter(s -> type == null || type.equals(s.pricing().getProductType()))
+                    .map(CompiledPricing::pricing)
+                    .filter(p -> covers(p, amount, term))
+                    .map(ProductPricingDTO::getProductCode)
+                    .sorted()
+                    .toList();
+
+            assertThat(index.eligible(tenant, type, amount, term))
+                    .extracting(ProductPricingDTO::getProductCode)
+                    .as("amount=%s term=%s tenant=%s type=%s", amount, term, tenant, type)
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void eligible_boundsAreInclusive() {
+        EligibilityIndex index = EligibilityIndex.of(List.of(snapshot(
+                RETAIL, "PERSONAL_LOAN", "PERSONAL_LOAN_DEMO",
+                new BigDecimal("1000"), new BigDecimal("60000"), 12, 96)));
+
+        assertThat(index.eligible(RETAIL, "PERSONAL_LOAN", new BigDecimal("1000"), 12)).hasSize(1);
+        assertThat(index.eligible(RETAIL, "PERSONAL_LOAN", new BigDecimal("60000"), 96)).hasSize(1);
+        assertThat(index.eligible(RETAIL, "PERSONAL_LOAN", new BigDecimal("60000.01"), 48)).isEmpty();
+        assertThat(index.eligible(RETAIL, "PERSONAL_LOAN", new BigDecimal("15000"), 97)).isEmpty();
+        assertThat(index.eligible(FLEET, null, new BigDecimal("15000"), 48)).isEmpty();
+    }
+
+    @Test
+    void eligible_amountInGapBetweenBrackets_isNotEligible() {
+        ProductPricingDTO leasing = ProductPricingDTO.builder()
+                .productId(UUID.randomUUID())
+                .productCode("LEASING_DEMO")
+                .productType("LEASING")
+                .minAmount(new BigDecimal("5000"))
+                .maxAmount(new BigDecimal("100000"))
+                .minTerm(12)
+                .maxTerm(84)
+                .build();
+        EligibilityIndex index = EligibilityIndex.of(List.of(snapshot(leasing, FLEET, List.of(
+                InterestRateBracketDTO.builder().minAmount(new BigDecimal("5000"))
+                        .maxAmount(new BigDecimal("25000")).tin(new BigDecimal("6.90")).build(),
+                InterestRateBracketDTO.builder().minAmount(new BigDecimal("25001"))
+                        .maxAmount(new BigDecimal("100000")).tin(new BigDecimal("5.90")).build()))));
+
+        assertThat(index.eligible(FLEET, "LEASING", new BigDecimal("25000"), 48)).hasSize(1);
+        assertThat(index.eligible(FLEET, "LEASING", new BigDecimal("25000.50"), 48)).isEmpty();
+        assertThat(index.eligible(FLEET, "LEASING", new BigDecimal("25001"), 48)).hasSize(1);
+    }
+
+    private static boolean covers(ProductPricingDTO p, BigDecimal amount, int term) {
+        return (p.getMinAmount() == null || p.getMinAmount().compareTo(amount) <= 0)
+                && (p.getMaxAmount() == null || p.getMaxAmount().compareTo(amount) >= 0)
+                && (p.getMinTerm() == null || p.getMinTerm() <= term)
+                && (p.getMaxTerm() == null || p.getMaxTerm() >= term);
+    }
+
+    private static CompiledPricing snapshot(UUID tenantId, String productType, String productCode,
+                                            BigDecimal minAmount, BigDecimal maxAmount,
+                                            Integer minTerm, Integer maxTerm) {
+        ProductPricingDTO pricing = ProductPricingDTO.builder()
+                .productId(UUID.randomUUID())
+                .productCode(productCode)
+                .productType(productType)
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .minTerm(minTerm)
+                .maxTerm(maxTerm)
+                .build();
+        return snapshot(pricing, tenantId, List.of(InterestRateBracketDTO.builder()
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .tin(new BigDecimal("5.00"))
+                .build()));
+    }
+
+    private static CompiledPricing snapshot(ProductPricingDTO pricing, UUID tenantId,
+                                            List<InterestRateBracketDTO> brackets) {
+        InterestRateIndex rates = InterestRateIndex.of(brackets);
+        return new CompiledPricing(pricing, rates, InstalmentFactors.of(rates, null, null),
+                tenantId, pricing.getProductCode(), Instant.now());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.interfaces.dtos.InterestRateBracketDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstalmentFactorsTest {
+
+    private static final InterestRateIndex RATES = InterestRateIndex.of(List.of(
+            bracket("5000", "25000", "6.90"),
+            bracket("25001", "100000", "5.90"),
+            bracket("100001", null, "0")));
+
+    @Test
+    void factor_matchesAnnuityFormula_forEveryBracketAndTerm() {
+        InstalmentFactors factors = InstalmentFactors.of(RATES, 12, 84);
+
+        for (int bracket = 0; bracket < RATES.brackets().size(); bracket++) {
+            BigDecimal tin = RATES.brackets().get(bracket).getTin();
+            for (int term = 12; term <= 84; term++) {
+                assertThat(factors.factor(bracket, term))
+                        .isEqualTo(PricingQuoteCalculator.annuityFactor(tin, term));
+            }
+        }
+    }
+
+    @Test
+    void of_tabulatesEveryBracketAndTerm() {
+        InstalmentFactors factors = InstalmentFactors.of(RATES, 12, 84);
+
+        assertThat(factors.cells()).isEqualTo(3 * 73);
+        assertThat(factors.factor(1, 48)).isSameAs(factors.factor(1, 48));
+    }
+
+    @Test
+    void factor_termOutsideLimits_isComputedOnEveryCall() {
+        InstalmentFactors factors = InstalmentFactors.of(RATES, 12, 84);
+
+        assertThat(factors.factor(0, 120))
+                .isEqualTo(PricingQuoteCalculator.annuityFactor(new BigDecimal("6.90"), 120));
+        assertThat(factors.factor(0, 120)).isNotSameAs(factors.factor(0, 120));
+    }
+
+    @Test
+    void factor_withoutTermLimits_isComputedWithoutATable() {
+        InstalmentFactors factors = InstalmentFactors.of(RATES, null, null);
+
+        assertThat(factors.factor(2, 36)).isEqualByComparingTo(BigDecimal.ONE.divide(BigDecimal.valueOf(36),
+                MathContext.DECIMAL64));
+        assertThat(factors.cells()).isZero();
+    }
+
+    private static InterestRateBracketDTO bracket(String min, String max, String tin) {
+        return InterestRateBracketDTO.builder()
+                .minAmount(new BigDecimal(min))
+                .maxAmount(max == null ? null : new BigDecimal(max))
+                .tin(new BigDecimal(tin))
+                .build();
+    }
+}
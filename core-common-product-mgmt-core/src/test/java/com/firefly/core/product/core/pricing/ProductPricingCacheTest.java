@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductPricingCacheTest {
+
+    private static final UUID RETAIL_TENANT = UUID.fromString("00000000-0000-0000-0000-0000000000a1");
+    private static final UUID FLEET_TENANT = UUID.fromString("00000000-0000-0000-0000-0000000000a2");
+
+    private ProductPricingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ProductPricingProperties properties = new ProductPricingProperties();
+        properties.getCache().setMaximumSize(4);
+        cache = new ProductPricingCache(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void put_newPartition_keepsTheBudgetOfTheOthers() {
+        List<UUID> retail = fill(RETAIL_TENANT, 4);
+        assertThat(cached(retail)).isEqualTo(4);
+
+        List<UUID> fleet = fill(FLEET_TENANT, 4);
+
+        assertThat(cached(retail)).isEqualTo(4);
+        assertThat(cached(fleet)).isEqualTo(4);
+    }
+
+    @Test
+    void put_evictedSnapshots_forgetTheirTenant() {
+        fill(RETAIL_TENANT, 6);
+
+        assertThat(cache.trackedProducts()).isEqualTo(4);
+    }
+
+    @Test
+    void put_afterAnotherTenantsInvalidation_isKept() {
+        UUID fleetProduct = fill(FLEET_TENANT, 1).get(0);
+        long epoch = cache.epoch();
+
+        cache.invalidate(fleetProduct);
+
+        UUID retailProduct = UUID.randomUUID();
+        cache.put(retailProduct, snapshot(RETAIL_TENANT), epoch);
+        cache.put(UUID.randomUUID(), snapshot(FLEET_TENANT), epoch);
+        assertThat(cache.getIfPresent(retailProduct)).isNotNull();
+        assertThat(cache.trackedProducts()).isEqualTo(1);
+    }
+
+    @Test
+    void put_afterInvalidationOfAnUncachedProduct_dropsOnlyThatProduct() {
+        UUID productId = UUID.randomUUID();
+        UUID otherProductId = UUID.randomUUID();
+        long epoch = cache.epoch();
+
+        cache.invalidate(productId);
+
+        cache.put(productId, snapshot(RETAIL_TENANT), epoch);
+        cache.put(otherProductId, snapshot(RETAIL_TENANT), epoch);
+        assertThat(cache.getIfPresent(productId)).isNull();
+        assertThat(cache.getIfPresent(otherProductId)).isNotNull();
+    }
+
+    @Test
+    void invalidateAll_dropsEverySnapshotAndLoadInFlight() {
+        List<UUID> retail = fill(RETAIL_TENANT, 2);
+        List<UUID> fleet = fill(FLEET_TENANT, 2);
+        long epoch = cache.epoch();
+
+        cache.invalidateAll();
+
+        UUID loading = UUID.randomUUID();
+        cache.put(loading, snapshot(RETAIL_TENANT), epoch);
+        assertThat(cached(retail) + cached(fleet)).isZero();
+        assertThat(cache.getIfPresent(loading)).isNull();
+        assertThat(cache.trackedProducts()).isZero();
+    }
+
+    private List<UUID> fill(UUID tenantId, int count) {
+        List<UUID> productIds = IntStream.range(0, count).mapToObj(i -> UUID.randomUUID()).toList();
+        for (UUID productId : productIds) {
+            cache.put(productId, snapshot(tenantId), cache.epoch());
+        }
+        cache.cleanUp();
+        return productIds;
+    }
+
+    private long cached(List<UUID> productIds) {
+        return productIds.stream().filter(productId -> cache.getIfPresent(productId) != null).count();
+    }
+
+    private static CompiledPricing snapshot(UUID tenantId) {
+        InterestRateIndex rates = InterestRateIndex.of(List.of());
+        return new CompiledPricing(ProductPricingDTO.builder().build(), rates,
+                InstalmentFactors.of(rates, null, null), tenantId, "etag", Instant.now());
+    }
+}
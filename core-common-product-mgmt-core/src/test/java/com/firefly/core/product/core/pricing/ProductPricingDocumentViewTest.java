@@ -0,0 +1,359 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.product.core.pricing;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import com.firefly.core.product.interfaces.enums.ProductStatusEnum;
+import com.firefly.core.product.interfaces.enums.ProductTypeEnum;
+import com.firefly.core.product.models.entities.Product;
+import com.firefly.core.product.models.entities.ProductConfiguration;
+import com.firefly.core.product.models.repositories.ProductRepository;
+import io.r2dbc.postgresql.codec.Json;
+import org.fireflyframework.web.error.exceptions.BusinessException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that the {@code product_pricing_document} view added by V17 (the SQL
+ * listing engine) composes the same pricing as {@link PricingCompiler} (the
+ * compiled engine) for the seeded demo catalog, that products whose
+ * configuration has the wrong shape or whose bracket ladder the compiler
+ * rejects are left out instead of failing the listing, that numbers stored as
+ * JSON strings come out of both engines as the same JSON numbers, and that the
+ * catalog
+ * version validating both listings follows
+ * their rows.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProductPricingDocumentViewTest {
+
+    private static final UUID SEEDED_PRODUCT_ID = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID SEEDED_TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final PricingCompiler compiler = new PricingCompiler(new PricingPayloadReader(objectMapper));
+
+    @BeforeAll
+    static void migrate() throws IOException, SQLException {
+        Resource[] migrations = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:db/migration/V*__*.sql");
+        Arrays.sort(migrations, Comparator.comparingInt(ProductPricingDocumentViewTest::version));
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (Resource migration : migrations) {
+                statement.execute(migration.getContentAsString(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    void view_composesTheSamePricingAsTheCompiler() throws Exception {
+        try (Connection connection = connect()) {
+            connection.createStatement().executeUpdate(
+                    "UPDATE product SET marketing_features = '[\"No opening fee\"]'::jsonb WHERE product_id = '"
+                            + SEEDED_PRODUCT_ID + "'");
+            Map<UUID, String> documents = documents(connection);
+            assertThat(documents).isNotEmpty();
+
+            for (Product product : activeProducts(connection)) {
+                ProductPricingDTO compiled = compiler.compile(product, configs(connection, product.getProductId()))
+                        .pricing();
+                assertThat(documents).containsKey(product.getProductId());
+                assertThat(objectMapper.readValue(documents.get(product.getProductId()), ProductPricingDTO.class))
+                        .as("document of %s", product.getProductCode())
+                        .usingRecursiveComparison()
+                        .isEqualTo(compiled);
+            }
+        }
+    }
+
+    @Test
+    void view_skipsProductsWithMisshapenConfiguration() throws SQLException {
+        try (Connection connection = connect();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE product_configuration SET config_value = ?::jsonb"
+                             + " WHERE product_id = ? AND config_key = 'fees'")) {
+            update.setString(1, "{\"type\":\"OPENING_FEE\"}");
+            update.setObject(2, SEEDED_PRODUCT_ID);
+            assertThat(update.executeUpdate()).isEqualTo(1);
+            try {
+                Map<UUID, String> documents = documents(connection);
+                assertThat(documents).doesNotContainKey(SEEDED_PRODUCT_ID).isNotEmpty();
+            } finally {
+                update.setString(1, "[{\"type\":\"OPENING_FEE\",\"percentage\":0,\"fixed\":0}]");
+                update.executeUpdate();
+            }
+        }
+    }
+
+    @Test
+    void view_publishesNumericStringsAsTheNumbersTheCompilerReturns() throws Exception {
+        Map<String, String> stored = Map.of(
+                "amount_term", "{\"currency\":\"EUR\",\"minAmount\":\"1000\",\"maxAmount\":60000,"
+                        + "\"minTerm\":\"12\",\"maxTerm\":96}",
+                "interest_rate_brackets", "[{\"minAmount\":\"30000\",\"maxAmount\":\"60000\",\"tin\":\"6.90\"},"
+                        + "{\"minAmount\":1000,\"maxAmount\":\" 29999.99 \",\"tin\":\"7.99\"}]",
+                "fees", "[{\"type\":\"OPENING_FEE\",\"percentage\":\"1.50\",\"fixed\":\"0\"}]");
+        try (Connection connection = connect();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE product_configuration SET config_value = ?::jsonb"
+                             + " WHERE product_id = ? AND config_key = ?")) {
+            Map<String, String> original = new HashMap<>();
+            for (ProductConfiguration config : configs(connection, SEEDED_PRODUCT_ID)) {
+                original.put(config.getConfigKey(), config.getConfigValue().asString());
+            }
+            try {
+                for (Map.Entry<String, String> value : stored.entrySet()) {
+                    update.setString(1, value.getValue());
+                    update.setObject(2, SEEDED_PRODUCT_ID);
+                    update.setString(3, value.getKey());
+                    assertThat(update.executeUpdate()).isEqualTo(1);
+                }
+                Product product = activeProducts(connection).stream()
+                        .filter(candidate -> SEEDED_PRODUCT_ID.equals(candidate.getProductId()))
+                        .findFirst()
+                        .orElseThrow();
+                JsonNode compiled = objectMapper.valueToTree(
+                        compiler.compile(product, configs(connection, SEEDED_PRODUCT_ID)).pricing());
+                Map<UUID, String> documents = documents(connection);
+                assertThat(documents).containsKey(SEEDED_PRODUCT_ID);
+                JsonNode document = objectMapper.reader()
+                        .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                        .readTree(documents.get(SEEDED_PRODUCT_ID));
+
+                assertThat(compiled.at("/interestRates/0/tin").decimalValue()).isEqualByComparingTo("7.99");
+                assertSameJson("", document, compiled);
+            } finally {
+                for (String key : stored.keySet()) {
+                    update.setString(1, original.get(key));
+                    update.setObject(2, SEEDED_PRODUCT_ID);
+                    update.setString(3, key);
+                    update.executeUpdate();
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "[{\"minAmount\":1000,\"maxAmount\":29999.99,\"tin\":7.99},{\"minAmount\":30000,\"maxAmount\":60000,\"tin\":6.99}] | true",
+            "[{\"maxAmount\":29999.99,\"tin\":7.99},{\"minAmount\":30000,\"tin\":6.99}] | true",
+            "[{\"minAmount\":\"30000\",\"tin\":\"6.99\"},{\"minAmount\":\"1000\",\"maxAmount\":\" 29999.99 \",\"tin\":7.99}] | true",
+            "[{\"minAmount\":1000,\"maxAmount\":30000,\"tin\":7.99},{\"minAmount\":20000,\"maxAmount\":60000,\"tin\":6.99}] | false",
+            "[{\"minAmount\":1000,\"maxAmount\":30000,\"tin\":7.99},{\"minAmount\":30000,\"maxAmount\":60000,\"tin\":6.99}] | false",
+            "[{\"minAmount\":1000,\"tin\":7.99},{\"minAmount\":30000,\"maxAmount\":60000,\"tin\":6.99}] | false",
+            "[{\"minAmount\":1000,\"maxAmount\":30000,\"tin\":7.99},{\"maxAmount\":60000,\"tin\":6.99}] | false",
+            "[{\"minAmount\":60000,\"maxAmount\":1000,\"tin\":7.99}] | false",
+            "[{\"minAmount\":1000,\"maxAmount\":60000}] | false",
+            "[{\"minAmount\":1000,\"maxAmount\":60000,\"tin\":null}] | false"
+    })
+    void view_listsOnlyTheBracketLaddersTheCompilerAccepts(String ladder, boolean valid) throws Exception {
+        try (Connection connection = connect();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE product_configuration SET config_value = ?::jsonb"
+                             + " WHERE product_id = ? AND config_key = 'interest_rate_brackets'")) {
+            update.setString(1, ladder);
+            update.setObject(2, SEEDED_PRODUCT_ID);
+            assertThat(update.executeUpdate()).isEqualTo(1);
+            try {
+                Product product = activeProducts(connection).stream()
+                        .filter(candidate -> SEEDED_PRODUCT_ID.equals(candidate.getProductId()))
+                        .findFirst()
+                        .orElseThrow();
+                List<ProductConfiguration> configs = configs(connection, SEEDED_PRODUCT_ID);
+                if (valid) {
+                    assertThat(compiler.compile(product, configs).pricing().getInterestRates()).hasSize(2);
+                } else {
+                    assertThatThrownBy(() -> compiler.compile(product, configs))
+                            .isInstanceOf(BusinessException.class)
+                            .hasMessageContaining("Invalid interest-rate brackets");
+                }
+                assertThat(documents(connection).containsKey(SEEDED_PRODUCT_ID)).isEqualTo(valid);
+            } finally {
+                update.setString(1, "[{\"minAmount\":1000,\"maxAmount\":60000,\"tin\":7.99}]");
+                update.executeUpdate();
+            }
+        }
+    }
+
+    @Test
+    void catalogVersion_changesWithAnyConfigurationOfTheScope() throws Exception {
+        try (Connection connection = connect()) {
+            String all = catalogVersion(connection, null);
+            String personalLoans = catalogVersion(connection, "PERSONAL_LOAN");
+            String leasing = catalogVersion(connection, "LEASING");
+            assertThat(catalogVersion(connection, null)).isEqualTo(all);
+
+            assertThat(connection.createStatement().executeUpdate(
+                    "UPDATE product_configuration SET date_updated = now() + interval '1 second'"
+                            + " WHERE product_id = '" + SEEDED_PRODUCT_ID + "' AND config_key = 'fees'"))
+                    .isEqualTo(1);
+
+            assertThat(catalogVersion(connection, null)).isNotEqualTo(all);
+            assertThat(catalogVersion(connection, "PERSONAL_LOAN")).isNotEqualTo(personalLoans);
+            assertThat(catalogVersion(connection, "LEASING")).isEqualTo(leasing);
+        }
+    }
+
+    /**
+     * Runs the statement of {@link ProductRepository#findActiveCatalogVersion}
+     * as declared, with its named parameters bound positionally.
+     */
+    private static String catalogVersion(Connection connection, String derivedType) throws Exception {
+        String sql = ProductRepository.class.getMethod("findActiveCatalogVersion", UUID.class, String.class)
+                .getAnnotation(Query.class)
+                .value()
+                .replace(":tenantId", "?")
+                .replace(":derivedType", "?");
+        try (PreparedStatement select = connection.prepareStatement(sql)) {
+            select.setObject(1, SEEDED_TENANT_ID);
+            select.setString(2, derivedType);
+            select.setString(3, derivedType);
+            try (ResultSet rows = select.executeQuery()) {
+                assertThat(rows.next()).isTrue();
+                return rows.getString(1);
+            }
+        }
+    }
+
+    /**
+     * Compares the two engines' output node by node: numbers by value, since
+     * the engines may write the same amount with a different scale, and every
+     * other node exactly, so a number written as a string fails.
+     */
+    private static void assertSameJson(String path, JsonNode document, JsonNode compiled) {
+        if (compiled.isNumber()) {
+            assertThat(document.isNumber()).as("%s is a number in the view: %s", path, document).isTrue();
+            assertThat(document.decimalValue()).as(path).isEqualByComparingTo(compiled.decimalValue());
+        } else if (compiled.isContainerNode()) {
+            assertThat(document.getNodeType()).as(path).isEqualTo(compiled.getNodeType());
+            assertThat(document.size()).as(path).isEqualTo(compiled.size());
+            if (compiled.isArray()) {
+                for (int i = 0; i < compiled.size(); i++) {
+                    assertSameJson(path + "/" + i, document.get(i), compiled.get(i));
+                }
+            } else {
+                compiled.fieldNames().forEachRemaining(name ->
+                        assertSameJson(path + "/" + name, document.path(name), compiled.get(name)));
+            }
+        } else {
+            assertThat(document).as(path).isEqualTo(compiled);
+        }
+    }
+
+    private static Map<UUID, String> documents(Connection connection) throws SQLException {
+        Map<UUID, String> documents = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT product_id, document FROM product_pricing_document WHERE product_status = 'ACTIVE'")) {
+            while (rows.next()) {
+                documents.put(rows.getObject(1, UUID.class), rows.getString(2));
+            }
+        }
+        return documents;
+    }
+
+    private static List<Product> activeProducts(Connection connection) throws SQLException {
+        List<Product> products = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT product_id, tenant_id, product_type, product_name, product_code, product_description,"
+                             + " product_status, marketing_features::text FROM product p"
+                             + " WHERE product_status = 'ACTIVE' AND EXISTS (SELECT 1 FROM product_configuration c"
+                             + " WHERE c.product_id = p.product_id)")) {
+            while (rows.next()) {
+                Product product = new Product();
+                product.setProductId(rows.getObject(1, UUID.class));
+                product.setTenantId(rows.getObject(2, UUID.class));
+                product.setProductType(ProductTypeEnum.valueOf(rows.getString(3)));
+                product.setProductName(rows.getString(4));
+                product.setProductCode(rows.getString(5));
+                product.setProductDescription(rows.getString(6));
+                product.setProductStatus(ProductStatusEnum.valueOf(rows.getString(7)));
+                String features = rows.getString(8);
+                product.setMarketingFeatures(features == null ? null : Json.of(features));
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    private static List<ProductConfiguration> configs(Connection connection, UUID productId) throws SQLException {
+        List<ProductConfiguration> configs = new ArrayList<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT product_configuration_id, config_type, config_key, config_value::text"
+                        + " FROM product_configuration WHERE product_id = ?")) {
+            select.setObject(1, productId);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    ProductConfiguration config = new ProductConfiguration();
+                    config.setProductConfigurationId(rows.getObject(1, UUID.class));
+                    config.setProductId(productId);
+                    config.setConfigType(ProductConfigTypeEnum.valueOf(rows.getString(2)));
+                    config.setConfigKey(rows.getString(3));
+                    String value = rows.getString(4);
+                    config.setConfigValue(value == null ? null : Json.of(value));
+                    configs.add(config);
+                }
+            }
+        }
+        return configs;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    private static int version(Resource migration) {
+        String name = migration.getFilename();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import com.firefly.core.product.core.services.ProductPricingAggregatorService;
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPricingWarmupTest {
+
+    @Mock
+    private ProductPricingAggregatorService pricingService;
+
+    private ProductPricingProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProductPricingProperties();
+        properties.getWarmup().setEnabled(true);
+        properties.getWarmup().setBudget(Duration.ofSeconds(30));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void run_compilesWholeCatalog_thenSettles() {
+        when(pricingService.listCompiledPricing(any(), any()))
+                .thenReturn(Flux.just(snapshot("A"), snapshot("B"), snapshot("C")));
+        ProductPricingWarmup warmup = newWarmup();
+
+        assertThat(warmup.isSettled()).isFalse();
+        StepVerifier.create(warmup.run())
+                .expectNext(ProductPricingWarmup.State.COMPLETED)
+                .verifyComplete();
+
+        assertThat(warmup.isSettled()).isTrue();
+        assertThat(warmup.getCompiled()).isEqualTo(3);
+        assertThat(meterRegistry.get("product.pricing.warmup.products").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("product.pricing.warmup.duration")
+                .tag("outcome", "completed").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void run_budgetExceeded_cancelsAndSettles() {
+        when(pricingService.listCompiledPricing(any(), any()))
+                .thenReturn(Flux.concat(Flux.just(snapshot("A")), Flux.never()));
+        ProductPricingWarmup warmup = newWarmup();
+
+        StepVerifier.withVirtualTime(warmup::run)
+                .thenAwait(Duration.ofSeconds(30))
+                .expectNext(ProductPricingWarmup.State.BUDGET_EXCEEDED)
+                .verifyComplete();
+
+        assertThat(warmup.isSettled()).isTrue();
+        assertThat(warmup.getCompiled()).isEqualTo(1);
+    }
+
+    @Test
+    void run_catalogUnreadable_settlesAsFailed() {
+        when(pricingService.listCompiledPricing(any(), any()))
+                .thenReturn(Flux.error(new IllegalStateException("connection refused")));
+        ProductPricingWarmup warmup = newWarmup();
+
+        StepVerifier.create(warmup.run())
+                .expectNext(ProductPricingWarmup.State.FAILED)
+                .verifyComplete();
+
+        assertThat(warmup.isSettled()).isTrue();
+    }
+
+    @Test
+    void run_disabled_neverReadsTheCatalog() {
+        properties.getWarmup().setEnabled(false);
+        ProductPricingWarmup warmup = newWarmup();
+
+        assertThat(warmup.isSettled()).isTrue();
+        StepVerifier.create(warmup.run())
+                .expectNext(ProductPricingWarmup.State.DISABLED)
+                .verifyComplete();
+
+        verifyNoInteractions(pricingService);
+    }
+
+    private ProductPricingWarmup newWarmup() {
+        return new ProductPricingWarmup(pricingService, properties, new ProductPricingMetrics(meterRegistry));
+    }
+
+    private static CompiledPricing snapshot(String productCode) {
+        ProductPricingDTO dto = ProductPricingDTO.builder().productCode(productCode).build();
+        InterestRateIndex rates = InterestRateIndex.of(List.of());
+        return new CompiledPricing(
+                dto, rates, InstalmentFactors.of(rates, null, null), null, productCode, Instant.now());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.core.pricing;
+
+import com.firefly.core.product.interfaces.enums.ProductTypeEnum;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that {@link ProductTypeLabel#derive(String, ProductTypeEnum)} and the
+ * {@code product.derived_type} generated column added by V15 produce the same
+ * label. Every migration is applied to a throw-away PostgreSQL, then the
+ * seeded demo product is rewritten with each sample code and the column read
+ * back.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProductTypeLabelTest {
+
+    private static final UUID SEEDED_PRODUCT_ID = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void migrate() throws IOException, SQLException {
+        Resource[] migrations = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:db/migration/V*__*.sql");
+        Arrays.sort(migrations, Comparator.comparingInt(ProductTypeLabelTest::version));
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (Resource migration : migrations) {
+                statement.execute(migration.getContentAsString(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    static Stream<Arguments> samples() {
+        return Stream.of(
+                Arguments.of("PERSONAL_LOAN_DEMO", ProductTypeEnum.FINANCIAL),
+                Arguments.of("leasing_demo", ProductTypeEnum.FINANCIAL),
+                Arguments.of("Mortgage_Fixed", ProductTypeEnum.FINANCIAL),
+                Arguments.of("CARD_DEMO_DEMO", ProductTypeEnum.FINANCIAL),
+                Arguments.of("DEMO", ProductTypeEnum.FINANCIAL),
+                Arguments.of("_DEMO", ProductTypeEnum.FINANCIAL),
+                Arguments.of("XDEMO", ProductTypeEnum.FINANCIAL),
+                Arguments.of("INSURANCE_DEMO ", ProductTypeEnum.NON_FINANCIAL),
+                Arguments.of("", ProductTypeEnum.NON_FINANCIAL),
+                Arguments.of("   ", ProductTypeEnum.FINANCIAL),
+                Arguments.of(null, ProductTypeEnum.NON_FINANCIAL));
+    }
+
+    @ParameterizedTest
+    @MethodSource("samples")
+    void derive_agreesWithGeneratedColumn(String productCode, ProductTypeEnum productType) throws SQLException {
+        try (Connection connection = connect();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE product SET product_code = ?, product_type = ?::product_type WHERE product_id = ?");
+             PreparedStatement select = connection.prepareStatement(
+                     "SELECT derived_type FROM product WHERE product_id = ?")) {
+            update.setString(1, productCode);
+            update.setString(2, productType.name());
+            update.setObject(3, SEEDED_PRODUCT_ID);
+            assertThat(update.executeUpdate()).isEqualTo(1);
+
+            select.setObject(1, SEEDED_PRODUCT_ID);
+            try (ResultSet row = select.executeQuery()) {
+                assertThat(row.next()).isTrue();
+                assertThat(row.getString(1))
+                        .as("derived_type of product_code=%s", productCode)
+                        .isEqualTo(ProductTypeLabel.derive(productCode, productType));
+            }
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    private static int version(Resource migration) {
+        String name = migration.getFilename();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+}
@@ -17,18 +17,22 @@
 
 package com.firefly.core.product.core.services.category.v1;
 
+import com.firefly.core.product.core.coalescing.RequestCoalescer;
 import com.firefly.core.product.core.mappers.ProductCategoryMapper;
 import com.firefly.core.product.core.services.impl.ProductCategoryServiceImpl;
 import com.firefly.core.product.interfaces.dtos.ProductCategoryDTO;
 import com.firefly.core.product.models.entities.ProductCategory;
 import com.firefly.core.product.models.repositories.ProductCategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
@@ -46,6 +50,9 @@ class ProductCategoryServiceImplTest {
     @Mock
     private ProductCategoryMapper mapper;
 
+    @Spy
+    private RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry());
+
     @InjectMocks
     private ProductCategoryServiceImpl service;
 
@@ -114,6 +121,23 @@ class ProductCategoryServiceImplTest {
         verify(mapper, never()).toDto(any());
     }
 
+    @Test
+    void getCategoryById_ConcurrentReads_ShareOneQuery() {
+        // Arrange
+        Sinks.One<ProductCategory> category = Sinks.one();
+        when(repository.findById(CATEGORY_ID)).thenReturn(category.asMono());
+        when(mapper.toDto(productCategory)).thenReturn(productCategoryDTO);
+
+        // Act & Assert
+        StepVerifier.create(Mono.zip(service.getCategoryById(CATEGORY_ID), service.getCategoryById(CATEGORY_ID)))
+                .then(() -> category.tryEmitValue(productCategory))
+                .expectNextMatches(both -> both.getT1() == productCategoryDTO && both.getT2() == productCategoryDTO)
+                .verifyComplete();
+
+        verify(repository, times(1)).findById(CATEGORY_ID);
+        verify(mapper, times(1)).toDto(productCategory);
+    }
+
     @Test
     void create_Success() {
         // Arrange
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.services.changes.v1;
+
+import com.firefly.core.product.core.changes.ProductChangeListener;
+import com.firefly.core.product.core.config.ProductChangeProperties;
+import com.firefly.core.product.core.mappers.ProductChangeEventMapper;
+import com.firefly.core.product.core.services.impl.ProductChangeServiceImpl;
+import com.firefly.core.product.interfaces.dtos.ProductChangeEventDTO;
+import com.firefly.core.product.interfaces.enums.ProductChangeEntityEnum;
+import com.firefly.core.product.interfaces.enums.ProductChangeOperationEnum;
+import com.firefly.core.product.models.entities.ProductChangeEvent;
+import com.firefly.core.product.models.repositories.ProductChangeEventRepository;
+import org.fireflyframework.web.error.exceptions.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangeServiceImplTest {
+
+    private static final UUID TENANT_ID = UUID.fromString("00000000-0000-0000-0000-0000000000f1");
+    private static final UUID OTHER_TENANT_ID = UUID.fromString("00000000-0000-0000-0000-0000000000f2");
+
+    @Mock
+    private ProductChangeEventRepository repository;
+
+    @Mock
+    private ProductChangeListener listener;
+
+    private final ProductChangeEventMapper mapper = entity -> ProductChangeEventDTO.builder()
+            .sequenceNumber(entity.getSequenceNumber())
+            .entity(entity.getEntity())
+            .tenantId(entity.getTenantId())
+            .operation(entity.getOperation())
+            .build();
+    private Sinks.Many<ProductChangeEventDTO> live;
+    private ProductChangeProperties properties;
+    private ProductChangeServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        live = Sinks.many().multicast().onBackpressureBuffer();
+        lenient().when(listener.events()).thenReturn(live.asFlux());
+        properties = new ProductChangeProperties();
+        // Only notifications wake subscribers up in these tests.
+        properties.setPollInterval(Duration.ofHours(1));
+        service = new ProductChangeServiceImpl(repository, mapper, listener, properties);
+    }
+
+    @Test
+    void streamChanges_NoResumePoint_StreamsEventsFromTheDeliveryHorizon() {
+        when(repository.findDeliveryHorizon()).thenReturn(Mono.just(100L));
+        when(repository.findDeliverableAfter(100L, 0L, properties.getPageSize()))
+                .thenReturn(Flux.just(entity(100L, 8L, TENANT_ID), entity(101L, 9L, TENANT_ID)));
+
+        StepVerifier.create(service.streamChanges(null, null).take(2))
+                .then(() -> live.tryEmitNext(event(8L, TENANT_ID)))
+                .expectNextMatches(e -> e.getSequenceNumber() == 8L)
+                .expectNextMatches(e -> e.getSequenceNumber() == 9L)
+                .verifyComplete();
+    }
+
+    @Test
+    void streamChanges_DeliversByTransactionThenSequence() {
+        // Transaction 100 took sequence number 9 after transaction 101 took 8.
+        when(repository.findDeliveryHorizon()).thenReturn(Mono.just(100L));
+        when(repository.findDeliverableAfter(100L, 0L, properties.getPageSize()))
+                .thenReturn(Flux.just(entity(100L, 9L, TENANT_ID), entity(101L, 8L, TENANT_ID)));
+
+        StepVerifier.create(service.streamChanges(null, null).take(2))
+                .then(() -> live.tryEmitNext(event(8L, TENANT_ID)))
+                .expectNextMatches(e -> e.getSequenceNumber() == 9L)
+                .expectNextMatches(e -> e.getSequenceNumber() == 8L)
+                .verifyComplete();
+    }
+
+    @Test
+    void streamChanges_ResumePoint_ReplaysMissedEventsThenReadsOnFromTheLastOne() {
+        when(repository.findById(5L)).thenReturn(Mono.just(entity(90L, 5L, TENANT_ID)));
+        when(repository.findDeliverableAfter(90L, 5L, properties.getReplayLimit() + 1))
+                .thenReturn(Flux.just(entity(90L, 6L, TENANT_ID), entity(91L, 7L, TENANT_ID)));
+        when(repository.findDeliverableAfter(91L, 7L, properties.getPageSize()))
+                .thenReturn(Flux.just(entity(92L, 8L, TENANT_ID)));
+
+        StepVerifier.create(service.streamChanges(5L, null).take(3))
+                .expectNextMatches(e -> e.getSequenceNumber() == 6L)
+                .expectNextMatches(e -> e.getSequenceNumber() == 7L)
+                .then(() -> live.tryEmitNext(event(8L, TENANT_ID)))
+                .expectNextMatches(e -> e.getSequenceNumber() == 8L)
+                .verifyComplete();
+    }
+
+    @Test
+    void streamChanges_FullPage_ReadsTheNextPageAtOnce() {
+        properties.setPageSize(2);
+        when(repository.findDeliveryHorizon()).thenReturn(Mono.just(100L));
+        when(repository.findDeliverableAfter(100L, 0L, 2))
+                .thenReturn(Flux.just(entity(100L, 1L, TENANT_ID), entity(100L, 2L, TENANT_ID)));
+        when(repository.findDeliverableAfter(100L, 2L, 2))
+                .thenReturn(Flux.just(entity(101L, 3L, TENANT_ID)));
+
+        StepVerifier.create(service.streamChanges(null, null).take(3))
+                .then(() -> live.tryEmitNext(event(1L, TENANT_ID)))
+                .expectNextCount(3)
+                .verifyComplete();
+    }
+
+    @Test
+    void streamChanges_ResumePointNoLongerRetained_Gone() {
+        when(repository.findById(5L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.streamChanges(5L, null))
+                .expectErrorSatisfies(ex -> assertGone(ex, "Change event 5 is no longer retained"))
+                .verify();
+    }
+
+    @Test
+    void streamChanges_MoreMissedEventsThanReplayLimit_Gone() {
+        properties.setReplayLimit(2);
+        when(repository.findById(5L)).thenReturn(Mono.just(entity(90L, 5L, TENANT_ID)));
+        when(repository.findDeliverableAfter(90L, 5L, 3))
+                .thenReturn(Flux.just(
+                        entity(90L, 6L, TENANT_ID), entity(90L, 7L, TENANT_ID), entity(90L, 8L, TENANT_ID)));
+
+        StepVerifier.create(service.streamChanges(5L, null))
+                .expectErrorSatisfies(ex -> assertGone(ex, "More than 2 changes happened after event 5"))
+                .verify();
+    }
+
+    @Test
+    void streamChanges_Tenant_SkipsOtherTenantsButKeepsCategories() {
+        when(repository.findDeliveryHorizon()).thenReturn(Mono.just(100L));
+        when(repository.findDeliverableAfter(100L, 0L, properties.getPageSize()))
+                .thenReturn(Flux.just(
+                        entity(100L, 8L, OTHER_TENANT_ID), entity(100L, 9L, null), entity(100L, 10L, TENANT_ID)));
+
+        StepVerifier.create(service.streamChanges(null, TENANT_ID).take(2))
+                .then(() -> live.tryEmitNext(event(8L, OTHER_TENANT_ID)))
+                .expectNextMatches(e -> e.getSequenceNumber() == 9L)
+                .expectNextMatches(e -> e.getSequenceNumber() == 10L)
+                .verifyComplete();
+    }
+
+    @Test
+    void streamChanges_Tenant_SkipsTenantlessConfigurationChanges() {
+        ProductChangeEvent orphaned = entity(100L, 8L, null);
+        orphaned.setEntity(ProductChangeEntityEnum.CONFIGURATION);
+        orphaned.setOperation(ProductChangeOperationEnum.DELETE);
+        when(repository.findDeliveryHorizon()).thenReturn(Mono.just(100L));
+        when(repository.findDeliverableAfter(100L, 0L, properties.getPageSize()))
+                .thenReturn(Flux.just(orphaned, entity(100L, 9L, TENANT_ID)));
+
+        StepVerifier.create(service.streamChanges(null, TENANT_ID).take(1))
+                .then(() -> live.tryEmitNext(event(8L, TENANT_ID)))
+                .expectNextMatches(e -> e.getSequenceNumber() == 9L)
+                .verifyComplete();
+    }
+
+    @Test
+    void prune_DeletesEventsOlderThanRetention() {
+        when(repository.deleteCreatedBefore(any())).thenReturn(Mono.just(3L));
+
+        StepVerifier.create(service.prune())
+                .expectNext(3L)
+                .verifyComplete();
+        OffsetDateTime latestCutoff = OffsetDateTime.now().minus(properties.getRetention());
+        verify(repository).deleteCreatedBefore(argThat(cutoff ->
+                !cutoff.isAfter(latestCutoff) && cutoff.isAfter(latestCutoff.minusMinutes(1))));
+    }
+
+    private static void assertGone(Throwable ex, String message) {
+        assertThat(ex).isInstanceOf(BusinessException.class).hasMessage(message);
+        assertThat(((BusinessException) ex).getStatus()).isEqualTo(HttpStatus.GONE);
+        assertThat(((BusinessException) ex).getCode()).isEqualTo("PRODUCT_CHANGES_RESUME_UNAVAILABLE");
+    }
+
+    private static ProductChangeEvent entity(long transactionId, long sequenceNumber, UUID tenantId) {
+        ProductChangeEvent entity = new ProductChangeEvent();
+        entity.setTransactionId(transactionId);
+        entity.setSequenceNumber(sequenceNumber);
+        entity.setEntity(tenantId == null ? ProductChangeEntityEnum.CATEGORY : ProductChangeEntityEnum.CONFIGURATION);
+        entity.setTenantId(tenantId);
+        entity.setOperation(ProductChangeOperationEnum.UPDATE);
+        return entity;
+    }
+
+    private static ProductChangeEventDTO event(long sequenceNumber, UUID tenantId) {
+        return ProductChangeEventDTO.builder()
+                .sequenceNumber(sequenceNumber)
+                .entity(tenantId == null ? ProductChangeEntityEnum.CATEGORY : ProductChangeEntityEnum.CONFIGURATION)
+                .tenantId(tenantId)
+                .operation(ProductChangeOperationEnum.UPDATE)
+                .build();
+    }
+}
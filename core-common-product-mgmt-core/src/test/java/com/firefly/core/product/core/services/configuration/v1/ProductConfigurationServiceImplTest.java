@@ -17,26 +17,47 @@
 
 package com.firefly.core.product.core.services.configuration.v1;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.firefly.core.product.core.mappers.ProductConfigurationMapper;
+import com.firefly.core.product.core.pricing.ConfigurationSchemaRegistry;
+import com.firefly.core.product.core.pricing.PricingPayloadReader;
+import com.firefly.core.product.core.pricing.ProductPricingCache;
 import com.firefly.core.product.core.services.impl.ProductConfigurationServiceImpl;
 import com.firefly.core.product.interfaces.dtos.ProductConfigurationDTO;
+import com.firefly.core.product.interfaces.dtos.ProductConfigurationUpsertResultDTO;
+import com.firefly.core.product.interfaces.enums.ConfigurationUpsertOutcomeEnum;
 import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import com.firefly.core.product.models.entities.Product;
 import com.firefly.core.product.models.entities.ProductConfiguration;
+import com.firefly.core.product.models.entities.ProductConfigurationUpsert;
 import com.firefly.core.product.models.repositories.ProductConfigurationRepository;
+import com.firefly.core.product.models.repositories.ProductRepository;
+import io.r2dbc.postgresql.codec.Json;
+import io.r2dbc.spi.R2dbcBadGrammarException;
+import org.fireflyframework.web.error.exceptions.BusinessException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.BadSqlGrammarException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,9 +66,19 @@ class ProductConfigurationServiceImplTest {
     @Mock
     private ProductConfigurationRepository repository;
 
+    @Mock
+    private ProductRepository productRepository;
+
     @Mock
     private ProductConfigurationMapper mapper;
 
+    @Mock
+    private ProductPricingCache pricingCache;
+
+    @Spy
+    private ConfigurationSchemaRegistry schemaRegistry = new ConfigurationSchemaRegistry(
+            new ObjectMapper(), new PricingPayloadReader(new ObjectMapper()));
+
     @InjectMocks
     private ProductConfigurationServiceImpl service;
 
@@ -55,6 +86,7 @@ class ProductConfigurationServiceImplTest {
     private ProductConfigurationDTO configDTO;
     private final UUID PRODUCT_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
     private final UUID CONFIG_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440002");
+    private final UUID TENANT_ID = UUID.fromString("550e8400-e29b-41d4-a716-4466554400a1");
     private final String CONFIG_KEY = "max_limit";
     private final String CONFIG_VALUE = "10000";
 
@@ -67,7 +99,7 @@ class ProductConfigurationServiceImplTest {
         config.setProductId(PRODUCT_ID);
         config.setConfigType(ProductConfigTypeEnum.LIMITS);
         config.setConfigKey(CONFIG_KEY);
-        config.setConfigValue(CONFIG_VALUE);
+        config.setConfigValue(Json.of(CONFIG_VALUE));
         config.setDateCreated(now);
         config.setDateUpdated(now);
 
@@ -85,6 +117,41 @@ class ProductConfigurationServiceImplTest {
     // Note: filterConfigurations test is not included because it uses FilterUtils which is a static utility
     // that works directly with the database and cannot be easily mocked in unit tests.
 
+    @Test
+    void listConfigurations_FirstPageWithMoreRows_ReturnsNextAfter() {
+        ProductConfiguration next = new ProductConfiguration();
+        next.setProductConfigurationId(UUID.fromString("550e8400-e29b-41d4-a716-446655440003"));
+        next.setProductId(PRODUCT_ID);
+
+        when(repository.findPageByProductId(PRODUCT_ID, new UUID(0L, 0L), 2))
+                .thenReturn(Flux.just(config, next));
+        when(mapper.toDto(config)).thenReturn(configDTO);
+        when(mapper.toDto(next)).thenReturn(ProductConfigurationDTO.builder()
+                .productConfigurationId(next.getProductConfigurationId())
+                .build());
+
+        StepVerifier.create(service.listConfigurations(PRODUCT_ID, null, 1))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).containsExactly(configDTO);
+                    assertThat(page.getNextAfter()).isEqualTo(CONFIG_ID);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void listConfigurations_LastPage_HasNoNextAfter() {
+        UUID after = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+        when(repository.findPageByProductId(PRODUCT_ID, after, 3)).thenReturn(Flux.just(config));
+        when(mapper.toDto(config)).thenReturn(configDTO);
+
+        StepVerifier.create(service.listConfigurations(PRODUCT_ID, after, 2))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).containsExactly(configDTO);
+                    assertThat(page.getNextAfter()).isNull();
+                })
+                .verifyComplete();
+    }
+
     @Test
     void createConfiguration_Success() {
         ProductConfigurationDTO requestDTO = ProductConfigurationDTO.builder()
@@ -95,6 +162,7 @@ class ProductConfigurationServiceImplTest {
 
         when(mapper.toEntity(requestDTO)).thenReturn(config);
         when(repository.save(config)).thenReturn(Mono.just(config));
+        when(pricingCache.invalidateAfterCompletion(PRODUCT_ID)).thenReturn(Mono.empty());
         when(mapper.toDto(config)).thenReturn(configDTO);
 
         StepVerifier.create(service.createConfiguration(PRODUCT_ID, requestDTO))
@@ -103,6 +171,7 @@ class ProductConfigurationServiceImplTest {
 
         verify(mapper).toEntity(requestDTO);
         verify(repository).save(config);
+        verify(pricingCache).invalidateAfterCompletion(PRODUCT_ID);
         verify(mapper).toDto(config);
     }
 
@@ -125,9 +194,59 @@ class ProductConfigurationServiceImplTest {
 
         verify(mapper).toEntity(requestDTO);
         verify(repository).save(config);
+        verify(pricingCache, never()).invalidateAfterCompletion(any());
         verify(mapper, never()).toDto(any());
     }
 
+    @Test
+    void createConfiguration_DuplicateKey_Conflict() {
+        ProductConfigurationDTO requestDTO = ProductConfigurationDTO.builder()
+                .configType(ProductConfigTypeEnum.LIMITS)
+                .configKey(CONFIG_KEY)
+                .configValue(CONFIG_VALUE)
+                .build();
+
+        when(mapper.toEntity(requestDTO)).thenReturn(config);
+        when(repository.save(config)).thenReturn(Mono.error(new DuplicateKeyException("duplicate key")));
+
+        StepVerifier.create(service.createConfiguration(PRODUCT_ID, requestDTO))
+                .expectErrorMatches(throwable ->
+                    throwable instanceof BusinessException &&
+                    ((BusinessException) throwable).getStatus() == HttpStatus.CONFLICT &&
+                    "PRODUCT_CONFIG_DUPLICATE".equals(((BusinessException) throwable).getCode()))
+                .verify();
+
+        verify(pricingCache, never()).invalidateAfterCompletion(any());
+    }
+
+    @Test
+    void createConfiguration_SchemaViolation_BadRequest() {
+        ProductConfigurationDTO requestDTO = ProductConfigurationDTO.builder()
+                .configType(ProductConfigTypeEnum.PRICING)
+                .configKey("fees")
+                .configValue("[{\"percentage\":1.0}]")
+                .build();
+        ProductConfiguration fees = new ProductConfiguration();
+        fees.setConfigType(ProductConfigTypeEnum.PRICING);
+        fees.setConfigKey("fees");
+        fees.setConfigValue(Json.of("[{\"percentage\":1.0}]"));
+
+        when(mapper.toEntity(requestDTO)).thenReturn(fees);
+
+        StepVerifier.create(service.createConfiguration(PRODUCT_ID, requestDTO))
+                .expectErrorSatisfies(err -> {
+                    assertThat(err).isInstanceOf(BusinessException.class);
+                    BusinessException be = (BusinessException) err;
+                    assertThat(be.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(be.getCode()).isEqualTo("PRODUCT_CONFIG_SCHEMA_VIOLATION");
+                    assertThat(be.getMessage()).contains("/0/type is required");
+                })
+                .verify();
+
+        verify(repository, never()).save(any());
+        verify(pricingCache, never()).invalidateAfterCompletion(any());
+    }
+
     @Test
     void getConfigurationById_Success() {
         when(repository.findById(CONFIG_ID)).thenReturn(Mono.just(config));
@@ -237,6 +356,7 @@ class ProductConfigurationServiceImplTest {
         when(repository.findById(CONFIG_ID)).thenReturn(Mono.just(config));
         doNothing().when(mapper).updateEntityFromDto(updateRequest, config);
         when(repository.save(config)).thenReturn(Mono.just(config));
+        when(pricingCache.invalidateAfterCompletion(PRODUCT_ID)).thenReturn(Mono.empty());
         when(mapper.toDto(config)).thenReturn(updateRequest);
 
         StepVerifier.create(service.updateConfiguration(PRODUCT_ID, CONFIG_ID, updateRequest))
@@ -246,6 +366,7 @@ class ProductConfigurationServiceImplTest {
         verify(repository).findById(CONFIG_ID);
         verify(mapper).updateEntityFromDto(updateRequest, config);
         verify(repository).save(config);
+        verify(pricingCache).invalidateAfterCompletion(PRODUCT_ID);
         verify(mapper).toDto(config);
     }
 
@@ -297,16 +418,47 @@ class ProductConfigurationServiceImplTest {
         verify(mapper, never()).toDto(any());
     }
 
+    @Test
+    void updateConfiguration_SchemaViolation_BadRequest() {
+        ProductConfigurationDTO updateRequest = ProductConfigurationDTO.builder()
+                .configValue("{\"currency\":\"EUR\",\"minAmount\":5000,\"maxAmount\":1000,"
+                        + "\"minTerm\":12,\"maxTerm\":96}")
+                .build();
+        ProductConfiguration amountTerm = new ProductConfiguration();
+        amountTerm.setProductConfigurationId(CONFIG_ID);
+        amountTerm.setProductId(PRODUCT_ID);
+        amountTerm.setConfigType(ProductConfigTypeEnum.LIMITS);
+        amountTerm.setConfigKey("amount_term");
+
+        when(repository.findById(CONFIG_ID)).thenReturn(Mono.just(amountTerm));
+        doAnswer(invocation -> {
+            amountTerm.setConfigValue(Json.of(updateRequest.getConfigValue()));
+            return null;
+        }).when(mapper).updateEntityFromDto(updateRequest, amountTerm);
+
+        StepVerifier.create(service.updateConfiguration(PRODUCT_ID, CONFIG_ID, updateRequest))
+                .expectErrorSatisfies(err -> {
+                    assertThat(err).isInstanceOf(BusinessException.class);
+                    assertThat(((BusinessException) err).getCode()).isEqualTo("PRODUCT_CONFIG_SCHEMA_VIOLATION");
+                    assertThat(err.getMessage()).contains("minAmount is greater than maxAmount");
+                })
+                .verify();
+
+        verify(repository, never()).save(any());
+    }
+
     @Test
     void deleteConfiguration_Success() {
         when(repository.findById(CONFIG_ID)).thenReturn(Mono.just(config));
         when(repository.deleteById(CONFIG_ID)).thenReturn(Mono.empty());
+        when(pricingCache.invalidateAfterCompletion(PRODUCT_ID)).thenReturn(Mono.empty());
 
         StepVerifier.create(service.deleteConfiguration(PRODUCT_ID, CONFIG_ID))
                 .verifyComplete();
 
         verify(repository).findById(CONFIG_ID);
         verify(repository).deleteById(CONFIG_ID);
+        verify(pricingCache).invalidateAfterCompletion(PRODUCT_ID);
     }
 
     @Test
@@ -340,5 +492,198 @@ class ProductConfigurationServiceImplTest {
         verify(repository).findById(CONFIG_ID);
         verify(repository, never()).deleteById(any(UUID.class));
     }
-}
 
+    @Test
+    void searchConfigurations_ValidPath_RunsItAsExistsPredicate() {
+        String path = "$[*] ? (@.type == \"OPENING_FEE\" && @.percentage > 2)";
+        when(repository.findByConfigValueMatching(TENANT_ID, ProductConfigTypeEnum.LIMITS, CONFIG_KEY, "exists(" + path + ")", 50))
+                .thenReturn(Flux.just(config));
+        when(mapper.toDto(config)).thenReturn(configDTO);
+
+        StepVerifier.create(service.searchConfigurations(TENANT_ID, ProductConfigTypeEnum.LIMITS, CONFIG_KEY, " " + path + " ", 50))
+                .expectNext(configDTO)
+                .verifyComplete();
+    }
+
+    @Test
+    void searchConfigurations_RestrictedSyntaxInsideStringLiteral_Accepted() {
+        String path = "$[*] ? (@.note == \"$x ** like_regex ( || !\")";
+        when(repository.findByConfigValueMatching(TENANT_ID, ProductConfigTypeEnum.LIMITS, CONFIG_KEY, "exists(" + path + ")", 50))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(service.searchConfigurations(TENANT_ID, ProductConfigTypeEnum.LIMITS, CONFIG_KEY, path, 50))
+                .verifyComplete();
+    }
+
+    @Test
+    void searchConfigurations_UnsupportedPath_RejectedWithoutQuery() {
+        for (String path : new String[] {
+                "",
+                "lax $[*] ? (@.type == \"OPENING_FEE\")",
+                "$[*] ? (@.percentage > 2)",
+                "$[*] ? (@.type == $type)",
+                "$[*] ? (@.type like_regex \"^OPEN\" && @.fixed == 0)",
+                "$.** ? (@ == 1)",
+                "$ ? (@.a == 1)) || (true",
+                "$[*] ? (@.type == \"OPENING_FEE\" || @.percentage > 2)",
+                "$[*] ? (!(@.type == \"OPENING_FEE\"))",
+                "$[*] ? (@.percentage == @.fixed)",
+                "$ ? (@.a == \"" + "x".repeat(300) + "\")"}) {
+            StepVerifier.create(service.searchConfigurations(TENANT_ID, ProductConfigTypeEnum.LIMITS, CONFIG_KEY, path, 50))
+                    .expectErrorMatches(throwable ->
+                        throwable instanceof BusinessException &&
+                        ((BusinessException) throwable).getStatus() == HttpStatus.BAD_REQUEST &&
+                        "PRODUCT_CONFIG_SEARCH_PATH_INVALID".equals(((BusinessException) throwable).getCode()))
+                    .verify();
+        }
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void searchConfigurations_NoTenant_RejectedWithoutQuery() {
+        StepVerifier.create(service.searchConfigurations(
+                        null, ProductConfigTypeEnum.LIMITS, CONFIG_KEY, "$ ? (@.a == 1)", 50))
+                .expectErrorMatches(throwable ->
+                    throwable instanceof BusinessException &&
+                    ((BusinessException) throwable).getStatus() == HttpStatus.BAD_REQUEST &&
+                    "PRODUCT_CONFIG_SEARCH_TENANT_REQUIRED".equals(((BusinessException) throwable).getCode()))
+                .verify();
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void searchConfigurations_SyntaxRejectedByDatabase_MappedToBadRequest() {
+        when(repository.findByConfigValueMatching(any(), any(), any(), any(), anyInt()))
+                .thenReturn(Flux.error(new BadSqlGrammarException("search", "SELECT",
+                        new R2dbcBadGrammarException("syntax error at end of jsonpath input"))));
+
+        StepVerifier.create(service.searchConfigurations(TENANT_ID, ProductConfigTypeEnum.LIMITS, CONFIG_KEY, "$ ? (@.a == 1 &&)", 50))
+                .expectErrorMatches(throwable ->
+                    throwable instanceof BusinessException &&
+                    ((BusinessException) throwable).getStatus() == HttpStatus.BAD_REQUEST &&
+                    throwable.getMessage().contains("syntax error at end of jsonpath input"))
+                .verify();
+
+        verify(mapper, never()).toDto(any());
+    }
+
+    @Test
+    void upsertConfigurations_MixedRows_ReportsEachOutcomeInOrder() {
+        UUID unknownProductId = UUID.fromString("550e8400-e29b-41d4-a716-446655440404");
+        UUID createdId = UUID.fromString("550e8400-e29b-41d4-a716-446655440003");
+        Product product = new Product();
+        product.setProductId(PRODUCT_ID);
+        when(productRepository.findAllById(Set.of(PRODUCT_ID, unknownProductId))).thenReturn(Flux.just(product));
+        when(repository.upsertAll(any(), any(), any(), any())).thenReturn(Flux.just(
+                new ProductConfigurationUpsert(CONFIG_ID, PRODUCT_ID, ProductConfigTypeEnum.LIMITS, CONFIG_KEY, false),
+                new ProductConfigurationUpsert(createdId, PRODUCT_ID, ProductConfigTypeEnum.CUSTOM, "channel", true)));
+        when(pricingCache.invalidateAfterCompletion(PRODUCT_ID)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.upsertConfigurations(Flux.just(
+                        row(PRODUCT_ID, ProductConfigTypeEnum.LIMITS, CONFIG_KEY, "20000"),
+                        row(PRODUCT_ID, ProductConfigTypeEnum.CUSTOM, "channel", "BRANCH ONLY"),
+                        row(PRODUCT_ID, ProductConfigTypeEnum.PRICING, "fees", "[]"),
+                        row(PRODUCT_ID, null, "grace_months", "3"),
+                        row(unknownProductId, ProductConfigTypeEnum.LIMITS, CONFIG_KEY, "1"))))
+                .assertNext(result -> assertOutcome(result, 0, ConfigurationUpsertOutcomeEnum.UPDATED, CONFIG_ID))
+                .assertNext(result -> assertOutcome(result, 1, ConfigurationUpsertOutcomeEnum.CREATED, createdId))
+                .assertNext(result -> assertOutcome(result, 2, ConfigurationUpsertOutcomeEnum.UNCHANGED, null))
+                .assertNext(result -> {
+                    assertOutcome(result, 3, ConfigurationUpsertOutcomeEnum.REJECTED, null);
+                    assertThat(result.getErrorCode()).isEqualTo("PRODUCT_CONFIG_INVALID");
+                })
+                .assertNext(result -> {
+                    assertOutcome(result, 4, ConfigurationUpsertOutcomeEnum.REJECTED, null);
+                    assertThat(result.getErrorCode()).isEqualTo("PRODUCT_NOT_FOUND");
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<UUID[]> productIds = ArgumentCaptor.forClass(UUID[].class);
+        ArgumentCaptor<String[]> configTypes = ArgumentCaptor.forClass(String[].class);
+        ArgumentCaptor<String[]> configKeys = ArgumentCaptor.forClass(String[].class);
+        ArgumentCaptor<String[]> configValues = ArgumentCaptor.forClass(String[].class);
+        verify(repository).upsertAll(
+                productIds.capture(), configTypes.capture(), configKeys.capture(), configValues.capture());
+        assertThat(productIds.getValue()).containsExactly(PRODUCT_ID, PRODUCT_ID, PRODUCT_ID);
+        assertThat(configTypes.getValue()).containsExactly("LIMITS", "CUSTOM", "PRICING");
+        assertThat(configKeys.getValue()).containsExactly(CONFIG_KEY, "channel", "fees");
+        assertThat(configValues.getValue()).containsExactly("20000", "\"BRANCH ONLY\"", "[]");
+        verify(pricingCache, times(1)).invalidateAfterCompletion(PRODUCT_ID);
+    }
+
+    @Test
+    void upsertConfigurations_RepeatedKey_WrittenInLaterBatch() {
+        Product product = new Product();
+        product.setProductId(PRODUCT_ID);
+        when(productRepository.findAllById(Set.of(PRODUCT_ID))).thenReturn(Flux.just(product));
+        when(repository.upsertAll(any(), any(), any(), any())).thenReturn(Flux.empty());
+
+        StepVerifier.create(service.upsertConfigurations(Flux.just(
+                        row(PRODUCT_ID, ProductConfigTypeEnum.LIMITS, CONFIG_KEY, "1"),
+                        row(PRODUCT_ID, ProductConfigTypeEnum.LIMITS, "other", "2"),
+                        row(PRODUCT_ID, ProductConfigTypeEnum.LIMITS, CONFIG_KEY, "3"))))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        ArgumentCaptor<String[]> configValues = ArgumentCaptor.forClass(String[].class);
+        verify(repository, times(2)).upsertAll(any(), any(), any(), configValues.capture());
+        List<String[]> batches = configValues.getAllValues();
+        assertThat(batches.get(0)).containsExactly("1", "2");
+        assertThat(batches.get(1)).containsExactly("3");
+    }
+
+    @Test
+    void upsertConfigurations_OnlyRejectedRows_WritesNothing() {
+        StepVerifier.create(service.upsertConfigurations(Flux.just(
+                        row(null, ProductConfigTypeEnum.LIMITS, CONFIG_KEY, "1"),
+                        row(PRODUCT_ID, ProductConfigTypeEnum.LIMITS, " ", "1"))))
+                .expectNextMatches(result -> result.getOutcome() == ConfigurationUpsertOutcomeEnum.REJECTED)
+                .expectNextMatches(result -> result.getOutcome() == ConfigurationUpsertOutcomeEnum.REJECTED)
+                .verifyComplete();
+
+        verifyNoInteractions(productRepository, repository, pricingCache);
+    }
+
+    @Test
+    void upsertConfigurations_SchemaViolation_RejectsOnlyThatRow() {
+        Product product = new Product();
+        product.setProductId(PRODUCT_ID);
+        when(productRepository.findAllById(Set.of(PRODUCT_ID))).thenReturn(Flux.just(product));
+        when(repository.upsertAll(any(), any(), any(), any())).thenReturn(Flux.empty());
+
+        StepVerifier.create(service.upsertConfigurations(Flux.just(
+                        row(PRODUCT_ID, ProductConfigTypeEnum.PRICING, "interest_rate_brackets",
+                                "[{\"minAmount\":1000,\"maxAmount\":60000,\"tin\":\"7.99\"}]"),
+                        row(PRODUCT_ID, ProductConfigTypeEnum.LIMITS, CONFIG_KEY, "1"))))
+                .assertNext(result -> {
+                    assertOutcome(result, 0, ConfigurationUpsertOutcomeEnum.REJECTED, null);
+                    assertThat(result.getErrorCode()).isEqualTo("PRODUCT_CONFIG_SCHEMA_VIOLATION");
+                    assertThat(result.getErrorMessage()).isEqualTo("/0/tin expected a number");
+                })
+                .assertNext(result -> assertOutcome(result, 1, ConfigurationUpsertOutcomeEnum.UNCHANGED, null))
+                .verifyComplete();
+
+        ArgumentCaptor<String[]> configKeys = ArgumentCaptor.forClass(String[].class);
+        verify(repository).upsertAll(any(), any(), configKeys.capture(), any());
+        assertThat(configKeys.getValue()).containsExactly(CONFIG_KEY);
+    }
+
+    private static ProductConfigurationDTO row(
+            UUID productId, ProductConfigTypeEnum configType, String configKey, String configValue) {
+        return ProductConfigurationDTO.builder()
+                .productId(productId)
+                .configType(configType)
+                .configKey(configKey)
+                .configValue(configValue)
+                .build();
+    }
+
+    private static void assertOutcome(ProductConfigurationUpsertResultDTO result, long index,
+                                      ConfigurationUpsertOutcomeEnum outcome, UUID productConfigurationId) {
+        assertThat(result.getIndex()).isEqualTo(index);
+        assertThat(result.getOutcome()).isEqualTo(outcome);
+        assertThat(result.getProductConfigurationId()).isEqualTo(productConfigurationId);
+    }
+}
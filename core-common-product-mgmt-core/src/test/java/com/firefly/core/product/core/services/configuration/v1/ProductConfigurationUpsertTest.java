@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.services.configuration.v1;
+
+import com.firefly.core.product.models.repositories.ProductConfigurationRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.r2dbc.repository.Query;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the statement behind {@link ProductConfigurationRepository#upsertAll}
+ * against a throw-away PostgreSQL with every migration applied, and checks the
+ * {@code (product_id, config_type, config_key)} constraint added by V19.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProductConfigurationUpsertTest {
+
+    private static final UUID PERSONAL_LOAN_ID = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void migrate() throws IOException, SQLException {
+        Resource[] migrations = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:db/migration/V*__*.sql");
+        Arrays.sort(migrations, Comparator.comparingInt(ProductConfigurationUpsertTest::version));
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (Resource migration : migrations) {
+                statement.execute(migration.getContentAsString(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    void upsertAll_insertsNewKeysUpdatesChangedOnesAndSkipsUnchangedOnes() throws Exception {
+        Map<String, Boolean> createdByKey = upsertAll(
+                new String[] {"PRICING", "CUSTOM", "PRICING"},
+                new String[] {"fees", "channel", "interest_rate_brackets"},
+                new String[] {
+                        "[{\"type\":\"OPENING_FEE\",\"percentage\":0.5,\"fixed\":0}]",
+                        "\"BRANCH ONLY\"",
+                        "[{\"maxAmount\":60000,\"minAmount\":1000,\"tin\":7.99}]"});
+
+        assertThat(createdByKey).containsOnly(Map.entry("fees", false), Map.entry("channel", true));
+        assertThat(storedValue("fees")).isEqualTo("[{\"type\": \"OPENING_FEE\", \"fixed\": 0, \"percentage\": 0.5}]");
+        assertThat(storedValue("channel")).isEqualTo("\"BRANCH ONLY\"");
+    }
+
+    @Test
+    void uniqueKey_rejectsASecondRowForTheSameTypeAndKey() {
+        assertThatThrownBy(() -> {
+            try (Connection connection = connect();
+                 PreparedStatement insert = connection.prepareStatement(
+                         "INSERT INTO product_configuration (product_id, config_type, config_key, config_value)"
+                                 + " VALUES (?, 'LIMITS', 'amount_term', '{}')")) {
+                insert.setObject(1, PERSONAL_LOAN_ID);
+                insert.executeUpdate();
+            }
+        }).isInstanceOfSatisfying(SQLException.class, ex -> assertThat(ex.getSQLState()).isEqualTo("23505"));
+    }
+
+    /**
+     * Runs the repository statement, rewritten from named to positional
+     * parameters, for rows of the seeded personal loan.
+     */
+    private static Map<String, Boolean> upsertAll(String[] configTypes, String[] configKeys, String[] configValues)
+            throws Exception {
+        String sql = ProductConfigurationRepository.class
+                .getMethod("upsertAll", UUID[].class, String[].class, String[].class, String[].class)
+                .getAnnotation(Query.class)
+                .value();
+        UUID[] productIds = new UUID[configKeys.length];
+        Arrays.fill(productIds, PERSONAL_LOAN_ID);
+        List<String> names = new ArrayList<>();
+        Matcher matcher = NAMED_PARAMETER.matcher(sql);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+        Map<String, Boolean> createdByKey = new HashMap<>();
+        try (Connection connection = connect();
+             PreparedStatement statement = connection.prepareStatement(matcher.replaceAll("?"))) {
+            for (int i = 0; i < names.size(); i++) {
+                statement.setArray(i + 1, switch (names.get(i)) {
+                    case "productIds" -> connection.createArrayOf("uuid", productIds);
+                    case "configTypes" -> connection.createArrayOf("text", configTypes);
+                    case "configKeys" -> connection.createArrayOf("text", configKeys);
+                    case "configValues" -> connection.createArrayOf("text", configValues);
+                    default -> throw new IllegalStateException("Unexpected parameter " + names.get(i));
+                });
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    assertThat(rows.getObject("product_id", UUID.class)).isEqualTo(PERSONAL_LOAN_ID);
+                    createdByKey.put(rows.getString("config_key"), rows.getBoolean("created"));
+                }
+            }
+        }
+        return createdByKey;
+    }
+
+    private static String storedValue(String configKey) throws SQLException {
+        try (Connection connection = connect();
+             PreparedStatement select = connection.prepareStatement(
+                     "SELECT config_value::text FROM product_configuration WHERE product_id = ? AND config_key = ?")) {
+            select.setObject(1, PERSONAL_LOAN_ID);
+            select.setString(2, configKey);
+            try (ResultSet row = select.executeQuery()) {
+                assertThat(row.next()).isTrue();
+                return row.getString(1);
+            }
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    private static int version(Resource migration) {
+        String name = migration.getFilename();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.services.configuration.v1;
+
+import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import com.firefly.core.product.models.repositories.ProductConfigurationRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.r2dbc.repository.Query;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the migrations against a throw-away PostgreSQL and checks V18: values
+ * written while {@code config_value} was TEXT survive the move to JSONB, and
+ * the statement behind
+ * {@link ProductConfigurationRepository#findByConfigValueMatching} finds rows
+ * through {@code idx_product_configuration_value_path}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ProductConfigurationValueSearchTest {
+
+    private static final UUID PERSONAL_LOAN_ID = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID LEASING_ID = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final UUID DEMO_TENANT = UUID.fromString("00000000-0000-0000-0000-000000000000");
+    private static final UUID OTHER_TENANT = UUID.fromString("00000000-0000-0000-0000-0000000000a2");
+    private static final int JSONB_VERSION = 18;
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void migrate() throws IOException, SQLException {
+        Resource[] migrations = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:db/migration/V*__*.sql");
+        Arrays.sort(migrations, Comparator.comparingInt(ProductConfigurationValueSearchTest::version));
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (Resource migration : migrations) {
+                if (version(migration) == JSONB_VERSION) {
+                    // Free text stored before the column became JSONB.
+                    statement.execute("INSERT INTO product_configuration"
+                            + " (product_id, config_type, config_key, config_value) VALUES"
+                            + " ('" + PERSONAL_LOAN_ID + "', 'CUSTOM', 'channel', 'BRANCH ONLY'),"
+                            + " ('" + PERSONAL_LOAN_ID + "', 'CUSTOM', 'grace_months', '3')");
+                }
+                statement.execute(migration.getContentAsString(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    void migration_keepsJsonAndStoresFreeTextAsJsonStrings() throws SQLException {
+        assertThat(storedValue("channel")).isEqualTo("\"BRANCH ONLY\"");
+        assertThat(storedValue("grace_months")).isEqualTo("3");
+        assertThat(storedValue("fees")).isEqualTo("[{\"type\": \"OPENING_FEE\", \"fixed\": 0, \"percentage\": 0}]");
+    }
+
+    @Test
+    void search_matchesOnlyValuesSatisfyingThePredicate() throws Exception {
+        assertThat(search("exists($[*] ? (@.type == \"OPENING_FEE\" && @.percentage > 0.5))"))
+                .containsExactly(LEASING_ID);
+        assertThat(search("exists($[*] ? (@.type == \"OPENING_FEE\"))"))
+                .containsExactly(PERSONAL_LOAN_ID, LEASING_ID);
+        assertThat(search("exists($[*] ? (@.type == \"LATE_PAYMENT_FEE\"))")).isEmpty();
+    }
+
+    @Test
+    void search_onlyReadsTheProductsOfTheTenant() throws Exception {
+        assertThat(search("exists($[*] ? (@.type == \"OPENING_FEE\"))", OTHER_TENANT)).isEmpty();
+    }
+
+    @Test
+    void search_readsTheValueIndex() throws Exception {
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL enable_seqscan = off");
+            }
+            StringBuilder plan = new StringBuilder();
+            try (PreparedStatement explain = prepare(connection, "EXPLAIN " + searchStatement(),
+                    "exists($[*] ? (@.type == \"OPENING_FEE\" && @.percentage > 0.5))", DEMO_TENANT);
+                 ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            } finally {
+                connection.rollback();
+            }
+            assertThat(plan.toString()).contains("idx_product_configuration_value_path");
+        }
+    }
+
+    private static List<UUID> search(String predicate) throws Exception {
+        return search(predicate, DEMO_TENANT);
+    }
+
+    private static List<UUID> search(String predicate, UUID tenantId) throws Exception {
+        List<UUID> productIds = new ArrayList<>();
+        try (Connection connection = connect();
+             PreparedStatement select = prepare(connection, searchStatement(), predicate, tenantId);
+             ResultSet rows = select.executeQuery()) {
+            while (rows.next()) {
+                productIds.add(rows.getObject("product_id", UUID.class));
+            }
+        }
+        return productIds;
+    }
+
+    /**
+     * Binds the repository statement, rewritten from named to positional
+     * parameters, for the {@code (PRICING, fees)} rows of one tenant.
+     */
+    private static PreparedStatement prepare(Connection connection, String sql, String predicate, UUID tenantId)
+            throws SQLException {
+        List<String> names = new ArrayList<>();
+        Matcher matcher = NAMED_PARAMETER.matcher(sql);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+        PreparedStatement statement = connection.prepareStatement(matcher.replaceAll("?"));
+        for (int i = 0; i < names.size(); i++) {
+            switch (names.get(i)) {
+                case "tenantId" -> statement.setObject(i + 1, tenantId);
+                case "configType" -> statement.setObject(i + 1, "PRICING", Types.OTHER);
+                case "configKey" -> statement.setString(i + 1, "fees");
+                case "predicate" -> statement.setString(i + 1, predicate);
+                case "limit" -> statement.setInt(i + 1, 100);
+                default -> throw new IllegalStateException("Unexpected parameter " + names.get(i));
+            }
+        }
+        return statement;
+    }
+
+    private static String searchStatement() throws NoSuchMethodException {
+        return ProductConfigurationRepository.class
+                .getMethod("findByConfigValueMatching",
+                        UUID.class, ProductConfigTypeEnum.class, String.class, String.class, int.class)
+                .getAnnotation(Query.class)
+                .value();
+    }
+
+    private static String storedValue(String configKey) throws SQLException {
+        try (Connection connection = connect();
+             PreparedStatement select = connection.prepareStatement(
+                     "SELECT config_value::text FROM product_configuration WHERE product_id = ? AND config_key = ?")) {
+            select.setObject(1, PERSONAL_LOAN_ID);
+            select.setString(2, configKey);
+            try (ResultSet row = select.executeQuery()) {
+                assertThat(row.next()).isTrue();
+                return row.getString(1);
+            }
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    private static int version(Resource migration) {
+        String name = migration.getFilename();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+}
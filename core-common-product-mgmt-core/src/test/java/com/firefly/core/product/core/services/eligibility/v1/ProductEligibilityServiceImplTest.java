@@ -0,0 +1,177 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.core.services.eligibility.v1;
+
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import com.firefly.core.product.core.pricing.CompiledPricing;
+import com.firefly.core.product.core.pricing.InstalmentFactors;
+import com.firefly.core.product.core.pricing.InterestRateIndex;
+import com.firefly.core.product.core.pricing.ProductPricingCache;
+import com.firefly.core.product.core.pricing.ProductPricingMetrics;
+import com.firefly.core.product.core.services.ProductPricingAggregatorService;
+import com.firefly.core.product.core.services.impl.ProductEligibilityServiceImpl;
+import com.firefly.core.product.interfaces.dtos.InterestRateBracketDTO;
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.fireflyframework.web.error.exceptions.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductEligibilityServiceImplTest {
+
+    private static final UUID PERSONAL_LOAN_ID =
+            UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID LEASING_ID =
+            UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final UUID RETAIL_TENANT =
+            UUID.fromString("00000000-0000-0000-0000-0000000000a1");
+
+    @Mock
+    private ProductPricingAggregatorService pricingService;
+
+    private ProductPricingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ProductPricingCache pricingCache;
+    private ProductEligibilityServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProductPricingProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        pricingCache = new ProductPricingCache(properties, meterRegistry);
+        service = new ProductEligibilityServiceImpl(
+                pricingService, pricingCache, properties, new ProductPricingMetrics(meterRegistry));
+    }
+
+    @Test
+    void findEligibleProducts_filtersByLimitsAndType() {
+        when(pricingService.listCompiledPricing(null, null))
+                .thenReturn(Flux.just(personalLoan(), leasing()));
+
+        StepVerifier.create(service.findEligibleProducts(RETAIL_TENANT, null, new BigDecimal("15000"), 48))
+                .expectNextMatches(p -> p.getProductId().equals(LEASING_ID))
+                .expectNextMatches(p -> p.getProductId().equals(PERSONAL_LOAN_ID))
+                .verifyComplete();
+        StepVerifier.create(service.findEligibleProducts(RETAIL_TENANT, " leasing ", new BigDecimal("2000"), 48))
+                .verifyComplete();
+        StepVerifier.create(service.findEligibleProducts(RETAIL_TENANT, null, new BigDecimal("15000"), 90))
+                .expectNextMatches(p -> p.getProductId().equals(PERSONAL_LOAN_ID))
+                .verifyComplete();
+    }
+
+    @Test
+    void findEligibleProducts_withoutTenant_isRejected() {
+        StepVerifier.create(service.findEligibleProducts(null, null, new BigDecimal("15000"), 48))
+                .expectErrorSatisfies(err -> {
+                    assertThat(err).isInstanceOf(BusinessException.class);
+                    assertThat(((BusinessException) err).getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(((BusinessException) err).getCode()).isEqualTo("PRODUCT_ELIGIBILITY_TENANT_REQUIRED");
+                })
+                .verify();
+
+        verifyNoInteractions(pricingService);
+    }
+
+    @Test
+    void findEligibleProducts_reusesIndexUntilPricingIsInvalidated() {
+        properties.getEligibility().setMinRebuildInterval(Duration.ZERO);
+        rebuildService();
+        when(pricingService.listCompiledPricing(null, null))
+                .thenReturn(Flux.just(personalLoan(), leasing()));
+
+        service.findEligibleProducts(RETAIL_TENANT, null, new BigDecimal("15000"), 48).blockLast();
+        service.findEligibleProducts(RETAIL_TENANT, null, new BigDecimal("30000"), 24).blockLast();
+        verify(pricingService, times(1)).listCompiledPricing(null, null);
+
+        pricingCache.invalidate(LEASING_ID);
+        service.findEligibleProducts(RETAIL_TENANT, null, new BigDecimal("15000"), 48).blockLast();
+
+        verify(pricingService, times(2)).listCompiledPricing(null, null);
+        assertThat(meterRegistry.get("product.pricing.eligibility.rebuild").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("product.pricing.eligibility.products").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void findEligibleProducts_writesWithinRebuildInterval_shareOneRebuild() {
+        properties.getEligibility().setMinRebuildInterval(Duration.ofHours(1));
+        rebuildService();
+        when(pricingService.listCompiledPricing(null, null))
+                .thenReturn(Flux.just(personalLoan(), leasing()));
+
+        service.findEligibleProducts(RETAIL_TENANT, null, new BigDecimal("15000"), 48).blockLast();
+        for (int i = 0; i < 10; i++) {
+            pricingCache.invalidate(LEASING_ID);
+            service.findEligibleProducts(RETAIL_TENANT, null, new BigDecimal("15000"), 48).blockLast();
+        }
+
+        verify(pricingService, times(1)).listCompiledPricing(null, null);
+    }
+
+    private void rebuildService() {
+        service = new ProductEligibilityServiceImpl(
+                pricingService, pricingCache, properties, new ProductPricingMetrics(meterRegistry));
+    }
+
+    private static CompiledPricing personalLoan() {
+        return snapshot(PERSONAL_LOAN_ID, "PERSONAL_LOAN_DEMO", "PERSONAL_LOAN", "1000", "60000", 12, 96);
+    }
+
+    private static CompiledPricing leasing() {
+        return snapshot(LEASING_ID, "LEASING_DEMO", "LEASING", "5000", "500000", 12, 84);
+    }
+
+    private static CompiledPricing snapshot(UUID productId, String productCode, String productType,
+                                            String minAmount, String maxAmount, int minTerm, int maxTerm) {
+        ProductPricingDTO pricing = ProductPricingDTO.builder()
+                .productId(productId)
+                .productCode(productCode)
+                .productType(productType)
+                .minAmount(new BigDecimal(minAmount))
+                .maxAmount(new BigDecimal(maxAmount))
+                .minTerm(minTerm)
+                .maxTerm(maxTerm)
+                .build();
+        InterestRateIndex rates = InterestRateIndex.of(List.of(InterestRateBracketDTO.builder()
+                .minAmount(new BigDecimal(minAmount))
+                .maxAmount(new BigDecimal(maxAmount))
+                .tin(new BigDecimal("5.00"))
+                .build()));
+        return new CompiledPricing(pricing, rates, InstalmentFactors.of(rates, null, null),
+                RETAIL_TENANT, productCode, Instant.now());
+    }
+}
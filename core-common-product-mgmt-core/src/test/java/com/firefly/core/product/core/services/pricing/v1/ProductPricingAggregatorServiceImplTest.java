@@ -18,33 +18,71 @@
 package com.firefly.core.product.core.services.pricing.v1;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.product.core.coalescing.RequestCoalescer;
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import com.firefly.core.product.core.pricing.CompiledPricing;
+import com.firefly.core.product.core.pricing.DatabaseCircuitBreaker;
+import com.firefly.core.product.core.pricing.PricingCompiler;
+import com.firefly.core.product.core.pricing.PricingPayloadReader;
+import com.firefly.core.product.core.pricing.ProductPricingCache;
+import com.firefly.core.product.core.pricing.ProductPricingMetrics;
+import com.firefly.core.product.core.pricing.StalePricingStore;
 import com.firefly.core.product.core.services.impl.ProductPricingAggregatorServiceImpl;
+import com.firefly.core.product.interfaces.dtos.AmortisationScheduleEntryDTO;
+import com.firefly.core.product.interfaces.dtos.PricingComparisonRequestDTO;
+import com.firefly.core.product.interfaces.dtos.PricingComparisonRowDTO;
+import com.firefly.core.product.interfaces.dtos.PricingQuoteDTO;
+import com.firefly.core.product.interfaces.dtos.PricingQuoteResultDTO;
+import com.firefly.core.product.interfaces.dtos.PricingScenarioDTO;
 import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
 import com.firefly.core.product.interfaces.enums.ProductStatusEnum;
 import com.firefly.core.product.interfaces.enums.ProductTypeEnum;
 import com.firefly.core.product.models.entities.Product;
 import com.firefly.core.product.models.entities.ProductConfiguration;
+import com.firefly.core.product.models.entities.ProductConfigurationHistory;
+import com.firefly.core.product.models.entities.ProductPricingDocument;
+import com.firefly.core.product.models.repositories.ProductConfigurationHistoryRepository;
 import com.firefly.core.product.models.repositories.ProductConfigurationRepository;
+import com.firefly.core.product.models.repositories.ProductPricingDocumentRepository;
 import com.firefly.core.product.models.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.postgresql.codec.Json;
 import org.fireflyframework.web.error.exceptions.BusinessException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,6 +92,10 @@ class ProductPricingAggregatorServiceImplTest {
             UUID.fromString("00000000-0000-0000-0000-00000000000a");
     private static final UUID LEASING_ID =
             UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final UUID RETAIL_TENANT =
+            UUID.fromString("00000000-0000-0000-0000-0000000000a1");
+    private static final UUID FLEET_TENANT =
+            UUID.fromString("00000000-0000-0000-0000-0000000000a2");
 
     @Mock
     private ProductRepository productRepository;
@@ -61,10 +103,21 @@ class ProductPricingAggregatorServiceImplTest {
     @Mock
     private ProductConfigurationRepository productConfigurationRepository;
 
+    @Mock
+    private ProductConfigurationHistoryRepository productConfigurationHistoryRepository;
+
+    @Mock
+    private ProductPricingDocumentRepository productPricingDocumentRepository;
+
     @Spy
     private ObjectMapper objectMapper = new ObjectMapper();
 
-    @InjectMocks
+    private ProductPricingProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProductPricingCache pricingCache;
+
     private ProductPricingAggregatorServiceImpl service;
 
     private Product personalLoan;
@@ -72,12 +125,16 @@ class ProductPricingAggregatorServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        properties = new ProductPricingProperties();
+        rebuildService();
+
         personalLoan = new Product();
         personalLoan.setProductId(PERSONAL_LOAN_ID);
         personalLoan.setProductCode("PERSONAL_LOAN_DEMO");
         personalLoan.setProductName("Demo Personal Loan");
         personalLoan.setProductType(ProductTypeEnum.FINANCIAL);
         personalLoan.setProductStatus(ProductStatusEnum.ACTIVE);
+        personalLoan.setTenantId(RETAIL_TENANT);
 
         leasing = new Product();
         leasing.setProductId(LEASING_ID);
@@ -85,6 +142,7 @@ class ProductPricingAggregatorServiceImplTest {
         leasing.setProductName("Demo Leasing");
         leasing.setProductType(ProductTypeEnum.FINANCIAL);
         leasing.setProductStatus(ProductStatusEnum.ACTIVE);
+        leasing.setTenantId(FLEET_TENANT);
     }
 
     @Test
@@ -142,6 +200,220 @@ class ProductPricingAggregatorServiceImplTest {
                 .verifyComplete();
     }
 
+    @Test
+    void getProductPricing_repeatedReads_areServedFromCache() {
+        when(productRepository.findById(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(personalLoan));
+        when(productConfigurationRepository.findByProductId(PERSONAL_LOAN_ID))
+                .thenReturn(Flux.fromIterable(personalLoanConfigs()));
+
+        StepVerifier.create(service.getProductPricing(PERSONAL_LOAN_ID))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(service.getProductPricing(PERSONAL_LOAN_ID))
+                .assertNext(dto -> assertThat(dto.getProductCode()).isEqualTo("PERSONAL_LOAN_DEMO"))
+                .verifyComplete();
+
+        verify(productRepository, times(1)).findById(PERSONAL_LOAN_ID);
+        verify(productConfigurationRepository, times(1)).findByProductId(PERSONAL_LOAN_ID);
+    }
+
+    @Test
+    void getProductPricing_concurrentFirstReads_shareOneLoad() {
+        Sinks.One<Product> product = Sinks.one();
+        when(productRepository.findById(PERSONAL_LOAN_ID))
+                .thenReturn(product.asMono());
+        when(productConfigurationRepository.findByProductId(PERSONAL_LOAN_ID))
+                .thenReturn(Flux.fromIterable(personalLoanConfigs()));
+
+        StepVerifier.create(Mono.zip(
+                        service.getProductPricing(PERSONAL_LOAN_ID),
+                        service.getProductPricing(PERSONAL_LOAN_ID)))
+                .then(() -> product.tryEmitValue(personalLoan))
+                .assertNext(both -> assertThat(both.getT2()).isSameAs(both.getT1()))
+                .verifyComplete();
+
+        verify(productRepository, times(1)).findById(PERSONAL_LOAN_ID);
+        assertThat(meterRegistry.get("product.coalescing.calls")
+                .tags("operation", "pricing", "outcome", "coalesced")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getCompiledPricing_databaseUnreachable_servesLastGoodSnapshotAsStale() {
+        properties.getResilience().setEnabled(true);
+        rebuildService();
+        when(productRepository.findById(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(personalLoan))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("connection refused")));
+        when(productConfigurationRepository.findByProductId(PERSONAL_LOAN_ID))
+                .thenReturn(Flux.fromIterable(personalLoanConfigs()));
+
+        CompiledPricing fresh = service.getCompiledPricing(PERSONAL_LOAN_ID).block();
+        pricingCache.invalidate(PERSONAL_LOAN_ID);
+
+        StepVerifier.create(service.getCompiledPricing(PERSONAL_LOAN_ID))
+                .assertNext(stale -> {
+                    assertThat(stale.stale()).isTrue();
+                    assertThat(stale.etag()).isEqualTo(fresh.etag());
+                    assertThat(stale.pricing()).isSameAs(fresh.pricing());
+                })
+                .verifyComplete();
+        assertThat(meterRegistry.get("product.pricing.stale.served").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getCompiledPricing_databaseUnreachableWithoutSnapshot_propagatesError() {
+        properties.getResilience().setEnabled(true);
+        rebuildService();
+        when(productRepository.findById(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("connection refused")));
+
+        StepVerifier.create(service.getCompiledPricing(PERSONAL_LOAN_ID))
+                .expectError(DataAccessResourceFailureException.class)
+                .verify();
+    }
+
+    @Test
+    void getCompiledPricing_resilienceDisabled_doesNotServeStale() {
+        when(productRepository.findById(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(personalLoan))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("connection refused")));
+        when(productConfigurationRepository.findByProductId(PERSONAL_LOAN_ID))
+                .thenReturn(Flux.fromIterable(personalLoanConfigs()));
+
+        service.getCompiledPricing(PERSONAL_LOAN_ID).block();
+        pricingCache.invalidate(PERSONAL_LOAN_ID);
+
+        StepVerifier.create(service.getCompiledPricing(PERSONAL_LOAN_ID))
+                .expectError(DataAccessResourceFailureException.class)
+                .verify();
+    }
+
+    @Test
+    void getCompiledPricing_productDeleted_dropsLastGoodSnapshot() {
+        properties.getResilience().setEnabled(true);
+        rebuildService();
+        when(productRepository.findById(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(personalLoan))
+                .thenReturn(Mono.empty())
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("connection refused")));
+        when(productConfigurationRepository.findByProductId(PERSONAL_LOAN_ID))
+                .thenReturn(Flux.fromIterable(personalLoanConfigs()));
+
+        service.getCompiledPricing(PERSONAL_LOAN_ID).block();
+        pricingCache.invalidate(PERSONAL_LOAN_ID);
+        StepVerifier.create(service.getCompiledPricing(PERSONAL_LOAN_ID))
+                .expectError(BusinessException.class)
+                .verify();
+
+        StepVerifier.create(service.getCompiledPricing(PERSONAL_LOAN_ID))
+                .expectError(DataAccessResourceFailureException.class)
+                .verify();
+    }
+
+    @Test
+    void getProductPricing_afterInvalidation_reloadsFromDatabase() {
+        when(productRepository.findById(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(personalLoan));
+        when(productConfigurationRepository.findByProductId(PERSONAL_LOAN_ID))
+                .thenReturn(Flux.fromIterable(personalLoanConfigs()));
+
+        StepVerifier.create(service.getProductPricing(PERSONAL_LOAN_ID))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // No reactive transaction is active here, so only the immediate
+        // eviction applies.
+        StepVerifier.create(pricingCache.invalidateAfterCompletion(PERSONAL_LOAN_ID))
+                .verifyComplete();
+
+        StepVerifier.create(service.getProductPricing(PERSONAL_LOAN_ID))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(productRepository, times(2)).findById(PERSONAL_LOAN_ID);
+        verify(productConfigurationRepository, times(2)).findByProductId(PERSONAL_LOAN_ID);
+    }
+
+    @Test
+    void getProductPricing_cachesEachTenantInItsOwnPartition() {
+        when(productRepository.findById(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(personalLoan));
+        when(productConfigurationRepository.findByProductId(PERSONAL_LOAN_ID))
+                .thenReturn(Flux.fromIterable(personalLoanConfigs()));
+        when(productRepository.findById(LEASING_ID))
+                .thenReturn(Mono.just(leasing));
+        when(productConfigurationRepository.findByProductId(LEASING_ID))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(service.getProductPricing(PERSONAL_LOAN_ID)).expectNextCount(1).verifyComplete();
+        }
+        StepVerifier.create(service.getProductPricing(LEASING_ID)).expectNextCount(1).verifyComplete();
+
+        assertThat(meterRegistry.get("cache.size").tag("tenant", RETAIL_TENANT.toString())
+                .gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.size").tag("tenant", FLEET_TENANT.toString())
+                .gauge().value()).isEqualTo(1.0);
+        // The first read of each product files the snapshot; the next two hit.
+        assertThat(meterRegistry.get("cache.gets").tag("tenant", RETAIL_TENANT.toString())
+                .tag("result", "hit").functionCounter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("product.pricing.cache.estimated.bytes")
+                .tag("tenant", FLEET_TENANT.toString()).gauge().value())
+                .isGreaterThan(meterRegistry.get("product.pricing.cache.estimated.bytes")
+                        .tag("tenant", RETAIL_TENANT.toString()).gauge().value());
+
+        pricingCache.invalidate(LEASING_ID);
+
+        assertThat(pricingCache.getIfPresent(LEASING_ID)).isNull();
+        assertThat(pricingCache.getIfPresent(PERSONAL_LOAN_ID)).isNotNull();
+    }
+
+    @Test
+    void getProductPricing_errorsAreNotCached() {
+        UUID unknown = UUID.fromString("00000000-0000-0000-0000-0000000000ff");
+        when(productRepository.findById(unknown)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.getProductPricing(unknown))
+                .expectError(BusinessException.class)
+                .verify();
+        StepVerifier.create(service.getProductPricing(unknown))
+                .expectError(BusinessException.class)
+                .verify();
+
+        verify(productRepository, times(2)).findById(unknown);
+    }
+
+    @Test
+    void listProductsWithPricing_reusesCachedSnapshots() {
+        when(productRepository.findById(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(personalLoan));
+        when(productConfigurationRepository.findByProductId(PERSONAL_LOAN_ID))
+                .thenReturn(Flux.fromIterable(personalLoanConfigs()));
+        when(productRepository.findByProductStatus(ProductStatusEnum.ACTIVE))
+                .thenReturn(Flux.just(personalLoan, leasing));
+        when(productConfigurationRepository.findByProductIdIn(any(UUID[].class)))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        // Warm the personal loan snapshot through the single-product read.
+        StepVerifier.create(service.getProductPricing(PERSONAL_LOAN_ID))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        StepVerifier.create(service.listCompiledPricing(null, null).map(CompiledPricing::pricing)
+                        .map(dto -> dto.getProductCode()))
+                .expectNext("PERSONAL_LOAN_DEMO")
+                .expectNext("LEASING_DEMO")
+                .verifyComplete();
+
+        // Only the cache miss is loaded by the batched query.
+        ArgumentCaptor<UUID[]> ids = ArgumentCaptor.forClass(UUID[].class);
+        verify(productConfigurationRepository).findByProductIdIn(ids.capture());
+        assertThat(ids.getValue()).containsExactly(LEASING_ID);
+        verify(productRepository, never()).findByProductStatus(any());
+    }
+
     @Test
     void getProductPricing_productNotFound_emitsError() {
         UUID unknown = UUID.fromString("00000000-0000-0000-0000-0000000000ff");
@@ -204,16 +476,12 @@ class ProductPricingAggregatorServiceImplTest {
         // someone reverts the implementation back to findAll().
         when(productRepository.findByProductStatus(ProductStatusEnum.ACTIVE))
                 .thenReturn(Flux.just(personalLoan, leasing));
-        when(productRepository.findById(PERSONAL_LOAN_ID))
-                .thenReturn(Mono.just(personalLoan));
-        when(productRepository.findById(LEASING_ID))
-                .thenReturn(Mono.just(leasing));
-        when(productConfigurationRepository.findByProductId(PERSONAL_LOAN_ID))
-                .thenReturn(Flux.fromIterable(personalLoanConfigs()));
-        when(productConfigurationRepository.findByProductId(LEASING_ID))
-                .thenReturn(Flux.fromIterable(leasingConfigs()));
+        when(productConfigurationRepository.findByProductIdIn(any(UUID[].class)))
+                .thenReturn(Flux.concat(
+                        Flux.fromIterable(personalLoanConfigs()),
+                        Flux.fromIterable(leasingConfigs())));
 
-        StepVerifier.create(service.listProductsWithPricing(null)
+        StepVerifier.create(service.listCompiledPricing(null, null).map(CompiledPricing::pricing)
                         .map(dto -> dto.getProductCode()))
                 .expectNext("PERSONAL_LOAN_DEMO")
                 .expectNext("LEASING_DEMO")
@@ -222,26 +490,209 @@ class ProductPricingAggregatorServiceImplTest {
         // Sanity check: the RETIRED product was never asked for its
         // configuration — i.e. the status filter cut it off before any
         // downstream work was done.
-        org.mockito.Mockito.verify(productConfigurationRepository,
-                org.mockito.Mockito.never())
-                .findByProductId(retired.getProductId());
+        ArgumentCaptor<UUID[]> ids = ArgumentCaptor.forClass(UUID[].class);
+        verify(productConfigurationRepository).findByProductIdIn(ids.capture());
+        assertThat(ids.getValue()).containsExactly(PERSONAL_LOAN_ID, LEASING_ID)
+                .doesNotContain(retired.getProductId());
     }
 
     @Test
-    void listProductsWithPricing_filtersByDerivedProductType() {
+    void listProductsWithPricing_pushesDerivedProductTypeFilterToSql() {
+        when(productRepository.findByProductStatusAndDerivedType(ProductStatusEnum.ACTIVE, "LEASING"))
+                .thenReturn(Flux.just(leasing));
+        when(productConfigurationRepository.findByProductIdIn(any(UUID[].class)))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        StepVerifier.create(service.listCompiledPricing(null, " leasing ").map(CompiledPricing::pricing)
+                        .map(dto -> dto.getProductCode()))
+                .expectNext("LEASING_DEMO")
+                .verifyComplete();
+
+        ArgumentCaptor<UUID[]> ids = ArgumentCaptor.forClass(UUID[].class);
+        verify(productConfigurationRepository).findByProductIdIn(ids.capture());
+        assertThat(ids.getValue()).containsExactly(LEASING_ID);
+    }
+
+    @Test
+    void getListingVersion_usesTheListingScope() {
+        when(productRepository.findActiveCatalogVersion(FLEET_TENANT, "LEASING"))
+                .thenReturn(Mono.just("5f2b"));
+
+        StepVerifier.create(service.getListingVersion(FLEET_TENANT, " leasing "))
+                .expectNext("5f2b")
+                .verifyComplete();
+
+        verify(productRepository, never()).findByProductStatusAndTenantIdAndDerivedType(any(), any(), any());
+        verify(productConfigurationRepository, never()).findByProductIdIn(any(UUID[].class));
+    }
+
+    @Test
+    void listProductsWithPricing_withTenant_queriesOnlyThatTenant() {
+        when(productRepository.findByProductStatusAndTenantId(ProductStatusEnum.ACTIVE, FLEET_TENANT))
+                .thenReturn(Flux.just(leasing));
+        when(productConfigurationRepository.findByProductIdIn(any(UUID[].class)))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        StepVerifier.create(service.listProductsWithPricing(FLEET_TENANT, null)
+                        .map(dto -> dto.getProductCode()))
+                .expectNext("LEASING_DEMO")
+                .verifyComplete();
+
+        verify(productRepository, never()).findByProductStatus(any());
+    }
+
+    @Test
+    void listProductsWithPricing_withTenantAndType_pushesBothFiltersToSql() {
+        when(productRepository.findByProductStatusAndTenantIdAndDerivedType(
+                ProductStatusEnum.ACTIVE, FLEET_TENANT, "LEASING"))
+                .thenReturn(Flux.just(leasing));
+        when(productConfigurationRepository.findByProductIdIn(any(UUID[].class)))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        StepVerifier.create(service.listProductsWithPricing(FLEET_TENANT, "leasing")
+                        .map(dto -> dto.getProductCode()))
+                .expectNext("LEASING_DEMO")
+                .verifyComplete();
+    }
+
+    @Test
+    void listPricingDocuments_streamsDocumentsComposedByTheDatabase() {
+        String json = "{\"productId\":\"" + LEASING_ID + "\",\"productCode\":\"LEASING_DEMO\"}";
+        when(productPricingDocumentRepository.findByProductStatusAndTenantIdAndDerivedType(
+                ProductStatusEnum.ACTIVE, FLEET_TENANT, "LEASING"))
+                .thenReturn(Flux.just(new ProductPricingDocument(
+                        LEASING_ID, FLEET_TENANT, ProductStatusEnum.ACTIVE, "LEASING", "tag-1", json)));
+
+        StepVerifier.create(service.listPricingDocuments(FLEET_TENANT, "leasing"))
+                .assertNext(document -> {
+                    assertThat(document.productId()).isEqualTo(LEASING_ID);
+                    assertThat(document.etag()).isEqualTo("tag-1");
+                    assertThat(document.json()).isEqualTo(json);
+                })
+                .verifyComplete();
+
+        verify(productRepository, never()).findByProductStatusAndTenantIdAndDerivedType(any(), any(), any());
+        verify(productConfigurationRepository, never()).findByProductIdIn(any(UUID[].class));
+        assertThat(meterRegistry.get("product.pricing.listing.emitted").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void listings_withoutTenant_areRejected() {
+        StepVerifier.create(service.listProductsWithPricing(null, null))
+                .expectErrorSatisfies(err -> assertTenantRequired(err))
+                .verify();
+        StepVerifier.create(service.listPricingDocuments(null, " "))
+                .expectErrorSatisfies(err -> assertTenantRequired(err))
+                .verify();
+        StepVerifier.create(service.getListingVersion(null, null))
+                .expectErrorSatisfies(err -> assertTenantRequired(err))
+                .verify();
+
+        verify(productRepository, never()).findByProductStatus(any());
+        verify(productRepository, never()).findActiveCatalogVersion(any(), any());
+    }
+
+    @Test
+    void listProductsWithPricing_skipsProductsWithIncompleteConfiguration() {
         when(productRepository.findByProductStatus(ProductStatusEnum.ACTIVE))
                 .thenReturn(Flux.just(personalLoan, leasing));
-        when(productRepository.findById(LEASING_ID))
-                .thenReturn(Mono.just(leasing));
-        when(productConfigurationRepository.findByProductId(LEASING_ID))
+        // Only the leasing product has configuration rows.
+        when(productConfigurationRepository.findByProductIdIn(any(UUID[].class)))
                 .thenReturn(Flux.fromIterable(leasingConfigs()));
 
-        StepVerifier.create(service.listProductsWithPricing("LEASING")
+        StepVerifier.create(service.listCompiledPricing(null, null).map(CompiledPricing::pricing)
                         .map(dto -> dto.getProductCode()))
                 .expectNext("LEASING_DEMO")
                 .verifyComplete();
     }
 
+    @Test
+    void listProductsWithPricing_issuesOneConfigurationQueryPerWindow() {
+        // 600 products span three listing windows of 256 products each. The
+        // listing must cost one product query plus one configuration query per
+        // window, never a per-product round-trip.
+        int productCount = 600;
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            Product product = new Product();
+            product.setProductId(UUID.randomUUID());
+            product.setProductCode("PERSONAL_LOAN_DEMO");
+            product.setProductType(ProductTypeEnum.FINANCIAL);
+            product.setProductStatus(ProductStatusEnum.ACTIVE);
+            products.add(product);
+        }
+
+        AtomicInteger statements = new AtomicInteger();
+        when(productRepository.findByProductStatus(ProductStatusEnum.ACTIVE))
+                .thenAnswer(invocation -> {
+                    statements.incrementAndGet();
+                    return Flux.fromIterable(products);
+                });
+        when(productConfigurationRepository.findByProductIdIn(any(UUID[].class)))
+                .thenAnswer(invocation -> {
+                    statements.incrementAndGet();
+                    UUID[] ids = invocation.getArgument(0);
+                    return Flux.fromArray(ids)
+                            .flatMapIterable(id -> personalLoanConfigs().stream()
+                                    .map(cfg -> config(id, cfg.getConfigType(),
+                                            cfg.getConfigKey(), cfg.getConfigValue().asString()))
+                                    .toList());
+                });
+
+        StepVerifier.create(service.listCompiledPricing(null, null).map(CompiledPricing::pricing))
+                .expectNextCount(productCount)
+                .verifyComplete();
+
+        assertThat(statements.get()).isEqualTo(4);
+        verify(productRepository, never()).findById(any(UUID.class));
+        verify(productConfigurationRepository, never()).findByProductId(any(UUID.class));
+    }
+
+    @Test
+    void listProductsWithPricing_orderedMode_keepsRepositoryOrderAcrossConcurrentWindows() {
+        properties.getListing().setBatchSize(1);
+        properties.getListing().setConcurrency(2);
+        when(productRepository.findByProductStatus(ProductStatusEnum.ACTIVE))
+                .thenReturn(Flux.just(personalLoan, leasing));
+        // The first window is the slowest one; ordered mode must still emit it first.
+        when(productConfigurationRepository.findByProductIdIn(any(UUID[].class)))
+                .thenAnswer(invocation -> {
+                    UUID[] ids = invocation.getArgument(0);
+                    return PERSONAL_LOAN_ID.equals(ids[0])
+                            ? Flux.fromIterable(personalLoanConfigs()).delaySubscription(Duration.ofMillis(100))
+                            : Flux.fromIterable(leasingConfigs());
+                });
+
+        StepVerifier.create(service.listCompiledPricing(null, null).map(CompiledPricing::pricing)
+                        .map(dto -> dto.getProductCode()))
+                .expectNext("PERSONAL_LOAN_DEMO", "LEASING_DEMO")
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("product.pricing.listing.in-flight").gauge().value()).isZero();
+        assertThat(meterRegistry.get("product.pricing.listing.emitted").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void listProductsWithPricing_unorderedMode_emitsWindowsAsTheyComplete() {
+        properties.getListing().setBatchSize(1);
+        properties.getListing().setConcurrency(2);
+        properties.getListing().setOrdered(false);
+        when(productRepository.findByProductStatus(ProductStatusEnum.ACTIVE))
+                .thenReturn(Flux.just(personalLoan, leasing));
+        when(productConfigurationRepository.findByProductIdIn(any(UUID[].class)))
+                .thenAnswer(invocation -> {
+                    UUID[] ids = invocation.getArgument(0);
+                    return PERSONAL_LOAN_ID.equals(ids[0])
+                            ? Flux.fromIterable(personalLoanConfigs()).delaySubscription(Duration.ofMillis(100))
+                            : Flux.fromIterable(leasingConfigs());
+                });
+
+        StepVerifier.create(service.listCompiledPricing(null, null).map(CompiledPricing::pricing)
+                        .map(dto -> dto.getProductCode()))
+                .expectNext("LEASING_DEMO", "PERSONAL_LOAN_DEMO")
+                .verifyComplete();
+    }
+
     @Test
     void getProductPricing_malformedJson_emitsParseError() {
         when(productRepository.findById(PERSONAL_LOAN_ID))
@@ -271,10 +722,549 @@ class ProductPricingAggregatorServiceImplTest {
                 .verify();
     }
 
+    @Test
+    void getProductPricing_limitsWithStringNumbersAndUnknownFields_decodesTypedValues() {
+        when(productRepository.findById(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(personalLoan));
+        List<ProductConfiguration> configs = List.of(
+                config(PERSONAL_LOAN_ID, ProductConfigTypeEnum.LIMITS,
+                        "amount_term",
+                        "{\"currency\":\"EUR\",\"minAmount\":\"1000.50\",\"maxAmount\":60000,"
+                                + "\"notes\":{\"source\":[\"legacy\"]},\"minTerm\":\"12\",\"maxTerm\":96.0}"),
+                config(PERSONAL_LOAN_ID, ProductConfigTypeEnum.PRICING,
+                        "interest_rate_brackets", "[]"),
+                config(PERSONAL_LOAN_ID, ProductConfigTypeEnum.PRICING,
+                        "fees", null)
+        );
+        when(productConfigurationRepository.findByProductId(PERSONAL_LOAN_ID))
+                .thenReturn(Flux.fromIterable(configs));
+
+        StepVerifier.create(service.getProductPricing(PERSONAL_LOAN_ID))
+                .assertNext(dto -> {
+                    assertThat(dto.getCurrency()).isEqualTo("EUR");
+                    assertThat(dto.getMinAmount()).isEqualByComparingTo("1000.50");
+                    assertThat(dto.getMaxAmount()).isEqualByComparingTo("60000");
+                    assertThat(dto.getMinTerm()).isEqualTo(12);
+                    assertThat(dto.getMaxTerm()).isEqualTo(96);
+                    assertThat(dto.getInterestRates()).isEmpty();
+                    assertThat(dto.getFees()).isEmpty();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getPricingQuote_leasing_selectsBracketAndComputesInstalmentAndFees() {
+        when(productRepository.findById(LEASING_ID))
+                .thenReturn(Mono.just(leasing));
+        when(productConfigurationRepository.findByProductId(LEASING_ID))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        StepVerifier.create(service.getPricingQuote(LEASING_ID, new BigDecimal("30000"), 48))
+                .assertNext(quote -> {
+                    assertThat(quote.getProductId()).isEqualTo(LEASING_ID);
+                    assertThat(quote.getCurrency()).isEqualTo("EUR");
+                    assertThat(quote.getTin()).isEqualByComparingTo("5.90");
+                    assertThat(quote.getApr()).isEqualTo(new BigDecimal("6.61"));
+                    assertThat(quote.getInstalment()).isEqualTo(new BigDecimal("703.18"));
+                    assertThat(quote.getTotalInterest()).isEqualTo(new BigDecimal("3752.42"));
+                    assertThat(quote.getFees()).hasSize(1);
+                    assertThat(quote.getFees().get(0).getType()).isEqualTo("OPENING_FEE");
+                    assertThat(quote.getFees().get(0).getAmount()).isEqualTo(new BigDecimal("300.00"));
+                    assertThat(quote.getTotalFees()).isEqualTo(new BigDecimal("300.00"));
+                    assertThat(quote.getTotalCost()).isEqualTo(new BigDecimal("34052.42"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getPricingQuote_databaseUnreachable_quotesLastGoodSnapshot() {
+        properties.getResilience().setEnabled(true);
+        rebuildService();
+        when(productRepository.findById(LEASING_ID))
+                .thenReturn(Mono.just(leasing))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("connection refused")));
+        when(productConfigurationRepository.findByProductId(LEASING_ID))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        service.getCompiledPricing(LEASING_ID).block();
+        pricingCache.invalidate(LEASING_ID);
+
+        StepVerifier.create(service.getPricingQuote(LEASING_ID, new BigDecimal("30000"), 48))
+                .assertNext(quote -> assertThat(quote.getTotalCost()).isEqualTo(new BigDecimal("34052.42")))
+                .verifyComplete();
+        assertThat(meterRegistry.get("product.pricing.stale.served").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getAmortisationSchedule_leasing_streamsEveryPeriodDownToZero() {
+        when(productRepository.findById(LEASING_ID))
+                .thenReturn(Mono.just(leasing));
+        when(productConfigurationRepository.findByProductId(LEASING_ID))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        StepVerifier.create(service.getAmortisationSchedule(LEASING_ID, new BigDecimal("30000"), 48))
+                .assertNext(first -> {
+                    assertThat(first.getPeriod()).isEqualTo(1);
+                    assertThat(first.getInstalment()).isEqualTo(new BigDecimal("703.18"));
+                    assertThat(first.getInterest()).isEqualTo(new BigDecimal("147.50"));
+                    assertThat(first.getPrincipal()).isEqualTo(new BigDecimal("555.68"));
+                    assertThat(first.getOutstandingPrincipal()).isEqualTo(new BigDecimal("29444.32"));
+                })
+                .expectNextCount(46)
+                .assertNext(last -> {
+                    // The last period absorbs the rounding of the previous 47.
+                    assertThat(last.getPeriod()).isEqualTo(48);
+                    assertThat(last.getInstalment()).isEqualTo(new BigDecimal("702.96"));
+                    assertThat(last.getOutstandingPrincipal()).isEqualByComparingTo("0");
+                })
+                .verifyComplete();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "30000    | 48",
+            "5000     | 12",
+            "25000    | 84",
+            "99999.99 | 37",
+            "480000   | 84"
+    })
+    void getPricingQuote_totalsMatchTheSchedule(String amount, int term) {
+        when(productRepository.findById(LEASING_ID))
+                .thenReturn(Mono.just(leasing));
+        when(productConfigurationRepository.findByProductId(LEASING_ID))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+        CompiledPricing compiled = service.getCompiledPricing(LEASING_ID).block();
+
+        PricingQuoteDTO quote = service.getPricingQuote(compiled, new BigDecimal(amount), term).block();
+        List<AmortisationScheduleEntryDTO> schedule =
+                service.getAmortisationSchedule(compiled, new BigDecimal(amount), term).collectList().block();
+
+        BigDecimal repaid = schedule.stream()
+                .map(AmortisationScheduleEntryDTO::getInstalment)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal interest = schedule.stream()
+                .map(AmortisationScheduleEntryDTO::getInterest)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(quote.getTotalCost()).isEqualByComparingTo(repaid.add(quote.getTotalFees()));
+        assertThat(quote.getTotalInterest()).isEqualByComparingTo(interest);
+    }
+
+    @Test
+    void getAmortisationSchedule_termOutsideLimits_failsBeforeFirstPeriod() {
+        when(productRepository.findById(LEASING_ID))
+                .thenReturn(Mono.just(leasing));
+        when(productConfigurationRepository.findByProductId(LEASING_ID))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        StepVerifier.create(service.getAmortisationSchedule(LEASING_ID, new BigDecimal("30000"), 120))
+                .expectErrorSatisfies(err -> assertThat(((BusinessException) err).getCode())
+                        .isEqualTo("QUOTE_TERM_OUT_OF_RANGE"))
+                .verify();
+    }
+
+    @Test
+    void getPricingQuote_amountOutsideLimits_emitsUnprocessable() {
+        when(productRepository.findById(LEASING_ID))
+                .thenReturn(Mono.just(leasing));
+        when(productConfigurationRepository.findByProductId(LEASING_ID))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        StepVerifier.create(service.getPricingQuote(LEASING_ID, new BigDecimal("4999.99"), 48))
+                .expectErrorSatisfies(err -> {
+                    assertThat(err).isInstanceOf(BusinessException.class);
+                    assertThat(((BusinessException) err).getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+                    assertThat(((BusinessException) err).getCode()).isEqualTo("QUOTE_AMOUNT_OUT_OF_RANGE");
+                })
+                .verify();
+    }
+
+    @Test
+    void getPricingQuote_termOutsideLimits_emitsUnprocessable() {
+        when(productRepository.findById(LEASING_ID))
+                .thenReturn(Mono.just(leasing));
+        when(productConfigurationRepository.findByProductId(LEASING_ID))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        StepVerifier.create(service.getPricingQuote(LEASING_ID, new BigDecimal("30000"), 96))
+                .expectErrorSatisfies(err ->
+                        assertThat(((BusinessException) err).getCode()).isEqualTo("QUOTE_TERM_OUT_OF_RANGE"))
+                .verify();
+    }
+
+    @Test
+    void getPricingQuote_amountInGapBetweenBrackets_emitsNoRateBracket() {
+        when(productRepository.findById(LEASING_ID))
+                .thenReturn(Mono.just(leasing));
+        when(productConfigurationRepository.findByProductId(LEASING_ID))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        StepVerifier.create(service.getPricingQuote(LEASING_ID, new BigDecimal("25000.50"), 48))
+                .expectErrorSatisfies(err ->
+                        assertThat(((BusinessException) err).getCode()).isEqualTo("QUOTE_NO_RATE_BRACKET"))
+                .verify();
+    }
+
+    @Test
+    void quoteBatch_loadsEachProductOnce_andQuotesEveryScenario() {
+        properties.getCache().setEnabled(false);
+        rebuildService();
+        when(productRepository.findById(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(personalLoan));
+        when(productConfigurationRepository.findByProductId(PERSONAL_LOAN_ID))
+                .thenReturn(Flux.fromIterable(personalLoanConfigs()));
+        when(productRepository.findById(LEASING_ID))
+                .thenReturn(Mono.just(leasing));
+        when(productConfigurationRepository.findByProductId(LEASING_ID))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        List<PricingScenarioDTO> scenarios = IntStream.range(0, 1_000)
+                .mapToObj(i -> PricingScenarioDTO.builder()
+                        .scenarioId("s" + i)
+                        .productId(i % 2 == 0 ? PERSONAL_LOAN_ID : LEASING_ID)
+                        .amount(new BigDecimal(i % 2 == 0 ? "10000" : "30000"))
+                        .term(i % 2 == 0 ? 24 : 48)
+                        .build())
+                .toList();
+
+        StepVerifier.create(service.quoteBatch(Flux.fromIterable(scenarios)).collectList())
+                .assertNext(results -> {
+                    assertThat(results).hasSize(1_000);
+                    Map<String, PricingQuoteResultDTO> byId = results.stream()
+                            .collect(Collectors.toMap(PricingQuoteResultDTO::getScenarioId, Function.identity()));
+                    assertThat(byId.get("s0").getQuote().getInstalment()).isEqualTo(new BigDecimal("452.23"));
+                    assertThat(byId.get("s0").getQuote().getApr()).isEqualTo(new BigDecimal("8.29"));
+                    assertThat(byId.get("s1").getQuote().getInstalment()).isEqualTo(new BigDecimal("703.18"));
+                    assertThat(results).allSatisfy(r -> assertThat(r.getErrorCode()).isNull());
+                })
+                .verifyComplete();
+
+        verify(productRepository, times(1)).findById(PERSONAL_LOAN_ID);
+        verify(productRepository, times(1)).findById(LEASING_ID);
+        verify(productConfigurationRepository, times(1)).findByProductId(PERSONAL_LOAN_ID);
+        verify(productConfigurationRepository, times(1)).findByProductId(LEASING_ID);
+    }
+
+    @Test
+    void quoteBatch_failingScenarios_areReportedWithoutAbortingTheBatch() {
+        UUID unknown = UUID.fromString("00000000-0000-0000-0000-0000000000ff");
+        when(productRepository.findById(LEASING_ID))
+                .thenReturn(Mono.just(leasing));
+        when(productConfigurationRepository.findByProductId(LEASING_ID))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+        when(productRepository.findById(unknown))
+                .thenReturn(Mono.empty());
+
+        Flux<PricingScenarioDTO> scenarios = Flux.just(
+                PricingScenarioDTO.builder().scenarioId("ok").productId(LEASING_ID)
+                        .amount(new BigDecimal("30000")).term(48).build(),
+                PricingScenarioDTO.builder().scenarioId("range").productId(LEASING_ID)
+                        .amount(new BigDecimal("1000")).term(48).build(),
+                PricingScenarioDTO.builder().scenarioId("missing").productId(unknown)
+                        .amount(new BigDecimal("1000")).term(48).build(),
+                PricingScenarioDTO.builder().scenarioId("invalid").productId(LEASING_ID)
+                        .amount(new BigDecimal("1000")).build());
+
+        StepVerifier.create(service.quoteBatch(scenarios).collectMap(PricingQuoteResultDTO::getScenarioId))
+                .assertNext(results -> {
+                    assertThat(results).hasSize(4);
+                    assertThat(results.get("ok").getQuote()).isNotNull();
+                    assertThat(results.get("range").getErrorCode()).isEqualTo("QUOTE_AMOUNT_OUT_OF_RANGE");
+                    assertThat(results.get("missing").getErrorCode()).isEqualTo("PRODUCT_NOT_FOUND");
+                    assertThat(results.get("invalid").getErrorCode()).isEqualTo("QUOTE_INVALID_SCENARIO");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void quoteBatch_moreScenariosThanAllowed_failsBeforeAnyResult() {
+        properties.getQuotes().setMaxBatchSize(2);
+        AtomicInteger read = new AtomicInteger();
+        Flux<PricingScenarioDTO> scenarios = Flux.range(0, 100)
+                .doOnNext(i -> read.incrementAndGet())
+                .map(i -> PricingScenarioDTO.builder().scenarioId("s" + i).build());
+
+        StepVerifier.create(service.quoteBatch(scenarios))
+                .expectErrorSatisfies(err ->
+                        assertThat(((BusinessException) err).getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE))
+                .verify();
+
+        assertThat(read).hasValue(3);
+    }
+
+    @Test
+    void comparePricing_ranksByTotalCost_andLoadsCacheMissesTogether() {
+        UUID unknown = UUID.fromString("00000000-0000-0000-0000-0000000000ff");
+        when(productRepository.findById(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(personalLoan));
+        when(productConfigurationRepository.findByProductId(PERSONAL_LOAN_ID))
+                .thenReturn(Flux.fromIterable(personalLoanConfigs()));
+        service.getCompiledPricing(PERSONAL_LOAN_ID).block();
+        when(productRepository.findAllById(List.of(LEASING_ID, unknown)))
+                .thenReturn(Flux.just(leasing));
+        when(productConfigurationRepository.findByProductIdIn(any(UUID[].class)))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        PricingComparisonRequestDTO request = PricingComparisonRequestDTO.builder()
+                .productIds(List.of(PERSONAL_LOAN_ID, LEASING_ID, unknown, LEASING_ID))
+                .amount(new BigDecimal("30000"))
+                .term(48)
+                .build();
+
+        StepVerifier.create(service.comparePricing(request))
+                .assertNext(comparison -> {
+                    assertThat(comparison.getFeeTypes()).containsExactly("OPENING_FEE");
+                    assertThat(comparison.getRows()).extracting(PricingComparisonRowDTO::getProductId)
+                            .containsExactly(LEASING_ID, PERSONAL_LOAN_ID);
+                    PricingComparisonRowDTO first = comparison.getRows().get(0);
+                    assertThat(first.getRank()).isEqualTo(1);
+                    assertThat(first.getInstalment()).isEqualTo(new BigDecimal("703.18"));
+                    assertThat(first.getFees()).containsExactly(new BigDecimal("300.00"));
+                    assertThat(first.getTotalCost()).isEqualTo(new BigDecimal("34052.42"));
+                    PricingComparisonRowDTO second = comparison.getRows().get(1);
+                    assertThat(second.getRank()).isEqualTo(2);
+                    assertThat(second.getFees()).containsExactly(new BigDecimal("0.00"));
+                    assertThat(second.getTotalCost()).isEqualTo(new BigDecimal("35147.81"));
+                    assertThat(comparison.getExcluded()).singleElement().satisfies(excluded -> {
+                        assertThat(excluded.getProductId()).isEqualTo(unknown);
+                        assertThat(excluded.getErrorCode()).isEqualTo("PRODUCT_NOT_FOUND");
+                    });
+                })
+                .verifyComplete();
+
+        verify(productRepository, times(1)).findAllById(any(Iterable.class));
+        verify(productConfigurationRepository, times(1)).findByProductIdIn(any(UUID[].class));
+        verify(productConfigurationRepository, never()).findByProductId(LEASING_ID);
+    }
+
+    @Test
+    void comparePricing_topK_keepsOnlyTheCheapest_andReportsUnquotableProducts() {
+        when(productRepository.findAllById(List.of(PERSONAL_LOAN_ID, LEASING_ID)))
+                .thenReturn(Flux.just(personalLoan, leasing));
+        List<ProductConfiguration> configs = new ArrayList<>(personalLoanConfigs());
+        configs.addAll(leasingConfigs());
+        when(productConfigurationRepository.findByProductIdIn(any(UUID[].class)))
+                .thenReturn(Flux.fromIterable(configs));
+
+        PricingComparisonRequestDTO request = PricingComparisonRequestDTO.builder()
+                .productIds(List.of(PERSONAL_LOAN_ID, LEASING_ID))
+                .amount(new BigDecimal("3000"))
+                .term(24)
+                .topK(1)
+                .build();
+
+        StepVerifier.create(service.comparePricing(request))
+                .assertNext(comparison -> {
+                    assertThat(comparison.getRows()).singleElement()
+                            .extracting(PricingComparisonRowDTO::getProductId).isEqualTo(PERSONAL_LOAN_ID);
+                    assertThat(comparison.getExcluded()).singleElement()
+                            .extracting(PricingQuoteResultDTO::getErrorCode).isEqualTo("QUOTE_AMOUNT_OUT_OF_RANGE");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void comparePricing_productsInDifferentCurrencies_isRejected() {
+        when(productRepository.findAllById(List.of(PERSONAL_LOAN_ID, LEASING_ID)))
+                .thenReturn(Flux.just(personalLoan, leasing));
+        List<ProductConfiguration> configs = new ArrayList<>(personalLoanConfigs());
+        configs.addAll(leasingConfigs());
+        configs.set(personalLoanConfigs().size(), config(LEASING_ID, ProductConfigTypeEnum.LIMITS,
+                "amount_term",
+                "{\"currency\":\"USD\",\"minAmount\":5000,\"maxAmount\":500000,\"minTerm\":12,\"maxTerm\":84}"));
+        when(productConfigurationRepository.findByProductIdIn(any(UUID[].class)))
+                .thenReturn(Flux.fromIterable(configs));
+
+        PricingComparisonRequestDTO request = PricingComparisonRequestDTO.builder()
+                .productIds(List.of(PERSONAL_LOAN_ID, LEASING_ID))
+                .amount(new BigDecimal("30000"))
+                .term(48)
+                .topK(1)
+                .build();
+
+        StepVerifier.create(service.comparePricing(request))
+                .expectErrorSatisfies(err -> {
+                    BusinessException businessException = (BusinessException) err;
+                    assertThat(businessException.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(businessException.getCode()).isEqualTo("COMPARISON_MIXED_CURRENCIES");
+                })
+                .verify();
+    }
+
+    @Test
+    void comparePricing_invalidOrOversizedRequest_isRejected() {
+        properties.getComparison().setMaxProducts(1);
+
+        StepVerifier.create(service.comparePricing(PricingComparisonRequestDTO.builder()
+                        .productIds(List.of(PERSONAL_LOAN_ID)).amount(new BigDecimal("30000")).build()))
+                .expectErrorSatisfies(err ->
+                        assertThat(((BusinessException) err).getCode()).isEqualTo("COMPARISON_INVALID_REQUEST"))
+                .verify();
+        StepVerifier.create(service.comparePricing(PricingComparisonRequestDTO.builder()
+                        .productIds(List.of(PERSONAL_LOAN_ID, LEASING_ID))
+                        .amount(new BigDecimal("30000")).term(48).build()))
+                .expectErrorSatisfies(err ->
+                        assertThat(((BusinessException) err).getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE))
+                .verify();
+    }
+
+    @Test
+    void comparePricing_databaseUnreachable_ranksLastGoodSnapshots_andExcludesTheRest() {
+        properties.getResilience().setEnabled(true);
+        rebuildService();
+        when(productRepository.findAllById(any(Iterable.class)))
+                .thenReturn(Flux.just(leasing))
+                .thenReturn(Flux.error(new DataAccessResourceFailureException("connection refused")));
+        when(productConfigurationRepository.findByProductIdIn(any(UUID[].class)))
+                .thenReturn(Flux.fromIterable(leasingConfigs()));
+
+        // A successful comparison remembers what it compiled.
+        service.comparePricing(PricingComparisonRequestDTO.builder()
+                .productIds(List.of(LEASING_ID)).amount(new BigDecimal("30000")).term(48).build()).block();
+        pricingCache.invalidate(LEASING_ID);
+
+        PricingComparisonRequestDTO request = PricingComparisonRequestDTO.builder()
+                .productIds(List.of(PERSONAL_LOAN_ID, LEASING_ID))
+                .amount(new BigDecimal("30000"))
+                .term(48)
+                .build();
+
+        StepVerifier.create(service.comparePricing(request))
+                .assertNext(comparison -> {
+                    assertThat(comparison.getRows()).singleElement().satisfies(row -> {
+                        assertThat(row.getProductId()).isEqualTo(LEASING_ID);
+                        assertThat(row.getTotalCost()).isEqualTo(new BigDecimal("34052.42"));
+                    });
+                    assertThat(comparison.getExcluded()).singleElement().satisfies(excluded -> {
+                        assertThat(excluded.getProductId()).isEqualTo(PERSONAL_LOAN_ID);
+                        assertThat(excluded.getErrorCode()).isEqualTo(DatabaseCircuitBreaker.UNAVAILABLE_CODE);
+                    });
+                })
+                .verifyComplete();
+        assertThat(meterRegistry.get("product.pricing.stale.served").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getCompiledPricing_etagChangesWhenAConfigurationRowIsRewritten() {
+        List<ProductConfiguration> configs = personalLoanConfigs();
+        configs.forEach(cfg -> cfg.setDateUpdated(LocalDateTime.of(2025, 1, 1, 0, 0)));
+        when(productRepository.findById(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(personalLoan));
+        when(productConfigurationRepository.findByProductId(PERSONAL_LOAN_ID))
+                .thenReturn(Flux.fromIterable(configs));
+
+        String before = service.getCompiledPricing(PERSONAL_LOAN_ID).block().etag();
+        assertThat(service.getCompiledPricing(PERSONAL_LOAN_ID).block().etag()).isEqualTo(before);
+
+        configs.get(2).setDateUpdated(LocalDateTime.of(2025, 1, 2, 0, 0));
+        pricingCache.invalidate(PERSONAL_LOAN_ID);
+
+        assertThat(service.getCompiledPricing(PERSONAL_LOAN_ID).block().etag())
+                .isNotBlank()
+                .isNotEqualTo(before);
+    }
+
+    @Test
+    void getProductPricing_unsortedBrackets_areReturnedSortedByMinAmount() {
+        when(productRepository.findById(LEASING_ID))
+                .thenReturn(Mono.just(leasing));
+        List<ProductConfiguration> configs = new ArrayList<>(leasingConfigs());
+        configs.set(1, config(LEASING_ID, ProductConfigTypeEnum.PRICING,
+                "interest_rate_brackets",
+                "[{\"minAmount\":100001,\"maxAmount\":null,\"tin\":5.50},"
+                        + "{\"minAmount\":null,\"maxAmount\":25000,\"tin\":6.90},"
+                        + "{\"minAmount\":25001,\"maxAmount\":100000,\"tin\":5.90}]"));
+        when(productConfigurationRepository.findByProductId(LEASING_ID))
+                .thenReturn(Flux.fromIterable(configs));
+
+        StepVerifier.create(service.getProductPricing(LEASING_ID))
+                .assertNext(dto -> assertThat(dto.getInterestRates())
+                        .extracting(b -> b.getTin().toPlainString())
+                        .containsExactly("6.90", "5.90", "5.50"))
+                .verifyComplete();
+    }
+
+    @Test
+    void getProductPricing_overlappingBrackets_emitsConfigInvalid() {
+        when(productRepository.findById(LEASING_ID))
+                .thenReturn(Mono.just(leasing));
+        List<ProductConfiguration> configs = new ArrayList<>(leasingConfigs());
+        configs.set(1, config(LEASING_ID, ProductConfigTypeEnum.PRICING,
+                "interest_rate_brackets",
+                "[{\"minAmount\":5000,\"maxAmount\":30000,\"tin\":6.90},"
+                        + "{\"minAmount\":25001,\"maxAmount\":100000,\"tin\":5.90}]"));
+        when(productConfigurationRepository.findByProductId(LEASING_ID))
+                .thenReturn(Flux.fromIterable(configs));
+
+        StepVerifier.create(service.getProductPricing(LEASING_ID))
+                .expectErrorSatisfies(err -> {
+                    assertThat(err).isInstanceOf(BusinessException.class);
+                    BusinessException be = (BusinessException) err;
+                    assertThat(be.getStatus()).isEqualTo(HttpStatus.BAD_GATEWAY);
+                    assertThat(be.getCode()).isEqualTo("PRODUCT_CONFIG_INVALID");
+                })
+                .verify();
+    }
+
+    @Test
+    void getProductPricing_asOf_readsVersionsInEffectAndBypassesCache() {
+        OffsetDateTime asOf = OffsetDateTime.parse("2025-03-01T00:00:00Z");
+        OffsetDateTime validFrom = OffsetDateTime.parse("2025-01-15T09:30:00Z");
+        when(productRepository.findById(PERSONAL_LOAN_ID)).thenReturn(Mono.just(personalLoan));
+        personalLoanConfigs().forEach(cfg -> when(productConfigurationHistoryRepository.findEffectiveAt(
+                PERSONAL_LOAN_ID, cfg.getConfigType(), cfg.getConfigKey(), asOf))
+                .thenReturn(Mono.just(version(cfg, "interest_rate_brackets".equals(cfg.getConfigKey())
+                        ? "[{\"minAmount\":1000,\"maxAmount\":60000,\"tin\":6.49}]"
+                        : cfg.getConfigValue().asString(), validFrom))));
+
+        StepVerifier.create(service.getProductPricing(PERSONAL_LOAN_ID, asOf))
+                .assertNext(pricing -> assertThat(pricing.getInterestRates().get(0).getTin())
+                        .isEqualByComparingTo("6.49"))
+                .verifyComplete();
+        StepVerifier.create(service.getProductPricing(PERSONAL_LOAN_ID, asOf))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(productRepository, times(2)).findById(PERSONAL_LOAN_ID);
+        verify(productConfigurationRepository, never()).findByProductId(any());
+    }
+
+    @Test
+    void getProductPricing_asOfBeforeRowExisted_emitsConfigMissing() {
+        OffsetDateTime asOf = OffsetDateTime.parse("2020-01-01T00:00:00Z");
+        when(productRepository.findById(PERSONAL_LOAN_ID)).thenReturn(Mono.just(personalLoan));
+        when(productConfigurationHistoryRepository.findEffectiveAt(any(), any(), any(), any()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(service.getProductPricing(PERSONAL_LOAN_ID, asOf))
+                .expectErrorSatisfies(err -> {
+                    assertThat(err).isInstanceOf(BusinessException.class);
+                    BusinessException be = (BusinessException) err;
+                    assertThat(be.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+                    assertThat(be.getCode()).isEqualTo("PRODUCT_CONFIG_MISSING");
+                })
+                .verify();
+    }
+
+    private void rebuildService() {
+        meterRegistry = new SimpleMeterRegistry();
+        pricingCache = new ProductPricingCache(properties, meterRegistry);
+        service = new ProductPricingAggregatorServiceImpl(
+                productRepository, productConfigurationRepository, productConfigurationHistoryRepository,
+                productPricingDocumentRepository, new PricingCompiler(new PricingPayloadReader(objectMapper)), pricingCache, properties,
+                new ProductPricingMetrics(meterRegistry), new RequestCoalescer(meterRegistry),
+                new DatabaseCircuitBreaker(properties, meterRegistry), new StalePricingStore(properties));
+    }
+
     // ------------------------------------------------------------------
     // Fixtures
     // ------------------------------------------------------------------
 
+    private static void assertTenantRequired(Throwable err) {
+        assertThat(err).isInstanceOf(BusinessException.class);
+        assertThat(((BusinessException) err).getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(((BusinessException) err).getCode()).isEqualTo("PRODUCT_PRICING_TENANT_REQUIRED");
+    }
+
     private List<ProductConfiguration> personalLoanConfigs() {
         return List.of(
                 config(PERSONAL_LOAN_ID, ProductConfigTypeEnum.LIMITS,
@@ -306,6 +1296,17 @@ class ProductPricingAggregatorServiceImplTest {
         );
     }
 
+    private ProductConfigurationHistory version(ProductConfiguration cfg, String value, OffsetDateTime validFrom) {
+        ProductConfigurationHistory version = new ProductConfigurationHistory();
+        version.setProductConfigurationId(cfg.getProductConfigurationId());
+        version.setProductId(cfg.getProductId());
+        version.setConfigType(cfg.getConfigType());
+        version.setConfigKey(cfg.getConfigKey());
+        version.setConfigValue(Json.of(value));
+        version.setValidFrom(validFrom);
+        return version;
+    }
+
     private ProductConfiguration config(UUID productId,
                                         ProductConfigTypeEnum type,
                                         String key,
@@ -315,7 +1316,7 @@ class ProductPricingAggregatorServiceImplTest {
         cfg.setProductId(productId);
         cfg.setConfigType(type);
         cfg.setConfigKey(key);
-        cfg.setConfigValue(value);
+        cfg.setConfigValue(Json.of(value));
         return cfg;
     }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One monthly period of a French amortisation schedule.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One period of an amortisation schedule")
+public class AmortisationScheduleEntryDTO {
+
+    @Schema(description = "Period number, starting at 1", example = "1")
+    private Integer period;
+
+    @Schema(description = "Amount paid in the period; the last period absorbs rounding", example = "703.18")
+    private BigDecimal instalment;
+
+    @Schema(description = "Interest part of the instalment", example = "147.50")
+    private BigDecimal interest;
+
+    @Schema(description = "Principal part of the instalment", example = "555.68")
+    private BigDecimal principal;
+
+    @Schema(description = "Principal still outstanding after the period", example = "29444.32")
+    private BigDecimal outstandingPrincipal;
+}
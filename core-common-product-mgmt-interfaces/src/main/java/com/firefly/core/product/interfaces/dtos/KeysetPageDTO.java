@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of a keyset listing. Unlike a {@code PaginationResponse} it has
+ * no total count and no page number: the next page is requested with
+ * {@code after} set to {@link #nextAfter}, and is found by seeking the index
+ * rather than skipping the rows of the previous pages.
+ *
+ * @param <T> type of the listed rows
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of a keyset listing")
+public class KeysetPageDTO<T> {
+
+    @Schema(description = "Rows of the page, in identifier order")
+    private List<T> content;
+
+    @Schema(description = "Value of the after parameter that requests the next page; null on the last page",
+            example = "7d3f1c2a-5b6e-4f80-9a1b-2c3d4e5f6a7b")
+    private UUID nextAfter;
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Ranked comparison of several products for one {@code (amount, term)}
+ * scenario. Rows are ordered by total cost, then instalment; products that
+ * could not be quoted are listed separately with the reason.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Ranked pricing comparison of several products")
+public class PricingComparisonDTO {
+
+    @Schema(description = "Compared principal amount", example = "30000")
+    private BigDecimal amount;
+
+    @Schema(description = "Compared term, in months", example = "48")
+    private Integer term;
+
+    @Schema(description = "Fee columns of the matrix, in order of first appearance among the returned rows",
+            example = "[\"OPENING_FEE\", \"STUDY_FEE\"]")
+    private List<String> feeTypes;
+
+    @Schema(description = "Best-ranked products, cheapest first")
+    private List<PricingComparisonRowDTO> rows;
+
+    @Schema(description = "Products that could not be quoted for the scenario, with the error code")
+    private List<PricingQuoteResultDTO> excluded;
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Side-by-side comparison request: the same {@code (amount, term)} scenario
+ * priced against several products.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Products to compare for one amount and term")
+public class PricingComparisonRequestDTO {
+
+    @Schema(description = "Products to compare; duplicates are ignored",
+            example = "[\"00000000-0000-0000-0000-00000000000a\", \"00000000-0000-0000-0000-00000000000b\"]")
+    private List<UUID> productIds;
+
+    @Schema(description = "Requested principal amount", example = "30000")
+    private BigDecimal amount;
+
+    @Schema(description = "Requested term, in months", example = "48")
+    private Integer term;
+
+    @Schema(description = "Number of best-ranked products to return; all comparable products when omitted",
+            example = "3")
+    private Integer topK;
+}
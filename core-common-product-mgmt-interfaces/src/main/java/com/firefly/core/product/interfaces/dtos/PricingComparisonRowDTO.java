@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One row of a {@link PricingComparisonDTO}: a product quoted for the
+ * compared scenario. {@link #getFees()} is aligned with
+ * {@link PricingComparisonDTO#getFeeTypes()}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Quote of one product within a pricing comparison")
+public class PricingComparisonRowDTO {
+
+    @Schema(description = "Position in the ranking, starting at 1", example = "1")
+    private Integer rank;
+
+    @Schema(description = "Unique identifier of the product", example = "00000000-0000-0000-0000-00000000000a")
+    private UUID productId;
+
+    @Schema(description = "Business code of the product", example = "PERSONAL_LOAN_DEMO")
+    private String productCode;
+
+    @Schema(description = "Commercial name of the product", example = "Préstamo Personal")
+    private String name;
+
+    @Schema(description = "ISO 4217 currency code", example = "EUR")
+    private String currency;
+
+    @Schema(description = "Nominal interest rate (TIN) of the matching bracket, as an annual percentage",
+            example = "5.90")
+    private BigDecimal tin;
+
+    @Schema(description = "Annual percentage rate (APR), as a percentage; null when it cannot be determined",
+            example = "6.61")
+    private BigDecimal apr;
+
+    @Schema(description = "Monthly instalment (French amortisation)", example = "703.18")
+    private BigDecimal instalment;
+
+    @Schema(description = "Fee amounts, one per entry of feeTypes; zero when the product does not charge it",
+            example = "[300.00, 0.00]")
+    private List<BigDecimal> fees;
+
+    @Schema(description = "Sum of all fees", example = "300.00")
+    private BigDecimal totalFees;
+
+    @Schema(description = "Total amount payable: every instalment plus fees", example = "34052.42")
+    private BigDecimal totalCost;
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of pricing a single (amount, term) scenario against a product's
+ * compiled pricing: the matching interest-rate bracket, the French-amortisation
+ * monthly instalment, the fees it triggers and the resulting APR.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Loan quote computed server-side from a product's pricing parameters")
+public class PricingQuoteDTO {
+
+    @Schema(description = "Unique identifier of the product", example = "00000000-0000-0000-0000-00000000000b")
+    private UUID productId;
+
+    @Schema(description = "ISO 4217 currency code", example = "EUR")
+    private String currency;
+
+    @Schema(description = "Requested principal amount", example = "30000")
+    private BigDecimal amount;
+
+    @Schema(description = "Requested term, in months", example = "48")
+    private Integer term;
+
+    @Schema(description = "Nominal interest rate (TIN) of the matching bracket, as an annual percentage",
+            example = "5.90")
+    private BigDecimal tin;
+
+    @Schema(description = "Annual percentage rate (APR) including fees paid at disbursement, as a percentage; "
+            + "null when it cannot be determined", example = "6.61")
+    private BigDecimal apr;
+
+    @Schema(description = "Monthly instalment (French amortisation)", example = "703.18")
+    private BigDecimal instalment;
+
+    @Schema(description = "Total interest paid over the term", example = "3752.42")
+    private BigDecimal totalInterest;
+
+    @Schema(description = "Fees charged by the quote")
+    private List<AppliedFeeDTO> fees;
+
+    @Schema(description = "Sum of all fees", example = "300.00")
+    private BigDecimal totalFees;
+
+    @Schema(description = "Total amount payable: every instalment plus fees", example = "34052.42")
+    private BigDecimal totalCost;
+}
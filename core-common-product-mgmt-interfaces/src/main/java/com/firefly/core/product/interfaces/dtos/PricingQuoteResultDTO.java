@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one scenario of a batch quote request: either a quote or the
+ * error that prevented it. A failing scenario does not abort the batch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a single scenario of a batch quote request")
+public class PricingQuoteResultDTO {
+
+    @Schema(description = "Identifier supplied with the scenario, if any", example = "row-42")
+    private String scenarioId;
+
+    @Schema(description = "Unique identifier of the product", example = "00000000-0000-0000-0000-00000000000b")
+    private UUID productId;
+
+    @Schema(description = "Computed quote; null when the scenario failed")
+    private PricingQuoteDTO quote;
+
+    @Schema(description = "Error code when the scenario failed (e.g. QUOTE_AMOUNT_OUT_OF_RANGE)",
+            example = "QUOTE_AMOUNT_OUT_OF_RANGE")
+    private String errorCode;
+
+    @Schema(description = "Human-readable error message when the scenario failed")
+    private String errorMessage;
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.interfaces.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * One {@code (product, amount, term)} scenario of a batch quote request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Scenario to quote in a batch request")
+public class PricingScenarioDTO {
+
+    @Schema(description = "Caller-supplied identifier echoed back in the result, used to correlate results "
+            + "that may be streamed in a different order", example = "row-42")
+    private String scenarioId;
+
+    @Schema(description = "Unique identifier of the product", example = "00000000-0000-0000-0000-00000000000b")
+    private UUID productId;
+
+    @Schema(description = "Requested principal amount", example = "30000")
+    private BigDecimal amount;
+
+    @Schema(description = "Requested term, in months", example = "48")
+    private Integer term;
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.interfaces.dtos;
+
+import com.firefly.core.product.interfaces.enums.ProductChangeEntityEnum;
+import com.firefly.core.product.interfaces.enums.ProductChangeOperationEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Compact notice that a product, configuration or category row changed. It
+ * identifies the row but does not carry its contents; subscribers read the
+ * row back when they need it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A change to a product, product configuration or product category")
+public class ProductChangeEventDTO {
+
+    @Schema(description = "Position of the event in the feed; resume after it with Last-Event-ID", example = "1042")
+    private Long sequenceNumber;
+
+    @Schema(description = "Kind of row that changed", example = "CONFIGURATION")
+    private ProductChangeEntityEnum entity;
+
+    @Schema(description = "Identifier of the changed row", example = "3f0c6f8e-8a4b-4d8e-9a53-2b1c9f0a7d11")
+    private UUID entityId;
+
+    @Schema(description = "Product the row belongs to; null for categories",
+            example = "00000000-0000-0000-0000-00000000000a")
+    private UUID productId;
+
+    @Schema(description = "Tenant of the product; null for categories")
+    private UUID tenantId;
+
+    @Schema(description = "Kind of write", example = "UPDATE")
+    private ProductChangeOperationEnum operation;
+
+    @Schema(description = "date_updated of the row after the write; null for deletes")
+    private LocalDateTime dateUpdated;
+}
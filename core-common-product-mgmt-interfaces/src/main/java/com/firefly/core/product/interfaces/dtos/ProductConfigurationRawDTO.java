@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.interfaces.dtos;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.util.UUID;
+
+/**
+ * Read-only "raw" representation of a {@link ProductConfigurationDTO}: the
+ * stored {@code config_value} is embedded in the response as JSON rather
+ * than as an escaped string, so clients read fee or bracket arrays directly
+ * instead of parsing a string a second time.
+ *
+ * <p>{@link #configValue} holds the JSONB text exactly as PostgreSQL returned
+ * it, which is always one valid JSON value, and is copied into the response
+ * with {@link JsonRawValue} without being scanned or re-encoded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@Schema(description = "Product configuration whose value is embedded as JSON")
+public class ProductConfigurationRawDTO extends BaseDTO {
+
+    private UUID productConfigurationId;
+    private UUID productId;
+    private ProductConfigTypeEnum configType;
+    private String configKey;
+
+    @JsonRawValue
+    @Schema(description = "Stored value as a JSON document; values stored as free text are JSON strings",
+            type = "object", example = "[{\"type\":\"OPENING_FEE\",\"percentage\":1.0,\"fixed\":0}]")
+    private String configValue;
+}
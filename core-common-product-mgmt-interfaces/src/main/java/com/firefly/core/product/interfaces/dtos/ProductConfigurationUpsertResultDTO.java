@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.interfaces.dtos;
+
+import com.firefly.core.product.interfaces.enums.ConfigurationUpsertOutcomeEnum;
+import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one row of a bulk configuration upsert. A rejected row carries
+ * an error code instead of failing the request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a single row of a bulk configuration upsert")
+public class ProductConfigurationUpsertResultDTO {
+
+    @Schema(description = "Zero-based position of the row in the request", example = "41")
+    private long index;
+
+    @Schema(description = "Unique identifier of the product", example = "00000000-0000-0000-0000-00000000000b")
+    private UUID productId;
+
+    @Schema(description = "Configuration type", example = "PRICING")
+    private ProductConfigTypeEnum configType;
+
+    @Schema(description = "Configuration key", example = "fees")
+    private String configKey;
+
+    @Schema(description = "Identifier of the written row; null when the row was unchanged or rejected")
+    private UUID productConfigurationId;
+
+    @Schema(description = "What the request did with the row", example = "UPDATED")
+    private ConfigurationUpsertOutcomeEnum outcome;
+
+    @Schema(description = "Error code when the row was rejected (e.g. PRODUCT_NOT_FOUND)",
+            example = "PRODUCT_NOT_FOUND")
+    private String errorCode;
+
+    @Schema(description = "Human-readable error message when the row was rejected")
+    private String errorMessage;
+}
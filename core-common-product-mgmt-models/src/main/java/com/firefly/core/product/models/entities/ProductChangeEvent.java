@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.models.entities;
+
+import com.firefly.core.product.interfaces.enums.ProductChangeEntityEnum;
+import com.firefly.core.product.interfaces.enums.ProductChangeOperationEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One entry of the change feed. Written by a database trigger on every write
+ * of a product, configuration or category row; read-only for the
+ * application apart from retention pruning.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("product_change_event")
+public class ProductChangeEvent {
+
+    @Id
+    @Column("sequence_number")
+    private Long sequenceNumber;
+
+    @Column("entity")
+    private ProductChangeEntityEnum entity;
+
+    @Column("entity_id")
+    private UUID entityId;
+
+    @Column("product_id")
+    private UUID productId;
+
+    @Column("tenant_id")
+    private UUID tenantId;
+
+    @Column("operation")
+    private ProductChangeOperationEnum operation;
+
+    @Column("date_updated")
+    private LocalDateTime dateUpdated;
+
+    @Column("date_created")
+    private OffsetDateTime dateCreated;
+
+    /** Transaction that wrote the event; with the sequence number, its position in the feed (V24). */
+    @Column("transaction_id")
+    private Long transactionId;
+}
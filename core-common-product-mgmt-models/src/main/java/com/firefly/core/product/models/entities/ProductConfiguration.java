@@ -18,6 +18,7 @@
 package com.firefly.core.product.models.entities;
 
 import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import io.r2dbc.postgresql.codec.Json;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -48,7 +49,12 @@ public class ProductConfiguration extends BaseEntity {
     @Column("config_key")
     private String configKey;
 
+    /**
+     * Stored as JSONB (V18). Typed as {@link Json} for the same reason as
+     * {@link Product#getMarketingFeatures()}: the driver binds it as JSONB
+     * natively, where a {@code String} would be bound as VARCHAR.
+     */
     @Column("config_value")
-    private String configValue;
+    private Json configValue;
 }
 
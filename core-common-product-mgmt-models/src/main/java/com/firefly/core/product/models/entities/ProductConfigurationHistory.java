@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.models.entities;
+
+import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import io.r2dbc.postgresql.codec.Json;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One version of a {@code product_configuration} row, valid over
+ * {@code [validFrom, validTo)}. Written by a database trigger on every
+ * insert, update and delete of the live row; read-only for the application.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("product_configuration_history")
+public class ProductConfigurationHistory {
+
+    @Id
+    @Column("product_configuration_history_id")
+    private Long productConfigurationHistoryId;
+
+    @Column("product_configuration_id")
+    private UUID productConfigurationId;
+
+    @Column("product_id")
+    private UUID productId;
+
+    @Column("config_type")
+    private ProductConfigTypeEnum configType;
+
+    @Column("config_key")
+    private String configKey;
+
+    @Column("config_value")
+    private Json configValue;
+
+    @Column("valid_from")
+    private OffsetDateTime validFrom;
+
+    @Column("valid_to")
+    private OffsetDateTime validTo;
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.models.entities;
+
+import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.relational.core.mapping.Column;
+
+import java.util.UUID;
+
+/**
+ * A {@code product_configuration} row written by
+ * {@code ProductConfigurationRepository#upsertAll}, and whether the statement
+ * inserted it or updated an existing row. Read-only; not mapped to a table.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductConfigurationUpsert {
+
+    @Column("product_configuration_id")
+    private UUID productConfigurationId;
+
+    @Column("product_id")
+    private UUID productId;
+
+    @Column("config_type")
+    private ProductConfigTypeEnum configType;
+
+    @Column("config_key")
+    private String configKey;
+
+    @Column("created")
+    private boolean created;
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.product.models.entities;
+
+import com.firefly.core.product.interfaces.enums.ProductStatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Pricing document of a product composed by the
+ * {@code product_pricing_document} view (V17): the JSON text of its
+ * aggregated pricing parameters, built in PostgreSQL from the product row and
+ * its LIMITS / PRICING configuration rows. Read-only.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("product_pricing_document")
+public class ProductPricingDocument {
+
+    @Id
+    @Column("product_id")
+    private UUID productId;
+
+    @Column("tenant_id")
+    private UUID tenantId;
+
+    @Column("product_status")
+    private ProductStatusEnum productStatus;
+
+    @Column("derived_type")
+    private String derivedType;
+
+    @Column("etag")
+    private String etag;
+
+    @Column("document")
+    private String document;
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.models.repositories;
+
+import com.firefly.core.product.models.entities.ProductChangeEvent;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+public interface ProductChangeEventRepository extends BaseRepository<ProductChangeEvent, Long> {
+
+    /**
+     * Returns the deliverable events that follow the given position, in feed
+     * order: {@code (transaction_id, sequence_number)}. Only events written
+     * by transactions older than the oldest one still running are returned,
+     * so no event can later appear before the last one returned (V24).
+     *
+     * @param transactionId  transaction of the last event already seen by the
+     *                       caller
+     * @param sequenceNumber sequence number of that event
+     * @param limit          maximum number of events returned
+     * @return a Flux emitting the events in feed order
+     */
+    @Query("SELECT * FROM product_change_event"
+            + " WHERE (transaction_id, sequence_number) > (:transactionId, :sequenceNumber)"
+            + " AND transaction_id < pg_snapshot_xmin(pg_current_snapshot())::text::bigint"
+            + " ORDER BY transaction_id, sequence_number"
+            + " LIMIT :limit")
+    Flux<ProductChangeEvent> findDeliverableAfter(
+            @Param("transactionId") long transactionId,
+            @Param("sequenceNumber") long sequenceNumber,
+            @Param("limit") int limit);
+
+    /**
+     * Returns the id of the oldest transaction still running: every event
+     * written by an older transaction is final, and every event still to be
+     * committed belongs to this transaction or a newer one.
+     *
+     * @return a Mono emitting the transaction id
+     */
+    @Query("SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint")
+    Mono<Long> findDeliveryHorizon();
+
+    /**
+     * Deletes the events recorded before {@code cutoff}.
+     *
+     * @param cutoff oldest creation instant kept
+     * @return a Mono emitting the number of deleted events
+     */
+    @Modifying
+    @Query("DELETE FROM product_change_event WHERE date_created < :cutoff")
+    Mono<Long> deleteCreatedBefore(@Param("cutoff") OffsetDateTime cutoff);
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.models.repositories;
+
+import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import com.firefly.core.product.models.entities.ProductConfigurationHistory;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public interface ProductConfigurationHistoryRepository
+        extends BaseRepository<ProductConfigurationHistory, Long> {
+
+    /**
+     * Returns the version of a configuration key that was in effect at
+     * {@code asOf}: the latest version starting at or before that instant,
+     * provided it had not been closed by then. One descent of
+     * {@code idx_product_configuration_history_as_of}; older versions are
+     * never read.
+     *
+     * @param productId  owning product
+     * @param configType configuration type
+     * @param configKey  configuration key
+     * @param asOf       instant of interest
+     * @return a Mono emitting the effective version, or empty if the key did
+     *         not exist at {@code asOf}
+     */
+    @Query("SELECT * FROM ("
+            + " SELECT * FROM product_configuration_history"
+            + " WHERE product_id = :productId"
+            + " AND config_type = CAST(:configType AS product_config_type)"
+            + " AND config_key = :configKey"
+            + " AND valid_from <= :asOf"
+            + " ORDER BY valid_from DESC, product_configuration_history_id DESC"
+            + " LIMIT 1"
+            + ") latest WHERE latest.valid_to IS NULL OR latest.valid_to > :asOf")
+    Mono<ProductConfigurationHistory> findEffectiveAt(
+            @Param("productId") UUID productId,
+            @Param("configType") ProductConfigTypeEnum configType,
+            @Param("configKey") String configKey,
+            @Param("asOf") OffsetDateTime asOf);
+}
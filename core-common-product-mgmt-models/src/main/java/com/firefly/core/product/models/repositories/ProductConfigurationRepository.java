@@ -19,6 +19,9 @@ package com.firefly.core.product.models.repositories;
 
 import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
 import com.firefly.core.product.models.entities.ProductConfiguration;
+import com.firefly.core.product.models.entities.ProductConfigurationUpsert;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -31,5 +34,110 @@ public interface ProductConfigurationRepository extends BaseRepository<ProductCo
     Flux<ProductConfiguration> findByProductIdAndConfigType(UUID productId, ProductConfigTypeEnum configType);
 
     Mono<ProductConfiguration> findByProductIdAndConfigKey(UUID productId, String configKey);
-}
 
+    /**
+     * Loads every configuration row owned by any of the given products in a
+     * single round-trip. Backed by {@code idx_product_configuration_product_id_id};
+     * the ids are bound as one {@code uuid[]} parameter so the statement text
+     * (and its prepared plan) is the same regardless of how many products are
+     * requested.
+     *
+     * @param productIds identifiers of the products whose configuration rows
+     *                   should be returned
+     * @return a Flux emitting the configuration rows of all requested products,
+     *         in no particular order
+     */
+    @Query("SELECT * FROM product_configuration WHERE product_id = ANY(:productIds)")
+    Flux<ProductConfiguration> findByProductIdIn(@Param("productIds") UUID[] productIds);
+
+    /**
+     * Finds the configuration rows of one type and key whose value satisfies
+     * a jsonpath predicate, across the products of one tenant. Backed by the
+     * GIN index {@code idx_product_configuration_value_path} (V18): the
+     * equality conditions of the predicate are looked up in the index and the
+     * rest is rechecked on the matching rows. Errors raised while evaluating
+     * the predicate against a value count as no match.
+     *
+     * @param tenantId   tenant owning the products whose rows are searched
+     * @param configType type of the rows to search
+     * @param configKey  key of the rows to search
+     * @param predicate  a jsonpath predicate check expression, for example
+     *                   {@code exists($[*] ? (@.type == "OPENING_FEE" && @.percentage > 2))}
+     * @param limit      maximum number of rows returned
+     * @return a Flux emitting the matching rows ordered by product
+     */
+    @Query("SELECT c.* FROM product_configuration c"
+            + " JOIN product p ON p.product_id = c.product_id"
+            + " WHERE p.tenant_id = :tenantId"
+            + " AND c.config_type = :configType AND c.config_key = :configKey"
+            + " AND c.config_value @@ CAST(:predicate AS jsonpath)"
+            + " ORDER BY c.product_id, c.product_configuration_id"
+            + " LIMIT :limit")
+    Flux<ProductConfiguration> findByConfigValueMatching(
+            @Param("tenantId") UUID tenantId,
+            @Param("configType") ProductConfigTypeEnum configType,
+            @Param("configKey") String configKey,
+            @Param("predicate") String predicate,
+            @Param("limit") int limit);
+
+    /**
+     * Inserts or updates many configuration rows with one multi-row
+     * {@code INSERT ... ON CONFLICT DO UPDATE} on
+     * {@code uq_product_configuration_product_type_key} (V19). Like
+     * {@link #findByProductIdIn(UUID[])}, the rows are bound as one array per
+     * column, so the statement text is the same whatever the batch size. The
+     * arrays are read position by position and must have the same length.
+     * No {@code (productId, configType, configKey)} may appear twice in one
+     * call.
+     *
+     * <p>A row whose stored value already equals the new one is left alone
+     * and not returned, so it gets no new history version or
+     * {@code date_updated}.
+     *
+     * @param productIds   owning product of each row
+     * @param configTypes  {@code product_config_type} names of each row
+     * @param configKeys   key of each row
+     * @param configValues JSON text of each row's value, or {@code null}
+     * @return a Flux emitting the inserted and updated rows, in no particular
+     *         order
+     */
+    @Query("WITH input AS ("
+            + " SELECT * FROM unnest(CAST(:productIds AS uuid[]), CAST(:configTypes AS product_config_type[]),"
+            + " CAST(:configKeys AS varchar[]), CAST(:configValues AS jsonb[]))"
+            + " AS t(product_id, config_type, config_key, config_value)),"
+            + " existing AS ("
+            + " SELECT c.product_configuration_id FROM product_configuration c JOIN input i"
+            + " ON c.product_id = i.product_id AND c.config_type = i.config_type AND c.config_key = i.config_key)"
+            + " INSERT INTO product_configuration AS c (product_id, config_type, config_key, config_value)"
+            + " SELECT product_id, config_type, config_key, config_value FROM input"
+            + " ON CONFLICT (product_id, config_type, config_key) DO UPDATE"
+            + " SET config_value = EXCLUDED.config_value, date_updated = CURRENT_TIMESTAMP"
+            + " WHERE c.config_value IS DISTINCT FROM EXCLUDED.config_value"
+            + " RETURNING c.product_configuration_id, c.product_id, c.config_type, c.config_key,"
+            + " c.product_configuration_id NOT IN (SELECT product_configuration_id FROM existing) AS created")
+    Flux<ProductConfigurationUpsert> upsertAll(
+            @Param("productIds") UUID[] productIds,
+            @Param("configTypes") String[] configTypes,
+            @Param("configKeys") String[] configKeys,
+            @Param("configValues") String[] configValues);
+
+    /**
+     * Returns up to {@code limit} configurations of a product whose identifier
+     * follows {@code after}, in identifier order: one range scan of
+     * {@code idx_product_configuration_product_id_id} that stops after the page.
+     *
+     * @param productId owning product
+     * @param after     identifier of the last row of the previous page, or
+     *                  the nil UUID for the first page
+     * @param limit     maximum number of rows returned
+     * @return a Flux emitting the rows in identifier order
+     */
+    @Query("SELECT * FROM product_configuration"
+            + " WHERE product_id = :productId AND product_configuration_id > :after"
+            + " ORDER BY product_configuration_id"
+            + " LIMIT :limit")
+    Flux<ProductConfiguration> findPageByProductId(
+            @Param("productId") UUID productId,
+            @Param("after") UUID after,
+            @Param("limit") int limit);
+}
@@ -20,6 +20,8 @@ package com.firefly.core.product.models.repositories;
 import com.firefly.core.product.interfaces.enums.DocTypeEnum;
 import com.firefly.core.product.models.entities.ProductDocumentation;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -38,4 +40,24 @@ public interface ProductDocumentationRepository extends BaseRepository<ProductDo
 
     Flux<ProductDocumentation> findByDocType(DocTypeEnum docType, Pageable pageable);
     Mono<Long> countByDocType(DocTypeEnum docType);
+
+    /**
+     * Returns up to {@code limit} documentations of a product whose identifier
+     * follows {@code after}, in identifier order: one range scan of
+     * {@code idx_product_documentation_product_id_id} that stops after the page.
+     *
+     * @param productId owning product
+     * @param after     identifier of the last row of the previous page, or
+     *                  the nil UUID for the first page
+     * @param limit     maximum number of rows returned
+     * @return a Flux emitting the rows in identifier order
+     */
+    @Query("SELECT * FROM product_documentation"
+            + " WHERE product_id = :productId AND product_documentation_id > :after"
+            + " ORDER BY product_documentation_id"
+            + " LIMIT :limit")
+    Flux<ProductDocumentation> findPageByProductId(
+            @Param("productId") UUID productId,
+            @Param("after") UUID after,
+            @Param("limit") int limit);
 }
@@ -20,6 +20,8 @@ package com.firefly.core.product.models.repositories;
 import com.firefly.core.product.interfaces.enums.ContractingDocTypeEnum;
 import com.firefly.core.product.models.entities.ProductDocumentationRequirement;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -82,4 +84,24 @@ public interface ProductDocumentationRequirementRepository extends BaseRepositor
      * @return A Mono with the number of deleted entities
      */
     Mono<UUID> deleteByProductId(Long productId);
-}
\ No newline at end of file
+
+    /**
+     * Returns up to {@code limit} documentation requirements of a product whose identifier
+     * follows {@code after}, in identifier order: one range scan of
+     * {@code idx_product_doc_requirement_product_id_id} that stops after the page.
+     *
+     * @param productId owning product
+     * @param after     identifier of the last row of the previous page, or
+     *                  the nil UUID for the first page
+     * @param limit     maximum number of rows returned
+     * @return a Flux emitting the rows in identifier order
+     */
+    @Query("SELECT * FROM product_documentation_requirement"
+            + " WHERE product_id = :productId AND product_doc_requirement_id > :after"
+            + " ORDER BY product_doc_requirement_id"
+            + " LIMIT :limit")
+    Flux<ProductDocumentationRequirement> findPageByProductId(
+            @Param("productId") UUID productId,
+            @Param("after") UUID after,
+            @Param("limit") int limit);
+}
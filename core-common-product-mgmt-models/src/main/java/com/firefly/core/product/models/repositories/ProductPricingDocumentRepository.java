@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.firefly.core.product.models.repositories;
+
+import com.firefly.core.product.interfaces.enums.ProductStatusEnum;
+import com.firefly.core.product.models.entities.ProductPricingDocument;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Reads the pricing documents composed by the {@code product_pricing_document}
+ * view. Each method is one statement: the view is inlined by PostgreSQL, so
+ * the status, tenant and derived-type predicates are served by the same
+ * {@code product} indexes as the matching {@link ProductRepository} queries.
+ */
+@Repository
+public interface ProductPricingDocumentRepository extends BaseRepository<ProductPricingDocument, UUID> {
+
+    /**
+     * @param status   the lifecycle status to filter by
+     * @param tenantId the unique identifier of the tenant
+     * @return a Flux emitting the documents of the tenant's products in that status
+     */
+    Flux<ProductPricingDocument> findByProductStatusAndTenantId(ProductStatusEnum status, UUID tenantId);
+
+    /**
+     * @param status      the lifecycle status to filter by
+     * @param tenantId    the unique identifier of the tenant
+     * @param derivedType upper-case derived product-type label
+     * @return a Flux emitting the documents of the tenant's matching products
+     */
+    Flux<ProductPricingDocument> findByProductStatusAndTenantIdAndDerivedType(
+            ProductStatusEnum status, UUID tenantId, String derivedType);
+}
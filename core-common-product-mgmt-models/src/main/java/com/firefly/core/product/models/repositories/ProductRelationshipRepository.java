@@ -20,6 +20,8 @@ package com.firefly.core.product.models.repositories;
 import com.firefly.core.product.interfaces.enums.RelationshipTypeEnum;
 import com.firefly.core.product.models.entities.ProductRelationship;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -41,4 +43,24 @@ public interface ProductRelationshipRepository extends BaseRepository<ProductRel
 
     Flux<ProductRelationship> findByRelationshipType(RelationshipTypeEnum type, Pageable pageable);
     Mono<Long> countByRelationshipType(RelationshipTypeEnum type);
-}
\ No newline at end of file
+
+    /**
+     * Returns up to {@code limit} relationships of a product whose identifier
+     * follows {@code after}, in identifier order: one range scan of
+     * {@code idx_product_relationship_product_id_id} that stops after the page.
+     *
+     * @param productId owning product
+     * @param after     identifier of the last row of the previous page, or
+     *                  the nil UUID for the first page
+     * @param limit     maximum number of rows returned
+     * @return a Flux emitting the rows in identifier order
+     */
+    @Query("SELECT * FROM product_relationship"
+            + " WHERE product_id = :productId AND product_relationship_id > :after"
+            + " ORDER BY product_relationship_id"
+            + " LIMIT :limit")
+    Flux<ProductRelationship> findPageByProductId(
+            @Param("productId") UUID productId,
+            @Param("after") UUID after,
+            @Param("limit") int limit);
+}
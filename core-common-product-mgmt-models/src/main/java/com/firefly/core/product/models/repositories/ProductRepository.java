@@ -19,8 +19,11 @@ package com.firefly.core.product.models.repositories;
 
 import com.firefly.core.product.interfaces.enums.ProductStatusEnum;
 import com.firefly.core.product.models.entities.Product;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 
@@ -60,4 +63,64 @@ public interface ProductRepository extends BaseRepository<Product, UUID> {
      *         to the given tenant
      */
     Flux<Product> findByProductStatusAndTenantId(ProductStatusEnum status, UUID tenantId);
+
+    /**
+     * Finds all products with the given lifecycle status whose derived
+     * product-type label (the stored {@code derived_type} column: upper-cased
+     * {@code product_code} without its {@code _DEMO} suffix) equals
+     * {@code derivedType}. Served by {@code idx_product_status_derived_type}.
+     *
+     * @param status      the lifecycle status to filter by
+     * @param derivedType upper-case derived product-type label
+     *                    (e.g. {@code "PERSONAL_LOAN"})
+     * @return a Flux emitting only the matching products
+     */
+    @Query("SELECT * FROM product WHERE product_status = :status AND derived_type = :derivedType")
+    Flux<Product> findByProductStatusAndDerivedType(
+            @Param("status") ProductStatusEnum status,
+            @Param("derivedType") String derivedType);
+
+    /**
+     * Tenant-scoped variant of
+     * {@link #findByProductStatusAndDerivedType(ProductStatusEnum, String)},
+     * served by {@code idx_product_tenant_status_derived_type}.
+     *
+     * @param status      the lifecycle status to filter by
+     * @param tenantId    the unique identifier of the tenant
+     * @param derivedType upper-case derived product-type label
+     * @return a Flux emitting only the matching products of the tenant
+     */
+    @Query("SELECT * FROM product WHERE tenant_id = :tenantId AND product_status = :status "
+            + "AND derived_type = :derivedType")
+    Flux<Product> findByProductStatusAndTenantIdAndDerivedType(
+            @Param("status") ProductStatusEnum status,
+            @Param("tenantId") UUID tenantId,
+            @Param("derivedType") String derivedType);
+
+    /**
+     * Version of a tenant's active catalog listed by {@code /with-pricing}: an
+     * md5 over the identity and {@code date_updated} of every {@code ACTIVE}
+     * product in scope and of all its configuration rows. Any write, status
+     * change, insert or delete of those rows yields a new value, so it can
+     * validate the listing without loading or compiling it. Reads the product
+     * indexes of V11 / V15 and the {@code product_id} index of
+     * {@code product_configuration}; no configuration value is decoded.
+     *
+     * @param tenantId    tenant whose catalog is versioned
+     * @param derivedType upper-case derived product-type label; {@code null}
+     *                    for every type
+     * @return a Mono emitting the version (the md5 of an empty string for an
+     *         empty catalog)
+     */
+    @Query("SELECT md5(coalesce(string_agg(concat_ws('|', p.product_id, p.date_updated, "
+            + "c.product_configuration_id, c.date_updated), ',' "
+            + "ORDER BY p.product_id, c.product_configuration_id), '')) "
+            + "FROM product p "
+            + "LEFT JOIN product_configuration c ON c.product_id = p.product_id "
+            + "WHERE p.product_status = 'ACTIVE'::product_status "
+            + "AND p.tenant_id = :tenantId "
+            + "AND (CAST(:derivedType AS VARCHAR) IS NULL OR p.derived_type = :derivedType)")
+    Mono<String> findActiveCatalogVersion(
+            @Param("tenantId") UUID tenantId,
+            @Param("derivedType") String derivedType);
 }
@@ -19,6 +19,8 @@ package com.firefly.core.product.models.repositories;
 
 import com.firefly.core.product.models.entities.ProductVersion;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -27,4 +29,24 @@ import java.util.UUID;
 public interface ProductVersionRepository extends BaseRepository<ProductVersion, UUID> {
     Flux<ProductVersion> findByProductId(UUID productId, Pageable pageable);
     Mono<Long> countByProductId(UUID productId);
+
+    /**
+     * Returns up to {@code limit} versions of a product whose identifier
+     * follows {@code after}, in identifier order: one range scan of
+     * {@code idx_product_version_product_id_id} that stops after the page.
+     *
+     * @param productId owning product
+     * @param after     identifier of the last row of the previous page, or
+     *                  the nil UUID for the first page
+     * @param limit     maximum number of rows returned
+     * @return a Flux emitting the rows in identifier order
+     */
+    @Query("SELECT * FROM product_version"
+            + " WHERE product_id = :productId AND product_version_id > :after"
+            + " ORDER BY product_version_id"
+            + " LIMIT :limit")
+    Flux<ProductVersion> findPageByProductId(
+            @Param("productId") UUID productId,
+            @Param("after") UUID after,
+            @Param("limit") int limit);
 }
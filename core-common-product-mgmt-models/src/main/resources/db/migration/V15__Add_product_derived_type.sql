@@ -0,0 +1,35 @@
+-- V15__Add_product_derived_type.sql
+-- ---------------------------------
+-- Materialises the calculator-friendly product-type label used by
+-- GET /api/v1/products/with-pricing?productType=... so the filter can be
+-- evaluated by PostgreSQL instead of loading every ACTIVE product and
+-- filtering in memory.
+--
+-- The expression mirrors ProductTypeLabel.derive(...) in the core module:
+--   * product_code upper-cased, with a trailing "_DEMO" stripped;
+--   * when product_code is NULL or blank, the product_type enum label.
+-- Every function used (upper, left, LIKE, regex match, enum equality) is
+-- IMMUTABLE, as required for a stored generated column. product_type is
+-- mapped through CASE rather than product_type::text because enum output
+-- is not immutable.
+
+ALTER TABLE product
+    ADD COLUMN IF NOT EXISTS derived_type VARCHAR(100) GENERATED ALWAYS AS (
+        CASE
+            WHEN product_code IS NULL OR product_code ~ '^\s*$' THEN
+                CASE product_type
+                    WHEN 'FINANCIAL' THEN 'FINANCIAL'
+                    WHEN 'NON_FINANCIAL' THEN 'NON_FINANCIAL'
+                END
+            WHEN upper(product_code) LIKE '%\_DEMO' THEN left(upper(product_code), -5)
+            ELSE upper(product_code)
+        END
+    ) STORED;
+
+-- Tenant-scoped catalog reads: WHERE tenant_id = ? AND product_status = ? AND derived_type = ?
+CREATE INDEX IF NOT EXISTS idx_product_tenant_status_derived_type
+    ON product (tenant_id, product_status, derived_type);
+
+-- Cross-tenant listing (no tenant context): WHERE product_status = ? AND derived_type = ?
+CREATE INDEX IF NOT EXISTS idx_product_status_derived_type
+    ON product (product_status, derived_type);
@@ -0,0 +1,78 @@
+-- V16__Create_product_configuration_history.sql
+-- ---------------------------------------------
+-- Keeps every version of every product_configuration row so pricing can be
+-- answered "as of" a past instant (GET /{productId}/pricing?asOf=...).
+--
+-- A version is valid over [valid_from, valid_to); the current version of a
+-- row has valid_to = NULL. Versions are written by a trigger rather than by
+-- the service layer, so rows changed by migrations, scripts or bulk upserts
+-- are recorded too. Deleting a configuration row closes its last version.
+
+CREATE TABLE IF NOT EXISTS product_configuration_history (
+    product_configuration_history_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    product_configuration_id         UUID NOT NULL,
+    product_id                       UUID NOT NULL,
+    config_type                      product_config_type NOT NULL,
+    config_key                       VARCHAR(255) NOT NULL,
+    config_value                     TEXT,
+    valid_from                       TIMESTAMPTZ NOT NULL,
+    valid_to                         TIMESTAMPTZ,
+    CONSTRAINT chk_product_configuration_history_validity
+        CHECK (valid_to IS NULL OR valid_to >= valid_from)
+);
+
+-- Point-in-time lookup of one key:
+--   WHERE product_id = ? AND config_type = ? AND config_key = ? AND valid_from <= ?
+--   ORDER BY valid_from DESC, product_configuration_history_id DESC LIMIT 1
+-- is a single descent of this index. It leads with (product_id, ...,
+-- valid_from), so it also serves per-product range scans over valid_from.
+CREATE INDEX IF NOT EXISTS idx_product_configuration_history_as_of
+    ON product_configuration_history (
+        product_id, config_type, config_key, valid_from DESC, product_configuration_history_id DESC);
+
+-- At most one open version per configuration row; also used by the trigger
+-- to close it.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_product_configuration_history_open
+    ON product_configuration_history (product_configuration_id)
+    WHERE valid_to IS NULL;
+
+CREATE OR REPLACE FUNCTION record_product_configuration_history() RETURNS trigger AS $$
+DECLARE
+    -- clock_timestamp() rather than now(): several writes to the same row in
+    -- one transaction still get ordered, non-empty validity ranges.
+    changed_at TIMESTAMPTZ := clock_timestamp();
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        UPDATE product_configuration_history
+           SET valid_to = changed_at
+         WHERE product_configuration_id = OLD.product_configuration_id
+           AND valid_to IS NULL;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO product_configuration_history (
+            product_configuration_id, product_id, config_type, config_key, config_value, valid_from
+        ) VALUES (
+            NEW.product_configuration_id, NEW.product_id, NEW.config_type, NEW.config_key, NEW.config_value,
+            changed_at
+        );
+        RETURN NEW;
+    END IF;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_product_configuration_history ON product_configuration;
+CREATE TRIGGER trg_product_configuration_history
+    AFTER INSERT OR UPDATE OR DELETE ON product_configuration
+    FOR EACH ROW EXECUTE FUNCTION record_product_configuration_history();
+
+-- Existing rows become the first version, valid since their last update.
+INSERT INTO product_configuration_history (
+    product_configuration_id, product_id, config_type, config_key, config_value, valid_from
+)
+SELECT c.product_configuration_id, c.product_id, c.config_type, c.config_key, c.config_value, c.date_updated
+FROM product_configuration c
+WHERE NOT EXISTS (
+    SELECT 1 FROM product_configuration_history h
+    WHERE h.product_configuration_id = c.product_configuration_id
+);
@@ -0,0 +1,98 @@
+-- V17__Create_product_pricing_document_view.sql
+-- ---------------------------------------------
+-- Composes the pricing document of every product in PostgreSQL, so the SQL
+-- listing engine (product.pricing.listing.engine=SQL) answers
+-- GET /api/v1/products/with-pricing with a single statement and streams
+-- each row's JSON text straight into the response.
+--
+-- The document has the shape of ProductPricingDTO as built by
+-- PricingCompiler in the core module:
+--   * productType is the derived_type column of V15;
+--   * limits are read from (LIMITS, amount_term), brackets from
+--     (PRICING, interest_rate_brackets) and fees from (PRICING, fees);
+--   * brackets are ordered by minAmount, missing bounds first;
+--   * only the properties of InterestRateBracketDTO / FeeDefinitionDTO are
+--     kept, with their values copied as stored.
+-- Products without the three rows, or whose rows are not a JSON object /
+-- array, have no document, which matches the compiled engine skipping them.
+-- Unlike the compiled engine, bracket ladders are not checked for overlaps.
+--
+-- etag hashes the identity and date_updated of the product row and of the
+-- three configuration rows, like the compiled engine's tag; the two engines
+-- produce different tag values for the same data.
+
+-- config_value is TEXT: an unparseable row must drop its product from the
+-- listing instead of failing the whole statement.
+CREATE OR REPLACE FUNCTION try_parse_json(value TEXT) RETURNS JSON
+    LANGUAGE plpgsql IMMUTABLE AS
+$$
+BEGIN
+    RETURN value::json;
+EXCEPTION
+    WHEN others THEN
+        RETURN NULL;
+END;
+$$;
+
+CREATE OR REPLACE VIEW product_pricing_document AS
+SELECT p.product_id,
+       p.tenant_id,
+       p.product_status,
+       p.derived_type,
+       md5(concat_ws('|',
+                     p.product_id, p.date_updated,
+                     l.product_configuration_id, l.date_updated,
+                     r.product_configuration_id, r.date_updated,
+                     f.product_configuration_id, f.date_updated)) AS etag,
+       json_build_object(
+               'productId', p.product_id,
+               'productCode', p.product_code,
+               'productType', p.derived_type,
+               'name', p.product_name,
+               'description', p.product_description,
+               'available', p.product_status = 'ACTIVE'::product_status,
+               'features', CASE WHEN jsonb_typeof(p.marketing_features) = 'array' THEN p.marketing_features END,
+               'currency', l.value ->> 'currency',
+               'minAmount', l.value -> 'minAmount',
+               'maxAmount', l.value -> 'maxAmount',
+               'minTerm', l.value -> 'minTerm',
+               'maxTerm', l.value -> 'maxTerm',
+               'interestRates', (
+                   SELECT coalesce(json_agg(json_build_object(
+                                                    'minAmount', b -> 'minAmount',
+                                                    'maxAmount', b -> 'maxAmount',
+                                                    'tin', b -> 'tin')
+                                            ORDER BY (b -> 'minAmount')::jsonb NULLS FIRST), '[]'::json)
+                   FROM json_array_elements(r.value) b),
+               'fees', (
+                   SELECT coalesce(json_agg(json_build_object(
+                                                    'type', e ->> 'type',
+                                                    'percentage', e -> 'percentage',
+                                                    'fixed', e -> 'fixed')), '[]'::json)
+                   FROM json_array_elements(f.value) e)
+       )::text AS document
+FROM product p
+         JOIN LATERAL (
+    SELECT c.product_configuration_id, c.date_updated, try_parse_json(c.config_value) AS value
+    FROM product_configuration c
+    WHERE c.product_id = p.product_id
+      AND c.config_type = 'LIMITS'::product_config_type
+      AND c.config_key = 'amount_term'
+    LIMIT 1
+    ) l ON json_typeof(l.value) = 'object'
+         JOIN LATERAL (
+    SELECT c.product_configuration_id, c.date_updated, try_parse_json(c.config_value) AS value
+    FROM product_configuration c
+    WHERE c.product_id = p.product_id
+      AND c.config_type = 'PRICING'::product_config_type
+      AND c.config_key = 'interest_rate_brackets'
+    LIMIT 1
+    ) r ON json_typeof(r.value) = 'array'
+         JOIN LATERAL (
+    SELECT c.product_configuration_id, c.date_updated, try_parse_json(c.config_value) AS value
+    FROM product_configuration c
+    WHERE c.product_id = p.product_id
+      AND c.config_type = 'PRICING'::product_config_type
+      AND c.config_key = 'fees'
+    LIMIT 1
+    ) f ON json_typeof(f.value) = 'array';
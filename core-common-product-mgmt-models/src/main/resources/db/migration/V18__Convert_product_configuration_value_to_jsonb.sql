@@ -0,0 +1,106 @@
+-- V18__Convert_product_configuration_value_to_jsonb.sql
+-- -----------------------------------------------------
+-- Stores product_configuration.config_value (and its history copy from V16)
+-- as JSONB, so values can be searched in SQL and consumers no longer parse
+-- them from text.
+--
+-- Values that already are JSON are converted as they are. Any other text
+-- (such as a bare ENABLED) becomes a JSON string, which the service returns
+-- unquoted, so existing clients read back what they stored.
+--
+-- The product_pricing_document view of V17 depends on the column and is
+-- recreated unchanged, except that it reads the JSONB value directly instead
+-- of going through try_parse_json.
+
+CREATE OR REPLACE FUNCTION text_to_jsonb(value TEXT) RETURNS JSONB
+    LANGUAGE plpgsql IMMUTABLE AS
+$$
+BEGIN
+    RETURN value::jsonb;
+EXCEPTION
+    WHEN others THEN
+        RETURN to_jsonb(value);
+END;
+$$;
+
+DROP VIEW IF EXISTS product_pricing_document;
+
+ALTER TABLE product_configuration
+    ALTER COLUMN config_value TYPE JSONB USING text_to_jsonb(config_value);
+
+ALTER TABLE product_configuration_history
+    ALTER COLUMN config_value TYPE JSONB USING text_to_jsonb(config_value);
+
+DROP FUNCTION text_to_jsonb(TEXT);
+DROP FUNCTION IF EXISTS try_parse_json(TEXT);
+
+-- Serves the jsonpath searches of GET /api/v1/products/configurations/search
+-- (config_value @? '<path>'). jsonb_path_ops only indexes values reached
+-- through a path, which keeps it smaller than the default operator class and
+-- is all @? and @> need. The equality conditions of the path are looked up in
+-- the index; everything else is rechecked on the matching rows.
+CREATE INDEX IF NOT EXISTS idx_product_configuration_value_path
+    ON product_configuration USING GIN (config_value jsonb_path_ops);
+
+CREATE OR REPLACE VIEW product_pricing_document AS
+SELECT p.product_id,
+       p.tenant_id,
+       p.product_status,
+       p.derived_type,
+       md5(concat_ws('|',
+                     p.product_id, p.date_updated,
+                     l.product_configuration_id, l.date_updated,
+                     r.product_configuration_id, r.date_updated,
+                     f.product_configuration_id, f.date_updated)) AS etag,
+       json_build_object(
+               'productId', p.product_id,
+               'productCode', p.product_code,
+               'productType', p.derived_type,
+               'name', p.product_name,
+               'description', p.product_description,
+               'available', p.product_status = 'ACTIVE'::product_status,
+               'features', CASE WHEN jsonb_typeof(p.marketing_features) = 'array' THEN p.marketing_features END,
+               'currency', l.value ->> 'currency',
+               'minAmount', l.value -> 'minAmount',
+               'maxAmount', l.value -> 'maxAmount',
+               'minTerm', l.value -> 'minTerm',
+               'maxTerm', l.value -> 'maxTerm',
+               'interestRates', (
+                   SELECT coalesce(json_agg(json_build_object(
+                                                    'minAmount', b -> 'minAmount',
+                                                    'maxAmount', b -> 'maxAmount',
+                                                    'tin', b -> 'tin')
+                                            ORDER BY (b -> 'minAmount')::jsonb NULLS FIRST), '[]'::json)
+                   FROM json_array_elements(r.value) b),
+               'fees', (
+                   SELECT coalesce(json_agg(json_build_object(
+                                                    'type', e ->> 'type',
+                                                    'percentage', e -> 'percentage',
+                                                    'fixed', e -> 'fixed')), '[]'::json)
+                   FROM json_array_elements(f.value) e)
+       )::text AS document
+FROM product p
+         JOIN LATERAL (
+    SELECT c.product_configuration_id, c.date_updated, c.config_value::json AS value
+    FROM product_configuration c
+    WHERE c.product_id = p.product_id
+      AND c.config_type = 'LIMITS'::product_config_type
+      AND c.config_key = 'amount_term'
+    LIMIT 1
+    ) l ON json_typeof(l.value) = 'object'
+         JOIN LATERAL (
+    SELECT c.product_configuration_id, c.date_updated, c.config_value::json AS value
+    FROM product_configuration c
+    WHERE c.product_id = p.product_id
+      AND c.config_type = 'PRICING'::product_config_type
+      AND c.config_key = 'interest_rate_brackets'
+    LIMIT 1
+    ) r ON json_typeof(r.value) = 'array'
+         JOIN LATERAL (
+    SELECT c.product_configuration_id, c.date_updated, c.config_value::json AS value
+    FROM product_configuration c
+    WHERE c.product_id = p.product_id
+      AND c.config_type = 'PRICING'::product_config_type
+      AND c.config_key = 'fees'
+    LIMIT 1
+    ) f ON json_typeof(f.value) = 'array';
@@ -0,0 +1,23 @@
+-- V19__Add_product_configuration_unique_key.sql
+-- ---------------------------------------------
+-- A product holds at most one configuration row per (config_type,
+-- config_key). The constraint is also the conflict target of the bulk upsert
+-- behind PUT /api/v1/products/configurations:bulk.
+--
+-- Duplicates written before the constraint existed are removed first,
+-- keeping the most recently updated row of each key. The history trigger of
+-- V16 closes the versions of the removed rows.
+
+DELETE FROM product_configuration c
+    USING product_configuration newer
+WHERE newer.product_id = c.product_id
+  AND newer.config_type = c.config_type
+  AND newer.config_key = c.config_key
+  AND (newer.date_updated, newer.product_configuration_id) > (c.date_updated, c.product_configuration_id);
+
+ALTER TABLE product_configuration
+    ADD CONSTRAINT uq_product_configuration_product_type_key UNIQUE (product_id, config_type, config_key);
+
+-- The unique index leads with (product_id, config_type), so this one is
+-- redundant.
+DROP INDEX IF EXISTS idx_product_configuration_product_type;
@@ -0,0 +1,88 @@
+-- V20__Create_product_change_feed.sql
+-- -----------------------------------
+-- Change feed behind GET /api/v1/products/changes. Every insert, update and
+-- delete of a product, product_configuration or product_category row
+-- appends a compact event to product_change_event and announces it with
+-- pg_notify on the product_changes channel.
+--
+-- Notifications only reach sessions that are listening when the writing
+-- transaction commits, so the events are also kept in the table: a
+-- subscriber that reconnects replays what it missed after the last sequence
+-- number it saw. Events are pruned by the service after a retention period.
+--
+-- Like product_configuration_history, events are written by triggers, so
+-- rows changed by migrations, scripts or bulk upserts are announced too.
+
+CREATE TABLE IF NOT EXISTS product_change_event (
+    sequence_number BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    entity          VARCHAR(32) NOT NULL,
+    entity_id       UUID NOT NULL,
+    product_id      UUID,
+    tenant_id       UUID,
+    operation       VARCHAR(8) NOT NULL,
+    date_updated    TIMESTAMP,
+    date_created    TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Retention: DELETE FROM product_change_event WHERE date_created < ?
+CREATE INDEX IF NOT EXISTS idx_product_change_event_date_created
+    ON product_change_event (date_created);
+
+CREATE OR REPLACE FUNCTION publish_product_change() RETURNS trigger AS $$
+DECLARE
+    changed RECORD;
+    event   product_change_event%ROWTYPE;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed := OLD;
+    ELSE
+        changed := NEW;
+    END IF;
+
+    IF TG_TABLE_NAME = 'product' THEN
+        event.entity := 'PRODUCT';
+        event.entity_id := changed.product_id;
+        event.product_id := changed.product_id;
+        event.tenant_id := changed.tenant_id;
+    ELSIF TG_TABLE_NAME = 'product_configuration' THEN
+        event.entity := 'CONFIGURATION';
+        event.entity_id := changed.product_configuration_id;
+        event.product_id := changed.product_id;
+        SELECT p.tenant_id INTO event.tenant_id FROM product p WHERE p.product_id = changed.product_id;
+    ELSE
+        event.entity := 'CATEGORY';
+        event.entity_id := changed.product_category_id;
+    END IF;
+
+    INSERT INTO product_change_event (entity, entity_id, product_id, tenant_id, operation, date_updated)
+    VALUES (event.entity, event.entity_id, event.product_id, event.tenant_id, TG_OP,
+            CASE WHEN TG_OP = 'DELETE' THEN NULL ELSE changed.date_updated END)
+    RETURNING * INTO event;
+
+    -- Well under the 8000-byte payload limit of NOTIFY.
+    PERFORM pg_notify('product_changes', json_build_object(
+        'sequenceNumber', event.sequence_number,
+        'entity', event.entity,
+        'entityId', event.entity_id,
+        'productId', event.product_id,
+        'tenantId', event.tenant_id,
+        'operation', event.operation,
+        'dateUpdated', event.date_updated)::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_product_change ON product;
+CREATE TRIGGER trg_product_change
+    AFTER INSERT OR UPDATE OR DELETE ON product
+    FOR EACH ROW EXECUTE FUNCTION publish_product_change();
+
+DROP TRIGGER IF EXISTS trg_product_configuration_change ON product_configuration;
+CREATE TRIGGER trg_product_configuration_change
+    AFTER INSERT OR UPDATE OR DELETE ON product_configuration
+    FOR EACH ROW EXECUTE FUNCTION publish_product_change();
+
+DROP TRIGGER IF EXISTS trg_product_category_change ON product_category;
+CREATE TRIGGER trg_product_category_change
+    AFTER INSERT OR UPDATE OR DELETE ON product_category
+    FOR EACH ROW EXECUTE FUNCTION publish_product_change();
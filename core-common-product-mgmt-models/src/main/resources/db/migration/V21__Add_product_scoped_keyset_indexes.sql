@@ -0,0 +1,30 @@
+-- V21__Add_product_scoped_keyset_indexes.sql
+-- ------------------------------------------
+-- Every row type owned by a product is filtered by product_id, and can now
+-- be listed one keyset page at a time:
+--   WHERE product_id = ? AND <id> > ? ORDER BY <id> LIMIT ?
+-- An index on (product_id, <id>) answers both with a single range scan that
+-- stops after one page, however deep the page is. Version, relationship,
+-- localization and documentation rows had no product_id index at all; the
+-- single-column ones of configuration and documentation requirement are
+-- prefixes of the new indexes and are dropped.
+
+CREATE INDEX IF NOT EXISTS idx_product_configuration_product_id_id
+    ON product_configuration (product_id, product_configuration_id);
+DROP INDEX IF EXISTS idx_product_configuration_product_id;
+
+CREATE INDEX IF NOT EXISTS idx_product_doc_requirement_product_id_id
+    ON product_documentation_requirement (product_id, product_doc_requirement_id);
+DROP INDEX IF EXISTS idx_product_doc_requirement_product_id;
+
+CREATE INDEX IF NOT EXISTS idx_product_version_product_id_id
+    ON product_version (product_id, product_version_id);
+
+CREATE INDEX IF NOT EXISTS idx_product_relationship_product_id_id
+    ON product_relationship (product_id, product_relationship_id);
+
+CREATE INDEX IF NOT EXISTS idx_product_localization_product_id_id
+    ON product_localization (product_id, product_localization_id);
+
+CREATE INDEX IF NOT EXISTS idx_product_documentation_product_id_id
+    ON product_documentation (product_id, product_documentation_id);
@@ -0,0 +1,74 @@
+-- V22__Order_product_change_events_by_commit.sql
+-- ----------------------------------------------
+-- Reworks publish_product_change() from V20.
+--
+-- Commit order: an identity value is taken when the event row is inserted,
+-- not when its transaction commits. With two concurrent writers, T1 could
+-- take 10 and T2 take 11, and T2 could commit first. A subscriber that saw
+-- 11 and resumed after it would never replay 10. The trigger now takes a
+-- transaction-scoped advisory lock before inserting the event. A second
+-- writer waits at its first watched change until the first one commits or
+-- rolls back, so sequence numbers are assigned in commit order. Writes to
+-- the three watched tables serialise from their first change to commit;
+-- unrelated tables are not affected.
+--
+-- Tenant of configuration events: the tenant was looked up from product,
+-- which returns NULL once the product row is gone (scripted or cascaded
+-- deletes). Such events then reached every tenant's subscribers. The
+-- lookup now falls back to the tenant of the latest retained event of the
+-- same product. Only category events are tenant-less by design.
+
+CREATE OR REPLACE FUNCTION publish_product_change() RETURNS trigger AS $$
+DECLARE
+    changed RECORD;
+    event   product_change_event%ROWTYPE;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed := OLD;
+    ELSE
+        changed := NEW;
+    END IF;
+
+    IF TG_TABLE_NAME = 'product' THEN
+        event.entity := 'PRODUCT';
+        event.entity_id := changed.product_id;
+        event.product_id := changed.product_id;
+        event.tenant_id := changed.tenant_id;
+    ELSIF TG_TABLE_NAME = 'product_configuration' THEN
+        event.entity := 'CONFIGURATION';
+        event.entity_id := changed.product_configuration_id;
+        event.product_id := changed.product_id;
+        SELECT p.tenant_id INTO event.tenant_id FROM product p WHERE p.product_id = changed.product_id;
+        IF NOT FOUND THEN
+            SELECT e.tenant_id INTO event.tenant_id
+            FROM product_change_event e
+            WHERE e.product_id = changed.product_id
+              AND e.tenant_id IS NOT NULL
+            ORDER BY e.sequence_number DESC
+            LIMIT 1;
+        END IF;
+    ELSE
+        event.entity := 'CATEGORY';
+        event.entity_id := changed.product_category_id;
+    END IF;
+
+    -- Held until commit; the key is the OID of the event table.
+    PERFORM pg_advisory_xact_lock('product_change_event'::regclass::oid::bigint);
+
+    INSERT INTO product_change_event (entity, entity_id, product_id, tenant_id, operation, date_updated)
+    VALUES (event.entity, event.entity_id, event.product_id, event.tenant_id, TG_OP,
+            CASE WHEN TG_OP = 'DELETE' THEN NULL ELSE changed.date_updated END)
+    RETURNING * INTO event;
+
+    -- Well under the 8000-byte payload limit of NOTIFY.
+    PERFORM pg_notify('product_changes', json_build_object(
+        'sequenceNumber', event.sequence_number,
+        'entity', event.entity,
+        'entityId', event.entity_id,
+        'productId', event.product_id,
+        'tenantId', event.tenant_id,
+        'operation', event.operation,
+        'dateUpdated', event.date_updated)::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,107 @@
+-- V23__Validate_product_pricing_document_brackets.sql
+-- ---------------------------------------------------
+-- Applies the interest-rate bracket validation of the compiled engine to the
+-- product_pricing_document view (V17, recreated by V18), so both listing
+-- engines list the same products.
+--
+-- InterestRateIndex.of rejects a ladder when, with the brackets sorted by
+-- minAmount (missing bounds first), a bracket has no tin, has a minAmount
+-- greater than its maxAmount, or does not start strictly above the
+-- maxAmount of the previous bracket (a missing bound in the middle of the
+-- ladder counts as an overlap). The compiled engine answers such a product
+-- with 502 PRODUCT_CONFIG_INVALID and leaves it out of the listing; the view
+-- now leaves it out too, instead of publishing a ladder on which the same
+-- amount has two rates.
+--
+-- Bounds that are neither a JSON number nor null fail to decode in the
+-- compiled engine; here they make the ladder invalid, so the product is
+-- skipped by both engines. The rest of the view is unchanged.
+
+CREATE OR REPLACE VIEW product_pricing_document AS
+SELECT p.product_id,
+       p.tenant_id,
+       p.product_status,
+       p.derived_type,
+       md5(concat_ws('|',
+                     p.product_id, p.date_updated,
+                     l.product_configuration_id, l.date_updated,
+                     r.product_configuration_id, r.date_updated,
+                     f.product_configuration_id, f.date_updated)) AS etag,
+       json_build_object(
+               'productId', p.product_id,
+               'productCode', p.product_code,
+               'productType', p.derived_type,
+               'name', p.product_name,
+               'description', p.product_description,
+               'available', p.product_status = 'ACTIVE'::product_status,
+               'features', CASE WHEN jsonb_typeof(p.marketing_features) = 'array' THEN p.marketing_features END,
+               'currency', l.value ->> 'currency',
+               'minAmount', l.value -> 'minAmount',
+               'maxAmount', l.value -> 'maxAmount',
+               'minTerm', l.value -> 'minTerm',
+               'maxTerm', l.value -> 'maxTerm',
+               'interestRates', (
+                   SELECT coalesce(json_agg(json_build_object(
+                                                    'minAmount', b -> 'minAmount',
+                                                    'maxAmount', b -> 'maxAmount',
+                                                    'tin', b -> 'tin')
+                                            ORDER BY (b -> 'minAmount')::jsonb NULLS FIRST), '[]'::json)
+                   FROM json_array_elements(r.value) b),
+               'fees', (
+                   SELECT coalesce(json_agg(json_build_object(
+                                                    'type', e ->> 'type',
+                                                    'percentage', e -> 'percentage',
+                                                    'fixed', e -> 'fixed')), '[]'::json)
+                   FROM json_array_elements(f.value) e)
+       )::text AS document
+FROM product p
+         JOIN LATERAL (
+    SELECT c.product_configuration_id, c.date_updated, c.config_value::json AS value
+    FROM product_configuration c
+    WHERE c.product_id = p.product_id
+      AND c.config_type = 'LIMITS'::product_config_type
+      AND c.config_key = 'amount_term'
+    LIMIT 1
+    ) l ON json_typeof(l.value) = 'object'
+         JOIN LATERAL (
+    SELECT c.product_configuration_id, c.date_updated, c.config_value::json AS value
+    FROM product_configuration c
+    WHERE c.product_id = p.product_id
+      AND c.config_type = 'PRICING'::product_config_type
+      AND c.config_key = 'interest_rate_brackets'
+    LIMIT 1
+    ) r ON json_typeof(r.value) = 'array'
+         JOIN LATERAL (
+    SELECT c.product_configuration_id, c.date_updated, c.config_value::json AS value
+    FROM product_configuration c
+    WHERE c.product_id = p.product_id
+      AND c.config_type = 'PRICING'::product_config_type
+      AND c.config_key = 'fees'
+    LIMIT 1
+    ) f ON json_typeof(f.value) = 'array'
+WHERE NOT EXISTS (
+    SELECT 1
+    FROM (
+             SELECT bracket.*,
+                    row_number() OVER ladder AS position,
+                    lag(bracket.max_amount) OVER ladder AS previous_max_amount
+             FROM (
+                      SELECT coalesce(json_typeof(b -> 'tin'), 'null') AS tin_type,
+                             coalesce(json_typeof(b -> 'minAmount'), 'null') AS min_type,
+                             coalesce(json_typeof(b -> 'maxAmount'), 'null') AS max_type,
+                             CASE WHEN json_typeof(b -> 'minAmount') = 'number'
+                                      THEN (b ->> 'minAmount')::numeric END AS min_amount,
+                             CASE WHEN json_typeof(b -> 'maxAmount') = 'number'
+                                      THEN (b ->> 'maxAmount')::numeric END AS max_amount
+                      FROM json_array_elements(r.value) b
+                  ) bracket
+             WINDOW ladder AS (ORDER BY bracket.min_amount NULLS FIRST)
+         ) checked
+    WHERE checked.tin_type = 'null'
+       OR checked.min_type NOT IN ('number', 'null')
+       OR checked.max_type NOT IN ('number', 'null')
+       OR checked.min_amount > checked.max_amount
+       OR (checked.position > 1
+        AND (checked.min_amount IS NULL
+            OR checked.previous_max_amount IS NULL
+            OR checked.previous_max_amount >= checked.min_amount)));
@@ -0,0 +1,85 @@
+-- V24__Deliver_product_change_events_by_transaction.sql
+-- ----------------------------------------------------
+-- Replaces the commit-order lock of V22.
+--
+-- V22 made writers take a transaction-scoped advisory lock before inserting
+-- their events, so sequence numbers followed commit order. That serialised
+-- every write of product, product_configuration and product_category on the
+-- server from its first change to commit, a bulk upsert for its whole batch,
+-- and added a deadlock path with transactions locking rows in another order.
+--
+-- The trigger no longer locks. Each event records the transaction that wrote
+-- it, and the feed orders events by (transaction_id, sequence_number) and
+-- only delivers those whose transaction is older than the oldest one still
+-- running (pg_snapshot_xmin of the reader's snapshot). Every transaction
+-- below that horizon has ended, and any transaction that can still write
+-- events has an id at or above it, so the delivered events are always a
+-- prefix of the final order: resuming after the last event received cannot
+-- skip one committed later. A transaction that runs long anywhere on the
+-- server delays delivery until it ends; it no longer blocks writers.
+--
+-- The tenant fallback for configuration rows whose product is gone reads the
+-- latest event of the product, now through an index.
+
+ALTER TABLE product_change_event
+    ADD COLUMN IF NOT EXISTS transaction_id BIGINT NOT NULL DEFAULT pg_current_xact_id()::text::bigint;
+
+-- Feed reads: WHERE (transaction_id, sequence_number) > (?, ?) ORDER BY transaction_id, sequence_number
+CREATE INDEX IF NOT EXISTS idx_product_change_event_transaction
+    ON product_change_event (transaction_id, sequence_number);
+
+-- Tenant fallback of publish_product_change()
+CREATE INDEX IF NOT EXISTS idx_product_change_event_product
+    ON product_change_event (product_id, sequence_number);
+
+CREATE OR REPLACE FUNCTION publish_product_change() RETURNS trigger AS $$
+DECLARE
+    changed RECORD;
+    event   product_change_event%ROWTYPE;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        changed := OLD;
+    ELSE
+        changed := NEW;
+    END IF;
+
+    IF TG_TABLE_NAME = 'product' THEN
+        event.entity := 'PRODUCT';
+        event.entity_id := changed.product_id;
+        event.product_id := changed.product_id;
+        event.tenant_id := changed.tenant_id;
+    ELSIF TG_TABLE_NAME = 'product_configuration' THEN
+        event.entity := 'CONFIGURATION';
+        event.entity_id := changed.product_configuration_id;
+        event.product_id := changed.product_id;
+        SELECT p.tenant_id INTO event.tenant_id FROM product p WHERE p.product_id = changed.product_id;
+        IF NOT FOUND THEN
+            SELECT e.tenant_id INTO event.tenant_id
+            FROM product_change_event e
+            WHERE e.product_id = changed.product_id
+              AND e.tenant_id IS NOT NULL
+            ORDER BY e.sequence_number DESC
+            LIMIT 1;
+        END IF;
+    ELSE
+        event.entity := 'CATEGORY';
+        event.entity_id := changed.product_category_id;
+    END IF;
+
+    INSERT INTO product_change_event (entity, entity_id, product_id, tenant_id, operation, date_updated)
+    VALUES (event.entity, event.entity_id, event.product_id, event.tenant_id, TG_OP,
+            CASE WHEN TG_OP = 'DELETE' THEN NULL ELSE changed.date_updated END)
+    RETURNING * INTO event;
+
+    -- Well under the 8000-byte payload limit of NOTIFY.
+    PERFORM pg_notify('product_changes', json_build_object(
+        'sequenceNumber', event.sequence_number,
+        'entity', event.entity,
+        'entityId', event.entity_id,
+        'productId', event.product_id,
+        'tenantId', event.tenant_id,
+        'operation', event.operation,
+        'dateUpdated', event.date_updated)::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
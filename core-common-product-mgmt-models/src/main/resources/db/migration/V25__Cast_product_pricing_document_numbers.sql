@@ -0,0 +1,147 @@
+-- V25__Cast_product_pricing_document_numbers.sql
+-- ----------------------------------------------
+-- Makes the product_pricing_document view (V23) publish every amount, term,
+-- rate and fee as a JSON number, as the compiled engine does.
+--
+-- The compiled engine decodes numeric strings: PricingPayloadReader parses a
+-- "minAmount": "1000" or "minTerm": "12" in the amount_term limits, and
+-- Jackson coerces a "tin": "6.90" or "fixed": "0" in brackets and fees to
+-- BigDecimal. Both then serialise as numbers. The view copied those values
+-- as strings, so the same product read "tin": 6.90 from one engine and
+-- "tin": "6.90" from the other, and V23 left out a product whose bracket
+-- bounds were numeric strings although the compiled engine lists it.
+--
+-- pricing_json_decimal and pricing_json_integer decode a value the way the
+-- compiled engine does: JSON numbers and numeric strings (surrounding blanks
+-- ignored) become numeric, terms are truncated to an int, and anything else
+-- - a non-numeric string, a boolean, an object, a term outside the int
+-- range - decodes to NULL. The view builds the document from the decoded
+-- values, orders and validates brackets on them, and leaves out a product
+-- with a present, non-null value that does not decode: the compiled engine
+-- fails to read it and answers 502 PRODUCT_CONFIG_INVALID for it.
+
+CREATE OR REPLACE FUNCTION pricing_json_decimal(value json) RETURNS numeric AS $$
+SELECT CASE
+           WHEN json_typeof(value) = 'number'
+               THEN (value #>> '{}')::numeric
+           WHEN json_typeof(value) = 'string'
+               AND btrim(value #>> '{}') ~ '^[+-]?([0-9]+\.?[0-9]*|\.[0-9]+)([eE][+-]?[0-9]+)?$'
+               THEN btrim(value #>> '{}')::numeric
+           END
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION pricing_json_integer(value json) RETURNS integer AS $$
+SELECT CASE
+           WHEN decoded BETWEEN -2147483648 AND 2147483647 THEN decoded::integer
+           END
+FROM (
+         SELECT CASE
+                    WHEN json_typeof(value) = 'number'
+                        THEN trunc((value #>> '{}')::numeric)
+                    WHEN json_typeof(value) = 'string' AND btrim(value #>> '{}') ~ '^[+-]?[0-9]+$'
+                        THEN btrim(value #>> '{}')::numeric
+                    END AS decoded
+     ) term
+$$ LANGUAGE sql IMMUTABLE;
+
+-- True when the value is missing, JSON null, or decodes to a number (or, with
+-- integral, to an int term).
+CREATE OR REPLACE FUNCTION pricing_json_decodes(value json, integral boolean) RETURNS boolean AS $$
+SELECT coalesce(json_typeof(value), 'null') = 'null'
+           OR (CASE WHEN integral THEN pricing_json_integer(value) ELSE pricing_json_decimal(value) END) IS NOT NULL
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE OR REPLACE VIEW product_pricing_document AS
+SELECT p.product_id,
+       p.tenant_id,
+       p.product_status,
+       p.derived_type,
+       md5(concat_ws('|',
+                     p.product_id, p.date_updated,
+                     l.product_configuration_id, l.date_updated,
+                     r.product_configuration_id, r.date_updated,
+                     f.product_configuration_id, f.date_updated)) AS etag,
+       json_build_object(
+               'productId', p.product_id,
+               'productCode', p.product_code,
+               'productType', p.derived_type,
+               'name', p.product_name,
+               'description', p.product_description,
+               'available', p.product_status = 'ACTIVE'::product_status,
+               'features', CASE WHEN jsonb_typeof(p.marketing_features) = 'array' THEN p.marketing_features END,
+               'currency', l.value ->> 'currency',
+               'minAmount', pricing_json_decimal(l.value -> 'minAmount'),
+               'maxAmount', pricing_json_decimal(l.value -> 'maxAmount'),
+               'minTerm', pricing_json_integer(l.value -> 'minTerm'),
+               'maxTerm', pricing_json_integer(l.value -> 'maxTerm'),
+               'interestRates', (
+                   SELECT coalesce(json_agg(json_build_object(
+                                                    'minAmount', pricing_json_decimal(b -> 'minAmount'),
+                                                    'maxAmount', pricing_json_decimal(b -> 'maxAmount'),
+                                                    'tin', pricing_json_decimal(b -> 'tin'))
+                                            ORDER BY pricing_json_decimal(b -> 'minAmount') NULLS FIRST), '[]'::json)
+                   FROM json_array_elements(r.value) b),
+               'fees', (
+                   SELECT coalesce(json_agg(json_build_object(
+                                                    'type', e ->> 'type',
+                                                    'percentage', pricing_json_decimal(e -> 'percentage'),
+                                                    'fixed', pricing_json_decimal(e -> 'fixed'))), '[]'::json)
+                   FROM json_array_elements(f.value) e)
+       )::text AS document
+FROM product p
+         JOIN LATERAL (
+    SELECT c.product_configuration_id, c.date_updated, c.config_value::json AS value
+    FROM product_configuration c
+    WHERE c.product_id = p.product_id
+      AND c.config_type = 'LIMITS'::product_config_type
+      AND c.config_key = 'amount_term'
+    LIMIT 1
+    ) l ON json_typeof(l.value) = 'object'
+         JOIN LATERAL (
+    SELECT c.product_configuration_id, c.date_updated, c.config_value::json AS value
+    FROM product_configuration c
+    WHERE c.product_id = p.product_id
+      AND c.config_type = 'PRICING'::product_config_type
+      AND c.config_key = 'interest_rate_brackets'
+    LIMIT 1
+    ) r ON json_typeof(r.value) = 'array'
+         JOIN LATERAL (
+    SELECT c.product_configuration_id, c.date_updated, c.config_value::json AS value
+    FROM product_configuration c
+    WHERE c.product_id = p.product_id
+      AND c.config_type = 'PRICING'::product_config_type
+      AND c.config_key = 'fees'
+    LIMIT 1
+    ) f ON json_typeof(f.value) = 'array'
+WHERE pricing_json_decodes(l.value -> 'minAmount', false)
+  AND pricing_json_decodes(l.value -> 'maxAmount', false)
+  AND pricing_json_decodes(l.value -> 'minTerm', true)
+  AND pricing_json_decodes(l.value -> 'maxTerm', true)
+  AND NOT EXISTS (
+    SELECT 1
+    FROM json_array_elements(f.value) e
+    WHERE NOT pricing_json_decodes(e -> 'percentage', false)
+       OR NOT pricing_json_decodes(e -> 'fixed', false))
+  AND NOT EXISTS (
+    SELECT 1
+    FROM (
+             SELECT bracket.*,
+                    row_number() OVER ladder AS position,
+                    lag(bracket.max_amount) OVER ladder AS previous_max_amount
+             FROM (
+                      SELECT pricing_json_decimal(b -> 'tin') AS tin,
+                             pricing_json_decimal(b -> 'minAmount') AS min_amount,
+                             pricing_json_decimal(b -> 'maxAmount') AS max_amount,
+                             pricing_json_decodes(b -> 'minAmount', false)
+                                 AND pricing_json_decodes(b -> 'maxAmount', false) AS bounds_decode
+                      FROM json_array_elements(r.value) b
+                  ) bracket
+             WINDOW ladder AS (ORDER BY bracket.min_amount NULLS FIRST)
+         ) checked
+    WHERE checked.tin IS NULL
+       OR NOT checked.bounds_decode
+       OR checked.min_amount > checked.max_amount
+       OR (checked.position > 1
+        AND (checked.min_amount IS NULL
+            OR checked.previous_max_amount IS NULL
+            OR checked.previous_max_amount >= checked.min_amount)));
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.web.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response body encoded once and served many times: the JSON bytes, their
+ * entity tag and, compressed on first demand, a gzip variant. Instances are
+ * immutable apart from that lazily filled variant, whose concurrent
+ * computation is harmless.
+ */
+public final class EncodedBody {
+
+    private final byte[] json;
+    private final String etag;
+    private final boolean compressible;
+    private volatile byte[] gzip;
+
+    EncodedBody(byte[] json, String etag, boolean compressible) {
+        this.json = json;
+        this.etag = etag;
+        this.compressible = compressible;
+    }
+
+    /**
+     * @return the unquoted entity tag, or {@code null} if the resource is untagged
+     */
+    public String etag() {
+        return etag;
+    }
+
+    /**
+     * @return whether a gzip variant is served to clients that accept it
+     */
+    public boolean compressible() {
+        return compressible;
+    }
+
+    /**
+     * @return the encoded JSON; must not be modified
+     */
+    public byte[] json() {
+        return json;
+    }
+
+    /**
+     * @return the gzip-compressed JSON; must not be modified
+     */
+    public byte[] gzip() {
+        byte[] compressed = gzip;
+        if (compressed == null) {
+            compressed = compress(json);
+            gzip = compressed;
+        }
+        return compressed;
+    }
+
+    private static byte[] compress(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+}
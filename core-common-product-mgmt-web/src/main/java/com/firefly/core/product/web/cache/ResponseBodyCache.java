@@ -0,0 +1,214 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.web.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.product.core.pricing.ProductPricingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-node cache of already-encoded JSON response bodies of hot read
+ * endpoints, keyed by resource kind and product id.
+ *
+ * <p>Each entry holds the JSON bytes produced by the application
+ * {@link ObjectMapper}, the entity tag of the representation and, once a
+ * client asked for it, a gzip variant (see {@link EncodedBody}). Serving a
+ * hit therefore writes a ready-made buffer instead of walking the DTO again.
+ *
+ * <p>Entries are evicted through
+ * {@link ProductPricingCache#addInvalidationListener}, i.e. by the same
+ * after-commit write hooks that evict compiled pricing, so product and
+ * configuration writes made through the service layer are visible on the
+ * next read. Writes made on other nodes evict them the same way once they
+ * arrive on the change feed. Bodies loaded from the database are only published if no
+ * invalidation happened while they were being read, using the pricing
+ * cache's invalidation epoch.
+ */
+@Slf4j
+@Component
+public class ResponseBodyCache {
+
+    static final String CACHE_NAME = "product-response-bodies";
+
+    /** Resource kinds whose bodies are cached. */
+    public enum Resource {
+        /** {@code GET /api/v1/products/{productId}/pricing}. */
+        PRICING,
+        /** {@code GET /api/v1/products/{productId}}. */
+        PRODUCT
+    }
+
+    private final ResponseBodyCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ProductPricingCache pricingCache;
+    private final Cache<Key, EncodedBody> bodies;
+
+    public ResponseBodyCache(
+            ResponseBodyCacheProperties properties,
+            ObjectMapper objectMapper,
+            ProductPricingCache pricingCache,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.pricingCache = pricingCache;
+        this.bodies = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bodies, CACHE_NAME);
+        pricingCache.addInvalidationListener(this::invalidate);
+        pricingCache.addClearListener(bodies::invalidateAll);
+        if (!properties.isEnabled()) {
+            log.info("Response body cache is disabled; every read is encoded on demand");
+        }
+    }
+
+    /**
+     * Returns the encoded form of a body already at hand, reusing the cached
+     * bytes when they carry the same entity tag. Meant for bodies read from
+     * another in-memory snapshot whose tag identifies its content.
+     *
+     * @param resource kind of resource
+     * @param id       product id
+     * @param body     value to encode on a miss
+     * @param etag     unquoted tag of {@code body}; untagged bodies are never reused
+     * @return the encoded body
+     */
+    public EncodedBody encode(Resource resource, UUID id, Object body, String etag) {
+        if (!properties.isEnabled() || etag == null) {
+            return encode(body, etag);
+        }
+        Key key = new Key(resource, id);
+        EncodedBody cached = bodies.getIfPresent(key);
+        if (cached != null && etag.equals(cached.etag())) {
+            return cached;
+        }
+        EncodedBody encoded = encode(body, etag);
+        bodies.put(key, encoded);
+        return encoded;
+    }
+
+    /**
+     * Returns the cached body of a resource, or loads, encodes and caches it
+     * on a miss.
+     *
+     * @param resource kind of resource
+     * @param id       product id
+     * @param loader   reads the body; may complete empty or with an error,
+     *                 neither of which is cached
+     * @param etagOf   computes the unquoted tag of a loaded body
+     * @return a {@link Mono} emitting the encoded body
+     */
+    public <T> Mono<EncodedBody> get(
+            Resource resource, UUID id, Supplier<Mono<T>> loader, Function<T, String> etagOf) {
+        if (!properties.isEnabled()) {
+            return Mono.defer(loader).map(body -> encode(body, etagOf.apply(body)));
+        }
+        Key key = new Key(resource, id);
+        return Mono.defer(() -> {
+            EncodedBody cached = bodies.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long epoch = pricingCache.epoch();
+            return loader.get().map(body -> {
+                EncodedBody encoded = encode(body, etagOf.apply(body));
+                bodies.put(key, encoded);
+                if (pricingCache.epoch() != epoch) {
+                    // Rows may have changed while they were read.
+                    bodies.invalidate(key);
+                }
+                return encoded;
+            });
+        });
+    }
+
+    /**
+     * Encodes a body without caching it, e.g. for historical or filtered
+     * representations.
+     */
+    public EncodedBody encode(Object body, String etag) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new EncodedBody(json, etag, json.length >= properties.getGzipMinBytes());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot encode response body", ex);
+        }
+    }
+
+    /**
+     * Drops every cached body of a product.
+     */
+    public void invalidate(UUID id) {
+        for (Resource resource : Resource.values()) {
+            bodies.invalidate(new Key(resource, id));
+        }
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header admits gzip, i.e. lists
+     * {@code gzip} or {@code *} without {@code q=0}.
+     */
+    public static boolean acceptsGzip(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String header : acceptEncoding) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.trim().toLowerCase(Locale.ROOT).split(";");
+                String name = parts[0].trim();
+                if ((name.equals("gzip") || name.equals("*")) && !rejected(parts)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean rejected(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].replace(" ", "");
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) == 0d;
+                } catch (NumberFormatException ex) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private record Key(Resource resource, UUID id) {
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.web.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the {@link ResponseBodyCache}, bound from
+ * {@code product.response-cache.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "product.response-cache")
+public class ResponseBodyCacheProperties {
+
+    /** Whether encoded response bodies are cached at all. */
+    private boolean enabled = true;
+
+    /** Maximum number of resources whose encoded bodies are kept on this node. */
+    private long maximumSize = 10_000;
+
+    /**
+     * Safety-net expiry. Writes through the service layer evict entries
+     * synchronously on their node and through the change feed on the others
+     * ({@code product.changes.invalidate-caches}); this only bounds the
+     * lifetime of bodies whose rows were changed behind the service's back.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(30);
+
+    /**
+     * Smallest encoded body worth compressing. Smaller bodies are always
+     * sent uncompressed.
+     */
+    private int gzipMinBytes = 1024;
+}
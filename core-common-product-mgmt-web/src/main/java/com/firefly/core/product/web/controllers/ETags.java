@@ -0,0 +1,204 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.web.controllers;
+
+import com.firefly.core.product.interfaces.dtos.BaseDTO;
+import com.firefly.core.product.web.cache.EncodedBody;
+import com.firefly.core.product.web.cache.ResponseBodyCache;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds strongly-tagged {@code 200 OK} responses for the read endpoints.
+ *
+ * <p>A {@link ResponseEntity} carrying an {@code ETag} is checked against
+ * {@code If-None-Match} by WebFlux before the body is written, so a matching
+ * request is answered with {@code 304 Not Modified} and the body is never
+ * serialised. Responses are marked {@code no-cache} so clients always
+ * revalidate instead of serving a stale copy.
+ */
+final class ETags {
+
+    private static final int ETAG_BYTES = 16;
+
+    /** Appended to the tag of a gzip-encoded body, inside the quotes. */
+    static final String GZIP_SUFFIX = "-gzip";
+
+    static final String WARNING = "Warning";
+
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private ETags() {
+    }
+
+    /**
+     * @return a {@code 200 OK} response with {@code etag}, or without any tag
+     *         when {@code etag} is {@code null}
+     */
+    static <T> ResponseEntity<T> ok(T body, String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * Answers {@code If-None-Match} before the body exists, for
+     * representations whose tag is cheaper to derive than their content.
+     *
+     * @return a {@code 304 Not Modified} response carrying the tag the client
+     *         sent, or {@code null} when {@code request} does not hold
+     *         {@code etag}
+     */
+    static <T> ResponseEntity<T> notModified(HttpHeaders request, String etag) {
+        String matched = matching(request.getIfNoneMatch(), etag, "\"" + etag + "\"");
+        if (matched == null) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(CacheControl.noCache())
+                .eTag(matched)
+                .<T>build();
+    }
+
+    /**
+     * A {@code 200 OK} response writing a pre-encoded JSON body as-is, gzip
+     * compressed when the client accepts it and the body is large enough.
+     * Compressible bodies vary by {@code Accept-Encoding}, and the gzip
+     * variant is tagged {@code "<etag>-gzip"}: a strong tag names one exact
+     * byte sequence, so the two variants cannot share it.
+     *
+     * <p>{@code If-None-Match} is checked here rather than by WebFlux, since
+     * either variant's tag proves the client holds the current body. A
+     * match is answered with {@code 304 Not Modified} carrying the tag the
+     * client sent.
+     */
+    static ResponseEntity<DataBuffer> ok(EncodedBody body, HttpHeaders request) {
+        boolean gzip = body.compressible() && ResponseBodyCache.acceptsGzip(request.get(HttpHeaders.ACCEPT_ENCODING));
+        String etag = body.etag() == null || !gzip ? body.etag() : body.etag() + GZIP_SUFFIX;
+        String matched = body.etag() == null ? null : matching(request.getIfNoneMatch(), body.etag(), etag);
+        ResponseEntity.BodyBuilder builder = ResponseEntity
+                .status(matched != null ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .cacheControl(CacheControl.noCache());
+        if (body.compressible()) {
+            builder.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (matched != null) {
+            return builder.eTag(matched).build();
+        }
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        byte[] bytes = body.json();
+        if (gzip) {
+            bytes = body.gzip();
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.contentType(MediaType.APPLICATION_JSON)
+                .contentLength(bytes.length)
+                .body(DefaultDataBufferFactory.sharedInstance.wrap(ByteBuffer.wrap(bytes).asReadOnlyBuffer()));
+    }
+
+    /**
+     * Marks {@code response} as built from a snapshot served while its source
+     * was unavailable: {@code Warning: 110} plus an {@code Age} counted from
+     * {@code producedAt}.
+     */
+    static <T> ResponseEntity<T> stale(ResponseEntity<T> response, Instant producedAt) {
+        long age = Math.max(0, Duration.between(producedAt, Instant.now()).getSeconds());
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(WARNING, STALE_WARNING)
+                .header(HttpHeaders.AGE, Long.toString(age))
+                .body(response.getBody());
+    }
+
+    /**
+     * Tag of a persisted resource, derived from its identifier and its
+     * audited {@code date_updated}.
+     *
+     * @return the unquoted tag, or {@code null} if the resource has never
+     *         been stamped
+     */
+    static String of(UUID id, BaseDTO dto) {
+        LocalDateTime dateUpdated = dto.getDateUpdated();
+        return dateUpdated == null ? null : combine(List.of(String.valueOf(id), dateUpdated.toString()));
+    }
+
+    /**
+     * Tag of a representation made of several tagged parts, in order.
+     */
+    static String combine(Iterable<String> etags) {
+        MessageDigest digest = sha256();
+        for (String etag : etags) {
+            update(digest, etag);
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, ETAG_BYTES);
+    }
+
+    /**
+     * Weak comparison of {@code If-None-Match} against both variants of a
+     * tag, as RFC 9110 prescribes for that header.
+     *
+     * @return the quoted tag that matched ({@code selected} for {@code *}),
+     *         or {@code null}
+     */
+    private static String matching(List<String> ifNoneMatch, String etag, String selected) {
+        for (String candidate : ifNoneMatch) {
+            if (candidate.equals("*")) {
+                return selected;
+            }
+            String opaque = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if (opaque.equals("\"" + etag + "\"") || opaque.equals("\"" + etag + GZIP_SUFFIX + "\"")) {
+                return opaque;
+            }
+        }
+        return null;
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -82,6 +82,11 @@ public class ProductCategoryController {
                     description = "Successfully retrieved the product category",
                     content = @Content(schema = @Schema(implementation = ProductCategoryDTO.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Product category unchanged since the entity tag sent in If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Product category not found",
@@ -92,14 +97,15 @@ public class ProductCategoryController {
             @Parameter(description = "Unique identifier of the product category", required = true)
             @PathVariable UUID categoryId) {
         return service.getCategoryById(categoryId)
-                .map(ResponseEntity::ok)
+                .map(dto -> ETags.ok(dto, ETags.of(dto.getProductCategoryId(), dto)))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     @PostMapping
     @Operation(
             summary = "Create product category",
-            description = "Create a new product category with its associated attributes"
+            description = "Create a new product category with its associated attributes. The response carries " +
+                    "the entity tag later returned by GET /{categoryId}, so clients can revalidate it directly."
     )
     @ApiResponses({
             @ApiResponse(
@@ -117,13 +123,21 @@ public class ProductCategoryController {
             @Parameter(description = "Category data to create", required = true)
             @Valid @RequestBody ProductCategoryDTO categoryDTO) {
         return service.createCategory(categoryDTO)
-                .map(category -> ResponseEntity.status(HttpStatus.CREATED).body(category));
+                .map(category -> {
+                    String etag = ETags.of(category.getProductCategoryId(), category);
+                    ResponseEntity.BodyBuilder created = ResponseEntity.status(HttpStatus.CREATED);
+                    if (etag != null) {
+                        created.eTag(etag);
+                    }
+                    return created.body(category);
+                });
     }
 
     @PutMapping("/{categoryId}")
     @Operation(
             summary = "Update product category",
-            description = "Update the information of an existing product category by its unique identifier"
+            description = "Update the information of an existing product category by its unique identifier. " +
+                    "The response carries the new entity tag of GET /{categoryId}."
     )
     @ApiResponses({
             @ApiResponse(
@@ -148,7 +162,7 @@ public class ProductCategoryController {
             @Parameter(description = "Updated category data", required = true)
             @Valid @RequestBody ProductCategoryDTO categoryDTO) {
         return service.updateCategory(categoryId, categoryDTO)
-                .map(ResponseEntity::ok)
+                .map(dto -> ETags.ok(dto, ETags.of(dto.getProductCategoryId(), dto)))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
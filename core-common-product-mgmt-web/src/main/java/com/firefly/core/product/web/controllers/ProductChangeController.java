@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.web.controllers;
+
+import com.firefly.core.product.core.config.ProductChangeProperties;
+import com.firefly.core.product.core.services.ProductChangeService;
+import com.firefly.core.product.interfaces.dtos.ProductChangeEventDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Server-sent event stream of product, configuration and category changes,
+ * so downstream calculators can react to writes instead of polling.
+ */
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+@Tag(name = "Product Changes", description = "Subscribe to changes of products, configurations and categories")
+public class ProductChangeController {
+
+    static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final ProductChangeService service;
+    private final ProductChangeProperties properties;
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            operationId = "streamProductChanges",
+            summary = "Stream product changes",
+            description = "Streams one event per committed write of a product, product configuration or product " +
+                    "category. The event id is its sequence number and the event name its entity. Events are " +
+                    "delivered once every older transaction has ended, so ids do not always increase. A client " +
+                    "that reconnects with the Last-Event-ID header, or the since parameter, first receives the " +
+                    "events it missed. Idle streams carry a comment line every few seconds."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream of change events",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = ProductChangeEventDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "410",
+                    description = "The events after the requested sequence number are no longer all retained; " +
+                            "the client must resynchronise and subscribe without a sequence number",
+                    content = @Content
+            )
+    })
+    public Flux<ServerSentEvent<ProductChangeEventDTO>> streamChanges(
+            @Parameter(description = "Sequence number of the last event received; overrides since", required = false)
+            @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) Long lastEventId,
+            @Parameter(description = "Sequence number of the last event received", required = false)
+            @RequestParam(value = "since", required = false) Long since,
+            @Parameter(description = "Tenant whose changes are wanted; category changes are always included",
+                    required = false)
+            @RequestParam(value = "tenantId", required = false) UUID tenantId,
+            @Parameter(description = "Tenant whose changes are wanted", required = false)
+            @RequestHeader(value = ProductPricingAggregatorController.TENANT_HEADER, required = false)
+            UUID tenantHeader) {
+        // A browser EventSource reconnects to the original URL, since included,
+        // and sends the id of the last event it received in the header.
+        Long after = lastEventId != null ? lastEventId : since;
+        UUID tenant = tenantId != null ? tenantId : tenantHeader;
+        Flux<ServerSentEvent<ProductChangeEventDTO>> events = service.streamChanges(after, tenant)
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(String.valueOf(event.getSequenceNumber()))
+                        .event(event.getEntity().name())
+                        .build());
+        Flux<ServerSentEvent<ProductChangeEventDTO>> heartbeats = Flux.interval(properties.getHeartbeat())
+                .map(tick -> ServerSentEvent.<ProductChangeEventDTO>builder().comment("heartbeat").build());
+        return Flux.merge(events, heartbeats);
+    }
+}
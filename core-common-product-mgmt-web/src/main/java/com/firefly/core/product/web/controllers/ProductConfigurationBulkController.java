@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.web.controllers;
+
+import com.firefly.core.product.core.services.ProductConfigurationService;
+import com.firefly.core.product.interfaces.dtos.ProductConfigurationDTO;
+import com.firefly.core.product.interfaces.dtos.ProductConfigurationUpsertResultDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Writes configurations of many products in one request.
+ */
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+@Tag(name = "Product Configuration", description = "APIs for managing key-value configuration data for products")
+public class ProductConfigurationBulkController {
+
+    private final ProductConfigurationService service;
+
+    @PutMapping(
+            value = "/configurations:bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(
+            summary = "Create or update many product configurations",
+            description = "Writes a stream of configurations, each naming its productId, keyed by (productId, " +
+                    "configType, configKey): existing rows are updated, missing ones created. Rows are written " +
+                    "in multi-row batches inside one transaction, and one result per row is returned in " +
+                    "request order. Rows without a product, type or key, whose value breaks the schema of its " +
+                    "key, or whose product does not exist, are rejected with an error code without failing " +
+                    "the request. If the stream ends in an error, nothing was written. Send and accept " +
+                    "application/x-ndjson to stream both ways."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream of per-row results",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProductConfigurationUpsertResultDTO.class)))
+            )
+    })
+    public Flux<ProductConfigurationUpsertResultDTO> upsertConfigurations(
+            @Parameter(description = "Configurations to create or update", required = true)
+            @RequestBody Flux<ProductConfigurationDTO> configurations) {
+        return service.upsertConfigurations(configurations);
+    }
+}
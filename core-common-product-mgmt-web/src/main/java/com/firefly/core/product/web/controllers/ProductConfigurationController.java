@@ -20,7 +20,9 @@ package com.firefly.core.product.web.controllers;
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.core.product.core.services.ProductConfigurationService;
+import com.firefly.core.product.interfaces.dtos.KeysetPageDTO;
 import com.firefly.core.product.interfaces.dtos.ProductConfigurationDTO;
+import com.firefly.core.product.interfaces.dtos.ProductConfigurationRawDTO;
 import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -31,6 +33,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -81,6 +85,36 @@ public class ProductConfigurationController {
                 .map(ResponseEntity::ok);
     }
 
+    @GetMapping
+    @Operation(
+            summary = "List product configurations",
+            description = "Retrieve the configurations of a product one keyset page at a time, in identifier order. " +
+                    "Pass the nextAfter of a page as after to get the next one; deep pages cost the same as " +
+                    "the first and no total is counted"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved the page",
+                    content = @Content(schema = @Schema(implementation = KeysetPageDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid after or limit",
+                    content = @Content
+            )
+    })
+    public Mono<ResponseEntity<KeysetPageDTO<ProductConfigurationDTO>>> listConfigurations(
+            @Parameter(description = "Unique identifier of the product", required = true)
+            @PathVariable UUID productId,
+            @Parameter(description = "Last configuration of the previous page; omit for the first page")
+            @RequestParam(value = "after", required = false) UUID after,
+            @Parameter(description = "Maximum number of configurations in the page (1-1000)")
+            @RequestParam(value = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        return service.listConfigurations(productId, after, limit)
+                .map(ResponseEntity::ok);
+    }
+
     @PostMapping
     @Operation(
             summary = "Create product configuration",
@@ -94,7 +128,12 @@ public class ProductConfigurationController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Invalid configuration data",
+                    description = "Invalid configuration data, or a value that breaks the schema of its key",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "The product already has a configuration with this type and key",
                     content = @Content
             ),
             @ApiResponse(
@@ -166,6 +205,35 @@ public class ProductConfigurationController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    @GetMapping(value = "/by-key/{configKey}", params = "representation=raw")
+    @Operation(
+            summary = "Get product configuration by key, value embedded as JSON",
+            description = "Same as getConfigurationByKey, but the stored configValue is written into the " +
+                    "response as a JSON document instead of an escaped string. Selected with " +
+                    "representation=raw."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved the product configuration",
+                    content = @Content(schema = @Schema(implementation = ProductConfigurationRawDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Product configuration not found",
+                    content = @Content
+            )
+    })
+    public Mono<ResponseEntity<ProductConfigurationRawDTO>> getConfigurationByKeyRaw(
+            @Parameter(description = "Unique identifier of the product", required = true)
+            @PathVariable UUID productId,
+            @Parameter(description = "Configuration key", required = true)
+            @PathVariable String configKey) {
+        return service.getConfigurationByKeyRaw(productId, configKey)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/by-type/{configType}")
     @Operation(
             summary = "Get product configurations by type",
@@ -191,6 +259,33 @@ public class ProductConfigurationController {
         return service.getConfigurationsByType(productId, configType);
     }
 
+    @GetMapping(value = "/by-type/{configType}", params = "representation=raw")
+    @Operation(
+            summary = "Get product configurations by type, values embedded as JSON",
+            description = "Same as getConfigurationsByType, but each stored configValue is written into the " +
+                    "response as a JSON document instead of an escaped string. Selected with " +
+                    "representation=raw."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved the product configurations",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProductConfigurationRawDTO.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Product not found",
+                    content = @Content
+            )
+    })
+    public Flux<ProductConfigurationRawDTO> getConfigurationsByTypeRaw(
+            @Parameter(description = "Unique identifier of the product", required = true)
+            @PathVariable UUID productId,
+            @Parameter(description = "Configuration type", required = true)
+            @PathVariable ProductConfigTypeEnum configType) {
+        return service.getConfigurationsByTypeRaw(productId, configType);
+    }
+
     @PutMapping("/{configId}")
     @Operation(
             summary = "Update product configuration",
@@ -204,7 +299,12 @@ public class ProductConfigurationController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Invalid configuration data",
+                    description = "Invalid configuration data, or a value that breaks the schema of its key",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "The product already has a configuration with this type and key",
                     content = @Content
             ),
             @ApiResponse(
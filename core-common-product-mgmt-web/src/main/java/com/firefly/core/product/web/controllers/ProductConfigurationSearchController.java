@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.web.controllers;
+
+import com.firefly.core.product.core.services.ProductConfigurationService;
+import com.firefly.core.product.interfaces.dtos.ProductConfigurationDTO;
+import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Searches the configuration values of one tenant's products, across
+ * products, by jsonpath.
+ */
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Product Configuration", description = "APIs for managing key-value configuration data for products")
+public class ProductConfigurationSearchController {
+
+    private final ProductConfigurationService service;
+
+    @GetMapping("/configurations/search")
+    @Operation(
+            summary = "Search product configurations by value",
+            description = "Find the configurations of one type and key, across the products of the tenant given " +
+                    "in the tenantId parameter or the X-Tenant-Id header, whose stored value matches a jsonpath " +
+                    "expression, for example $[*] ? (@.type == \"OPENING_FEE\" && @.percentage > 2) against " +
+                    "the fees arrays. The expression must start at $ and contain at least one == comparison " +
+                    "against a literal, which is looked up in the value index; variables, like_regex, **, || " +
+                    "and ! are rejected."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully searched the product configurations",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProductConfigurationDTO.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "No tenant given, or an invalid or unsupported jsonpath expression",
+                    content = @Content
+            )
+    })
+    public Flux<ProductConfigurationDTO> searchConfigurations(
+            @Parameter(description = "Configuration type", required = true)
+            @RequestParam ProductConfigTypeEnum configType,
+            @Parameter(description = "Configuration key", required = true)
+            @RequestParam String configKey,
+            @Parameter(description = "jsonpath expression a value must return at least one item for", required = true)
+            @RequestParam String path,
+            @Parameter(description = "Maximum number of configurations returned")
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit,
+            @Parameter(description = "Tenant whose products are searched; overrides the X-Tenant-Id header")
+            @RequestParam(value = "tenantId", required = false) UUID tenantId,
+            @Parameter(description = "Tenant whose products are searched")
+            @RequestHeader(value = ProductPricingAggregatorController.TENANT_HEADER, required = false)
+            UUID tenantHeader) {
+        UUID tenant = tenantId != null ? tenantId : tenantHeader;
+        return service.searchConfigurations(tenant, configType, configKey, path, limit);
+    }
+}
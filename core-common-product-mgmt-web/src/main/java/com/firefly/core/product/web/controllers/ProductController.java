@@ -21,6 +21,7 @@ import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.core.product.core.services.ProductService;
 import com.firefly.core.product.interfaces.dtos.ProductDTO;
+import com.firefly.core.product.web.cache.ResponseBodyCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -30,6 +31,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -46,6 +49,7 @@ import java.util.UUID;
 public class ProductController {
 
     private final ProductService service;
+    private final ResponseBodyCache responseBodies;
 
     @PostMapping("/filter")
     @Operation(
@@ -106,17 +110,27 @@ public class ProductController {
                     description = "Successfully retrieved the product",
                     content = @Content(schema = @Schema(implementation = ProductDTO.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Product unchanged since the entity tag sent in If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Product not found",
                     content = @Content
             )
     })
-    public Mono<ResponseEntity<ProductDTO>> getProductById(
+    public Mono<ResponseEntity<DataBuffer>> getProductById(
             @Parameter(description = "Unique identifier of the product", required = true)
-            @PathVariable UUID productId) {
-        return service.getProductById(productId)
-                .map(ResponseEntity::ok)
+            @PathVariable UUID productId,
+            @Parameter(hidden = true)
+            @RequestHeader HttpHeaders headers) {
+        return responseBodies.get(
+                        ResponseBodyCache.Resource.PRODUCT, productId,
+                        () -> service.getProductById(productId),
+                        dto -> ETags.of(dto.getProductId(), dto))
+                .map(body -> ETags.ok(body, headers))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
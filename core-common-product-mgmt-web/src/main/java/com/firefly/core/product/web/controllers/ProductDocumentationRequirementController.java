@@ -20,6 +20,7 @@ package com.firefly.core.product.web.controllers;
 import org.fireflyframework.core.filters.FilterRequest;
 import org.fireflyframework.core.queries.PaginationResponse;
 import com.firefly.core.product.core.services.ProductDocumentationRequirementService;
+import com.firefly.core.product.interfaces.dtos.KeysetPageDTO;
 import com.firefly.core.product.interfaces.dtos.ProductDocumentationRequirementDTO;
 import com.firefly.core.product.interfaces.enums.ContractingDocTypeEnum;
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,6 +31,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -80,6 +83,36 @@ public class ProductDocumentationRequirementController {
                 .map(ResponseEntity::ok);
     }
 
+    @GetMapping
+    @Operation(
+            summary = "List documentation requirements",
+            description = "Retrieve the documentation requirements of a product one keyset page at a time, " +
+                    "in identifier order. Pass the nextAfter of a page as after to get the next one; deep pages " +
+                    "cost the same as the first and no total is counted"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved the page",
+                    content = @Content(schema = @Schema(implementation = KeysetPageDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid after or limit",
+                    content = @Content
+            )
+    })
+    public Mono<ResponseEntity<KeysetPageDTO<ProductDocumentationRequirementDTO>>> listDocumentationRequirements(
+            @Parameter(description = "Unique identifier of the product", required = true)
+            @PathVariable UUID productId,
+            @Parameter(description = "Last requirement of the previous page; omit for the first page")
+            @RequestParam(value = "after", required = false) UUID after,
+            @Parameter(description = "Maximum number of documentation requirements in the page (1-1000)")
+            @RequestParam(value = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        return service.listDocumentationRequirements(productId, after, limit)
+                .map(ResponseEntity::ok);
+    }
+
     @PostMapping
     @Operation(
             summary = "Create product documentation requirement",
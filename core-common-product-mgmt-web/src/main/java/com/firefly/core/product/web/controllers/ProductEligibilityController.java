@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.web.controllers;
+
+import com.firefly.core.product.core.services.ProductEligibilityService;
+import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Read-only search of the ACTIVE products that can be offered for a given
+ * amount and term, answered from an in-memory index of their limits.
+ */
+@RestController
+@RequestMapping("/api/v1/products")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Product Eligibility", description =
+        "Find the products whose amount and term limits cover a requested loan")
+public class ProductEligibilityController {
+
+    private final ProductEligibilityService service;
+
+    @GetMapping(
+            value = "/eligible",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(
+            operationId = "listEligibleProducts",
+            summary = "List products eligible for an amount and term",
+            description = "Returns every ACTIVE product whose amount range and term range both cover the " +
+                    "request and whose interest-rate brackets price the amount, ordered by product code. " +
+                    "Scoped to the tenant given in the tenantId parameter or the X-Tenant-Id header; " +
+                    "one of the two is required. " +
+                    "Optionally restricted to a derived product-type label (e.g. PERSONAL_LOAN, LEASING). " +
+                    "Answered from an in-memory index that is rebuilt at most once per " +
+                    "product.pricing.eligibility.min-rebuild-interval (1s by default): a write to any tenant's " +
+                    "catalog can take up to that long to be reflected."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Eligible products, possibly none",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProductPricingDTO.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Amount or term missing or not strictly positive, or no tenant given",
+                    content = @Content
+            )
+    })
+    public Flux<ProductPricingDTO> listEligibleProducts(
+            @Parameter(description = "Requested principal amount", required = true)
+            @RequestParam("amount") @Positive BigDecimal amount,
+            @Parameter(description = "Requested term, in months", required = true)
+            @RequestParam("term") @Positive Integer term,
+            @Parameter(description = "Optional derived product-type label (e.g. PERSONAL_LOAN, LEASING)", required = false)
+            @RequestParam(value = "productType", required = false) String productType,
+            @Parameter(description = "Tenant whose catalog is searched; overrides the X-Tenant-Id header", required = false)
+            @RequestParam(value = "tenantId", required = false) UUID tenantId,
+            @Parameter(description = "Tenant whose catalog is searched", required = false)
+            @RequestHeader(value = ProductPricingAggregatorController.TENANT_HEADER, required = false) UUID tenantHeader) {
+        UUID tenant = tenantId != null ? tenantId : tenantHeader;
+        return service.findEligibleProducts(tenant, productType, amount, term);
+    }
+}
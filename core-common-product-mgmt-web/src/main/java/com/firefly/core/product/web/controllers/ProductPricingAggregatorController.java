@@ -17,8 +17,17 @@
 
 package com.firefly.core.product.web.controllers;
 
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import com.firefly.core.product.core.pricing.CompiledPricing;
 import com.firefly.core.product.core.services.ProductPricingAggregatorService;
+import com.firefly.core.product.interfaces.dtos.AmortisationScheduleEntryDTO;
+import com.firefly.core.product.interfaces.dtos.PricingComparisonDTO;
+import com.firefly.core.product.interfaces.dtos.PricingComparisonRequestDTO;
+import com.firefly.core.product.interfaces.dtos.PricingQuoteDTO;
+import com.firefly.core.product.interfaces.dtos.PricingQuoteResultDTO;
+import com.firefly.core.product.interfaces.dtos.PricingScenarioDTO;
 import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import com.firefly.core.product.web.cache.ResponseBodyCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -27,24 +36,36 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Read-only aggregator controller that exposes calculator-friendly pricing
  * parameters composed from the underlying {@code product_configuration}
- * key-value rows. All write operations (create / update / delete of pricing
+ * key-value rows, and quotes computed from them. All write operations (create / update / delete of pricing
  * configuration) continue to be served by
  * {@link ProductConfigurationController}.
  */
@@ -57,14 +78,21 @@ import java.util.UUID;
         "Read-only aggregator that composes product configurations into pricing parameters for calculators")
 public class ProductPricingAggregatorController {
 
+    static final String TENANT_HEADER = "X-Tenant-Id";
+
     private final ProductPricingAggregatorService service;
+    private final ResponseBodyCache responseBodies;
+    private final ProductPricingProperties properties;
 
     @GetMapping("/{productId}/pricing")
     @Operation(
             operationId = "getProductPricing",
             summary = "Get aggregated product pricing",
             description = "Returns the aggregated pricing parameters (limits, interest-rate brackets and fees) " +
-                    "of a single product, composed from its underlying key-value configuration rows."
+                    "of a single product, composed from its underlying key-value configuration rows. " +
+                    "With asOf, the configuration rows in effect at that instant are used instead. " +
+                    "When resilience is enabled and the database is unreachable, the last pricing compiled " +
+                    "by the node is served with a Warning: 110 header and an Age in seconds."
     )
     @ApiResponses({
             @ApiResponse(
@@ -72,6 +100,11 @@ public class ProductPricingAggregatorController {
                     description = "Successfully retrieved aggregated pricing",
                     content = @Content(schema = @Schema(implementation = ProductPricingDTO.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Pricing unchanged since the entity tag sent in If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Product or required configuration row not found",
@@ -81,32 +114,321 @@ public class ProductPricingAggregatorController {
                     responseCode = "502",
                     description = "Configuration payload could not be parsed (malformed JSON in product_configuration)",
                     content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Database unavailable and no recent enough pricing to serve in its place",
+                    content = @Content
+            )
+    })
+    public Mono<ResponseEntity<DataBuffer>> getProductPricing(
+            @Parameter(description = "Unique identifier of the product", required = true)
+            @PathVariable UUID productId,
+            @Parameter(description = "Instant (ISO-8601 with offset) at which to read the configuration; " +
+                    "defaults to now")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime asOf,
+            @Parameter(hidden = true)
+            @RequestHeader HttpHeaders headers) {
+        if (asOf != null) {
+            // Historical snapshots are compiled per request; so is their body.
+            return service.getCompiledPricing(productId, asOf)
+                    .map(compiled -> ETags.ok(
+                            responseBodies.encode(compiled.pricing(), compiled.etag()), headers));
+        }
+        return service.getCompiledPricing(productId)
+                .map(compiled -> {
+                    ResponseEntity<DataBuffer> response = ETags.ok(responseBodies.encode(
+                            ResponseBodyCache.Resource.PRICING, productId, compiled.pricing(), compiled.etag()),
+                            headers);
+                    return servedFrom(compiled, response);
+                });
+    }
+
+    @GetMapping("/{productId}/pricing/quote")
+    @Operation(
+            operationId = "getProductPricingQuote",
+            summary = "Quote a loan against product pricing",
+            description = "Validates the requested amount and term against the product limits, selects the " +
+                    "interest-rate bracket covering the amount and returns the monthly instalment (French " +
+                    "amortisation), the applied fees and the total cost."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully computed the quote",
+                    content = @Content(schema = @Schema(implementation = PricingQuoteDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Amount or term missing or not strictly positive",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Product not found",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Product not available, amount or term outside the product limits, " +
+                            "or no interest-rate bracket covers the amount",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "502",
+                    description = "Configuration payload could not be parsed or is inconsistent",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Database unavailable and no recent enough pricing to serve in its place",
+                    content = @Content
             )
     })
-    public Mono<ResponseEntity<ProductPricingDTO>> getProductPricing(
+    public Mono<ResponseEntity<PricingQuoteDTO>> getProductPricingQuote(
             @Parameter(description = "Unique identifier of the product", required = true)
-            @PathVariable UUID productId) {
-        return service.getProductPricing(productId)
-                .map(ResponseEntity::ok);
+            @PathVariable UUID productId,
+            @Parameter(description = "Requested principal amount", required = true)
+            @RequestParam("amount") @Positive BigDecimal amount,
+            @Parameter(description = "Requested term, in months", required = true)
+            @RequestParam("term") @Positive Integer term) {
+        return service.getCompiledPricing(productId)
+                .flatMap(compiled -> service.getPricingQuote(compiled, amount, term)
+                        .map(quote -> servedFrom(compiled, ResponseEntity.ok(quote))));
     }
 
-    @GetMapping("/with-pricing")
+    @GetMapping(
+            value = "/{productId}/pricing/schedule",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(
+            operationId = "getProductPricingSchedule",
+            summary = "Stream the amortisation schedule of a loan",
+            description = "Validates the requested amount and term like the quote endpoint and streams the " +
+                    "monthly French amortisation schedule: instalment, interest, principal and outstanding " +
+                    "principal per period. Periods are generated as they are written; accept " +
+                    "application/x-ndjson to receive them one per line."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Schedule, one entry per month",
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = AmortisationScheduleEntryDTO.class))),
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = AmortisationScheduleEntryDTO.class))
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Amount or term missing or not strictly positive",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Product not found",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "422",
+                    description = "Product not available, amount or term outside the product limits, " +
+                            "or no interest-rate bracket covers the amount",
+                    content = @Content
+            )
+    })
+    public Mono<ResponseEntity<Flux<AmortisationScheduleEntryDTO>>> getProductPricingSchedule(
+            @Parameter(description = "Unique identifier of the product", required = true)
+            @PathVariable UUID productId,
+            @Parameter(description = "Requested principal amount", required = true)
+            @RequestParam("amount") @Positive BigDecimal amount,
+            @Parameter(description = "Requested term, in months", required = true)
+            @RequestParam("term") @Positive Integer term) {
+        return service.getCompiledPricing(productId)
+                .map(compiled -> servedFrom(compiled,
+                        ResponseEntity.ok(service.getAmortisationSchedule(compiled, amount, term))));
+    }
+
+    @PostMapping(
+            value = "/pricing/quotes:batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(
+            operationId = "quoteProductPricingBatch",
+            summary = "Quote many scenarios at once",
+            description = "Quotes a stream of (productId, amount, term) scenarios. The scenarios are counted " +
+                    "before the first result is written, so a batch over the configured maximum is answered " +
+                    "with 413 and no results. Each product's pricing is " +
+                    "loaded once per request and quotes are computed in parallel, so results are streamed as " +
+                    "they complete and may not follow request order; use scenarioId to correlate them. " +
+                    "Scenarios that cannot be quoted yield a result carrying an error code instead of " +
+                    "failing the batch. Send and accept application/x-ndjson to stream both ways."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream of per-scenario results",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = PricingQuoteResultDTO.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "413",
+                    description = "More scenarios than the configured maximum batch size",
+                    content = @Content
+            )
+    })
+    public Flux<PricingQuoteResultDTO> quoteProductPricingBatch(
+            @RequestBody Flux<PricingScenarioDTO> scenarios) {
+        return service.quoteBatch(scenarios);
+    }
+
+    @PostMapping("/pricing/compare")
+    @Operation(
+            operationId = "compareProductPricing",
+            summary = "Compare products for one amount and term",
+            description = "Quotes the same amount and term against each requested product and returns an " +
+                    "aligned matrix (rate, APR, instalment, one column per fee type, total cost) ranked by " +
+                    "total cost, limited to the topK cheapest when given. Products are loaded together, not " +
+                    "one request per product. Products that do not exist or cannot be quoted for the " +
+                    "scenario are listed under excluded with an error code. Total costs are only " +
+                    "ranked within one currency: products priced in different currencies are rejected."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Ranked comparison",
+                    content = @Content(schema = @Schema(implementation = PricingComparisonDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "No product, amount, term or topK missing or not strictly positive, " +
+                            "or products priced in more than one currency",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "413",
+                    description = "More products than the configured maximum",
+                    content = @Content
+            )
+    })
+    public Mono<PricingComparisonDTO> compareProductPricing(
+            @RequestBody PricingComparisonRequestDTO request) {
+        return service.comparePricing(request);
+    }
+
+    @GetMapping(
+            value = "/with-pricing",
+            produces = {
+                    MediaType.APPLICATION_JSON_VALUE,
+                    MediaType.APPLICATION_NDJSON_VALUE,
+                    MediaType.TEXT_EVENT_STREAM_VALUE})
     @Operation(
             operationId = "listProductsWithPricing",
             summary = "List products with pricing",
             description = "Streams every product that has a complete pricing configuration. " +
-                    "Optionally filters by the derived product-type label (e.g. PERSONAL_LOAN, LEASING)."
+                    "Scoped to the tenant given in the tenantId parameter or the X-Tenant-Id header; " +
+                    "one of the two is required. Optionally filters by the derived " +
+                    "product-type label (e.g. PERSONAL_LOAN, LEASING). " +
+                    "Accept application/x-ndjson or text/event-stream to receive products one by one as " +
+                    "they are compiled. The JSON array form carries an entity tag; repeat it in " +
+                    "If-None-Match to get a 304 while nothing changed. With the SQL listing engine the " +
+                    "documents are composed by the database in one statement and written as read."
     )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
                     description = "Successfully retrieved the list of products with pricing",
-                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProductPricingDTO.class)))
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = ProductPricingDTO.class))),
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = ProductPricingDTO.class)),
+                            @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    schema = @Schema(implementation = ProductPricingDTO.class))
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Listing unchanged since the entity tag sent in If-None-Match",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Neither tenantId nor the X-Tenant-Id header was given",
+                    content = @Content
             )
     })
-    public Flux<ProductPricingDTO> listProductsWithPricing(
+    public Mono<ResponseEntity<Flux<Object>>> listProductsWithPricing(
             @Parameter(description = "Optional derived product-type label (e.g. PERSONAL_LOAN, LEASING)", required = false)
-            @RequestParam(value = "productType", required = false) String productType) {
-        return service.listProductsWithPricing(productType);
+            @RequestParam(value = "productType", required = false) String productType,
+            @Parameter(description = "Tenant whose catalog is listed; overrides the X-Tenant-Id header", required = false)
+            @RequestParam(value = "tenantId", required = false) UUID tenantId,
+            @Parameter(description = "Tenant whose catalog is listed", required = false)
+            @RequestHeader(value = TENANT_HEADER, required = false) UUID tenantHeader,
+            @Parameter(hidden = true)
+            @RequestHeader HttpHeaders headers) {
+        UUID tenant = tenantId != null ? tenantId : tenantHeader;
+        if (properties.getListing().getEngine() == ProductPricingProperties.Engine.SQL) {
+            return listPricingDocuments(tenant, productType, headers);
+        }
+        if (isStreaming(headers.getAccept())) {
+            return Mono.just(ResponseEntity.ok(service.listProductsWithPricing(tenant, productType)
+                    .cast(Object.class)));
+        }
+        return tagged(ProductPricingProperties.Engine.COMPILED, tenant, productType, headers,
+                () -> service.listCompiledPricing(tenant, productType).map(CompiledPricing::pricing));
+    }
+
+    /**
+     * {@code /with-pricing} on the SQL engine. Documents are already JSON, so
+     * the encoders copy them into the response as they arrive from the
+     * driver; the array form is tagged like the compiled one.
+     */
+    private Mono<ResponseEntity<Flux<Object>>> listPricingDocuments(
+            UUID tenant, String productType, HttpHeaders headers) {
+        if (isStreaming(headers.getAccept())) {
+            return Mono.just(ResponseEntity.ok(service.listPricingDocuments(tenant, productType).cast(Object.class)));
+        }
+        return tagged(ProductPricingProperties.Engine.SQL, tenant, productType, headers,
+                () -> service.listPricingDocuments(tenant, productType));
+    }
+
+    /**
+     * Tags the array form of {@code /with-pricing} with the catalog version,
+     * read in one aggregate statement before the listing: a matching
+     * {@code If-None-Match} is answered with {@code 304} without loading,
+     * compiling or composing a single product. A write landing between the
+     * two reads can only leave the tag older than the body, which costs the
+     * client one extra download but never a false {@code 304}. The engine is
+     * part of the tag since the two engines do not write identical bytes.
+     */
+    private Mono<ResponseEntity<Flux<Object>>> tagged(
+            ProductPricingProperties.Engine engine, UUID tenant, String productType, HttpHeaders headers,
+            Supplier<Flux<?>> listing) {
+        return service.getListingVersion(tenant, productType)
+                .map(version -> ETags.combine(List.of(engine.name(), version)))
+                .map(etag -> {
+                    ResponseEntity<Flux<Object>> notModified = ETags.notModified(headers, etag);
+                    return notModified != null
+                            ? notModified
+                            : ETags.ok(listing.get().cast(Object.class), etag);
+                });
+    }
+
+    private static boolean isStreaming(List<MediaType> accept) {
+        for (MediaType mediaType : accept) {
+            if (MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(mediaType)
+                    || MediaType.TEXT_EVENT_STREAM.equalsTypeAndSubtype(mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds {@code Warning} and {@code Age} to {@code response} when it was
+     * built from a stale snapshot.
+     */
+    private static <T> ResponseEntity<T> servedFrom(CompiledPricing compiled, ResponseEntity<T> response) {
+        return compiled.stale() ? ETags.stale(response, compiled.compiledAt()) : response;
     }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2025 Firefly Software Solutions Inc
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.firefly.core.product.web.health;
+
+import com.firefly.core.product.core.pricing.ProductPricingWarmup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code pricingWarmup} health contributor. Included in the readiness group,
+ * it keeps the node OUT_OF_SERVICE while {@link ProductPricingWarmup} is
+ * compiling the catalog and reports UP once the warm-up is disabled, done or
+ * out of budget.
+ */
+@Component
+@RequiredArgsConstructor
+public class PricingWarmupHealthIndicator implements ReactiveHealthIndicator {
+
+    private final ProductPricingWarmup warmup;
+
+    @Override
+    public Mono<Health> health() {
+        return Mono.fromSupplier(() -> (warmup.isSettled() ? Health.up() : Health.outOfService())
+                .withDetail("state", warmup.getState())
+                .withDetail("compiled", warmup.getCompiled())
+                .build());
+    }
+}
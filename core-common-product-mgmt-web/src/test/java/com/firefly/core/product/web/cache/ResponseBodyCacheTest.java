@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.web.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import com.firefly.core.product.core.pricing.ProductPricingCache;
+import com.firefly.core.product.interfaces.dtos.ProductDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseBodyCacheTest {
+
+    private static final UUID PRODUCT_ID = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+
+    private ProductPricingCache pricingCache;
+    private ResponseBodyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        pricingCache = new ProductPricingCache(new ProductPricingProperties(), new SimpleMeterRegistry());
+        cache = new ResponseBodyCache(
+                new ResponseBodyCacheProperties(), new ObjectMapper(), pricingCache, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void encode_sameTag_reusesBytes_newTag_reEncodes() {
+        EncodedBody first = cache.encode(ResponseBodyCache.Resource.PRICING, PRODUCT_ID, List.of("a"), "t1");
+
+        assertThat(cache.encode(ResponseBodyCache.Resource.PRICING, PRODUCT_ID, List.of("ignored"), "t1"))
+                .isSameAs(first);
+        assertThat(new String(cache.encode(ResponseBodyCache.Resource.PRICING, PRODUCT_ID, List.of("b"), "t2").json()))
+                .isEqualTo("[\"b\"]");
+    }
+
+    @Test
+    void get_loadsOnce_untilTheProductIsInvalidated() {
+        AtomicInteger loads = new AtomicInteger();
+        ProductDTO product = ProductDTO.builder().productId(PRODUCT_ID).productCode("PERSONAL_LOAN_DEMO").build();
+
+        for (int i = 0; i < 3; i++) {
+            cache.get(ResponseBodyCache.Resource.PRODUCT, PRODUCT_ID,
+                    () -> Mono.fromSupplier(() -> {
+                        loads.incrementAndGet();
+                        return product;
+                    }),
+                    dto -> null).block();
+        }
+        assertThat(loads).hasValue(1);
+
+        pricingCache.invalidate(PRODUCT_ID);
+        cache.get(ResponseBodyCache.Resource.PRODUCT, PRODUCT_ID,
+                () -> Mono.fromSupplier(() -> {
+                    loads.incrementAndGet();
+                    return product;
+                }),
+                dto -> null).block();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_invalidationDuringLoad_isNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            cache.get(ResponseBodyCache.Resource.PRODUCT, PRODUCT_ID,
+                    () -> Mono.fromSupplier(() -> {
+                        loads.incrementAndGet();
+                        // A write commits while the row is being read.
+                        pricingCache.invalidate(PRODUCT_ID);
+                        return "stale";
+                    }),
+                    body -> null).block();
+        }
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void acceptsGzip_honoursQualityZero() {
+        assertThat(ResponseBodyCache.acceptsGzip(List.of("gzip, deflate, br"))).isTrue();
+        assertThat(ResponseBodyCache.acceptsGzip(List.of("br;q=1.0, *;q=0.5"))).isTrue();
+        assertThat(ResponseBodyCache.acceptsGzip(List.of("gzip;q=0, br"))).isFalse();
+        assertThat(ResponseBodyCache.acceptsGzip(List.of("identity"))).isFalse();
+        assertThat(ResponseBodyCache.acceptsGzip(null)).isFalse();
+    }
+}
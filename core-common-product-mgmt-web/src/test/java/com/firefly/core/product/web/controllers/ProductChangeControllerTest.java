@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.web.controllers;
+
+import com.firefly.core.product.core.config.ProductChangeProperties;
+import com.firefly.core.product.core.services.ProductChangeService;
+import com.firefly.core.product.interfaces.dtos.ProductChangeEventDTO;
+import com.firefly.core.product.interfaces.enums.ProductChangeEntityEnum;
+import com.firefly.core.product.interfaces.enums.ProductChangeOperationEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangeControllerTest {
+
+    private static final UUID PRODUCT_ID =
+            UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID TENANT_ID =
+            UUID.fromString("00000000-0000-0000-0000-0000000000f1");
+
+    @Mock
+    private ProductChangeService service;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToController(
+                new ProductChangeController(service, new ProductChangeProperties())).build();
+    }
+
+    @Test
+    void streamChanges_lastEventId_resumesAfterItAndNamesEventsByEntity() {
+        when(service.streamChanges(41L, TENANT_ID)).thenReturn(Flux.just(ProductChangeEventDTO.builder()
+                .sequenceNumber(42L)
+                .entity(ProductChangeEntityEnum.CONFIGURATION)
+                .productId(PRODUCT_ID)
+                .tenantId(TENANT_ID)
+                .operation(ProductChangeOperationEnum.UPDATE)
+                .build()));
+
+        webTestClient.get()
+                .uri("/api/v1/products/changes?since=7&tenantId={tenantId}", TENANT_ID)
+                .header(ProductChangeController.LAST_EVENT_ID_HEADER, "41")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<ProductChangeEventDTO>>() {
+                })
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .assertNext(event -> {
+                    assertThat(event.id()).isEqualTo("42");
+                    assertThat(event.event()).isEqualTo("CONFIGURATION");
+                    assertThat(event.data().getProductId()).isEqualTo(PRODUCT_ID);
+                })
+                .thenCancel()
+                .verify();
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2025 Firefly Software Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+
+package com.firefly.core.product.web.controllers;
+
+import com.firefly.core.product.core.services.ProductConfigurationService;
+import com.firefly.core.product.interfaces.dtos.KeysetPageDTO;
+import com.firefly.core.product.interfaces.dtos.ProductConfigurationDTO;
+import com.firefly.core.product.interfaces.dtos.ProductConfigurationRawDTO;
+import com.firefly.core.product.interfaces.dtos.ProductConfigurationUpsertResultDTO;
+import com.firefly.core.product.interfaces.enums.ConfigurationUpsertOutcomeEnum;
+import com.firefly.core.product.interfaces.enums.ProductConfigTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductConfigurationControllerTest {
+
+    private static final UUID PRODUCT_ID =
+            UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID TENANT_ID =
+            UUID.fromString("00000000-0000-0000-0000-0000000000a1");
+    private static final String FEES =
+            "[{\"type\":\"OPENING_FEE\",\"percentage\":1.0,\"fixed\":0}]";
+
+    @Mock
+    private ProductConfigurationService service;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToController(
+                new ProductConfigurationController(service),
+                new ProductConfigurationSearchController(service),
+                new ProductConfigurationBulkController(service)).build();
+    }
+
+    @Test
+    void getConfigurationByKey_default_returnsValueAsString() {
+        when(service.getConfigurationByKey(PRODUCT_ID, "fees"))
+                .thenReturn(Mono.just(ProductConfigurationDTO.builder()
+                        .productId(PRODUCT_ID)
+                        .configType(ProductConfigTypeEnum.PRICING)
+                        .configKey("fees")
+                        .configValue(FEES)
+                        .build()));
+
+        webTestClient.get()
+                .uri("/api/v1/products/{productId}/configurations/by-key/fees", PRODUCT_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.configValue").isEqualTo(FEES);
+    }
+
+    @Test
+    void getConfigurationByKey_raw_embedsValueAsJson() {
+        when(service.getConfigurationByKeyRaw(PRODUCT_ID, "fees"))
+                .thenReturn(Mono.just(raw("fees", FEES)));
+
+        webTestClient.get()
+                .uri("/api/v1/products/{productId}/configurations/by-key/fees?representation=raw", PRODUCT_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.configKey").isEqualTo("fees")
+                .jsonPath("$.configValue[0].type").isEqualTo("OPENING_FEE")
+                .jsonPath("$.configValue[0].percentage").isEqualTo(1.0);
+    }
+
+    @Test
+    void getConfigurationsByType_raw_embedsStoredJsonVerbatim() {
+        when(service.getConfigurationsByTypeRaw(PRODUCT_ID, ProductConfigTypeEnum.PRICING))
+                .thenReturn(Flux.just(raw("fees", FEES), raw("note", "\"{not json\""), raw("grace_months", "3")));
+
+        webTestClient.get()
+                .uri("/api/v1/products/{productId}/configurations/by-type/PRICING?representation=raw", PRODUCT_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].configValue[0].fixed").isEqualTo(0)
+                .jsonPath("$[1].configValue").isEqualTo("{not json")
+                .jsonPath("$[2].configValue").isEqualTo(3);
+    }
+
+    @Test
+    void searchConfigurations_passesTenantHeaderPathAndDefaultLimit() {
+        String path = "$[*] ? (@.type == \"OPENING_FEE\" && @.percentage > 2)";
+        when(service.searchConfigurations(TENANT_ID, ProductConfigTypeEnum.PRICING, "fees", path, 100))
+                .thenReturn(Flux.just(ProductConfigurationDTO.builder()
+                        .productId(PRODUCT_ID)
+                        .configType(ProductConfigTypeEnum.PRICING)
+                        .configKey("fees")
+                        .configValue(FEES)
+                        .build()));
+
+        webTestClient.get()
+                .uri(uri -> uri.path("/api/v1/products/configurations/search")
+                        .queryParam("configType", "PRICING")
+                        .queryParam("configKey", "fees")
+                        .queryParam("path", "{path}")
+                        .build(path))
+                .header(ProductPricingAggregatorController.TENANT_HEADER, TENANT_ID.toString())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].productId").isEqualTo(PRODUCT_ID.toString())
+                .jsonPath("$[0].configValue").isEqualTo(FEES);
+    }
+
+    @Test
+    void listConfigurations_isServedUnderTheProductConfigurationsPath() {
+        when(service.listConfigurations(PRODUCT_ID, null, 100))
+                .thenReturn(Mono.just(KeysetPageDTO.<ProductConfigurationDTO>builder()
+                        .content(List.of())
+                        .build()));
+
+        webTestClient.get()
+                .uri("/api/v1/products/{productId}/configurations", PRODUCT_ID)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void upsertConfigurations_ndjson_streamsOneResultPerRow() {
+        when(service.upsertConfigurations(any()))
+                .thenAnswer(invocation -> {
+                    Flux<ProductConfigurationDTO> rows = invocation.getArgument(0);
+                    return rows.index().map(row -> ProductConfigurationUpsertResultDTO.builder()
+                            .index(row.getT1())
+                            .productId(row.getT2().getProductId())
+                            .configType(row.getT2().getConfigType())
+                            .configKey(row.getT2().getConfigKey())
+                            .outcome(ConfigurationUpsertOutcomeEnum.CREATED)
+                            .build());
+                });
+
+        String body = "{\"productId\":\"" + PRODUCT_ID + "\",\"configType\":\"PRICING\",\"configKey\":\"fees\","
+                + "\"configValue\":\"[]\"}\n"
+                + "{\"productId\":\"" + PRODUCT_ID + "\",\"configType\":\"LIMITS\",\"configKey\":\"amount_term\"}\n";
+
+        webTestClient.put()
+                .uri("/api/v1/products/configurations:bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ProductConfigurationUpsertResultDTO.class)
+                .getResponseBody()
+                .map(result -> result.getIndex() + ":" + result.getConfigKey())
+                .as(StepVerifier::create)
+                .expectNext("0:fees", "1:amount_term")
+                .verifyComplete();
+    }
+
+    private static ProductConfigurationRawDTO raw(String key, String value) {
+        return ProductConfigurationRawDTO.builder()
+                .productId(PRODUCT_ID)
+                .configType(ProductConfigTypeEnum.PRICING)
+                .configKey(key)
+                .configValue(value)
+                .build();
+    }
+}
@@ -17,23 +17,56 @@
 
 package com.firefly.core.product.web.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firefly.core.product.core.config.ProductPricingProperties;
+import com.firefly.core.product.core.pricing.CompiledPricing;
+import com.firefly.core.product.core.pricing.InstalmentFactors;
+import com.firefly.core.product.core.pricing.InterestRateIndex;
+import com.firefly.core.product.core.pricing.PricingDocument;
+import com.firefly.core.product.core.pricing.ProductPricingCache;
 import com.firefly.core.product.core.services.ProductPricingAggregatorService;
+import com.firefly.core.product.interfaces.dtos.AmortisationScheduleEntryDTO;
 import com.firefly.core.product.interfaces.dtos.FeeDefinitionDTO;
+import com.firefly.core.product.interfaces.dtos.AppliedFeeDTO;
 import com.firefly.core.product.interfaces.dtos.InterestRateBracketDTO;
+import com.firefly.core.product.interfaces.dtos.PricingComparisonDTO;
+import com.firefly.core.product.interfaces.dtos.PricingComparisonRequestDTO;
+import com.firefly.core.product.interfaces.dtos.PricingComparisonRowDTO;
+import com.firefly.core.product.interfaces.dtos.PricingQuoteDTO;
+import com.firefly.core.product.interfaces.dtos.PricingQuoteResultDTO;
 import com.firefly.core.product.interfaces.dtos.ProductPricingDTO;
+import com.firefly.core.product.web.cache.ResponseBodyCache;
+import com.firefly.core.product.web.cache.ResponseBodyCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,12 +78,23 @@ class ProductPricingAggregatorControllerTest {
     @Mock
     private ProductPricingAggregatorService service;
 
+    private ProductPricingProperties properties;
+
     private WebTestClient webTestClient;
 
     @BeforeEach
     void setUp() {
-        ProductPricingAggregatorController controller =
-                new ProductPricingAggregatorController(service);
+        properties = new ProductPricingProperties();
+        ResponseBodyCacheProperties cacheProperties = new ResponseBodyCacheProperties();
+        cacheProperties.setGzipMinBytes(256);
+        ProductPricingAggregatorController controller = new ProductPricingAggregatorController(
+                service,
+                new ResponseBodyCache(
+                        cacheProperties,
+                        new ObjectMapper().findAndRegisterModules(),
+                        new ProductPricingCache(properties, new SimpleMeterRegistry()),
+                        new SimpleMeterRegistry()),
+                properties);
         webTestClient = WebTestClient.bindToController(controller).build();
     }
 
@@ -77,13 +121,14 @@ class ProductPricingAggregatorControllerTest {
                         .build()))
                 .build();
 
-        when(service.getProductPricing(PERSONAL_LOAN_ID))
-                .thenReturn(Mono.just(dto));
+        when(service.getCompiledPricing(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(compiled(dto, "5f2b")));
 
         webTestClient.get()
                 .uri("/api/v1/products/{productId}/pricing", PERSONAL_LOAN_ID)
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"5f2b\"")
                 .expectBody()
                 .jsonPath("$.productId").isEqualTo(PERSONAL_LOAN_ID.toString())
                 .jsonPath("$.productCode").isEqualTo("PERSONAL_LOAN_DEMO")
@@ -100,7 +145,7 @@ class ProductPricingAggregatorControllerTest {
     @Test
     void getProductPricing_unknownProduct_returns500FromRuntimeException() {
         UUID unknown = UUID.fromString("00000000-0000-0000-0000-0000000000ff");
-        when(service.getProductPricing(unknown))
+        when(service.getCompiledPricing(unknown))
                 .thenReturn(Mono.error(new RuntimeException("Product not found with ID: " + unknown)));
 
         // Without a custom @ControllerAdvice in this slice the error surfaces
@@ -128,8 +173,9 @@ class ProductPricingAggregatorControllerTest {
                 .fees(List.of())
                 .build();
 
-        when(service.listProductsWithPricing(any()))
-                .thenReturn(reactor.core.publisher.Flux.just(dto));
+        when(service.getListingVersion(any(), any())).thenReturn(Mono.just("v1"));
+        when(service.listCompiledPricing(any(), any()))
+                .thenReturn(Flux.just(compiled(dto, "5f2b")));
 
         webTestClient.get()
                 .uri(builder -> builder.path("/api/v1/products/with-pricing")
@@ -141,4 +187,497 @@ class ProductPricingAggregatorControllerTest {
                 .jsonPath("$.length()").isEqualTo(1)
                 .jsonPath("$[0].productCode").isEqualTo("PERSONAL_LOAN_DEMO");
     }
+
+    @Test
+    void getProductPricingQuote_returns200_andExpectedShape() {
+        PricingQuoteDTO quote = PricingQuoteDTO.builder()
+                .productId(PERSONAL_LOAN_ID)
+                .currency("EUR")
+                .amount(new BigDecimal("10000"))
+                .term(24)
+                .tin(new BigDecimal("7.99"))
+                .instalment(new BigDecimal("452.23"))
+                .totalInterest(new BigDecimal("853.52"))
+                .fees(List.of(AppliedFeeDTO.builder()
+                        .type("OPENING_FEE")
+                        .amount(new BigDecimal("0.00"))
+                        .build()))
+                .totalFees(new BigDecimal("0.00"))
+                .totalCost(new BigDecimal("10853.52"))
+                .build();
+
+        CompiledPricing compiled = compiled(ProductPricingDTO.builder().productId(PERSONAL_LOAN_ID).build(), "5f2b");
+        when(service.getCompiledPricing(PERSONAL_LOAN_ID)).thenReturn(Mono.just(compiled));
+        when(service.getPricingQuote(eq(compiled), eq(new BigDecimal("10000")), eq(24)))
+                .thenReturn(Mono.just(quote));
+
+        webTestClient.get()
+                .uri(builder -> builder.path("/api/v1/products/{productId}/pricing/quote")
+                        .queryParam("amount", "10000")
+                        .queryParam("term", 24)
+                        .build(PERSONAL_LOAN_ID))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.productId").isEqualTo(PERSONAL_LOAN_ID.toString())
+                .jsonPath("$.term").isEqualTo(24)
+                .jsonPath("$.instalment").isEqualTo(452.23)
+                .jsonPath("$.fees[0].type").isEqualTo("OPENING_FEE")
+                .jsonPath("$.totalCost").isEqualTo(10853.52);
+    }
+
+    @Test
+    void getProductPricingQuote_staleSnapshot_carriesWarningAndAge() {
+        CompiledPricing fresh = compiled(ProductPricingDTO.builder().productId(PERSONAL_LOAN_ID).build(), "5f2b");
+        CompiledPricing stale = new CompiledPricing(fresh.pricing(), fresh.rates(), fresh.factors(), null,
+                "5f2b", Instant.now().minusSeconds(120), true);
+        when(service.getCompiledPricing(PERSONAL_LOAN_ID)).thenReturn(Mono.just(stale));
+        when(service.getPricingQuote(eq(stale), eq(new BigDecimal("10000")), eq(24)))
+                .thenReturn(Mono.just(PricingQuoteDTO.builder().productId(PERSONAL_LOAN_ID).term(24).build()));
+
+        webTestClient.get()
+                .uri(builder -> builder.path("/api/v1/products/{productId}/pricing/quote")
+                        .queryParam("amount", "10000")
+                        .queryParam("term", 24)
+                        .build(PERSONAL_LOAN_ID))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(ETags.WARNING, ETags.STALE_WARNING)
+                .expectHeader().value(HttpHeaders.AGE, age -> assertThat(Long.parseLong(age)).isBetween(120L, 180L))
+                .expectBody()
+                .jsonPath("$.term").isEqualTo(24);
+    }
+
+    @Test
+    void getProductPricingSchedule_acceptNdjson_streamsOnePeriodPerLine() {
+        CompiledPricing compiled = compiled(ProductPricingDTO.builder().productId(PERSONAL_LOAN_ID).build(), "5f2b");
+        when(service.getCompiledPricing(PERSONAL_LOAN_ID)).thenReturn(Mono.just(compiled));
+        when(service.getAmortisationSchedule(eq(compiled), eq(new BigDecimal("1000")), eq(2)))
+                .thenReturn(Flux.just(
+                        AmortisationScheduleEntryDTO.builder().period(1).outstandingPrincipal(new BigDecimal("500.00")).build(),
+                        AmortisationScheduleEntryDTO.builder().period(2).outstandingPrincipal(new BigDecimal("0.00")).build()));
+
+        webTestClient.get()
+                .uri(builder -> builder.path("/api/v1/products/{productId}/pricing/schedule")
+                        .queryParam("amount", "1000")
+                        .queryParam("term", 2)
+                        .build(PERSONAL_LOAN_ID))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectHeader().doesNotExist(ETags.WARNING)
+                .expectBody(String.class)
+                .value(body -> assertThat(body.lines())
+                        .hasSize(2)
+                        .allSatisfy(line -> assertThat(line).startsWith("{\"period\":")));
+    }
+
+    @Test
+    void getProductPricingQuote_missingTerm_returns400() {
+        webTestClient.get()
+                .uri(builder -> builder.path("/api/v1/products/{productId}/pricing/quote")
+                        .queryParam("amount", "10000")
+                        .build(PERSONAL_LOAN_ID))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void quoteProductPricingBatch_streamsPerScenarioResults() {
+        when(service.quoteBatch(any()))
+                .thenAnswer(invocation -> {
+                    Flux<?> scenarios = invocation.getArgument(0);
+                    return scenarios.count().flatMapMany(count -> Flux.just(
+                            PricingQuoteResultDTO.builder()
+                                    .scenarioId("a")
+                                    .productId(PERSONAL_LOAN_ID)
+                                    .quote(PricingQuoteDTO.builder()
+                                            .instalment(new BigDecimal("452.23"))
+                                            .build())
+                                    .build(),
+                            PricingQuoteResultDTO.builder()
+                                    .scenarioId("b")
+                                    .productId(PERSONAL_LOAN_ID)
+                                    .errorCode("QUOTE_TERM_OUT_OF_RANGE")
+                                    .errorMessage("count=" + count)
+                                    .build()));
+                });
+
+        webTestClient.post()
+                .uri("/api/v1/products/pricing/quotes:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"scenarioId\":\"a\",\"productId\":\"" + PERSONAL_LOAN_ID
+                        + "\",\"amount\":10000,\"term\":24},"
+                        + "{\"scenarioId\":\"b\",\"productId\":\"" + PERSONAL_LOAN_ID
+                        + "\",\"amount\":10000,\"term\":240}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].quote.instalment").isEqualTo(452.23)
+                .jsonPath("$[1].errorCode").isEqualTo("QUOTE_TERM_OUT_OF_RANGE")
+                .jsonPath("$[1].errorMessage").isEqualTo("count=2");
+    }
+
+    @Test
+    void listProductsWithPricing_acceptNdjson_streamsOneDocumentPerLine() {
+        when(service.listProductsWithPricing(any(), any()))
+                .thenReturn(Flux.just(
+                        ProductPricingDTO.builder().productId(PERSONAL_LOAN_ID).productCode("PERSONAL_LOAN_DEMO").build(),
+                        ProductPricingDTO.builder().productCode("LEASING_DEMO").build()));
+
+        webTestClient.get()
+                .uri("/api/v1/products/with-pricing")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ProductPricingDTO.class)
+                .getResponseBody()
+                .map(ProductPricingDTO::getProductCode)
+                .as(StepVerifier::create)
+                .expectNext("PERSONAL_LOAN_DEMO", "LEASING_DEMO")
+                .verifyComplete();
+    }
+
+    @Test
+    void listProductsWithPricing_acceptEventStream_returnsServerSentEvents() {
+        when(service.listProductsWithPricing(any(), any()))
+                .thenReturn(Flux.just(ProductPricingDTO.builder().productCode("LEASING_DEMO").build()));
+
+        webTestClient.get()
+                .uri("/api/v1/products/with-pricing")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBody(String.class)
+                .value(body -> assertThat(body)
+                        .startsWith("data:")
+                        .contains("\"productCode\":\"LEASING_DEMO\""));
+    }
+
+    @Test
+    void getProductPricing_staleSnapshot_carriesWarningAndAge() {
+        CompiledPricing fresh = compiled(ProductPricingDTO.builder().productId(PERSONAL_LOAN_ID).build(), "5f2b");
+        CompiledPricing stale = new CompiledPricing(fresh.pricing(), fresh.rates(), fresh.factors(), null,
+                "5f2b", Instant.now().minusSeconds(120), true);
+        when(service.getCompiledPricing(PERSONAL_LOAN_ID)).thenReturn(Mono.just(stale));
+
+        webTestClient.get()
+                .uri("/api/v1/products/{productId}/pricing", PERSONAL_LOAN_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(ETags.WARNING, ETags.STALE_WARNING)
+                .expectHeader().value(HttpHeaders.AGE, age -> assertThat(Long.parseLong(age)).isBetween(120L, 180L))
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"5f2b\"")
+                .expectBody()
+                .jsonPath("$.productId").isEqualTo(PERSONAL_LOAN_ID.toString());
+    }
+
+    @Test
+    void getProductPricing_freshSnapshot_carriesNoWarning() {
+        when(service.getCompiledPricing(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(compiled(ProductPricingDTO.builder().productId(PERSONAL_LOAN_ID).build(), "5f2b")));
+
+        webTestClient.get()
+                .uri("/api/v1/products/{productId}/pricing", PERSONAL_LOAN_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(ETags.WARNING)
+                .expectHeader().doesNotExist(HttpHeaders.AGE);
+    }
+
+    @Test
+    void getProductPricing_matchingIfNoneMatch_returns304WithoutBody() {
+        when(service.getCompiledPricing(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(compiled(
+                        ProductPricingDTO.builder().productId(PERSONAL_LOAN_ID).build(), "5f2b")));
+
+        webTestClient.get()
+                .uri("/api/v1/products/{productId}/pricing", PERSONAL_LOAN_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"5f2b\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void getProductPricing_acceptGzip_sendsCompressedPreEncodedBody() throws IOException {
+        ProductPricingDTO dto = ProductPricingDTO.builder()
+                .productId(PERSONAL_LOAN_ID)
+                .productCode("PERSONAL_LOAN_DEMO")
+                .features(Collections.nCopies(20, "Sin comisión de apertura ni de estudio"))
+                .build();
+        when(service.getCompiledPricing(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(compiled(dto, "5f2b")));
+
+        byte[] body = webTestClient.get()
+                .uri("/api/v1/products/{productId}/pricing", PERSONAL_LOAN_ID)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"5f2b-gzip\"")
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .contains("\"productCode\":\"PERSONAL_LOAN_DEMO\"");
+        }
+    }
+
+    @Test
+    void getProductPricing_acceptGzip_notModifiedForEitherVariantTag() {
+        ProductPricingDTO dto = ProductPricingDTO.builder()
+                .productId(PERSONAL_LOAN_ID)
+                .features(Collections.nCopies(20, "Sin comisión de apertura ni de estudio"))
+                .build();
+        when(service.getCompiledPricing(PERSONAL_LOAN_ID))
+                .thenReturn(Mono.just(compiled(dto, "5f2b")));
+
+        for (String tag : List.of("\"5f2b\"", "W/\"5f2b-gzip\"")) {
+            webTestClient.get()
+                    .uri("/api/v1/products/{productId}/pricing", PERSONAL_LOAN_ID)
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                    .header(HttpHeaders.IF_NONE_MATCH, tag)
+                    .exchange()
+                    .expectStatus().isNotModified()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, tag.replace("W/", ""))
+                    .expectBody().isEmpty();
+        }
+    }
+
+    @Test
+    void getProductPricing_asOf_forwardsInstantToService() {
+        OffsetDateTime asOf = OffsetDateTime.parse("2025-03-01T00:00:00Z");
+        when(service.getCompiledPricing(PERSONAL_LOAN_ID, asOf))
+                .thenReturn(Mono.just(compiled(
+                        ProductPricingDTO.builder().productId(PERSONAL_LOAN_ID).build(), "0c1d")));
+
+        webTestClient.get()
+                .uri(uri -> uri.path("/api/v1/products/{productId}/pricing")
+                        .queryParam("asOf", "2025-03-01T00:00:00Z")
+                        .build(PERSONAL_LOAN_ID))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0c1d\"");
+    }
+
+    @Test
+    void compareProductPricing_returnsRankedMatrix() {
+        when(service.comparePricing(any(PricingComparisonRequestDTO.class)))
+                .thenReturn(Mono.just(PricingComparisonDTO.builder()
+                        .amount(new BigDecimal("30000"))
+                        .term(48)
+                        .feeTypes(List.of("OPENING_FEE"))
+                        .rows(List.of(PricingComparisonRowDTO.builder()
+                                .rank(1)
+                                .productId(PERSONAL_LOAN_ID)
+                                .fees(List.of(new BigDecimal("300.00")))
+                                .totalCost(new BigDecimal("34052.42"))
+                                .build()))
+                        .excluded(List.of())
+                        .build()));
+
+        webTestClient.post()
+                .uri("/api/v1/products/pricing/compare")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(PricingComparisonRequestDTO.builder()
+                        .productIds(List.of(PERSONAL_LOAN_ID))
+                        .amount(new BigDecimal("30000"))
+                        .term(48)
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.feeTypes[0]").isEqualTo("OPENING_FEE")
+                .jsonPath("$.rows[0].rank").isEqualTo(1)
+                .jsonPath("$.rows[0].fees[0]").isEqualTo(300.00)
+                .jsonPath("$.rows[0].totalCost").isEqualTo(34052.42);
+    }
+
+    @Test
+    void listProductsWithPricing_tagFollowsListingVersion() {
+        ProductPricingDTO dto = ProductPricingDTO.builder().productCode("LEASING_DEMO").build();
+        when(service.getListingVersion(any(), any()))
+                .thenReturn(Mono.just("v1"))
+                .thenReturn(Mono.just("v2"));
+        when(service.listCompiledPricing(any(), any()))
+                .thenAnswer(invocation -> Flux.just(compiled(dto, "a1"), compiled(dto, "b2")));
+
+        String etag = webTestClient.get()
+                .uri("/api/v1/products/with-pricing")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        // The catalog changed, so the previous tag no longer matches.
+        webTestClient.get()
+                .uri("/api/v1/products/with-pricing")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, value -> assertThat(value).isNotEqualTo(etag));
+    }
+
+    @Test
+    void listProductsWithPricing_unchangedListing_returns304WithoutLoadingIt() {
+        ProductPricingDTO dto = ProductPricingDTO.builder().productCode("LEASING_DEMO").build();
+        when(service.getListingVersion(any(), any())).thenReturn(Mono.just("v1"));
+        when(service.listCompiledPricing(any(), any()))
+                .thenAnswer(invocation -> Flux.just(compiled(dto, "a1"), compiled(dto, "b2")));
+
+        String etag = webTestClient.get()
+                .uri("/api/v1/products/with-pricing")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get()
+                .uri("/api/v1/products/with-pricing")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+
+        verify(service, times(1)).listCompiledPricing(any(), any());
+    }
+
+    @Test
+    void listProductsWithPricing_tenantParamOverridesHeader() {
+        UUID headerTenant = UUID.fromString("00000000-0000-0000-0000-0000000000a1");
+        UUID paramTenant = UUID.fromString("00000000-0000-0000-0000-0000000000b2");
+        ProductPricingDTO dto = ProductPricingDTO.builder().productCode("LEASING_DEMO").build();
+        when(service.getListingVersion(any(), any())).thenReturn(Mono.just("v1"));
+        when(service.listCompiledPricing(eq(headerTenant), any()))
+                .thenReturn(Flux.just(compiled(dto, "a1")));
+        when(service.listCompiledPricing(eq(paramTenant), any()))
+                .thenReturn(Flux.just(compiled(dto, "a1"), compiled(dto, "b2")));
+
+        webTestClient.get()
+                .uri("/api/v1/products/with-pricing")
+                .header(ProductPricingAggregatorController.TENANT_HEADER, headerTenant.toString())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+
+        webTestClient.get()
+                .uri(builder -> builder.path("/api/v1/products/with-pricing")
+                        .queryParam("tenantId", paramTenant)
+                        .build())
+                .header(ProductPricingAggregatorController.TENANT_HEADER, headerTenant.toString())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+    }
+
+    @Test
+    void listProductsWithPricing_sqlEngine_writesDatabaseDocumentsVerbatim() {
+        properties.getListing().setEngine(ProductPricingProperties.Engine.SQL);
+        when(service.getListingVersion(any(), any())).thenReturn(Mono.just("v1"));
+        when(service.listPricingDocuments(any(), any()))
+                .thenReturn(Flux.just(
+                        new PricingDocument(PERSONAL_LOAN_ID, "a1",
+                                "{\"productCode\":\"PERSONAL_LOAN_DEMO\",\"minAmount\":1000.00}"),
+                        new PricingDocument(null, "b2", "{\"productCode\":\"LEASING_DEMO\"}")));
+
+        webTestClient.get()
+                .uri("/api/v1/products/with-pricing")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody(String.class)
+                .isEqualTo("[{\"productCode\":\"PERSONAL_LOAN_DEMO\",\"minAmount\":1000.00},"
+                        + "{\"productCode\":\"LEASING_DEMO\"}]");
+
+        verify(service, never()).listCompiledPricing(any(), any());
+    }
+
+    @Test
+    void listProductsWithPricing_sqlEngineUnchangedListing_returns304WithoutQueryingView() {
+        properties.getListing().setEngine(ProductPricingProperties.Engine.SQL);
+        when(service.getListingVersion(any(), any())).thenReturn(Mono.just("v1"));
+        when(service.listPricingDocuments(any(), any()))
+                .thenAnswer(invocation -> Flux.just(
+                        new PricingDocument(PERSONAL_LOAN_ID, "a1", "{\"productCode\":\"PERSONAL_LOAN_DEMO\"}")));
+
+        String etag = webTestClient.get()
+                .uri("/api/v1/products/with-pricing")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get()
+                .uri("/api/v1/products/with-pricing")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        verify(service, times(1)).listPricingDocuments(any(), any());
+    }
+
+    @Test
+    void listProductsWithPricing_engineIsPartOfTheTag() {
+        ProductPricingDTO dto = ProductPricingDTO.builder().productCode("LEASING_DEMO").build();
+        when(service.getListingVersion(any(), any())).thenReturn(Mono.just("v1"));
+        when(service.listCompiledPricing(any(), any())).thenReturn(Flux.just(compiled(dto, "a1")));
+        when(service.listPricingDocuments(any(), any()))
+                .thenReturn(Flux.just(new PricingDocument(null, "a1", "{\"productCode\":\"LEASING_DEMO\"}")));
+
+        String compiledTag = webTestClient.get()
+                .uri("/api/v1/products/with-pricing")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        properties.getListing().setEngine(ProductPricingProperties.Engine.SQL);
+        webTestClient.get()
+                .uri("/api/v1/products/with-pricing")
+                .header(HttpHeaders.IF_NONE_MATCH, compiledTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, value -> assertThat(value).isNotEqualTo(compiledTag));
+    }
+
+    @Test
+    void listProductsWithPricing_sqlEngineAcceptNdjson_streamsOneDocumentPerLine() {
+        properties.getListing().setEngine(ProductPricingProperties.Engine.SQL);
+        when(service.listPricingDocuments(any(), any()))
+                .thenReturn(Flux.just(
+                        new PricingDocument(PERSONAL_LOAN_ID, "a1", "{\"productCode\":\"PERSONAL_LOAN_DEMO\"}"),
+                        new PricingDocument(null, "b2", "{\"productCode\":\"LEASING_DEMO\"}")));
+
+        webTestClient.get()
+                .uri("/api/v1/products/with-pricing")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(ProductPricingDTO.class)
+                .getResponseBody()
+                .map(ProductPricingDTO::getProductCode)
+                .as(StepVerifier::create)
+                .expectNext("PERSONAL_LOAN_DEMO", "LEASING_DEMO")
+                .verifyComplete();
+    }
+
+    private static CompiledPricing compiled(ProductPricingDTO dto, String etag) {
+        InterestRateIndex rates = InterestRateIndex.of(List.of());
+        return new CompiledPricing(dto, rates, InstalmentFactors.of(rates, null, null), null, etag, Instant.now());
+    }
 }